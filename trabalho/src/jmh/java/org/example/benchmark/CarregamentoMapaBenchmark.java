@@ -0,0 +1,154 @@
+package org.example.benchmark;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.utils.CompiladorMapa;
+import org.example.api.implementation.utils.ImportJsonImpl;
+import org.example.api.implementation.utils.ImportJsonStreamImpl;
+import org.example.api.implementation.utils.ImportMapaCompiladoImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o carregamento de um mapa com a arvore do JSON ({@link ImportJsonImpl}), em
+ * streaming ({@link ImportJsonStreamImpl}) e a partir do mapa compilado
+ * ({@link ImportMapaCompiladoImpl}) sobre o mesmo arquivo gerado: {@code divisoes}
+ * divisoes em cadeia com ligacoes extra aleatorias, um inimigo por cada duas divisoes e
+ * um item por cada quatro.
+ * <p>
+ * Os metodos {@code pico*} carregam o mapa uma vez por iteracao, para medir o pico de
+ * ocupacao do heap de um carregamento com {@link PerfilPicoHeap}:
+ * {@code gradle jmh -PjmhArgs="CarregamentoMapaBenchmark.pico -prof org.example.benchmark.PerfilPicoHeap"}.
+ * Correm com uma geracao nova pequena, para que o lixo seja recolhido durante o
+ * carregamento e o pico reflita sobretudo o que cada carregador mantem vivo ao mesmo
+ * tempo (a arvore do JSON, o texto das secoes adiadas, o mapa).
+ * </p>
+ * <p>
+ * Para comparar os bytes alocados, executar com o perfilador de GC:
+ * {@code gradle jmh -PjmhArgs="CarregamentoMapaBenchmark -prof gc"}; a coluna
+ * {@code gc.alloc.rate.norm} indica os bytes alocados por carregamento, que nao e o pico.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarregamentoMapaBenchmark {
+
+    @Param({"500", "2000"})
+    public int divisoes;
+
+    private File arquivo;
+    private File compilado;
+
+    @Setup(Level.Trial)
+    public void gerarMapa() throws Exception {
+        arquivo = File.createTempFile("mapa-benchmark", ".json");
+        Random random = new Random(42);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(arquivo))) {
+            writer.write("{\"cod-missao\":\"benchmark\",\"versao\":1,\"edificio\":[");
+            for (int i = 0; i < divisoes; i++) {
+                writer.write((i > 0 ? "," : "") + "\"Divisao " + i + "\"");
+            }
+            writer.write("],\"ligacoes\":[");
+            for (int i = 1; i < divisoes; i++) {
+                writer.write((i > 1 ? "," : "") + "[\"Divisao " + (i - 1) + "\",\"Divisao " + i + "\"]");
+                writer.write(",[\"Divisao " + i + "\",\"Divisao " + random.nextInt(divisoes) + "\"]");
+            }
+            writer.write("],\"entradas-saidas\":[\"Divisao 0\"],");
+            writer.write("\"alvo\":{\"divisao\":\"Divisao " + (divisoes - 1) + "\",\"tipo\":\"quimico\"},");
+            writer.write("\"inimigos\":[");
+            for (int i = 0; i < divisoes / 2; i++) {
+                writer.write((i > 0 ? "," : "") + "{\"nome\":\"inimigo " + i + "\",\"poder\":"
+                        + (1 + random.nextInt(200)) + ",\"divisao\":\"Divisao " + random.nextInt(divisoes) + "\"}");
+            }
+            writer.write("],\"itens\":[");
+            for (int i = 0; i < divisoes / 4; i++) {
+                writer.write((i > 0 ? "," : "") + "{\"tipo\":\"" + (i % 2 == 0 ? "kit de vida" : "colete")
+                        + "\",\"pontos\":" + (10 + random.nextInt(40)) + ",\"divisao\":\"Divisao "
+                        + random.nextInt(divisoes) + "\"}");
+            }
+            writer.write("]}");
+        }
+        compilado = File.createTempFile("mapa-benchmark", CompiladorMapa.EXTENSAO);
+        CompiladorMapa.compilar(arquivo.getPath(), compilado.getPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void apagarMapa() {
+        arquivo.delete();
+        compilado.delete();
+    }
+
+    @Benchmark
+    public MapaImpl dom() throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        MapaImpl mapa = new MapaImpl();
+        new ImportJsonImpl(mapa).carregarMapa(arquivo.getPath());
+        return mapa;
+    }
+
+    @Benchmark
+    public MapaImpl stream() throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        MapaImpl mapa = new MapaImpl();
+        new ImportJsonStreamImpl(mapa).carregarMapa(arquivo.getPath());
+        return mapa;
+    }
+
+    @Benchmark
+    public MapaImpl compilado() throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        MapaImpl mapa = new MapaImpl();
+        new ImportMapaCompiladoImpl(mapa).carregarMapa(compilado.getPath());
+        return mapa;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(value = 1, jvmArgsAppend = "-Xmn8m")
+    public MapaImpl picoDom() throws InvalidJsonStructureException, InvalidFieldException,
+            DivisionNotFoundException {
+        return dom();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(value = 1, jvmArgsAppend = "-Xmn8m")
+    public MapaImpl picoStream() throws InvalidJsonStructureException, InvalidFieldException,
+            DivisionNotFoundException {
+        return stream();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(value = 1, jvmArgsAppend = "-Xmn8m")
+    public MapaImpl picoCompilado() throws InvalidJsonStructureException, InvalidFieldException,
+            DivisionNotFoundException {
+        return compilado();
+    }
+}
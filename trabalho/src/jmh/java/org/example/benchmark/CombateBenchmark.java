@@ -0,0 +1,228 @@
+package org.example.benchmark;
+
+import org.example.api.exceptions.ElementNotFoundException;
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.models.DivisaoImpl;
+import org.example.api.implementation.models.InimigoImpl;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.api.implementation.models.ToCruz;
+import org.example.api.implementation.services.CombateServiceImpl;
+import org.example.api.implementation.services.MotorCombateLote;
+import org.example.api.implementation.utils.RegistoEventosNulo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o motor de combate em lote com {@link CombateServiceImpl#resolverCombate}
+ * sobre os mesmos cenarios: {@code salas} salas com ate {@code inimigosPorSala}
+ * inimigos de poder entre 1 e 200 e To Cruz com 100 de vida.
+ * <p>
+ * {@code lote} usa as regras padrao e serve para comparar com versoes anteriores do
+ * motor. {@code loteRegrasPersonalizadas} resolve os mesmos poderes com tres tipos de
+ * inimigo (um deles so recebe metade do dano) e To Cruz com um colete: e mais trabalho
+ * por sala, pelo que nao se compara diretamente com {@code lote}.
+ * </p>
+ * <p>
+ * Os combates alteram o estado, pelo que cada iteracao prepara {@link #COPIAS} copias
+ * dos cenarios fora da medicao e cada invocacao resolve todas as copias uma vez
+ * ({@code SingleShotTime} com {@link OperationsPerInvocation}): o tempo reportado e o de
+ * resolver as {@code salas} salas uma vez, sem um {@code Setup} por invocacao. Os
+ * resultados sao confirmados no inicio contra
+ * {@link CombateServiceImpl#resolverAnaliticamente}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 100)
+@Measurement(iterations = 100)
+@Fork(1)
+public class CombateBenchmark {
+
+    /**
+     * Numero de copias dos cenarios resolvidas por invocacao.
+     */
+    static final int COPIAS = 100;
+
+    /**
+     * Registo que descarta os eventos mas pede a resolucao golpe a golpe.
+     */
+    private static class RegistoDetalhadoNulo extends RegistoEventosNulo {
+        @Override
+        public boolean isDetalhado() {
+            return true;
+        }
+    }
+
+    /**
+     * Os cenarios originais, gerados uma vez por execucao.
+     */
+    @State(Scope.Thread)
+    public static class Cenarios {
+
+        @Param({"1000"})
+        public int salas;
+
+        @Param({"4"})
+        public int inimigosPorSala;
+
+        int[] poderes;
+        int[] inicios;
+        int[] vidas;
+        int[] tipos;
+        int[] coletes;
+
+        final MotorCombateLote motor = new MotorCombateLote();
+        final MotorCombateLote motorPersonalizado = new MotorCombateLote(new RegrasCombate(10, 5, 120, 1, 2,
+                new String[]{RegrasCombate.TIPO_COMUM, "blindado", "sniper"},
+                new int[]{100, 50, 100}, new int[]{100, 100, 200}));
+
+        @Setup(Level.Trial)
+        public void gerar() {
+            Random random = new Random(2024);
+            inicios = new int[salas + 1];
+            for (int r = 0; r < salas; r++) {
+                inicios[r + 1] = inicios[r] + 1 + random.nextInt(inimigosPorSala);
+            }
+            poderes = new int[inicios[salas]];
+            for (int i = 0; i < poderes.length; i++) {
+                poderes[i] = 1 + random.nextInt(200);
+            }
+            tipos = new int[poderes.length];
+            for (int i = 0; i < tipos.length; i++) {
+                tipos[i] = random.nextInt(3);
+            }
+            coletes = new int[salas];
+            vidas = new int[salas];
+            for (int r = 0; r < salas; r++) {
+                coletes[r] = 1;
+                vidas[r] = 100;
+            }
+            confirmarLote();
+        }
+
+        /**
+         * Confirma que o motor em lote da o mesmo resultado que a resolucao de cada sala.
+         */
+        private void confirmarLote() {
+            int[] poderesLote = poderes.clone();
+            int[] vidasLote = vidas.clone();
+            motor.resolver(poderesLote, inicios, vidasLote, null);
+            for (int r = 0; r < salas; r++) {
+                int[] poderesSala = new int[inicios[r + 1] - inicios[r]];
+                System.arraycopy(poderes, inicios[r], poderesSala, 0, poderesSala.length);
+                int vidaFinal = CombateServiceImpl.resolverAnaliticamente(vidas[r], poderesSala, false).getVidaFinal();
+                if (vidaFinal != vidasLote[r]) {
+                    throw new IllegalStateException("O lote diverge na sala " + r);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copias dos arrays dos cenarios, repostas antes de cada iteracao.
+     */
+    @State(Scope.Thread)
+    public static class CopiasLote {
+        int[][] poderes = new int[COPIAS][];
+        int[][] vidas = new int[COPIAS][];
+
+        @Setup(Level.Iteration)
+        public void repor(Cenarios cenarios) {
+            for (int c = 0; c < COPIAS; c++) {
+                poderes[c] = cenarios.poderes.clone();
+                vidas[c] = cenarios.vidas.clone();
+            }
+        }
+    }
+
+    /**
+     * Copias das salas e de To Cruz, repostas antes de cada iteracao.
+     */
+    @State(Scope.Thread)
+    public static class CopiasSalas {
+        IDivisao[][] divisoes = new IDivisao[COPIAS][];
+        ToCruz[][] agentes = new ToCruz[COPIAS][];
+
+        @Setup(Level.Iteration)
+        public void repor(Cenarios cenarios) {
+            for (int c = 0; c < COPIAS; c++) {
+                divisoes[c] = new IDivisao[cenarios.salas];
+                agentes[c] = new ToCruz[cenarios.salas];
+                for (int r = 0; r < cenarios.salas; r++) {
+                    IDivisao divisao = new DivisaoImpl("Sala" + r);
+                    for (int i = cenarios.inicios[r]; i < cenarios.inicios[r + 1]; i++) {
+                        divisao.adicionarInimigo(new InimigoImpl("Inimigo" + i, cenarios.poderes[i]));
+                    }
+                    divisoes[c][r] = divisao;
+                    agentes[c][r] = new ToCruz("To Cruz", cenarios.vidas[r]);
+                }
+            }
+        }
+    }
+
+    private final CombateServiceImpl servicoAnalitico = new CombateServiceImpl(RegistoEventosNulo.INSTANCIA);
+    private final CombateServiceImpl servicoIterativo = new CombateServiceImpl(new RegistoDetalhadoNulo());
+
+    @Benchmark
+    @OperationsPerInvocation(COPIAS)
+    public int lote(Cenarios cenarios, CopiasLote copias) {
+        int vitorias = 0;
+        for (int c = 0; c < COPIAS; c++) {
+            vitorias += cenarios.motor.resolver(copias.poderes[c], cenarios.inicios, copias.vidas[c], null);
+        }
+        return vitorias;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COPIAS)
+    public int loteRegrasPersonalizadas(Cenarios cenarios, CopiasLote copias) {
+        int vitorias = 0;
+        for (int c = 0; c < COPIAS; c++) {
+            vitorias += cenarios.motorPersonalizado.resolver(copias.poderes[c], cenarios.tipos, cenarios.inicios,
+                    copias.vidas[c], cenarios.coletes, null, 0, cenarios.salas);
+        }
+        return vitorias;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COPIAS)
+    public int resolverCombateAnalitico(CopiasSalas copias) throws ElementNotFoundException {
+        return resolverTodas(servicoAnalitico, copias);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COPIAS)
+    public int resolverCombateIterativo(CopiasSalas copias) throws ElementNotFoundException {
+        return resolverTodas(servicoIterativo, copias);
+    }
+
+    private int resolverTodas(CombateServiceImpl servico, CopiasSalas copias) throws ElementNotFoundException {
+        int vitorias = 0;
+        for (int c = 0; c < COPIAS; c++) {
+            IDivisao[] divisoes = copias.divisoes[c];
+            ToCruz[] agentes = copias.agentes[c];
+            for (int r = 0; r < divisoes.length; r++) {
+                servico.resolverCombate(agentes[r], divisoes[r], false);
+                if (agentes[r].getVida() > 0) {
+                    vitorias++;
+                }
+            }
+        }
+        return vitorias;
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.benchmark;
+
+import org.example.collections.interfaces.IndexedPriorityQueueADT;
+import org.example.collections.primitive.IntMinHeap;
+import org.example.collections.primitive.IntRadixHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as filas de prioridade no algoritmo de Dijkstra sobre um mapa gerado:
+ * {@code divisoes} divisoes em cadeia com {@code ligacoesExtra} ligacoes aleatorias por
+ * divisao, e o custo de entrar numa divisao e o poder de um inimigo (0 a 200, metade
+ * das divisoes sem inimigos), como em {@code MapaImpl.calcularCusto}.
+ * <p>
+ * {@link IntMinHeap} e {@link IntRadixHeap} diminuem a chave no lugar;
+ * {@link PriorityQueue} nao o permite, pelo que volta a enfileirar a divisao (com o custo
+ * e o indice num {@code long}) e ignora as entradas desatualizadas ao remove-las. Cada
+ * invocacao calcula os custos de todas as divisoes a partir da divisao 0 e retorna a
+ * soma, igual nas tres variantes.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DijkstraBenchmark {
+
+    @Param({"1000", "20000"})
+    public int divisoes;
+
+    @Param({"3"})
+    public int ligacoesExtra;
+
+    private int[][] adjacentes;
+    private int[] custoEntrada;
+    private int[] custos;
+    private boolean[] fixada;
+    private IntMinHeap binaria;
+    private IntRadixHeap radix;
+
+    @Setup(Level.Trial)
+    public void gerarMapa() {
+        Random random = new Random(42);
+        int[] graus = new int[divisoes];
+        int[] origens = new int[(divisoes - 1) + divisoes * ligacoesExtra];
+        int[] destinos = new int[origens.length];
+        int arestas = 0;
+        for (int i = 0; i < divisoes; i++) {
+            if (i > 0) {
+                origens[arestas] = i - 1;
+                destinos[arestas++] = i;
+            }
+            for (int e = 0; e < ligacoesExtra; e++) {
+                origens[arestas] = i;
+                destinos[arestas++] = random.nextInt(divisoes);
+            }
+        }
+        for (int a = 0; a < arestas; a++) {
+            graus[origens[a]]++;
+            graus[destinos[a]]++;
+        }
+
+        adjacentes = new int[divisoes][];
+        for (int i = 0; i < divisoes; i++) {
+            adjacentes[i] = new int[graus[i]];
+            graus[i] = 0;
+        }
+        for (int a = 0; a < arestas; a++) {
+            adjacentes[origens[a]][graus[origens[a]]++] = destinos[a];
+            adjacentes[destinos[a]][graus[destinos[a]]++] = origens[a];
+        }
+
+        custoEntrada = new int[divisoes];
+        for (int i = 0; i < divisoes; i++) {
+            custoEntrada[i] = random.nextBoolean() ? 0 : random.nextInt(201);
+        }
+
+        custos = new int[divisoes];
+        fixada = new boolean[divisoes];
+        binaria = new IntMinHeap(divisoes);
+        radix = new IntRadixHeap(divisoes);
+    }
+
+    @Benchmark
+    public long heapBinariaIndexada() {
+        binaria.clear();
+        return dijkstra(binaria);
+    }
+
+    @Benchmark
+    public long heapRadix() {
+        radix.clear();
+        return dijkstra(radix);
+    }
+
+    @Benchmark
+    public long priorityQueueJdk() {
+        reiniciar();
+        PriorityQueue<Long> fila = new PriorityQueue<>();
+        custos[0] = 0;
+        fila.add(0L);
+        while (!fila.isEmpty()) {
+            long entrada = fila.poll();
+            int atual = (int) entrada;
+            if (fixada[atual]) {
+                continue;
+            }
+            fixada[atual] = true;
+            for (int vizinho : adjacentes[atual]) {
+                int novoCusto = custos[atual] + custoEntrada[vizinho];
+                if (!fixada[vizinho] && novoCusto < custos[vizinho]) {
+                    custos[vizinho] = novoCusto;
+                    fila.add(((long) novoCusto << 32) | vizinho);
+                }
+            }
+        }
+        return soma();
+    }
+
+    private long dijkstra(IndexedPriorityQueueADT heap) {
+        reiniciar();
+        custos[0] = 0;
+        heap.add(0, 0);
+        while (!heap.isEmpty()) {
+            int atual = heap.removeMin();
+            fixada[atual] = true;
+            for (int vizinho : adjacentes[atual]) {
+                int novoCusto = custos[atual] + custoEntrada[vizinho];
+                if (!fixada[vizinho] && novoCusto < custos[vizinho]) {
+                    custos[vizinho] = novoCusto;
+                    heap.addOrDecrease(vizinho, novoCusto);
+                }
+            }
+        }
+        return soma();
+    }
+
+    private void reiniciar() {
+        for (int i = 0; i < divisoes; i++) {
+            custos[i] = Integer.MAX_VALUE;
+            fixada[i] = false;
+        }
+    }
+
+    private long soma() {
+        long total = 0;
+        for (int i = 0; i < divisoes; i++) {
+            total += custos[i];
+        }
+        return total;
+    }
+}
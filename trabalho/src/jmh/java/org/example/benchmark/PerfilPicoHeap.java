@@ -0,0 +1,60 @@
+package org.example.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Perfilador JMH que mede o pico de ocupacao do heap em cada iteracao:
+ * {@code -prof org.example.benchmark.PerfilPicoHeap}.
+ * <p>
+ * Antes de cada iteracao faz um GC e reinicia o pico de cada pool do heap
+ * ({@link MemoryPoolMXBean#resetPeakUsage()}); no fim reporta em {@code pico.heap} a soma
+ * dos picos dos pools menos o heap ocupado no inicio, em KiB, com a media das iteracoes.
+ * A soma e um majorante, porque os pools podem atingir o pico em momentos diferentes.
+ * </p>
+ */
+public class PerfilPicoHeap implements InternalProfiler {
+
+    private long inicial;
+
+    @Override
+    public String getDescription() {
+        return "Pico de ocupacao do heap em cada iteracao (MemoryPoolMXBean)";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        System.gc();
+        inicial = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                inicial += pool.getUsage().getUsed();
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        long pico = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pico += pool.getPeakUsage().getUsed();
+            }
+        }
+        return Collections.singletonList(new ScalarResult("pico.heap", Math.max(0, pico - inicial) / 1024.0,
+                "KiB", AggregationPolicy.AVG));
+    }
+}
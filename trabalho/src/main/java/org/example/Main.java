@@ -6,16 +6,24 @@ import org.example.api.exceptions.InvalidFieldException;
 import org.example.api.exceptions.InvalidJsonStructureException;
 import org.example.api.implementation.interfaces.*;
 import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.ResultadoRecarga;
 import org.example.api.implementation.models.ResultadoSimulacaoImpl;
+import org.example.api.implementation.models.TabelaRotas;
 import org.example.api.implementation.models.ToCruz;
+import org.example.api.implementation.simulation.CachePlanos;
 import org.example.api.implementation.simulation.SimulacaoAutomaticaImpl;
 import org.example.api.implementation.simulation.SimulacaoManualImpl;
 import org.example.api.implementation.utils.ExportarResultados;
+import org.example.api.implementation.utils.GeradorTabelaRotas;
+import org.example.api.implementation.utils.CompiladorMapa;
 import org.example.api.implementation.utils.ImportJsonImpl;
+import org.example.api.implementation.utils.ImportMapaCompiladoImpl;
+import org.example.api.implementation.utils.RecarregadorMapa;
 import org.example.collections.implementation.ArrayUnorderedList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -39,11 +47,19 @@ public class Main {
      */
     public static void main(String[] args) throws ElementNotFoundException {
         logger.info("Iniciando o programa...");
-        String caminhoJson = "mapa_v6.json";
+        String caminhoMissao = "mapa_v6.json";
+        String caminhoJson = caminhoMissao;
+        String caminhoCompilado = "mapa_v6" + CompiladorMapa.EXTENSAO;
 
-        // Inicializacao do mapa e carregamento da missao
+        // Inicializacao do mapa e carregamento da missao; usa o mapa compilado (gradle compilarMapa) se estiver atualizado
         IMapa mapa = new MapaImpl();
-        IImportJson importJson = new ImportJsonImpl(mapa);
+        IImportJson importJson;
+        if (CompiladorMapa.isAtualizado(caminhoJson, caminhoCompilado)) {
+            importJson = new ImportMapaCompiladoImpl(mapa);
+            caminhoJson = caminhoCompilado;
+        } else {
+            importJson = new ImportJsonImpl(mapa);
+        }
         IMissao missao;
 
         System.out.println("================================================================================");
@@ -70,6 +86,10 @@ public class Main {
             return;
         }
 
+        // Tabela de rotas da missao carregada, reutilizada ate uma recarga alterar a missao.
+        TabelaRotas tabelaRotas = new GeradorTabelaRotas().obterOuGerar(mapa, missao, caminhoJson);
+        logger.info("Tabela de rotas pronta: {} divisoes de referencia", tabelaRotas.getNumeroReferencias());
+
         System.out.println("\n--------------------------------------------------------------------------------");
         System.out.println("                 MAPA DO EDIFÍCIO (DIVISÕES E CONEXÕES) ");
         System.out.println("--------------------------------------------------------------------------------");
@@ -84,11 +104,34 @@ public class Main {
         System.out.println("Inventário inicial vazio.");
         System.out.println("--------------------------------------------------------------------------------\n");
 
+        // Acompanha o arquivo da missao; as alteracoes sao aplicadas ao mapa entre simulacoes.
+        RecarregadorMapa recarregador = null;
+        try {
+            recarregador = new RecarregadorMapa(mapa, caminhoMissao);
+        } catch (IOException e) {
+            logger.warn("Nao foi possivel acompanhar o arquivo da missao: {}", e.getMessage());
+        }
+
+        // Planos das simulacoes automaticas desta execucao, identificados pelo estado da missao
+        // carregada (o da tabela de rotas), para que sirvam as rondas seguintes ate uma recarga.
+        CachePlanos cachePlanos = new CachePlanos(CachePlanos.CAPACIDADE_PADRAO);
+
         Scanner scanner = new Scanner(System.in);
         boolean continuar = true;
 
         // Menu principal para o usuario escolher o tipo de simulacao.
         while (continuar) {
+            ResultadoRecarga recarga = recarregador != null ? recarregador.verificar() : null;
+            if (recarga != null && recarga.temAlteracoes()) {
+                System.out.println("\nMissão recarregada de " + caminhoMissao + ": " + recarga);
+                // Os custos das rotas dependem dos inimigos, dos itens, do alvo e das regras da
+                // missao: a tabela so e refeita quando a recarga os muda. Os inimigos derrotados e
+                // os itens recolhidos nas simulacoes nao a invalidam.
+                if (!tabelaRotas.corresponde(missao.getCodMissao(), missao.getVersao(), mapa)) {
+                    tabelaRotas = new GeradorTabelaRotas().gerar(mapa, missao.getCodMissao(), missao.getVersao());
+                }
+            }
+
             System.out.println("\n====================================");
             System.out.println("          MENU PRINCIPAL            ");
             System.out.println("====================================");
@@ -119,7 +162,9 @@ public class Main {
                     System.out.println("Tó Cruz posicionado na divisão inicial: " + divisaoInicial.getNomeDivisao());
 
                     // Executa a simulacao automatica
-                    ISimulacaoAutomatica simulacaoAuto = new SimulacaoAutomaticaImpl(mapa, toCruz);
+                    SimulacaoAutomaticaImpl simulacaoAuto = new SimulacaoAutomaticaImpl(mapa, toCruz);
+                    simulacaoAuto.setTabelaRotas(tabelaRotas);
+                    simulacaoAuto.setCachePlanos(cachePlanos, tabelaRotas.getHashMapa());
                     try {
                         simulacaoAuto.executar(mapa.getAlvo().getDivisao());
                     } catch (Exception e) {
@@ -202,6 +247,9 @@ public class Main {
         }
 
         scanner.close();
+        if (recarregador != null) {
+            recarregador.close();
+        }
     }
 
     /**
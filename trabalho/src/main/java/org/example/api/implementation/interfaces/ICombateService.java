@@ -51,4 +51,17 @@ public interface ICombateService {
      */
     void resolverCombate(ToCruz toCruz, IDivisao divisaoAtual, boolean inimigoEntrouAgora)
             throws ElementNotFoundException;
+
+    /**
+     * Obtem o registo de eventos para onde o servico envia os eventos do combate.
+     *
+     * <p>
+     * Quem orquestra o combate (por exemplo, o movimento dos inimigos no mapa)
+     * utiliza o mesmo registo, de modo que uma simulacao silenciosa o seja por
+     * completo.
+     * </p>
+     *
+     * @return O registo de eventos do servico.
+     */
+    IRegistoEventos getRegistoEventos();
 }
@@ -0,0 +1,106 @@
+package org.example.api.implementation.interfaces;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+
+/**
+ * Interface para a construcao de um mapa em bloco.
+ *
+ * <p>
+ * O construtor junta divisoes, ligacoes, inimigos, itens, entradas/saidas e o alvo,
+ * referindo as divisoes pelo indice que vao ter no mapa, e acrescenta tudo ao mapa de
+ * uma so vez em {@link #construir()}. Nada e escrito na consola: os erros sao
+ * reportados por excecoes quando cada elemento e acrescentado, antes de o mapa ser
+ * alterado.
+ * </p>
+ */
+public interface IConstrutorMapa {
+
+    /**
+     * Reserva espaco quando o numero de elementos e conhecido antes de os acrescentar.
+     *
+     * @param divisoes O numero de divisoes.
+     * @param ligacoes O numero de ligacoes.
+     */
+    void reservar(int divisoes, int ligacoes);
+
+    /**
+     * Acrescenta uma divisao.
+     *
+     * @param nome O nome da divisao.
+     * @return O indice que a divisao vai ter no mapa.
+     * @throws IllegalArgumentException se o nome for nulo, vazio ou ja existir.
+     */
+    int adicionarDivisao(String nome);
+
+    /**
+     * Obtem o indice de uma divisao, ja existente no mapa ou acrescentada a este construtor.
+     *
+     * @param nome O nome da divisao.
+     * @return O indice da divisao.
+     * @throws IllegalArgumentException  se o nome for nulo ou vazio.
+     * @throws DivisionNotFoundException se a divisao nao existir.
+     */
+    int getIndice(String nome) throws DivisionNotFoundException;
+
+    /**
+     * Acrescenta uma ligacao entre duas divisoes.
+     *
+     * @param indice1 O indice da primeira divisao.
+     * @param indice2 O indice da segunda divisao.
+     * @throws IllegalArgumentException se algum indice for invalido.
+     */
+    void adicionarLigacao(int indice1, int indice2);
+
+    /**
+     * Acrescenta um inimigo a uma divisao.
+     *
+     * @param divisao O indice da divisao.
+     * @param inimigo O inimigo.
+     * @throws IllegalArgumentException se o indice for invalido ou o inimigo for nulo.
+     */
+    void adicionarInimigo(int divisao, IInimigo inimigo);
+
+    /**
+     * Acrescenta um item a uma divisao.
+     *
+     * @param divisao O indice da divisao.
+     * @param item    O item.
+     * @throws IllegalArgumentException se o indice for invalido ou o item for nulo.
+     */
+    void adicionarItem(int divisao, IItem item);
+
+    /**
+     * Marca uma divisao como entrada/saida.
+     *
+     * @param divisao O indice da divisao.
+     * @throws IllegalArgumentException se o indice for invalido.
+     */
+    void adicionarEntradaSaida(int divisao);
+
+    /**
+     * Define o alvo da missao, substituindo o que o mapa tiver.
+     *
+     * @param divisao O indice da divisao do alvo.
+     * @param tipo    O tipo do alvo.
+     * @throws IllegalArgumentException se o indice for invalido ou o tipo for nulo ou vazio.
+     */
+    void definirAlvo(int divisao, String tipo);
+
+    /**
+     * Remove o alvo que o mapa tiver, a menos que seja definido outro neste construtor.
+     */
+    void removerAlvo();
+
+    /**
+     * Acrescenta ao mapa tudo o que foi junto.
+     *
+     * @throws IllegalStateException se o construtor ja foi usado ou se o mapa mudou
+     *                               de tamanho entretanto.
+     */
+    void construir();
+
+    /**
+     * @return O numero de divisoes acrescentadas a este construtor.
+     */
+    int getNumeroDivisoes();
+}
@@ -93,4 +93,19 @@ public interface IDivisao {
     void setInimigosPresentes(ArrayUnorderedList<IInimigo> inimigosPresentes);
 
     boolean temKit();
+
+    /**
+     * Obtem o hash do conteudo da divisao (nome, entrada/saida, inimigos com o seu
+     * poder e itens com os seus pontos), independente da ordem dos inimigos e itens.
+     *
+     * @return O hash do conteudo.
+     */
+    long getHashConteudo();
+
+    /**
+     * Recalcula o hash do conteudo. Deve ser chamado depois de alterar diretamente
+     * as listas devolvidas por {@link #getInimigosPresentes()} e
+     * {@link #getItensPresentes()} ou o poder de algum inimigo presente.
+     */
+    void atualizarHash();
 }
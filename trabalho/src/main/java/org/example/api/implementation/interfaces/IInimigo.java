@@ -48,4 +48,19 @@ public interface IInimigo {
      * @throws IllegalArgumentException Se o dano fornecido for negativo.
      */
     void sofrerDano(int dano);
+
+    /**
+     * Obtem o indice do tipo do inimigo nas regras de combate da missao.
+     *
+     * @return O indice do tipo (0 para o tipo comum).
+     */
+    int getIndiceTipo();
+
+    /**
+     * Define o indice do tipo do inimigo nas regras de combate da missao.
+     *
+     * @param indiceTipo O indice do tipo.
+     * @throws IllegalArgumentException Se o indice for negativo.
+     */
+    void setIndiceTipo(int indiceTipo);
 }
@@ -2,6 +2,7 @@ package org.example.api.implementation.interfaces;
 
 import org.example.api.exceptions.ElementNotFoundException;
 import org.example.api.implementation.models.Ligacao;
+import org.example.api.implementation.models.RegrasCombate;
 import org.example.api.implementation.models.ToCruz;
 import org.example.collections.implementation.ArrayUnorderedList;
 
@@ -130,6 +131,17 @@ public interface IMapa {
 
     /**
      * Move os inimigos no mapa, potencialmente interagindo com To Cruz.
+     * <p>
+     * Pensado para a simulacao manual: os inimigos movem-se um de cada vez, cada um ja
+     * ve os movimentos anteriores, o combate e resolvido pelo {@code combateService}
+     * assim que um inimigo entra na divisao de To Cruz e os passos aleatorios nao tem
+     * semente, pelo que duas execucoes nao se repetem. Para lotes de simulacoes
+     * reprodutiveis deve usar-se
+     * {@link org.example.api.implementation.services.MotorCombateParticionado}, que
+     * planeia todos os movimentos a partir do estado do inicio do turno, com semente, e
+     * da o mesmo resultado com qualquer numero de trabalhadores; os dois nao produzem
+     * os mesmos turnos.
+     * </p>
      *
      * @param toCruz         O agente To Cruz.
      * @param combateService O servico de combate a ser utilizado.
@@ -158,6 +170,155 @@ public interface IMapa {
      */
     ArrayUnorderedList<IDivisao> calcularMelhorCaminho(IDivisao origem, IDivisao destino);
 
+    /**
+     * Calcula o caminho com o menor numero de passos entre duas divisoes,
+     * ignorando inimigos e itens.
+     *
+     * @param origem  A divisao de origem.
+     * @param destino A divisao de destino.
+     * @return Uma lista de divisoes da origem ate ao destino (inclusive), ou uma
+     *         lista vazia se o destino nao for alcancavel.
+     */
+    ArrayUnorderedList<IDivisao> calcularCaminhoMaisCurto(IDivisao origem, IDivisao destino);
+
+    /**
+     * Calcula o custo de entrar numa divisao vizinha, usado na escolha do melhor
+     * caminho: o poder dos inimigos presentes menos os pontos dos kits de vida.
+     *
+     * @param atual   A divisao de onde se parte.
+     * @param vizinho A divisao onde se entra.
+     * @return O custo do movimento, nunca negativo.
+     */
+    int calcularCusto(IDivisao atual, IDivisao vizinho);
+
+    /**
+     * Obtem o hash do conteudo do mapa (divisoes, ligacoes, entradas/saidas,
+     * inimigos e itens). Mapas com o mesmo conteudo tem o mesmo hash.
+     *
+     * @return O hash do conteudo.
+     */
+    long getHashConteudo();
+
+    /**
+     * Obtem as regras de combate da missao a que o mapa pertence.
+     *
+     * @return As regras de combate ({@link RegrasCombate#PADRAO} se nao forem definidas).
+     */
+    RegrasCombate getRegrasCombate();
+
+    /**
+     * Define as regras de combate da missao.
+     *
+     * @param regras As regras de combate.
+     * @throws IllegalArgumentException Se as regras forem nulas.
+     */
+    void setRegrasCombate(RegrasCombate regras);
+
+    /**
+     * Obtem o registo que recebe os avisos e erros do mapa.
+     *
+     * @return O registo de eventos do mapa.
+     */
+    IRegistoEventos getRegistoEventos();
+
+    /**
+     * Define o registo que recebe os avisos e erros do mapa, por exemplo o mesmo da
+     * simulacao que o usa, para que uma simulacao silenciosa nao escreva na consola.
+     *
+     * @param eventos O registo de eventos.
+     * @throws IllegalArgumentException Se o registo for nulo.
+     */
+    void setRegistoEventos(IRegistoEventos eventos);
+
+    /**
+     * Reserva espaco para mais divisoes, quando o numero de divisoes a adicionar e
+     * conhecido antes de as adicionar (por exemplo, no carregamento de um JSON).
+     *
+     * @param quantidade O numero de divisoes que vao ser adicionadas.
+     */
+    void reservarDivisoes(int quantidade);
+
+    /**
+     * Adiciona varias divisoes de uma vez, reservando o grafo uma unica vez. As
+     * divisoes ficam com indices consecutivos, pela ordem dos nomes.
+     *
+     * @param nomes Os nomes das divisoes.
+     * @throws IllegalArgumentException se algum nome for nulo ou vazio.
+     */
+    void adicionarDivisoes(String[] nomes);
+
+    /**
+     * Adiciona as ligacoes descritas por listas de adjacencia compactas (CSR): os
+     * vizinhos da divisao {@code i} sao {@code adjacentes[inicios[i]]} a
+     * {@code adjacentes[inicios[i + 1] - 1]}, pelo indice, sem procurar divisoes pelo nome.
+     *
+     * @param inicios    O inicio dos vizinhos de cada divisao, com {@code getNumeroDivisoes() + 1} posicoes.
+     * @param adjacentes Os indices dos vizinhos.
+     * @throws IllegalArgumentException se as listas forem inconsistentes com o mapa.
+     */
+    void adicionarLigacoes(int[] inicios, int[] adjacentes);
+
+    /**
+     * Cria um construtor que junta divisoes, ligacoes (pares de indices), inimigos,
+     * itens, entradas/saidas e o alvo e os acrescenta ao mapa de uma so vez em
+     * {@link IConstrutorMapa#construir()}, sem escrever mensagens.
+     *
+     * @return O construtor, associado a este mapa.
+     */
+    IConstrutorMapa construtor();
+
+    /**
+     * Remove uma divisao e as suas ligacoes. As divisoes seguintes passam a ter o indice
+     * anterior ao que tinham, e o alvo e removido se estiver nessa divisao.
+     *
+     * @param nomeDivisao O nome da divisao.
+     * @throws IllegalArgumentException se o nome for nulo ou vazio.
+     * @throws RuntimeException         se a divisao nao existir.
+     */
+    void removerDivisao(String nomeDivisao);
+
+    /**
+     * Remove a ligacao entre duas divisoes, se existir.
+     *
+     * @param nomeDivisao1 O nome da primeira divisao.
+     * @param nomeDivisao2 O nome da segunda divisao.
+     * @return {@code true} se a ligacao existia e foi removida.
+     * @throws IllegalArgumentException se algum nome for nulo ou vazio.
+     * @throws RuntimeException         se alguma das divisoes nao existir.
+     */
+    boolean removerLigacao(String nomeDivisao1, String nomeDivisao2);
+
+    /**
+     * Obtem o numero de divisoes do mapa.
+     *
+     * @return O numero de divisoes.
+     */
+    int getNumeroDivisoes();
+
+    /**
+     * Obtem o indice interno de uma divisao, estavel enquanto nao forem removidas divisoes.
+     *
+     * @param divisao A divisao.
+     * @return O indice da divisao, ou -1 se nao pertencer ao mapa.
+     */
+    int getIndiceDivisao(IDivisao divisao);
+
+    /**
+     * Obtem a divisao guardada num indice interno.
+     *
+     * @param indice O indice da divisao.
+     * @return A divisao, ou {@code null} se o indice for invalido.
+     */
+    IDivisao getDivisaoPorIndice(int indice);
+
+    /**
+     * Obtem os indices das divisoes ligadas a divisao com o indice indicado.
+     *
+     * @param indice O indice da divisao.
+     * @return Os indices das divisoes adjacentes.
+     */
+    int[] getIndicesAdjacentes(int indice);
+
     IDivisao encontrarKitMaisProximo(IDivisao origem) throws ElementNotFoundException;
 
     /**
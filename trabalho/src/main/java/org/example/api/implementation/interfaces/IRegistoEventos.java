@@ -0,0 +1,138 @@
+package org.example.api.implementation.interfaces;
+
+/**
+ * Interface para o destino dos eventos produzidos durante uma simulacao.
+ *
+ * <p>
+ * A simulacao, o servico de combate e o mapa comunicam cada passo (movimentos,
+ * ataques, itens coletados, mensagens) atraves desta interface em vez de
+ * escreverem diretamente na consola. Assim e possivel reproduzir a saida
+ * habitual, executar lotes de simulacoes em silencio ou registar os eventos
+ * num formato compacto.
+ * </p>
+ */
+public interface IRegistoEventos {
+
+    /**
+     * Indica se este registo pretende receber os eventos de cada golpe do
+     * combate. Registos que devolvem {@code false} recebem apenas o inicio, os
+     * inimigos derrotados e o fim de cada combate.
+     *
+     * @return {@code true} se os eventos detalhados devem ser emitidos.
+     */
+    boolean isDetalhado();
+
+    /**
+     * Regista uma mensagem informativa da simulacao.
+     *
+     * @param mensagem O texto da mensagem.
+     */
+    void mensagem(String mensagem);
+
+    /**
+     * Regista uma mensagem de erro ou aviso da simulacao.
+     *
+     * @param mensagem O texto da mensagem.
+     */
+    void erro(String mensagem);
+
+    /**
+     * Regista a entrada de To Cruz numa divisao.
+     *
+     * @param divisao A divisao para onde To Cruz se moveu.
+     */
+    void toCruzMoveu(IDivisao divisao);
+
+    /**
+     * Regista que foram encontrados itens numa divisao.
+     *
+     * @param divisao A divisao onde os itens se encontram.
+     */
+    void itensEncontrados(IDivisao divisao);
+
+    /**
+     * Regista a coleta de um item por To Cruz.
+     *
+     * @param item O item coletado.
+     */
+    void itemColetado(IItem item);
+
+    /**
+     * Regista que nao existe nenhum inimigo para combater na divisao.
+     *
+     * @param divisao A divisao sem inimigos.
+     */
+    void semInimigos(IDivisao divisao);
+
+    /**
+     * Regista o inicio de um combate.
+     *
+     * @param divisao         A divisao onde o combate ocorre.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     */
+    void combateIniciado(IDivisao divisao, boolean inimigoPrimeiro);
+
+    /**
+     * Regista um ataque de To Cruz a um inimigo.
+     *
+     * @param inimigo O inimigo atacado.
+     * @param dano    O dano causado.
+     */
+    void toCruzAtacou(IInimigo inimigo, int dano);
+
+    /**
+     * Regista um ataque de um inimigo a To Cruz.
+     *
+     * @param inimigo      O inimigo que atacou.
+     * @param dano         O dano causado a To Cruz.
+     * @param contraAtaque {@code true} se o ataque foi uma resposta durante o
+     *                     combate corpo a corpo.
+     */
+    void inimigoAtacou(IInimigo inimigo, int dano, boolean contraAtaque);
+
+    /**
+     * Regista a derrota de um inimigo.
+     *
+     * @param inimigo O inimigo derrotado.
+     */
+    void inimigoDerrotado(IInimigo inimigo);
+
+    /**
+     * Regista que todos os inimigos de uma divisao foram derrotados.
+     *
+     * @param divisao A divisao que ficou sem inimigos.
+     */
+    void salaLimpa(IDivisao divisao);
+
+    /**
+     * Regista a derrota de To Cruz num combate.
+     *
+     * @param divisao A divisao onde To Cruz foi derrotado.
+     */
+    void toCruzDerrotado(IDivisao divisao);
+
+    /**
+     * Regista o fim de um combate, com o balanco da vida de To Cruz.
+     *
+     * @param divisao    A divisao onde o combate ocorreu.
+     * @param vidaAntes  A vida de To Cruz antes do combate.
+     * @param vidaDepois A vida de To Cruz depois do combate.
+     */
+    void combateTerminado(IDivisao divisao, int vidaAntes, int vidaDepois);
+
+    /**
+     * Regista o movimento de um inimigo entre duas divisoes.
+     *
+     * @param inimigo O inimigo que se moveu.
+     * @param origem  A divisao de origem.
+     * @param destino A divisao de destino.
+     */
+    void inimigoMoveu(IInimigo inimigo, IDivisao origem, IDivisao destino);
+
+    /**
+     * Regista a entrada de um inimigo na divisao onde To Cruz se encontra.
+     *
+     * @param divisao A divisao de To Cruz.
+     */
+    void inimigoEntrouNaSala(IDivisao divisao);
+}
@@ -0,0 +1,354 @@
+package org.example.api.implementation.models;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.implementation.interfaces.IConstrutorMapa;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IItem;
+import org.example.collections.implementation.ArrayHashMap;
+
+/**
+ * Junta divisoes, ligacoes, inimigos, itens, entradas/saidas e o alvo e acrescenta-os
+ * a um {@link MapaImpl} de uma so vez, com custo linear no numero de elementos.
+ * <p>
+ * As divisoes recebem indices consecutivos a seguir as que o mapa ja tem, e as
+ * ligacoes, inimigos e itens referem-nas por esses indices; {@link #getIndice(String)}
+ * converte um nome num indice atraves de um indice de nomes por dispersao, em vez de
+ * percorrer o grafo. Cada elemento e validado quando e acrescentado, pelo que
+ * {@link #construir()} nao falha a meio: ou o mapa recebe tudo, ou nada e alterado.
+ * </p>
+ * <p>
+ * Ao contrario dos metodos do mapa, o construtor nao escreve mensagens: as ligacoes
+ * repetidas sao ignoradas em silencio, e as entradas/saidas e o alvo sao aplicados
+ * diretamente nas divisoes, sem passar pelo registo de eventos do mapa.
+ * </p>
+ */
+public class ConstrutorMapa implements IConstrutorMapa {
+
+    private final MapaImpl mapa;
+    private final int base;
+
+    private String[] nomes = new String[16];
+    private int numeroDivisoes;
+
+    /**
+     * O indice no mapa de cada divisao, pelo nome.
+     */
+    private final ArrayHashMap<String, Integer> indices;
+
+    /**
+     * Pares de indices, seguidos: a ligacao {@code k} e {@code ligacoes[2k]} - {@code ligacoes[2k + 1]}.
+     */
+    private int[] ligacoes = new int[32];
+    private int numeroLigacoes;
+
+    private IInimigo[] inimigos = new IInimigo[16];
+    private int[] divisoesInimigos = new int[16];
+    private int numeroInimigos;
+
+    private IItem[] itens = new IItem[16];
+    private int[] divisoesItens = new int[16];
+    private int numeroItens;
+
+    private int[] entradasSaidas = new int[4];
+    private int numeroEntradasSaidas;
+
+    /**
+     * A divisao do alvo a definir, ou -1; {@code removerAlvo} so conta se for -1.
+     */
+    private int divisaoAlvo = -1;
+    private String tipoAlvo;
+    private boolean removerAlvo;
+
+    private boolean construido;
+
+    /**
+     * Construtor associado a um mapa. Os nomes das divisoes que o mapa ja tem entram
+     * no indice de nomes.
+     *
+     * @param mapa O mapa que recebe os elementos.
+     */
+    ConstrutorMapa(MapaImpl mapa) {
+        this.mapa = mapa;
+        this.base = mapa.getNumeroDivisoes();
+        this.indices = new ArrayHashMap<>(Math.max(base, 16));
+        for (int i = 0; i < base; i++) {
+            indices.put(mapa.getDivisaoPorIndice(i).getNomeDivisao(), i);
+        }
+    }
+
+    /**
+     * Reserva espaco quando o numero de elementos e conhecido antes de os acrescentar.
+     *
+     * @param divisoes O numero de divisoes.
+     * @param ligacoes O numero de ligacoes.
+     */
+    @Override
+    public void reservar(int divisoes, int ligacoes) {
+        if (divisoes > nomes.length - numeroDivisoes) {
+            nomes = copiar(nomes, numeroDivisoes + divisoes);
+        }
+        indices.ensureCapacity(indices.size() + divisoes);
+        if (ligacoes > (this.ligacoes.length >> 1) - numeroLigacoes) {
+            this.ligacoes = copiar(this.ligacoes, (numeroLigacoes + ligacoes) * 2);
+        }
+    }
+
+    /**
+     * Acrescenta uma divisao.
+     *
+     * @param nome O nome da divisao.
+     * @return O indice que a divisao vai ter no mapa.
+     * @throws IllegalArgumentException se o nome for nulo, vazio ou ja existir.
+     */
+    @Override
+    public int adicionarDivisao(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome da divisao nao pode ser vazio ou nulo.");
+        }
+        verificarAberto();
+        String chave = nome.trim();
+        if (indices.containsKey(chave)) {
+            throw new IllegalArgumentException("Divisao '" + chave + "' repetida.");
+        }
+        if (numeroDivisoes == nomes.length) {
+            nomes = copiar(nomes, nomes.length * 2);
+        }
+        int indice = base + numeroDivisoes;
+        nomes[numeroDivisoes++] = chave;
+        indices.put(chave, indice);
+        return indice;
+    }
+
+    /**
+     * Obtem o indice de uma divisao, ja existente no mapa ou acrescentada a este construtor.
+     *
+     * @param nome O nome da divisao.
+     * @return O indice da divisao.
+     * @throws IllegalArgumentException  se o nome for nulo ou vazio.
+     * @throws DivisionNotFoundException se a divisao nao existir.
+     */
+    @Override
+    public int getIndice(String nome) throws DivisionNotFoundException {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome da divisao nao pode ser vazio ou nulo.");
+        }
+        Integer indice = indices.get(nome.trim());
+        if (indice == null) {
+            throw new DivisionNotFoundException("Divisao '" + nome + "' nao encontrada.");
+        }
+        return indice;
+    }
+
+    /**
+     * Acrescenta uma ligacao entre duas divisoes.
+     *
+     * @param indice1 O indice da primeira divisao.
+     * @param indice2 O indice da segunda divisao.
+     * @throws IllegalArgumentException se algum indice for invalido.
+     */
+    @Override
+    public void adicionarLigacao(int indice1, int indice2) {
+        verificarAberto();
+        verificarIndice(indice1);
+        verificarIndice(indice2);
+        if (numeroLigacoes * 2 == ligacoes.length) {
+            ligacoes = copiar(ligacoes, ligacoes.length * 2);
+        }
+        ligacoes[numeroLigacoes * 2] = indice1;
+        ligacoes[numeroLigacoes * 2 + 1] = indice2;
+        numeroLigacoes++;
+    }
+
+    /**
+     * Acrescenta um inimigo a uma divisao.
+     *
+     * @param divisao O indice da divisao.
+     * @param inimigo O inimigo.
+     * @throws IllegalArgumentException se o indice for invalido ou o inimigo for nulo.
+     */
+    @Override
+    public void adicionarInimigo(int divisao, IInimigo inimigo) {
+        if (inimigo == null) {
+            throw new IllegalArgumentException("O inimigo nao pode ser nulo.");
+        }
+        verificarAberto();
+        verificarIndice(divisao);
+        if (numeroInimigos == inimigos.length) {
+            inimigos = copiar(inimigos, inimigos.length * 2);
+            divisoesInimigos = copiar(divisoesInimigos, divisoesInimigos.length * 2);
+        }
+        inimigos[numeroInimigos] = inimigo;
+        divisoesInimigos[numeroInimigos++] = divisao;
+    }
+
+    /**
+     * Acrescenta um item a uma divisao.
+     *
+     * @param divisao O indice da divisao.
+     * @param item    O item.
+     * @throws IllegalArgumentException se o indice for invalido ou o item for nulo.
+     */
+    @Override
+    public void adicionarItem(int divisao, IItem item) {
+        if (item == null) {
+            throw new IllegalArgumentException("O item nao pode ser nulo.");
+        }
+        verificarAberto();
+        verificarIndice(divisao);
+        if (numeroItens == itens.length) {
+            itens = copiar(itens, itens.length * 2);
+            divisoesItens = copiar(divisoesItens, divisoesItens.length * 2);
+        }
+        itens[numeroItens] = item;
+        divisoesItens[numeroItens++] = divisao;
+    }
+
+    /**
+     * Marca uma divisao como entrada/saida.
+     *
+     * @param divisao O indice da divisao.
+     * @throws IllegalArgumentException se o indice for invalido.
+     */
+    @Override
+    public void adicionarEntradaSaida(int divisao) {
+        verificarAberto();
+        verificarIndice(divisao);
+        if (numeroEntradasSaidas == entradasSaidas.length) {
+            entradasSaidas = copiar(entradasSaidas, entradasSaidas.length * 2);
+        }
+        entradasSaidas[numeroEntradasSaidas++] = divisao;
+    }
+
+    /**
+     * Define o alvo da missao, substituindo o que o mapa tiver.
+     *
+     * @param divisao O indice da divisao do alvo.
+     * @param tipo    O tipo do alvo.
+     * @throws IllegalArgumentException se o indice for invalido ou o tipo for nulo ou vazio.
+     */
+    @Override
+    public void definirAlvo(int divisao, String tipo) {
+        if (tipo == null || tipo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tipo do alvo nao pode ser vazio ou nulo.");
+        }
+        verificarAberto();
+        verificarIndice(divisao);
+        divisaoAlvo = divisao;
+        tipoAlvo = tipo;
+    }
+
+    /**
+     * Remove o alvo que o mapa tiver, a menos que seja definido outro neste construtor.
+     */
+    @Override
+    public void removerAlvo() {
+        verificarAberto();
+        removerAlvo = true;
+    }
+
+    /**
+     * Acrescenta ao mapa tudo o que foi junto: as divisoes com uma unica reserva do
+     * grafo, as ligacoes pelos indices, em cada divisao os seus inimigos e itens pela
+     * ordem em que foram acrescentados, com um unico calculo do hash por divisao, e por
+     * fim as entradas/saidas e o alvo.
+     *
+     * @throws IllegalStateException se o construtor ja foi usado ou se o mapa mudou
+     *                               de tamanho entretanto.
+     */
+    @Override
+    public void construir() {
+        verificarAberto();
+        if (mapa.getNumeroDivisoes() != base) {
+            throw new IllegalStateException("O mapa foi alterado depois de criado o construtor.");
+        }
+        construido = true;
+
+        mapa.adicionarDivisoes(copiar(nomes, numeroDivisoes));
+        for (int k = 0; k < numeroLigacoes; k++) {
+            mapa.ligar(ligacoes[2 * k], ligacoes[2 * k + 1]);
+        }
+
+        // Ordenacao por contagem (estavel) dos inimigos e dos itens pela divisao.
+        int n = base + numeroDivisoes;
+        int[] iniciosInimigos = new int[n + 1];
+        IInimigo[] inimigosOrdenados = new IInimigo[numeroInimigos];
+        ordenar(inimigos, divisoesInimigos, numeroInimigos, iniciosInimigos, inimigosOrdenados);
+        int[] iniciosItens = new int[n + 1];
+        IItem[] itensOrdenados = new IItem[numeroItens];
+        ordenar(itens, divisoesItens, numeroItens, iniciosItens, itensOrdenados);
+
+        for (int i = 0; i < n; i++) {
+            if (iniciosInimigos[i] != iniciosInimigos[i + 1] || iniciosItens[i] != iniciosItens[i + 1]) {
+                ((DivisaoImpl) mapa.getDivisaoPorIndice(i)).adicionarConteudo(
+                        inimigosOrdenados, iniciosInimigos[i], iniciosInimigos[i + 1],
+                        itensOrdenados, iniciosItens[i], iniciosItens[i + 1]);
+            }
+        }
+
+        for (int k = 0; k < numeroEntradasSaidas; k++) {
+            mapa.getDivisaoPorIndice(entradasSaidas[k]).setEntradaSaida(true);
+        }
+        if (divisaoAlvo >= 0) {
+            mapa.colocarAlvo(new AlvoImpl(mapa.getDivisaoPorIndice(divisaoAlvo), tipoAlvo));
+        } else if (removerAlvo) {
+            mapa.colocarAlvo(null);
+        }
+    }
+
+    /**
+     * @return O numero de divisoes acrescentadas a este construtor.
+     */
+    @Override
+    public int getNumeroDivisoes() {
+        return numeroDivisoes;
+    }
+
+    private static <T> void ordenar(T[] elementos, int[] divisoes, int total, int[] inicios, T[] destino) {
+        for (int k = 0; k < total; k++) {
+            inicios[divisoes[k] + 1]++;
+        }
+        for (int i = 0; i + 1 < inicios.length; i++) {
+            inicios[i + 1] += inicios[i];
+        }
+        int[] proximo = inicios.clone();
+        for (int k = 0; k < total; k++) {
+            destino[proximo[divisoes[k]]++] = elementos[k];
+        }
+    }
+
+    private void verificarAberto() {
+        if (construido) {
+            throw new IllegalStateException("O construtor ja foi usado.");
+        }
+    }
+
+    private void verificarIndice(int indice) {
+        if (indice < 0 || indice >= base + numeroDivisoes) {
+            throw new IllegalArgumentException("Indice de divisao invalido: " + indice);
+        }
+    }
+
+    private static String[] copiar(String[] array, int tamanho) {
+        String[] copia = new String[tamanho];
+        System.arraycopy(array, 0, copia, 0, Math.min(array.length, tamanho));
+        return copia;
+    }
+
+    private static IInimigo[] copiar(IInimigo[] array, int tamanho) {
+        IInimigo[] copia = new IInimigo[tamanho];
+        System.arraycopy(array, 0, copia, 0, Math.min(array.length, tamanho));
+        return copia;
+    }
+
+    private static IItem[] copiar(IItem[] array, int tamanho) {
+        IItem[] copia = new IItem[tamanho];
+        System.arraycopy(array, 0, copia, 0, Math.min(array.length, tamanho));
+        return copia;
+    }
+
+    private static int[] copiar(int[] array, int tamanho) {
+        int[] copia = new int[tamanho];
+        System.arraycopy(array, 0, copia, 0, Math.min(array.length, tamanho));
+        return copia;
+    }
+}
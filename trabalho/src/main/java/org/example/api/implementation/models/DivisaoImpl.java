@@ -15,6 +15,18 @@ public class DivisaoImpl implements IDivisao {
     private ArrayUnorderedList<IItem> itensPresentes;
     private boolean entradaSaida;
 
+    /**
+     * Hash do conteudo, recalculado a cada alteracao.
+     */
+    private long hashConteudo;
+
+    /**
+     * Mapa a que a divisao pertence e o seu indice, para propagar as alteracoes
+     * do hash ao hash do mapa.
+     */
+    private MapaImpl mapa;
+    private int indice = -1;
+
     /**
      * Construtor da Divisao.
      *
@@ -28,6 +40,28 @@ public class DivisaoImpl implements IDivisao {
         this.nomeDivisao = nomeDivisao.trim();
         this.inimigosPresentes = new ArrayUnorderedList<>();
         this.itensPresentes = new ArrayUnorderedList<>();
+        this.hashConteudo = calcularHash();
+    }
+
+    /**
+     * Associa a divisao ao mapa que a contem.
+     *
+     * @param mapa   O mapa.
+     * @param indice O indice da divisao no mapa.
+     */
+    void associarMapa(MapaImpl mapa, int indice) {
+        this.mapa = mapa;
+        this.indice = indice;
+    }
+
+    /**
+     * Obtem o indice da divisao no mapa indicado, sem percorrer o grafo.
+     *
+     * @param mapa O mapa.
+     * @return O indice, ou -1 se a divisao nao estiver associada a esse mapa.
+     */
+    int getIndiceEm(MapaImpl mapa) {
+        return this.mapa == mapa ? indice : -1;
     }
 
     /**
@@ -57,10 +91,13 @@ public class DivisaoImpl implements IDivisao {
             throw new IllegalArgumentException("O inimigo nao pode ser nulo.");
         }
         inimigosPresentes.addToRear(inimigo);
+        atualizarHash();
     }
 
     /**
-     * Remove um inimigo da divisao.
+     * Remove um inimigo da divisao. O inimigo e procurado pela identidade, pelo que
+     * outro inimigo com o mesmo nome nao e afetado, e os restantes mantem a sua ordem,
+     * que e a ordem pela qual To Cruz os ataca.
      *
      * @param inimigo O inimigo a ser removido.
      * @throws ElementNotFoundException se o inimigo nao estiver presente na
@@ -72,7 +109,8 @@ public class DivisaoImpl implements IDivisao {
         if (inimigo == null) {
             throw new IllegalArgumentException("O inimigo nao pode ser nulo.");
         }
-        inimigosPresentes.remove(inimigo);
+        inimigosPresentes.removeSame(inimigo);
+        atualizarHash();
     }
 
     /**
@@ -87,6 +125,7 @@ public class DivisaoImpl implements IDivisao {
             throw new IllegalArgumentException("O item nao pode ser nulo.");
         }
         itensPresentes.addToRear(item);
+        atualizarHash();
     }
 
     /**
@@ -102,6 +141,29 @@ public class DivisaoImpl implements IDivisao {
             throw new IllegalArgumentException("O item nao pode ser nulo.");
         }
         itensPresentes.remove(item);
+        atualizarHash();
+    }
+
+    /**
+     * Adiciona varios inimigos e itens, recalculando o hash uma unica vez.
+     *
+     * @param inimigos      Os inimigos, nas posicoes {@code deInimigos} a {@code ateInimigos - 1}.
+     * @param deInimigos    A primeira posicao dos inimigos.
+     * @param ateInimigos   A posicao seguinte a do ultimo inimigo.
+     * @param itens         Os itens, nas posicoes {@code deItens} a {@code ateItens - 1}.
+     * @param deItens       A primeira posicao dos itens.
+     * @param ateItens      A posicao seguinte a do ultimo item.
+     */
+    void adicionarConteudo(IInimigo[] inimigos, int deInimigos, int ateInimigos,
+                           IItem[] itens, int deItens, int ateItens) {
+        for (int i = deInimigos; i < ateInimigos; i++) {
+            inimigosPresentes.addToRear(inimigos[i]);
+        }
+        for (int i = deItens; i < ateItens; i++) {
+            itens[i].setDivisao(this);
+            itensPresentes.addToRear(itens[i]);
+        }
+        atualizarHash();
     }
 
     /**
@@ -123,6 +185,7 @@ public class DivisaoImpl implements IDivisao {
     @Override
     public void setEntradaSaida(boolean entradaSaida) {
         this.entradaSaida = entradaSaida;
+        atualizarHash();
     }
 
     /**
@@ -143,6 +206,7 @@ public class DivisaoImpl implements IDivisao {
     @Override
     public void setInimigosPresentes(ArrayUnorderedList<IInimigo> inimigosPresentes) {
         this.inimigosPresentes = inimigosPresentes;
+        atualizarHash();
     }
 
     /**
@@ -163,6 +227,7 @@ public class DivisaoImpl implements IDivisao {
     @Override
     public void setItensPresentes(ArrayUnorderedList<IItem> itensPresentes) {
         this.itensPresentes = itensPresentes;
+        atualizarHash();
     }
 
     /**
@@ -225,4 +290,71 @@ public class DivisaoImpl implements IDivisao {
         }
         return false;
     }
+
+    /**
+     * Obtem o hash do conteudo da divisao.
+     *
+     * @return O hash do conteudo.
+     */
+    @Override
+    public long getHashConteudo() {
+        return hashConteudo;
+    }
+
+    /**
+     * Recalcula o hash do conteudo e, se mudou, atualiza o hash do mapa.
+     */
+    @Override
+    public void atualizarHash() {
+        long antigo = hashConteudo;
+        hashConteudo = calcularHash();
+        if (mapa != null && antigo != hashConteudo) {
+            mapa.atualizarHashDivisao(indice, antigo, hashConteudo);
+        }
+    }
+
+    /**
+     * Calcula o hash do conteudo. Inimigos e itens sao somados, para que a ordem
+     * nas listas nao altere o resultado.
+     *
+     * @return O hash do conteudo.
+     */
+    private long calcularHash() {
+        long hash = misturar(nomeDivisao.hashCode());
+        if (entradaSaida) {
+            hash = misturar(hash ^ 0x5DEECE66DL);
+        }
+
+        long somaInimigos = 0;
+        if (inimigosPresentes != null) {
+            for (int i = 0; i < inimigosPresentes.size(); i++) {
+                IInimigo inimigo = inimigosPresentes.getElementAt(i);
+                somaInimigos += misturar(((long) inimigo.getNome().hashCode() << 32) ^ inimigo.getPoder()
+                        ^ ((long) inimigo.getIndiceTipo() << 24));
+            }
+        }
+
+        long somaItens = 0;
+        if (itensPresentes != null) {
+            for (int i = 0; i < itensPresentes.size(); i++) {
+                IItem item = itensPresentes.getElementAt(i);
+                somaItens += misturar(((long) item.getTipo().hashCode() << 32) ^ item.getPontos() ^ 0xA5A5L);
+            }
+        }
+
+        return misturar(hash + 31 * somaInimigos) ^ Long.rotateLeft(misturar(somaItens), 29);
+    }
+
+    /**
+     * Funcao de mistura de 64 bits (finalizador SplitMix64).
+     *
+     * @param valor O valor a misturar.
+     * @return O valor misturado.
+     */
+    static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
 }
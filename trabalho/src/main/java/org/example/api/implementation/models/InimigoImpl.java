@@ -9,6 +9,7 @@ public class InimigoImpl implements IInimigo {
     private String nome;
     private int poder;
     private int vida = 100;
+    private int indiceTipo;
 
     /**
      * Construtor do Inimigo.
@@ -101,6 +102,30 @@ public class InimigoImpl implements IInimigo {
         this.poder = Math.max(0, this.poder - dano);
     }
 
+    /**
+     * Obtem o indice do tipo do inimigo nas regras de combate.
+     *
+     * @return Indice do tipo.
+     */
+    @Override
+    public int getIndiceTipo() {
+        return indiceTipo;
+    }
+
+    /**
+     * Define o indice do tipo do inimigo nas regras de combate.
+     *
+     * @param indiceTipo Novo indice do tipo.
+     * @throws IllegalArgumentException se o indice for negativo.
+     */
+    @Override
+    public void setIndiceTipo(int indiceTipo) {
+        if (indiceTipo < 0) {
+            throw new IllegalArgumentException("O indice do tipo do inimigo nao pode ser negativo.");
+        }
+        this.indiceTipo = indiceTipo;
+    }
+
     /**
      * Valida o nome fornecido.
      *
@@ -2,11 +2,15 @@ package org.example.api.implementation.models;
 
 import org.example.api.exceptions.ElementNotFoundException;
 import org.example.api.implementation.interfaces.*;
-import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.api.implementation.services.TabelaCombates;
+import org.example.api.implementation.utils.RegistoEventosConsola;
 import org.example.collections.implementation.*;
+import org.example.collections.primitive.IntArrayStack;
+import org.example.collections.primitive.IntMinHeap;
 
 import java.util.Iterator;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.example.api.implementation.simulation.SimulacaoAutomaticaImpl.*;
 
@@ -43,6 +47,31 @@ public class MapaImpl implements IMapa {
      */
     private ArrayUnorderedList<IDivisao> entradasSaidas;
 
+    /**
+     * Soma das contribuicoes de cada divisao (indice e hash do conteudo) e de cada
+     * ligacao, mantidas incrementalmente a cada alteracao. A soma das divisoes e atomica
+     * porque divisoes diferentes podem mudar em threads diferentes (ver
+     * {@link org.example.api.implementation.services.MotorCombateParticionado}); a soma
+     * e comutativa, pelo que o resultado nao depende da ordem das atualizacoes.
+     */
+    private final AtomicLong hashDivisoes = new AtomicLong();
+    private long hashLigacoes;
+
+    /**
+     * Perdas de vida em combate memorizadas por divisão, usadas no custo dos caminhos.
+     */
+    private final TabelaCombates tabelaCombates;
+
+    /**
+     * Regras de combate da missão.
+     */
+    private RegrasCombate regrasCombate = RegrasCombate.PADRAO;
+
+    /**
+     * Registo que recebe os avisos e erros do mapa.
+     */
+    private IRegistoEventos eventos = RegistoEventosConsola.INSTANCIA;
+
     /**
      * Construtor padrão do Mapa.
      * Inicializa o grafo vazio e a lista de entradas/saídas.
@@ -50,6 +79,7 @@ public class MapaImpl implements IMapa {
     public MapaImpl() {
         this.grafo = new Graph<>();
         this.entradasSaidas = new ArrayUnorderedList<>();
+        this.tabelaCombates = new TabelaCombates(this);
     }
 
     /**
@@ -61,11 +91,73 @@ public class MapaImpl implements IMapa {
     @Override
     public void adicionarDivisao(String nomeDivisao) {
         if (nomeDivisao == null || nomeDivisao.trim().isEmpty()) {
-            System.err.println("Erro: Nome da divisao invalido.");
+            eventos.erro("Erro: Nome da divisao invalido.");
             return;
         }
-        IDivisao divisao = new DivisaoImpl(nomeDivisao);
+        DivisaoImpl divisao = new DivisaoImpl(nomeDivisao);
         grafo.addVertex(divisao);
+
+        int indice = grafo.size() - 1;
+        divisao.associarMapa(this, indice);
+        hashDivisoes.addAndGet(contribuicaoDivisao(indice, divisao.getHashConteudo()));
+    }
+
+    /**
+     * Reserva espaço no grafo para mais divisões, evitando as expansões sucessivas da matriz de adjacência.
+     *
+     * @param quantidade O número de divisões que vão ser adicionadas.
+     */
+    @Override
+    public void reservarDivisoes(int quantidade) {
+        if (quantidade > 0) {
+            grafo.ensureCapacity(grafo.size() + quantidade);
+        }
+    }
+
+    /**
+     * Adiciona várias divisões de uma vez, com uma única reserva do grafo.
+     *
+     * @param nomes Os nomes das divisões.
+     * @throws IllegalArgumentException se algum nome for nulo ou vazio.
+     */
+    @Override
+    public void adicionarDivisoes(String[] nomes) {
+        reservarDivisoes(nomes.length);
+        for (String nome : nomes) {
+            DivisaoImpl divisao = new DivisaoImpl(nome);
+            grafo.addVertex(divisao);
+
+            int indice = grafo.size() - 1;
+            divisao.associarMapa(this, indice);
+            hashDivisoes.addAndGet(contribuicaoDivisao(indice, divisao.getHashConteudo()));
+        }
+    }
+
+    /**
+     * Adiciona as ligações descritas em listas de adjacência compactas, pelos índices das divisões.
+     * Cada ligação aparece nas listas das duas divisões e é contada uma só vez.
+     *
+     * @param inicios    O início dos vizinhos de cada divisão.
+     * @param adjacentes Os índices dos vizinhos.
+     * @throws IllegalArgumentException se as listas forem inconsistentes com o mapa.
+     */
+    @Override
+    public void adicionarLigacoes(int[] inicios, int[] adjacentes) {
+        int n = grafo.size();
+        if (inicios == null || adjacentes == null || inicios.length != n + 1 || inicios[n] > adjacentes.length) {
+            throw new IllegalArgumentException("Listas de adjacencia inconsistentes com o mapa.");
+        }
+        for (int i = 0; i < n; i++) {
+            for (int k = inicios[i]; k < inicios[i + 1]; k++) {
+                int j = adjacentes[k];
+                if (j < 0 || j >= n) {
+                    throw new IllegalArgumentException("Indice de divisao invalido: " + j);
+                }
+                if (j > i) {
+                    ligar(i, j);
+                }
+            }
+        }
     }
 
     /**
@@ -86,11 +178,166 @@ public class MapaImpl implements IMapa {
         IDivisao divisao2 = getDivisaoPorNome(nomeDivisao2);
 
         if (grafo.isAdjacent(divisao1, divisao2)) {
-            System.out.println("Ligacao ja existente entre " + nomeDivisao1 + " e " + nomeDivisao2);
+            eventos.mensagem("Ligacao ja existente entre " + nomeDivisao1 + " e " + nomeDivisao2);
             return;
         }
 
-        grafo.addEdge(divisao1, divisao2);
+        ligar(grafo.getIndex(divisao1), grafo.getIndex(divisao2));
+    }
+
+    /**
+     * Liga duas divisões pelos seus índices, se ainda não estiverem ligadas, e atualiza o hash das ligações.
+     *
+     * @param indice1 O índice da primeira divisão.
+     * @param indice2 O índice da segunda divisão.
+     * @return {@code true} se a ligação foi criada.
+     */
+    boolean ligar(int indice1, int indice2) {
+        if (grafo.isAdjacent(indice1, indice2)) {
+            return false;
+        }
+        grafo.addEdge(indice1, indice2);
+        hashLigacoes += DivisaoImpl.misturar(((long) Math.min(indice1, indice2) << 32) | Math.max(indice1, indice2));
+        return true;
+    }
+
+    /**
+     * Remove a ligação entre duas divisões, se existir.
+     *
+     * @param nomeDivisao1 Nome da primeira divisão.
+     * @param nomeDivisao2 Nome da segunda divisão.
+     * @return {@code true} se a ligação existia e foi removida.
+     */
+    @Override
+    public boolean removerLigacao(String nomeDivisao1, String nomeDivisao2) {
+        int indice1 = grafo.getIndex(getDivisaoPorNome(nomeDivisao1));
+        int indice2 = grafo.getIndex(getDivisaoPorNome(nomeDivisao2));
+        if (!grafo.isAdjacent(indice1, indice2)) {
+            return false;
+        }
+        grafo.removeEdge(indice1, indice2);
+        hashLigacoes -= DivisaoImpl.misturar(((long) Math.min(indice1, indice2) << 32) | Math.max(indice1, indice2));
+        return true;
+    }
+
+    /**
+     * Remove uma divisão e as suas ligações. Os índices das divisões seguintes mudam, pelo que o hash
+     * do mapa é recalculado.
+     *
+     * @param nomeDivisao Nome da divisão.
+     */
+    @Override
+    public void removerDivisao(String nomeDivisao) {
+        DivisaoImpl divisao = (DivisaoImpl) getDivisaoPorNome(nomeDivisao);
+        int indice = grafo.getIndex(divisao);
+        grafo.removeVertex(indice);
+        divisao.associarMapa(null, -1);
+        for (int i = indice; i < grafo.size(); i++) {
+            ((DivisaoImpl) grafo.getVertex(i)).associarMapa(this, i);
+        }
+        if (alvo != null && alvo.getDivisao() == divisao) {
+            alvo = null;
+        }
+
+        long somaDivisoes = 0;
+        hashLigacoes = 0;
+        for (int i = 0; i < grafo.size(); i++) {
+            somaDivisoes += contribuicaoDivisao(i, grafo.getVertex(i).getHashConteudo());
+            for (int j : grafo.getIndicesAdjacentes(i)) {
+                if (j >= i) {
+                    hashLigacoes += DivisaoImpl.misturar(((long) i << 32) | j);
+                }
+            }
+        }
+        hashDivisoes.set(somaDivisoes);
+    }
+
+    /**
+     * Cria um construtor para adicionar divisões, ligações, inimigos e itens em bloco.
+     *
+     * @return O construtor, associado a este mapa.
+     */
+    @Override
+    public IConstrutorMapa construtor() {
+        return new ConstrutorMapa(this);
+    }
+
+    /**
+     * Retorna o hash do conteudo do mapa: divisoes (pelo indice), ligacoes, entradas/saidas,
+     * inimigos com o seu poder e itens com os seus pontos. E mantido a cada alteracao, sem
+     * percorrer o mapa.
+     *
+     * @return O hash do conteudo do mapa.
+     */
+    @Override
+    public long getHashConteudo() {
+        return DivisaoImpl.misturar(hashDivisoes.get() ^ Long.rotateLeft(hashLigacoes, 17) ^ grafo.size()
+                ^ Long.rotateLeft(regrasCombate.getHash(), 41));
+    }
+
+    /**
+     * Obtém as regras de combate da missão.
+     *
+     * @return As regras de combate.
+     */
+    @Override
+    public RegrasCombate getRegrasCombate() {
+        return regrasCombate;
+    }
+
+    /**
+     * Define as regras de combate da missão.
+     *
+     * @param regras As regras de combate.
+     * @throws IllegalArgumentException se as regras forem nulas.
+     */
+    @Override
+    public void setRegrasCombate(RegrasCombate regras) {
+        if (regras == null) {
+            throw new IllegalArgumentException("Regras de combate nao podem ser nulas.");
+        }
+        this.regrasCombate = regras;
+        tabelaCombates.limpar();
+    }
+
+    /**
+     * Obtém o registo que recebe os avisos e erros do mapa.
+     *
+     * @return O registo de eventos do mapa.
+     */
+    @Override
+    public IRegistoEventos getRegistoEventos() {
+        return eventos;
+    }
+
+    /**
+     * Define o registo que recebe os avisos e erros do mapa.
+     *
+     * @param eventos O registo de eventos.
+     * @throws IllegalArgumentException se o registo for nulo.
+     */
+    @Override
+    public void setRegistoEventos(IRegistoEventos eventos) {
+        if (eventos == null) {
+            throw new IllegalArgumentException("O registo de eventos nao pode ser nulo.");
+        }
+        this.eventos = eventos;
+    }
+
+    /**
+     * Atualiza o hash do mapa quando o conteudo de uma divisao muda. Pode ser chamado
+     * ao mesmo tempo por threads que alteram divisoes diferentes.
+     *
+     * @param indice O indice da divisao.
+     * @param antigo O hash anterior da divisao.
+     * @param novo   O novo hash da divisao.
+     */
+    void atualizarHashDivisao(int indice, long antigo, long novo) {
+        hashDivisoes.addAndGet(contribuicaoDivisao(indice, novo) - contribuicaoDivisao(indice, antigo));
+    }
+
+    private long contribuicaoDivisao(int indice, long hashDivisao) {
+        return DivisaoImpl.misturar(hashDivisao + 0x632BE59BD9B4E019L * (indice + 1));
     }
 
     /**
@@ -101,12 +348,13 @@ public class MapaImpl implements IMapa {
     @Override
     public ArrayUnorderedList<Ligacao> getLigacoes() {
         ArrayUnorderedList<Ligacao> ligacoes = new ArrayUnorderedList<>();
+        ArrayHashSet<Ligacao> vistas = new ArrayHashSet<>();
 
         for (IDivisao divisao : getDivisoes()) {
             LinkedList<IDivisao> adjacentes = grafo.getAdjacentes(divisao);
             for (IDivisao adjacente : adjacentes) {
                 Ligacao novaLigacao = new Ligacao(divisao, adjacente);
-                if (!ligacoes.contains(novaLigacao)) {
+                if (vistas.add(novaLigacao)) {
                     ligacoes.addToRear(novaLigacao);
                 }
             }
@@ -123,7 +371,7 @@ public class MapaImpl implements IMapa {
     @Override
     public void adicionarInimigo(String nomeDivisao, IInimigo inimigo) {
         if (nomeDivisao == null || inimigo == null || nomeDivisao.trim().isEmpty()) {
-            System.err.println("Erro: Nome da divisao ou inimigo invalido.");
+            eventos.erro("Erro: Nome da divisao ou inimigo invalido.");
             return;
         }
 
@@ -131,7 +379,7 @@ public class MapaImpl implements IMapa {
         if (divisao != null) {
             divisao.adicionarInimigo(inimigo);
         } else {
-            System.err.println("Erro: Divisao '" + nomeDivisao + "' nao encontrada.");
+            eventos.erro("Erro: Divisao '" + nomeDivisao + "' nao encontrada.");
         }
     }
 
@@ -144,7 +392,7 @@ public class MapaImpl implements IMapa {
     @Override
     public void adicionarItem(String nomeDivisao, IItem item) {
         if (nomeDivisao == null || item == null || nomeDivisao.trim().isEmpty()) {
-            System.err.println("Erro: Nome da divisao ou item invalido.");
+            eventos.erro("Erro: Nome da divisao ou item invalido.");
             return;
         }
 
@@ -153,7 +401,7 @@ public class MapaImpl implements IMapa {
             item.setDivisao(divisao);
             divisao.adicionarItem(item);
         } else {
-            System.err.println("Erro: Divisao '" + nomeDivisao + "' nao encontrada.");
+            eventos.erro("Erro: Divisao '" + nomeDivisao + "' nao encontrada.");
         }
     }
 
@@ -165,16 +413,16 @@ public class MapaImpl implements IMapa {
     @Override
     public void adicionarEntradaSaida(String nomeDivisao) {
         if (nomeDivisao == null || nomeDivisao.trim().isEmpty()) {
-            System.err.println("Erro: Nome da divisao para entrada/saida invalido.");
+            eventos.erro("Erro: Nome da divisao para entrada/saida invalido.");
             return;
         }
 
         IDivisao divisao = getDivisaoPorNome(nomeDivisao);
         if (divisao != null) {
             divisao.setEntradaSaida(true);
-            System.out.println("Divisao '" + nomeDivisao + "' marcada como entrada/saida.");
+            eventos.mensagem("Divisao '" + nomeDivisao + "' marcada como entrada/saida.");
         } else {
-            System.err.println("Erro: Divisao '" + nomeDivisao + "' nao encontrada.");
+            eventos.erro("Erro: Divisao '" + nomeDivisao + "' nao encontrada.");
         }
     }
 
@@ -233,16 +481,16 @@ public class MapaImpl implements IMapa {
     public void definirAlvo(String nomeDivisao, String tipo) {
         if (nomeDivisao == null || tipo == null ||
                 nomeDivisao.trim().isEmpty() || tipo.trim().isEmpty()) {
-            System.err.println("Erro: Nome da divisao ou tipo do alvo invalido.");
+            eventos.erro("Erro: Nome da divisao ou tipo do alvo invalido.");
             return;
         }
 
         IDivisao divisao = getDivisaoPorNome(nomeDivisao);
         if (divisao != null) {
             this.alvo = new AlvoImpl(divisao, tipo);
-            System.out.println("Alvo definido na divisao " + nomeDivisao + " de tipo " + tipo);
+            eventos.mensagem("Alvo definido na divisao " + nomeDivisao + " de tipo " + tipo);
         } else {
-            System.err.println("Erro: Divisao '" + nomeDivisao + "' nao encontrada para definir o alvo.");
+            eventos.erro("Erro: Divisao '" + nomeDivisao + "' nao encontrada para definir o alvo.");
         }
     }
 
@@ -252,13 +500,22 @@ public class MapaImpl implements IMapa {
     @Override
     public void removerAlvo() {
         if (this.alvo != null) {
-            System.out.println("Alvo removido do mapa.");
+            eventos.mensagem("Alvo removido do mapa.");
             this.alvo = null;
         } else {
-            System.out.println("Nenhum alvo para remover.");
+            eventos.mensagem("Nenhum alvo para remover.");
         }
     }
 
+    /**
+     * Substitui o alvo sem escrever mensagens, para o {@link ConstrutorMapa}.
+     *
+     * @param alvo O novo alvo, ou {@code null} para o remover.
+     */
+    void colocarAlvo(IAlvo alvo) {
+        this.alvo = alvo;
+    }
+
     /**
      * Obtém o alvo da missão.
      *
@@ -350,6 +607,9 @@ public class MapaImpl implements IMapa {
     /**
      * Move os inimigos de forma aleatória, podendo deslocá-los por até duas divisões.
      * Caso um inimigo entre na mesma divisão de To Cruz, ocorre um combate imediato.
+     * Os eventos do movimento são enviados para o registo de eventos do serviço de combate.
+     * O gerador aleatório não tem semente; ver {@link IMapa#moverInimigos} para a diferença
+     * em relação ao motor particionado.
      *
      * @param toCruz          Personagem principal (To Cruz).
      * @param combateService  Serviço de combate para resolver embates.
@@ -358,6 +618,7 @@ public class MapaImpl implements IMapa {
     @Override
     public void moverInimigos(ToCruz toCruz, ICombateService combateService) throws ElementNotFoundException {
         Random random = new Random();
+        IRegistoEventos eventos = combateService.getRegistoEventos();
         ArrayUnorderedList<IDivisao> divisoes = getDivisoes();
 
         if (divisoes == null || divisoes.isEmpty()) {
@@ -398,17 +659,15 @@ public class MapaImpl implements IMapa {
                 if (!destino.equals(origem)) {
                     destino.adicionarInimigo(inimigo);
                     origem.removerInimigo(inimigo);
-                    System.out.println("Inimigo '" + inimigo.getNome() + "' movimentou de " +
-                            origem.getNomeDivisao() + " para " + destino.getNomeDivisao());
+                    eventos.inimigoMoveu(inimigo, origem, destino);
 
                     // Se inimigo entrar na sala do To Cruz, combate imediato (inimigos atacam primeiro)
                     if (destino.equals(toCruz.getPosicaoAtual())) {
-                        System.out.println(crossedSwords
-                                + " Inimigo entrou na sala de To Cruz! Combate iniciado (inimigos primeiro).");
+                        eventos.inimigoEntrouNaSala(destino);
                         combateService.resolverCombate(toCruz, destino, true);
 
                         if (toCruz.getVida() <= 0) {
-                            System.err.println(skull + " To Cruz foi derrotado durante o ataque dos inimigos!");
+                            eventos.erro(skull + " To Cruz foi derrotado durante o ataque dos inimigos!");
                             return;
                         }
                     }
@@ -421,6 +680,12 @@ public class MapaImpl implements IMapa {
      * Calcula o melhor caminho entre duas divisões (origem e destino), 
      * levando em consideração custos baseados em inimigos (aumentam custo) 
      * e kits de vida (diminuem o custo).
+     * <p>
+     * Usa o algoritmo de Dijkstra sobre os índices do grafo, com uma {@link IntMinHeap}
+     * indexada: cada divisão é fixada uma só vez, pela ordem do custo acumulado, e o custo
+     * de uma divisão ainda por fixar é diminuído no lugar quando se encontra um caminho
+     * mais barato. Entre divisões com o mesmo custo é fixada primeiro a de menor índice.
+     * </p>
      * 
      * @param origem  Divisão inicial.
      * @param destino Divisão final.
@@ -430,58 +695,76 @@ public class MapaImpl implements IMapa {
     @Override
     public ArrayUnorderedList<IDivisao> calcularMelhorCaminho(IDivisao origem, IDivisao destino) {
         if (origem == null || destino == null) {
-            System.err.println("Erro: Origem ou destino invalidos.");
+            eventos.erro("Erro: Origem ou destino invalidos.");
             return new ArrayUnorderedList<>();
         }
 
-        LinkedQueue<IDivisao> fila = new LinkedQueue<>();
-        ArrayUnorderedList<IDivisao> visitados = new ArrayUnorderedList<>();
-        ArrayUnorderedList<Predecessor> predecessores = new ArrayUnorderedList<>();
-        ArrayUnorderedList<Integer> custos = new ArrayUnorderedList<>();
-
-        fila.enqueue(origem);
-        visitados.addToRear(origem);
-        predecessores.addToRear(new Predecessor(origem, null));
-        custos.addToRear(0);
-
-        while (!fila.isEmpty()) {
-            IDivisao atual = fila.dequeue();
-            int indiceAtual = findIndex(visitados, atual);
-            int custoAtual = custos.getElementAt(indiceAtual);
-
-            if (atual.equals(destino)) {
-                ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
-                reconstruirCaminho(predecessores, destino, caminho);
-                return caminho;
+        int n = grafo.size();
+        int inicio = grafo.getIndex(origem);
+        int fim = grafo.getIndex(destino);
+        if (inicio != -1 && fim != -1) {
+            int[] custos = new int[n];
+            int[] predecessores = new int[n];
+            boolean[] fixada = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                custos[i] = Integer.MAX_VALUE;
+                predecessores[i] = -1;
             }
 
-            LinkedList<IDivisao> conexoes = grafo.getAdjacentes(atual);
-            if (conexoes == null || conexoes.isEmpty()) continue;
-
-            for (int i = 0; i < conexoes.size(); i++) {
-                IDivisao vizinho = conexoes.getElementAt(i);
-                if (vizinho == null) continue;
+            IntMinHeap heap = new IntMinHeap(n);
+            custos[inicio] = 0;
+            heap.add(inicio, 0);
+            while (!heap.isEmpty()) {
+                int atual = heap.removeMin();
+                if (atual == fim) {
+                    return reconstruirCaminho(predecessores, fim);
+                }
+                fixada[atual] = true;
 
-                int custoMovimento = calcularCusto(atual, vizinho);
-                int novoCusto = custoAtual + custoMovimento;
-                int indiceVizinho = findIndex(visitados, vizinho);
+                IDivisao divisaoAtual = grafo.getVertex(atual);
+                for (int vizinho : grafo.getIndicesAdjacentes(atual)) {
+                    if (fixada[vizinho]) continue;
 
-                if (indiceVizinho == -1) {
-                    visitados.addToRear(vizinho);
-                    custos.addToRear(novoCusto);
-                    fila.enqueue(vizinho);
-                    predecessores.addToRear(new Predecessor(vizinho, atual));
-                } else if (novoCusto < custos.getElementAt(indiceVizinho)) {
-                    replaceElementAt(custos, indiceVizinho, novoCusto);
-                    predecessores.addToRear(new Predecessor(vizinho, atual));
+                    int novoCusto = custos[atual] + calcularCusto(divisaoAtual, grafo.getVertex(vizinho));
+                    if (novoCusto < custos[vizinho]) {
+                        custos[vizinho] = novoCusto;
+                        predecessores[vizinho] = atual;
+                        heap.addOrDecrease(vizinho, novoCusto);
+                    }
                 }
             }
         }
 
-        System.err.println("Caminho nao encontrado entre " + origem.getNomeDivisao() + " e " + destino.getNomeDivisao());
+        eventos.erro("Caminho nao encontrado entre " + origem.getNomeDivisao() + " e " + destino.getNomeDivisao());
         return new ArrayUnorderedList<>();
     }
 
+    /**
+     * Calcula o caminho com menos passos entre duas divisões, através da
+     * pesquisa em largura do grafo. Não considera inimigos nem itens.
+     *
+     * @param origem  Divisão de origem.
+     * @param destino Divisão de destino.
+     * @return Lista de divisões da origem ao destino, ou lista vazia se não houver caminho.
+     */
+    @Override
+    public ArrayUnorderedList<IDivisao> calcularCaminhoMaisCurto(IDivisao origem, IDivisao destino) {
+        ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
+        if (origem == null || destino == null) {
+            return caminho;
+        }
+        if (origem.equals(destino)) {
+            caminho.addToRear(origem);
+            return caminho;
+        }
+
+        Iterator<IDivisao> it = grafo.iteratorShortestPath(origem, destino);
+        while (it.hasNext()) {
+            caminho.addToRear(it.next());
+        }
+        return caminho;
+    }
+
     /**
      * Mostra o mapa do edifício (divisões e conexões) no console, incluindo informações 
      * sobre inimigos, itens, e se a divisão é entrada/saída.
@@ -547,6 +830,11 @@ public class MapaImpl implements IMapa {
     public ArrayUnorderedList<IDivisao> expandirConexoes(IDivisao divisaoAtual) {
         LinkedList<IDivisao> conexoesDiretas = grafo.getAdjacentes(divisaoAtual);
         ArrayUnorderedList<IDivisao> conexoesExpandida = new ArrayUnorderedList<>();
+        ArrayHashSet<IDivisao> diretas = new ArrayHashSet<>(conexoesDiretas.size());
+        ArrayHashSet<IDivisao> expandidas = new ArrayHashSet<>(conexoesDiretas.size());
+        for (int i = 0; i < conexoesDiretas.size(); i++) {
+            diretas.add(conexoesDiretas.getElementAt(i));
+        }
 
         // Conexões de segunda distância (repetição na lógica original, porém mantida)
         for (int i = 0; i < conexoesDiretas.size(); i++) {
@@ -555,9 +843,9 @@ public class MapaImpl implements IMapa {
 
             for (int j = 0; j < conexoesSegundaDistancia.size(); j++) {
                 IDivisao segundaConexao = conexoesSegundaDistancia.getElementAt(j);
-                if (!conexoesDiretas.contains(segundaConexao)
-                        && !conexoesExpandida.contains(segundaConexao)
-                        && !segundaConexao.equals(divisaoAtual)) {
+                if (!diretas.contains(segundaConexao)
+                        && !segundaConexao.equals(divisaoAtual)
+                        && expandidas.add(segundaConexao)) {
                     conexoesExpandida.addToRear(segundaConexao);
                 }
             }
@@ -566,7 +854,7 @@ public class MapaImpl implements IMapa {
         // Adiciona conexões diretas à lista expandida
         for (int i = 0; i < conexoesDiretas.size(); i++) {
             IDivisao conexao = conexoesDiretas.getElementAt(i);
-            if (!conexoesExpandida.contains(conexao)) {
+            if (expandidas.add(conexao)) {
                 conexoesExpandida.addToRear(conexao);
             }
         }
@@ -574,6 +862,55 @@ public class MapaImpl implements IMapa {
         return conexoesExpandida;
     }
 
+    /**
+     * Retorna o número de divisões do mapa.
+     *
+     * @return Número de vértices do grafo.
+     */
+    @Override
+    public int getNumeroDivisoes() {
+        return grafo.size();
+    }
+
+    /**
+     * Retorna o índice da divisão no grafo.
+     *
+     * @param divisao Divisão a procurar.
+     * @return Índice da divisão, ou -1 se não existir.
+     */
+    @Override
+    public int getIndiceDivisao(IDivisao divisao) {
+        if (divisao instanceof DivisaoImpl) {
+            int indice = ((DivisaoImpl) divisao).getIndiceEm(this);
+            if (indice != -1) {
+                return indice;
+            }
+        }
+        return divisao == null ? -1 : grafo.getIndex(divisao);
+    }
+
+    /**
+     * Retorna a divisão guardada num índice do grafo.
+     *
+     * @param indice Índice da divisão.
+     * @return A divisão, ou null se o índice for inválido.
+     */
+    @Override
+    public IDivisao getDivisaoPorIndice(int indice) {
+        return grafo.getVertex(indice);
+    }
+
+    /**
+     * Retorna os índices das divisões ligadas à divisão indicada.
+     *
+     * @param indice Índice da divisão.
+     * @return Índices das divisões adjacentes.
+     */
+    @Override
+    public int[] getIndicesAdjacentes(int indice) {
+        return grafo.getIndicesAdjacentes(indice);
+    }
+
     /**
      * Encontra a divisão com um kit de vida mais próximo da divisão de origem,
      * utilizando uma busca em largura (BFS).
@@ -589,13 +926,13 @@ public class MapaImpl implements IMapa {
             throw new IllegalArgumentException("Origem invalida");
         }
 
-        ArrayUnorderedList<IDivisao> divisoesVisitadas = new ArrayUnorderedList<>();
-        ArrayUnorderedList<IDivisao> fila = new ArrayUnorderedList<>();
-        fila.addToRear(origem);
+        // Os vizinhos vem todos do grafo, pelo que basta compara-los pela identidade
+        IdentityArrayHashSet<IDivisao> divisoesVisitadas = new IdentityArrayHashSet<>(grafo.size());
+        ArrayQueue<IDivisao> fila = new ArrayQueue<>();
+        fila.enqueue(origem);
 
         while (!fila.isEmpty()) {
-            IDivisao atual = fila.getElementAt(0);
-            fila.remove(atual);
+            IDivisao atual = fila.dequeue();
 
             if (atual.temKit()) {
                 return atual;
@@ -604,9 +941,8 @@ public class MapaImpl implements IMapa {
             LinkedList<IDivisao> adjacentes = grafo.getAdjacentes(atual);
             for (int i = 0; i < adjacentes.size(); i++) {
                 IDivisao vizinho = adjacentes.getElementAt(i);
-                if (!divisoesVisitadas.contains(vizinho)) {
-                    fila.addToRear(vizinho);
-                    divisoesVisitadas.addToRear(vizinho);
+                if (divisoesVisitadas.add(vizinho)) {
+                    fila.enqueue(vizinho);
                 }
             }
         }
@@ -669,59 +1005,17 @@ public class MapaImpl implements IMapa {
 
     // Métodos privados auxiliares
 
-    /**
-     * Encontra o índice de um determinado elemento em uma lista.
-     *
-     * @param list   Lista a ser pesquisada.
-     * @param target Elemento alvo.
-     * @return Índice do elemento ou -1 se não encontrado.
-     */
-    private int findIndex(ArrayUnorderedList<IDivisao> list, IDivisao target) {
-        for (int i = 0; i < list.size(); i++) {
-            if (list.getElementAt(i).equals(target)) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
-    /**
-     * Substitui um elemento em uma lista de custos.
-     *
-     * @param list  Lista de custos.
-     * @param index Índice a ser substituído.
-     * @param value Novo valor de custo.
-     */
-    private void replaceElementAt(ArrayUnorderedList<Integer> list, int index, int value) {
-        try {
-            list.remove(list.getElementAt(index));
-            if (index == 0) {
-                list.addToFront(value);
-            } else {
-                list.addAfter(value, list.getElementAt(index - 1));
-            }
-        } catch (ElementNotFoundException e) {
-            System.err.println("Erro ao substituir elemento na lista: " + e.getMessage());
-        }
-    }
-
     /**
      * Calcula o custo de atravessar de uma divisão para outra, considerando 
-     * inimigos (aumentam o custo) e kits de vida (reduzem o custo).
+     * inimigos (a vida perdida no combate ao entrar) e kits de vida (reduzem o custo).
      *
      * @param atual   Divisão atual.
      * @param vizinho Divisão vizinha.
      * @return Custo calculado.
      */
-    private int calcularCusto(IDivisao atual, IDivisao vizinho) {
-        int custo = 0;
-
-        ArrayUnorderedList<IInimigo> inimigos = vizinho.getInimigosPresentes();
-        if (inimigos != null && !inimigos.isEmpty()) {
-            for (int i = 0; i < inimigos.size(); i++) {
-                custo += inimigos.getElementAt(i).getPoder();
-            }
-        }
+    @Override
+    public int calcularCusto(IDivisao atual, IDivisao vizinho) {
+        int custo = tabelaCombates.getPerda(vizinho);
 
         ArrayUnorderedList<IItem> itens = vizinho.getItensPresentes();
         if (itens != null && !itens.isEmpty()) {
@@ -739,43 +1033,20 @@ public class MapaImpl implements IMapa {
     /**
      * Reconstrói o caminho a partir dos predecessores após encontrar o destino.
      *
-     * @param predecessores Lista de predecessores.
-     * @param objetivo      Divisão objetivo.
-     * @param caminho       Lista onde o caminho será armazenado.
+     * @param predecessores O índice do predecessor de cada divisão, ou -1 na origem.
+     * @param objetivo      O índice da divisão objetivo.
+     * @return O caminho, da origem ao objetivo.
      */
-    private void reconstruirCaminho(ArrayUnorderedList<Predecessor> predecessores, IDivisao objetivo,
-            ArrayUnorderedList<IDivisao> caminho) {
-        LinkedStack<IDivisao> pilha = new LinkedStack<>();
-        IDivisao atual = objetivo;
-
-        while (atual != null) {
+    private ArrayUnorderedList<IDivisao> reconstruirCaminho(int[] predecessores, int objetivo) {
+        IntArrayStack pilha = new IntArrayStack();
+        for (int atual = objetivo; atual != -1; atual = predecessores[atual]) {
             pilha.push(atual);
-            atual = getPredecessor(predecessores, atual.getNomeDivisao());
         }
 
+        ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
         while (!pilha.isEmpty()) {
-            try {
-                caminho.addToRear(pilha.pop());
-            } catch (EmptyCollectionException e) {
-                System.err.println("Erro ao reconstruir o caminho: " + e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * Obtém o predecessor de uma divisão a partir da lista de predecessores.
-     *
-     * @param predecessores Lista de predecessores.
-     * @param nomeDivisao   Nome da divisão atual.
-     * @return A divisão predecessora ou null se não encontrada.
-     */
-    private IDivisao getPredecessor(ArrayUnorderedList<Predecessor> predecessores, String nomeDivisao) {
-        for (int i = 0; i < predecessores.size(); i++) {
-            Predecessor p = predecessores.getElementAt(i);
-            if (p != null && p.getAtual().getNomeDivisao().equalsIgnoreCase(nomeDivisao)) {
-                return p.getPredecessor();
-            }
+            caminho.addToRear(grafo.getVertex(pilha.pop()));
         }
-        return null;
+        return caminho;
     }
 }
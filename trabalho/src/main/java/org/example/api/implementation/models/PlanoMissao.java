@@ -0,0 +1,122 @@
+package org.example.api.implementation.models;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.collections.implementation.ArrayUnorderedList;
+
+/**
+ * Plano de uma missao automatica: a entrada escolhida, o caminho ate ao objetivo,
+ * o caminho de volta ate uma saida e a vida prevista de To Cruz no fim do percurso.
+ * <p>
+ * Os planos sao imutaveis, podendo ser partilhados entre a thread que planeia e
+ * quem consulta o melhor plano encontrado ate ao momento.
+ * </p>
+ */
+public class PlanoMissao {
+
+    private final IDivisao entrada;
+    private final ArrayUnorderedList<IDivisao> caminhoParaObjetivo;
+    private final ArrayUnorderedList<IDivisao> caminhoDeVolta;
+    private final int vidaPrevista;
+    private final String estrategia;
+
+    /**
+     * Construtor do plano. Os caminhos sao copiados.
+     *
+     * @param entrada             A divisao por onde To Cruz entra no edificio.
+     * @param caminhoParaObjetivo O caminho da entrada ate ao objetivo (inclusive).
+     * @param caminhoDeVolta      O caminho do objetivo ate a saida (inclusive).
+     * @param vidaPrevista        A vida prevista no fim do percurso, ou
+     *                            {@link Integer#MIN_VALUE} se To Cruz nao sobreviver.
+     * @param estrategia          Descricao curta da fase do planeamento que produziu o plano.
+     * @throws IllegalArgumentException se a entrada ou algum dos caminhos for nulo.
+     */
+    public PlanoMissao(IDivisao entrada, ArrayUnorderedList<IDivisao> caminhoParaObjetivo,
+                       ArrayUnorderedList<IDivisao> caminhoDeVolta, int vidaPrevista, String estrategia) {
+        if (entrada == null || caminhoParaObjetivo == null || caminhoDeVolta == null) {
+            throw new IllegalArgumentException("Entrada e caminhos do plano nao podem ser nulos.");
+        }
+        this.entrada = entrada;
+        this.caminhoParaObjetivo = copiar(caminhoParaObjetivo);
+        this.caminhoDeVolta = copiar(caminhoDeVolta);
+        this.vidaPrevista = vidaPrevista;
+        this.estrategia = estrategia;
+    }
+
+    private static ArrayUnorderedList<IDivisao> copiar(ArrayUnorderedList<IDivisao> caminho) {
+        ArrayUnorderedList<IDivisao> copia = new ArrayUnorderedList<>();
+        for (int i = 0; i < caminho.size(); i++) {
+            copia.addToRear(caminho.getElementAt(i));
+        }
+        return copia;
+    }
+
+    /**
+     * @return A divisao de entrada.
+     */
+    public IDivisao getEntrada() {
+        return entrada;
+    }
+
+    /**
+     * @return Uma copia do caminho ate ao objetivo.
+     */
+    public ArrayUnorderedList<IDivisao> getCaminhoParaObjetivo() {
+        return copiar(caminhoParaObjetivo);
+    }
+
+    /**
+     * @return Uma copia do caminho de volta ate a saida.
+     */
+    public ArrayUnorderedList<IDivisao> getCaminhoDeVolta() {
+        return copiar(caminhoDeVolta);
+    }
+
+    /**
+     * @return A divisao de saida, ultima do caminho de volta.
+     */
+    public IDivisao getSaida() {
+        return caminhoDeVolta.isEmpty() ? entrada : caminhoDeVolta.getElementAt(caminhoDeVolta.size() - 1);
+    }
+
+    /**
+     * @return O numero total de divisoes do percurso (ida e volta).
+     */
+    public int getNumeroPassos() {
+        return caminhoParaObjetivo.size() + caminhoDeVolta.size();
+    }
+
+    /**
+     * @return A vida prevista no fim do percurso, ou {@link Integer#MIN_VALUE} se
+     *         To Cruz nao sobreviver.
+     */
+    public int getVidaPrevista() {
+        return vidaPrevista;
+    }
+
+    /**
+     * @return {@code true} se a previsao indicar que To Cruz sobrevive ao percurso.
+     */
+    public boolean isViavel() {
+        return vidaPrevista != Integer.MIN_VALUE;
+    }
+
+    /**
+     * @return A fase do planeamento que produziu este plano.
+     */
+    public String getEstrategia() {
+        return estrategia;
+    }
+
+    /**
+     * Retorna uma representacao em string do plano.
+     *
+     * @return String com a entrada, a saida, a vida prevista e a estrategia.
+     */
+    @Override
+    public String toString() {
+        return String.format("PlanoMissao{entrada=%s, saida=%s, passos=%d, vidaPrevista=%s, estrategia=%s}",
+                entrada.getNomeDivisao(), getSaida().getNomeDivisao(),
+                getNumeroPassos(),
+                isViavel() ? String.valueOf(vidaPrevista) : "inviavel", estrategia);
+    }
+}
@@ -0,0 +1,250 @@
+package org.example.api.implementation.models;
+
+/**
+ * Regras de combate de uma missao, compiladas em tabelas planas no carregamento.
+ * <p>
+ * As regras sao definidas pela chave opcional {@code "regras-combate"} do JSON da
+ * missao: dano base de To Cruz e dos inimigos, modificador da arma de To Cruz (em
+ * percentagem), dano absorvido por cada colete vestido e, para cada tipo de inimigo,
+ * a percentagem do dano de To Cruz que recebe e a percentagem do dano base que
+ * causa. Sem essa chave aplicam-se as regras {@link #PADRAO}: 10 de dano de To Cruz,
+ * 5 de dano dos inimigos e um unico tipo de inimigo.
+ * </p>
+ * <p>
+ * No construtor as regras sao compiladas em duas tabelas: o dano que To Cruz causa
+ * a cada tipo de inimigo e o dano que cada tipo causa a To Cruz para cada numero de
+ * coletes (ate {@link #getMaxColetes()}). O servico de combate so indexa as tabelas.
+ * Os inimigos guardam o indice do seu tipo ({@code 0} e o tipo {@link #TIPO_COMUM}).
+ * </p>
+ */
+public class RegrasCombate {
+
+    /**
+     * Nome do tipo de inimigo por omissao, sempre no indice 0.
+     */
+    public static final String TIPO_COMUM = "comum";
+
+    /**
+     * Regras atuais do jogo: To Cruz causa 10 de dano e os inimigos 5.
+     */
+    public static final RegrasCombate PADRAO = new RegrasCombate(10, 5, 100, 0, 0,
+            new String[]{TIPO_COMUM}, new int[]{100}, new int[]{100});
+
+    /**
+     * Maior valor aceite para o numero maximo de coletes; a tabela de dano dos inimigos
+     * tem uma coluna por cada numero de coletes.
+     */
+    public static final int LIMITE_COLETES = 1000;
+
+    private final String[] tipos;
+    private final int maxColetes;
+
+    /**
+     * {@code danoToCruz[tipo]}: dano de cada ataque de To Cruz a um inimigo do tipo.
+     */
+    private final int[] danoToCruz;
+
+    /**
+     * {@code danoInimigo[tipo * (maxColetes + 1) + coletes]}: dano de cada ataque de um
+     * inimigo do tipo a To Cruz com esse numero de coletes.
+     */
+    private final int[] danoInimigo;
+
+    private final long hash;
+
+    /**
+     * Valores com que as regras foram construidas, para as poder gravar de novo.
+     */
+    private final int danoToCruzBase;
+    private final int danoInimigoBase;
+    private final int modificadorArma;
+    private final int reducaoColete;
+    private final int[] escalaDanoRecebido;
+    private final int[] escalaDanoCausado;
+
+    /**
+     * Construtor que compila as regras.
+     *
+     * @param danoToCruzBase    O dano base de cada ataque de To Cruz.
+     * @param danoInimigoBase   O dano base de cada ataque de um inimigo.
+     * @param modificadorArma   A percentagem aplicada ao dano de To Cruz.
+     * @param reducaoColete     O dano absorvido por cada colete vestido, em cada ataque.
+     * @param maxColetes        O numero maximo de coletes que contam para a reducao, ate
+     *                          {@link #LIMITE_COLETES}.
+     * @param tipos             Os nomes dos tipos de inimigo; o primeiro deve ser {@link #TIPO_COMUM}.
+     * @param escalaDanoRecebido Para cada tipo, a percentagem do dano de To Cruz que recebe.
+     * @param escalaDanoCausado Para cada tipo, a percentagem do dano base que causa.
+     * @throws IllegalArgumentException se algum valor for invalido.
+     */
+    public RegrasCombate(int danoToCruzBase, int danoInimigoBase, int modificadorArma, int reducaoColete,
+                         int maxColetes, String[] tipos, int[] escalaDanoRecebido, int[] escalaDanoCausado) {
+        if (danoToCruzBase <= 0 || danoInimigoBase < 0 || modificadorArma <= 0 || reducaoColete < 0
+                || maxColetes < 0 || maxColetes > LIMITE_COLETES) {
+            throw new IllegalArgumentException("Valores das regras de combate invalidos.");
+        }
+        if (tipos == null || tipos.length == 0 || !TIPO_COMUM.equals(tipos[0])
+                || escalaDanoRecebido == null || escalaDanoRecebido.length != tipos.length
+                || escalaDanoCausado == null || escalaDanoCausado.length != tipos.length) {
+            throw new IllegalArgumentException("Tipos de inimigo das regras de combate invalidos.");
+        }
+
+        this.tipos = tipos.clone();
+        this.maxColetes = maxColetes;
+        this.danoToCruzBase = danoToCruzBase;
+        this.danoInimigoBase = danoInimigoBase;
+        this.modificadorArma = modificadorArma;
+        this.reducaoColete = reducaoColete;
+        this.escalaDanoRecebido = escalaDanoRecebido.clone();
+        this.escalaDanoCausado = escalaDanoCausado.clone();
+        this.danoToCruz = new int[tipos.length];
+        this.danoInimigo = new int[tipos.length * (maxColetes + 1)];
+
+        long h = 0;
+        for (int t = 0; t < tipos.length; t++) {
+            if (escalaDanoRecebido[t] < 0 || escalaDanoCausado[t] < 0) {
+                throw new IllegalArgumentException("Escala do tipo '" + tipos[t] + "' nao pode ser negativa.");
+            }
+            // Arredondado a unidade mais proxima; To Cruz causa sempre pelo menos 1 de dano.
+            long dano = ((long) danoToCruzBase * modificadorArma * escalaDanoRecebido[t] + 5000) / 10000;
+            danoToCruz[t] = (int) Math.max(1, Math.min(dano, Integer.MAX_VALUE));
+
+            long base = ((long) danoInimigoBase * escalaDanoCausado[t] + 50) / 100;
+            for (int c = 0; c <= maxColetes; c++) {
+                long reduzido = Math.max(0, base - (long) c * reducaoColete);
+                danoInimigo[t * (maxColetes + 1) + c] = (int) Math.min(reduzido, Integer.MAX_VALUE);
+            }
+            h = h * 31 + tipos[t].hashCode();
+        }
+        for (int d : danoToCruz) {
+            h = h * 31 + d;
+        }
+        for (int d : danoInimigo) {
+            h = h * 31 + d;
+        }
+        this.hash = h * 31 + maxColetes;
+    }
+
+    /**
+     * Obtem o dano de cada ataque de To Cruz a um inimigo.
+     *
+     * @param tipo O indice do tipo do inimigo.
+     * @return O dano.
+     */
+    public int getDanoToCruz(int tipo) {
+        return danoToCruz[tipo];
+    }
+
+    /**
+     * Obtem o numero de ataques de To Cruz necessarios para derrotar um inimigo,
+     * {@code ceil(poder / dano)}.
+     *
+     * @param tipo  O indice do tipo do inimigo.
+     * @param poder O poder do inimigo, positivo.
+     * @return O numero de ataques.
+     */
+    public int getAtaquesNecessarios(int tipo, int poder) {
+        return (poder - 1) / danoToCruz[tipo] + 1;
+    }
+
+    /**
+     * Obtem o dano de cada ataque de um inimigo a To Cruz.
+     *
+     * @param tipo    O indice do tipo do inimigo.
+     * @param coletes O numero de coletes vestidos por To Cruz.
+     * @return O dano.
+     */
+    public int getDanoInimigo(int tipo, int coletes) {
+        return danoInimigo[tipo * (maxColetes + 1) + Math.min(coletes, maxColetes)];
+    }
+
+    /**
+     * Procura o indice de um tipo de inimigo.
+     *
+     * @param nome O nome do tipo (sem distinguir maiusculas).
+     * @return O indice, ou -1 se o tipo nao existir nestas regras.
+     */
+    public int getIndiceTipo(String nome) {
+        if (nome == null) {
+            return 0;
+        }
+        for (int t = 0; t < tipos.length; t++) {
+            if (tipos[t].equalsIgnoreCase(nome.trim())) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param tipo O indice do tipo.
+     * @return O nome do tipo.
+     */
+    public String getNomeTipo(int tipo) {
+        return tipos[tipo];
+    }
+
+    /**
+     * @return O numero de tipos de inimigo.
+     */
+    public int getNumeroTipos() {
+        return tipos.length;
+    }
+
+    /**
+     * @return O numero maximo de coletes que reduzem o dano.
+     */
+    public int getMaxColetes() {
+        return maxColetes;
+    }
+
+    /**
+     * @return Um hash das tabelas compiladas, usado no hash do conteudo do mapa.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return O dano base de cada ataque de To Cruz.
+     */
+    public int getDanoToCruzBase() {
+        return danoToCruzBase;
+    }
+
+    /**
+     * @return O dano base de cada ataque de um inimigo.
+     */
+    public int getDanoInimigoBase() {
+        return danoInimigoBase;
+    }
+
+    /**
+     * @return A percentagem aplicada ao dano de To Cruz.
+     */
+    public int getModificadorArma() {
+        return modificadorArma;
+    }
+
+    /**
+     * @return O dano absorvido por cada colete vestido, em cada ataque.
+     */
+    public int getReducaoColete() {
+        return reducaoColete;
+    }
+
+    /**
+     * @param tipo O indice do tipo.
+     * @return A percentagem do dano de To Cruz que o tipo recebe.
+     */
+    public int getEscalaDanoRecebido(int tipo) {
+        return escalaDanoRecebido[tipo];
+    }
+
+    /**
+     * @param tipo O indice do tipo.
+     * @return A percentagem do dano base que o tipo causa.
+     */
+    public int getEscalaDanoCausado(int tipo) {
+        return escalaDanoCausado[tipo];
+    }
+}
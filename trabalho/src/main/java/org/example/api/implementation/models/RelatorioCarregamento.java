@@ -0,0 +1,142 @@
+package org.example.api.implementation.models;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.interfaces.IMissao;
+
+/**
+ * Resultado do carregamento de varios arquivos de missao: para cada arquivo, a missao
+ * carregada ou o erro que impediu o carregamento, e o tempo que demorou.
+ * <p>
+ * Os arquivos ficam pela ordem em que foram pedidos, qualquer que seja a ordem em que
+ * os carregamentos terminaram.
+ * </p>
+ */
+public class RelatorioCarregamento {
+
+    private final String[] arquivos;
+    private final IMissao[] missoes;
+    private final Exception[] erros;
+    private final long[] temposNanos;
+    private final long tempoTotalNanos;
+
+    /**
+     * Construtor do relatorio. Os arrays passam a pertencer ao relatorio.
+     *
+     * @param arquivos        Os caminhos dos arquivos.
+     * @param missoes         A missao carregada de cada arquivo, ou {@code null} se falhou.
+     * @param erros           O erro de cada arquivo, ou {@code null} se foi carregado.
+     * @param temposNanos     O tempo de carregamento de cada arquivo, em nanossegundos.
+     * @param tempoTotalNanos O tempo total do carregamento, em nanossegundos.
+     */
+    public RelatorioCarregamento(String[] arquivos, IMissao[] missoes, Exception[] erros, long[] temposNanos,
+                                 long tempoTotalNanos) {
+        this.arquivos = arquivos;
+        this.missoes = missoes;
+        this.erros = erros;
+        this.temposNanos = temposNanos;
+        this.tempoTotalNanos = tempoTotalNanos;
+    }
+
+    /**
+     * @return O numero de arquivos.
+     */
+    public int getNumeroArquivos() {
+        return arquivos.length;
+    }
+
+    /**
+     * @param i A posicao do arquivo.
+     * @return O caminho do arquivo.
+     */
+    public String getArquivo(int i) {
+        return arquivos[i];
+    }
+
+    /**
+     * @param i A posicao do arquivo.
+     * @return A missao carregada, ou {@code null} se o carregamento falhou.
+     */
+    public IMissao getMissao(int i) {
+        return missoes[i];
+    }
+
+    /**
+     * @param i A posicao do arquivo.
+     * @return O erro do carregamento, ou {@code null} se foi carregado.
+     */
+    public Exception getErro(int i) {
+        return erros[i];
+    }
+
+    /**
+     * @param i A posicao do arquivo.
+     * @return O tempo de carregamento do arquivo, em nanossegundos.
+     */
+    public long getTempoNanos(int i) {
+        return temposNanos[i];
+    }
+
+    /**
+     * @return O tempo total do carregamento, em nanossegundos.
+     */
+    public long getTempoTotalNanos() {
+        return tempoTotalNanos;
+    }
+
+    /**
+     * @return O numero de arquivos carregados sem erros.
+     */
+    public int getNumeroValidos() {
+        int validos = 0;
+        for (Exception erro : erros) {
+            if (erro == null) {
+                validos++;
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * @return {@code true} se todos os arquivos foram carregados sem erros.
+     */
+    public boolean isTodosValidos() {
+        return getNumeroValidos() == arquivos.length;
+    }
+
+    /**
+     * Formata o relatorio, com uma linha por arquivo e um resumo no fim.
+     *
+     * @return O relatorio em texto.
+     */
+    public String formatar() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < arquivos.length; i++) {
+            sb.append(String.format("%-40s %8.2f ms  ", arquivos[i], temposNanos[i] / 1e6));
+            if (erros[i] == null) {
+                sb.append("OK ").append(missoes[i].getCodMissao()).append(" v").append(missoes[i].getVersao())
+                        .append(" (").append(missoes[i].getMapa().getNumeroDivisoes()).append(" divisoes)");
+            } else {
+                sb.append(categoria(erros[i])).append(": ").append(erros[i].getMessage());
+            }
+            sb.append('\n');
+        }
+        sb.append(String.format("%d de %d arquivos validos em %.2f ms%n", getNumeroValidos(), arquivos.length,
+                tempoTotalNanos / 1e6));
+        return sb.toString();
+    }
+
+    private static String categoria(Exception erro) {
+        if (erro instanceof InvalidJsonStructureException) {
+            return "ESTRUTURA INVALIDA";
+        }
+        if (erro instanceof InvalidFieldException) {
+            return "CAMPO INVALIDO";
+        }
+        if (erro instanceof DivisionNotFoundException) {
+            return "DIVISAO NAO ENCONTRADA";
+        }
+        return "ERRO (" + erro.getClass().getSimpleName() + ")";
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.api.implementation.models;
+
+/**
+ * Resultado de um combate calculado diretamente a partir da vida de To Cruz e do
+ * vetor de poderes dos inimigos, sem simular golpe a golpe.
+ * <p>
+ * Alem do estado final, indica em que passagem de remocao cada inimigo derrotado
+ * sai da divisao, para que o servico de combate emita os eventos de inimigo
+ * derrotado pela mesma ordem que a resolucao iterativa.
+ * </p>
+ */
+public class ResultadoCombate {
+
+    /**
+     * O inimigo continua na divisao.
+     */
+    public static final int NAO_REMOVIDO = 0;
+
+    /**
+     * O inimigo e removido na primeira passagem (inimigos ja sem poder e os que
+     * morrem no primeiro golpe).
+     */
+    public static final int PRIMEIRA_REMOCAO = 1;
+
+    /**
+     * O inimigo e removido durante o corpo a corpo, pela ordem da lista.
+     */
+    public static final int SEGUNDA_REMOCAO = 2;
+
+    private final int vidaFinal;
+    private final int[] poderesFinais;
+    private final int[] remocoes;
+    private final int rondas;
+    private final boolean toCruzDerrotado;
+
+    /**
+     * Construtor do resultado. Os arrays passam a pertencer ao resultado.
+     *
+     * @param vidaFinal       A vida de To Cruz no fim do combate.
+     * @param poderesFinais   O poder final de cada inimigo, pela ordem da lista.
+     * @param remocoes        A passagem em que cada inimigo e removido.
+     * @param rondas          O numero de ataques de To Cruz no corpo a corpo.
+     * @param toCruzDerrotado {@code true} se o combate termina com a derrota de To Cruz.
+     */
+    public ResultadoCombate(int vidaFinal, int[] poderesFinais, int[] remocoes, int rondas, boolean toCruzDerrotado) {
+        this.vidaFinal = vidaFinal;
+        this.poderesFinais = poderesFinais;
+        this.remocoes = remocoes;
+        this.rondas = rondas;
+        this.toCruzDerrotado = toCruzDerrotado;
+    }
+
+    /**
+     * @return A vida de To Cruz no fim do combate.
+     */
+    public int getVidaFinal() {
+        return vidaFinal;
+    }
+
+    /**
+     * @param indice A posicao do inimigo na lista.
+     * @return O poder final do inimigo.
+     */
+    public int getPoderFinal(int indice) {
+        return poderesFinais[indice];
+    }
+
+    /**
+     * @param indice A posicao do inimigo na lista.
+     * @return {@link #NAO_REMOVIDO}, {@link #PRIMEIRA_REMOCAO} ou {@link #SEGUNDA_REMOCAO}.
+     */
+    public int getRemocao(int indice) {
+        return remocoes[indice];
+    }
+
+    /**
+     * @return O numero de inimigos considerados.
+     */
+    public int getNumeroInimigos() {
+        return poderesFinais.length;
+    }
+
+    /**
+     * @return O numero de inimigos que continuam na divisao com poder positivo.
+     */
+    public int getSobreviventes() {
+        int sobreviventes = 0;
+        for (int poder : poderesFinais) {
+            if (poder > 0) {
+                sobreviventes++;
+            }
+        }
+        return sobreviventes;
+    }
+
+    /**
+     * @return O numero de ataques de To Cruz no corpo a corpo.
+     */
+    public int getRondas() {
+        return rondas;
+    }
+
+    /**
+     * @return {@code true} se o combate termina com a derrota de To Cruz.
+     */
+    public boolean isToCruzDerrotado() {
+        return toCruzDerrotado;
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.api.implementation.models;
+
+/**
+ * Alteracoes aplicadas a um mapa por uma recarga incremental do arquivo da missao.
+ * <p>
+ * As divisoes cujo conteudo nao mudou nao sao contadas nem tocadas. {@link #isEstrutural()}
+ * indica se o grafo mudou; a tabela de rotas depende tambem dos inimigos, dos itens, do
+ * alvo e das regras, pelo que se verifica com {@link TabelaRotas#corresponde}.
+ * </p>
+ */
+public class ResultadoRecarga {
+
+    private final int divisoesAdicionadas;
+    private final int divisoesRemovidas;
+    private final int ligacoesAdicionadas;
+    private final int ligacoesRemovidas;
+    private final int divisoesAlteradas;
+    private final int inimigosAdicionados;
+    private final int inimigosRemovidos;
+    private final int itensAdicionados;
+    private final int itensRemovidos;
+    private final boolean regrasAlteradas;
+    private final boolean alvoAlterado;
+    private final long tempoNanos;
+
+    /**
+     * Construtor do resultado.
+     *
+     * @param divisoes      As divisoes acrescentadas e removidas, por esta ordem.
+     * @param ligacoes      As ligacoes acrescentadas e removidas, por esta ordem.
+     * @param divisoesAlteradas O numero de divisoes existentes cujo conteudo mudou.
+     * @param inimigos      Os inimigos acrescentados e removidos, por esta ordem.
+     * @param itens         Os itens acrescentados e removidos, por esta ordem.
+     * @param regrasAlteradas {@code true} se as regras de combate foram substituidas.
+     * @param alvoAlterado  {@code true} se o alvo mudou.
+     * @param tempoNanos    O tempo da recarga, em nanossegundos.
+     */
+    public ResultadoRecarga(int[] divisoes, int[] ligacoes, int divisoesAlteradas, int[] inimigos, int[] itens,
+                            boolean regrasAlteradas, boolean alvoAlterado, long tempoNanos) {
+        this.divisoesAdicionadas = divisoes[0];
+        this.divisoesRemovidas = divisoes[1];
+        this.ligacoesAdicionadas = ligacoes[0];
+        this.ligacoesRemovidas = ligacoes[1];
+        this.divisoesAlteradas = divisoesAlteradas;
+        this.inimigosAdicionados = inimigos[0];
+        this.inimigosRemovidos = inimigos[1];
+        this.itensAdicionados = itens[0];
+        this.itensRemovidos = itens[1];
+        this.regrasAlteradas = regrasAlteradas;
+        this.alvoAlterado = alvoAlterado;
+        this.tempoNanos = tempoNanos;
+    }
+
+    /**
+     * @return O numero de divisoes acrescentadas ao mapa.
+     */
+    public int getDivisoesAdicionadas() {
+        return divisoesAdicionadas;
+    }
+
+    /**
+     * @return O numero de divisoes removidas do mapa.
+     */
+    public int getDivisoesRemovidas() {
+        return divisoesRemovidas;
+    }
+
+    /**
+     * @return O numero de ligacoes criadas.
+     */
+    public int getLigacoesAdicionadas() {
+        return ligacoesAdicionadas;
+    }
+
+    /**
+     * @return O numero de ligacoes removidas, sem contar as das divisoes removidas.
+     */
+    public int getLigacoesRemovidas() {
+        return ligacoesRemovidas;
+    }
+
+    /**
+     * @return O numero de divisoes existentes cujo conteudo (inimigos, itens, entrada/saida) mudou.
+     */
+    public int getDivisoesAlteradas() {
+        return divisoesAlteradas;
+    }
+
+    /**
+     * @return O numero de inimigos acrescentados.
+     */
+    public int getInimigosAdicionados() {
+        return inimigosAdicionados;
+    }
+
+    /**
+     * @return O numero de inimigos removidos.
+     */
+    public int getInimigosRemovidos() {
+        return inimigosRemovidos;
+    }
+
+    /**
+     * @return O numero de itens acrescentados.
+     */
+    public int getItensAdicionados() {
+        return itensAdicionados;
+    }
+
+    /**
+     * @return O numero de itens removidos.
+     */
+    public int getItensRemovidos() {
+        return itensRemovidos;
+    }
+
+    /**
+     * @return {@code true} se as regras de combate foram substituidas.
+     */
+    public boolean isRegrasAlteradas() {
+        return regrasAlteradas;
+    }
+
+    /**
+     * @return {@code true} se o alvo mudou de divisao ou de tipo.
+     */
+    public boolean isAlvoAlterado() {
+        return alvoAlterado;
+    }
+
+    /**
+     * @return O tempo da recarga, incluindo a leitura do arquivo, em nanossegundos.
+     */
+    public long getTempoNanos() {
+        return tempoNanos;
+    }
+
+    /**
+     * @return {@code true} se foram acrescentadas ou removidas divisoes ou ligacoes.
+     */
+    public boolean isEstrutural() {
+        return divisoesAdicionadas + divisoesRemovidas + ligacoesAdicionadas + ligacoesRemovidas > 0;
+    }
+
+    /**
+     * @return {@code true} se a recarga alterou alguma coisa no mapa.
+     */
+    public boolean temAlteracoes() {
+        return isEstrutural() || divisoesAlteradas > 0 || regrasAlteradas || alvoAlterado;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("divisoes +%d/-%d, ligacoes +%d/-%d, %d divisoes alteradas (inimigos +%d/-%d, "
+                        + "itens +%d/-%d)%s%s em %.2f ms",
+                divisoesAdicionadas, divisoesRemovidas, ligacoesAdicionadas, ligacoesRemovidas, divisoesAlteradas,
+                inimigosAdicionados, inimigosRemovidos, itensAdicionados, itensRemovidos,
+                regrasAlteradas ? ", regras alteradas" : "", alvoAlterado ? ", alvo alterado" : "",
+                tempoNanos / 1e6);
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.api.implementation.models;
+
+import org.example.api.implementation.interfaces.IAlvo;
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.collections.implementation.ArrayUnorderedList;
+
+/**
+ * Tabela de rotas pre-calculada para um edificio (identificado pelo codigo e pela
+ * versao da missao).
+ * <p>
+ * Para cada divisao de referencia (saidas, alvo e divisoes com itens) guarda, para
+ * todas as divisoes do mapa, o custo minimo ate a referencia e o proximo passo
+ * nesse caminho. Os custos usam {@link IMapa#calcularCusto(IDivisao, IDivisao)}
+ * sobre o estado do mapa no momento em que a tabela foi gerada.
+ * </p>
+ * <p>
+ * As divisoes sao identificadas pelos seus indices no mapa; os nomes sao guardados
+ * para validar a tabela quando e lida do disco. Como os custos dependem dos inimigos,
+ * das regras de combate e as referencias dos itens, das saidas e do alvo, a tabela
+ * guarda tambem {@link #hashMapa(IMapa)} e deixa de corresponder ao mapa quando
+ * qualquer um deles muda. As simulacoes tambem derrotam inimigos e recolhem itens,
+ * pelo que a correspondencia e verificada quando a missao e carregada ou recarregada,
+ * e nao entre simulacoes: a tabela descreve a missao tal como foi carregada.
+ * </p>
+ */
+public class TabelaRotas {
+
+    /**
+     * Custo das divisoes que nao alcancam a referencia.
+     */
+    public static final int INALCANCAVEL = Integer.MAX_VALUE;
+
+    private final String codMissao;
+    private final int versao;
+    private final long hashMapa;
+    private final String[] nomesDivisoes;
+    private final int[] referencias;
+    private final int[][] custos;
+    private final int[][] proximos;
+
+    /**
+     * Construtor da tabela. Os arrays passam a pertencer a tabela.
+     *
+     * @param codMissao     O codigo da missao.
+     * @param versao        A versao da missao.
+     * @param hashMapa      O {@link #hashMapa(IMapa)} do mapa quando a tabela foi gerada.
+     * @param nomesDivisoes Os nomes das divisoes, por indice.
+     * @param referencias   Os indices das divisoes de referencia.
+     * @param custos        {@code custos[r][i]}: custo minimo de {@code i} ate a referencia {@code r}.
+     * @param proximos      {@code proximos[r][i]}: indice do passo seguinte de {@code i}
+     *                      em direcao a referencia {@code r}, ou -1.
+     * @throws IllegalArgumentException se as dimensoes forem inconsistentes.
+     */
+    public TabelaRotas(String codMissao, int versao, long hashMapa, String[] nomesDivisoes, int[] referencias,
+                       int[][] custos, int[][] proximos) {
+        if (nomesDivisoes == null || referencias == null || custos == null || proximos == null
+                || custos.length != referencias.length || proximos.length != referencias.length) {
+            throw new IllegalArgumentException("Dimensoes da tabela de rotas inconsistentes.");
+        }
+        this.codMissao = codMissao;
+        this.versao = versao;
+        this.hashMapa = hashMapa;
+        this.nomesDivisoes = nomesDivisoes;
+        this.referencias = referencias;
+        this.custos = custos;
+        this.proximos = proximos;
+    }
+
+    /**
+     * @return O codigo da missao a que a tabela pertence.
+     */
+    public String getCodMissao() {
+        return codMissao;
+    }
+
+    /**
+     * @return A versao da missao a que a tabela pertence.
+     */
+    public int getVersao() {
+        return versao;
+    }
+
+    /**
+     * @return O {@link #hashMapa(IMapa)} do mapa quando a tabela foi gerada.
+     */
+    public long getHashMapa() {
+        return hashMapa;
+    }
+
+    /**
+     * Calcula o hash do estado do mapa de que a tabela depende: o conteudo das divisoes,
+     * as ligacoes e as regras de combate ({@link IMapa#getHashConteudo()}) e a divisao
+     * do alvo.
+     *
+     * @param mapa O mapa.
+     * @return O hash.
+     */
+    public static long hashMapa(IMapa mapa) {
+        IAlvo alvo = mapa.getAlvo();
+        int indiceAlvo = alvo == null || alvo.getDivisao() == null ? -1 : mapa.getIndiceDivisao(alvo.getDivisao());
+        return DivisaoImpl.misturar(mapa.getHashConteudo() ^ Long.rotateLeft(indiceAlvo + 1L, 29));
+    }
+
+    /**
+     * @return O numero de divisoes cobertas pela tabela.
+     */
+    public int getNumeroDivisoes() {
+        return nomesDivisoes.length;
+    }
+
+    /**
+     * @return O numero de divisoes de referencia.
+     */
+    public int getNumeroReferencias() {
+        return referencias.length;
+    }
+
+    /**
+     * @param posicao A posicao da referencia (0 a {@link #getNumeroReferencias()} - 1).
+     * @return O indice da divisao de referencia nessa posicao.
+     */
+    public int getReferencia(int posicao) {
+        return referencias[posicao];
+    }
+
+    /**
+     * @param indice O indice de uma divisao.
+     * @return O nome da divisao guardado na tabela.
+     */
+    public String getNomeDivisao(int indice) {
+        return nomesDivisoes[indice];
+    }
+
+    /**
+     * @param posicao A posicao da referencia.
+     * @param indice  O indice de uma divisao.
+     * @return O custo minimo da divisao ate a referencia.
+     */
+    public int getCustoReferencia(int posicao, int indice) {
+        return custos[posicao][indice];
+    }
+
+    /**
+     * @param posicao A posicao da referencia.
+     * @param indice  O indice de uma divisao.
+     * @return O indice do passo seguinte em direcao a referencia, ou -1.
+     */
+    public int getProximoReferencia(int posicao, int indice) {
+        return proximos[posicao][indice];
+    }
+
+    /**
+     * Verifica se a tabela corresponde a missao e ao mapa indicados: mesmo codigo,
+     * mesma versao, as mesmas divisoes nos mesmos indices e o mesmo {@link #hashMapa(IMapa)}.
+     *
+     * @param codMissao O codigo da missao.
+     * @param versao    A versao da missao.
+     * @param mapa      O mapa carregado.
+     * @return {@code true} se a tabela pode ser usada com o mapa.
+     */
+    public boolean corresponde(String codMissao, int versao, IMapa mapa) {
+        if (this.versao != versao || this.codMissao == null || !this.codMissao.equals(codMissao)) {
+            return false;
+        }
+        if (mapa.getNumeroDivisoes() != nomesDivisoes.length || hashMapa(mapa) != hashMapa) {
+            return false;
+        }
+        for (int i = 0; i < nomesDivisoes.length; i++) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(i);
+            if (divisao == null || !nomesDivisoes[i].equals(divisao.getNomeDivisao())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Procura a posicao de uma divisao entre as referencias.
+     *
+     * @param indice O indice da divisao.
+     * @return A posicao da referencia, ou -1 se a divisao nao for referencia.
+     */
+    public int posicaoReferencia(int indice) {
+        for (int r = 0; r < referencias.length; r++) {
+            if (referencias[r] == indice) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retorna o custo minimo de uma divisao ate uma referencia.
+     *
+     * @param origem  O indice da divisao de origem.
+     * @param destino O indice da divisao de referencia.
+     * @return O custo, ou {@link #INALCANCAVEL} se o destino nao for alcancavel
+     *         ou nao for referencia.
+     */
+    public int getCusto(int origem, int destino) {
+        int r = posicaoReferencia(destino);
+        if (r == -1 || origem < 0 || origem >= nomesDivisoes.length) {
+            return INALCANCAVEL;
+        }
+        return custos[r][origem];
+    }
+
+    /**
+     * Reconstroi, seguindo os proximos passos, o caminho de custo minimo de uma
+     * divisao ate uma referencia.
+     *
+     * @param mapa    O mapa a que a tabela corresponde.
+     * @param origem  A divisao de origem.
+     * @param destino A divisao de referencia.
+     * @return O caminho da origem ao destino (inclusive), ou {@code null} se o
+     *         destino nao for referencia ou nao for alcancavel.
+     */
+    public ArrayUnorderedList<IDivisao> getCaminho(IMapa mapa, IDivisao origem, IDivisao destino) {
+        int indiceOrigem = mapa.getIndiceDivisao(origem);
+        int r = posicaoReferencia(mapa.getIndiceDivisao(destino));
+        if (indiceOrigem == -1 || r == -1 || custos[r][indiceOrigem] == INALCANCAVEL) {
+            return null;
+        }
+
+        ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
+        int atual = indiceOrigem;
+        int passos = 0;
+        while (atual != -1 && passos <= nomesDivisoes.length) {
+            caminho.addToRear(mapa.getDivisaoPorIndice(atual));
+            if (atual == referencias[r]) {
+                return caminho;
+            }
+            atual = proximos[r][atual];
+            passos++;
+        }
+        return null;
+    }
+}
@@ -30,6 +30,11 @@ public class ToCruz implements IAgente {
      */
     private int vidaMaxima = 100;
 
+    /**
+     * Número de coletes vestidos, que reduzem o dano dos inimigos conforme as regras de combate.
+     */
+    private int coletes;
+
     /**
      * Posição atual do agente no mapa.
      */
@@ -125,6 +130,7 @@ public class ToCruz implements IAgente {
         switch (item.getTipo().toLowerCase()) {
             case "colete":
                 vida += item.getPontos();
+                coletes++;
                 break;
             case "kit de vida":
                 if (inventario.size() >= 5) {
@@ -176,6 +182,24 @@ public class ToCruz implements IAgente {
         this.nome = nome;
     }
 
+    /**
+     * Obtém o número de coletes vestidos pelo agente.
+     *
+     * @return O número de coletes.
+     */
+    public int getColetes() {
+        return coletes;
+    }
+
+    /**
+     * Obtém a vida máxima do agente, o limite da recuperação com kits de vida.
+     *
+     * @return A vida máxima do agente.
+     */
+    public int getVidaMaxima() {
+        return vidaMaxima;
+    }
+
     /**
      * Obtém a vida atual do agente.
      *
@@ -4,11 +4,13 @@ import org.example.api.exceptions.ElementNotFoundException;
 import org.example.api.implementation.interfaces.ICombateService;
 import org.example.api.implementation.interfaces.IDivisao;
 import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IRegistoEventos;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.api.implementation.models.ResultadoCombate;
 import org.example.api.implementation.models.ToCruz;
+import org.example.api.implementation.utils.RegistoEventosConsola;
 import org.example.collections.implementation.ArrayUnorderedList;
 
-import static org.example.api.implementation.simulation.SimulacaoAutomaticaImpl.*;
-
 /**
  * Implementação do serviço de combate cobrindo diferentes cenários de interação entre Tó Cruz e inimigos.
  * <p>
@@ -19,13 +21,80 @@ import static org.example.api.implementation.simulation.SimulacaoAutomaticaImpl.
  *     <li><b>Cenário 2 e 6:</b> Sem inimigos na sala, nenhum combate ocorre.</li>
  * </ul>
  * Este serviço é ativado durante a simulação (manual ou automática) quando há movimentação de Tó Cruz ou inimigos.
+ * <p>
+ * Os danos vêm das {@link RegrasCombate} da missão, já compiladas em tabelas por tipo de inimigo e número de
+ * coletes de Tó Cruz; por omissão aplicam-se as regras padrão (10 de dano de Tó Cruz, 5 dos inimigos).
+ * </p>
+ * <p>
+ * Quando o registo de eventos não é detalhado, o combate é resolvido analiticamente a partir do vetor de poderes
+ * dos inimigos (ver {@link #resolverAnaliticamente(int, int[], boolean)}), com o mesmo resultado da resolução
+ * golpe a golpe, que é mantida para o modo detalhado.
+ * </p>
  */
 public class CombateServiceImpl implements ICombateService {
 
     /**
-     * Construtor padrão da classe.
+     * Destino dos eventos produzidos durante o combate.
+     */
+    private final IRegistoEventos eventos;
+
+    /**
+     * Regras de combate aplicadas.
+     */
+    private final RegrasCombate regras;
+
+    /**
+     * Construtor padrão da classe. Os eventos do combate são escritos na consola.
      */
     public CombateServiceImpl() {
+        this(RegistoEventosConsola.INSTANCIA);
+    }
+
+    /**
+     * Construtor que define o destino dos eventos do combate.
+     *
+     * @param eventos O registo de eventos a utilizar.
+     * @throws IllegalArgumentException se {@code eventos} for nulo.
+     */
+    public CombateServiceImpl(IRegistoEventos eventos) {
+        this(eventos, RegrasCombate.PADRAO);
+    }
+
+    /**
+     * Construtor que define o destino dos eventos e as regras do combate.
+     *
+     * @param eventos O registo de eventos a utilizar.
+     * @param regras  As regras de combate da missão.
+     * @throws IllegalArgumentException se algum parâmetro for nulo.
+     */
+    public CombateServiceImpl(IRegistoEventos eventos, RegrasCombate regras) {
+        if (eventos == null) {
+            throw new IllegalArgumentException("O registo de eventos não pode ser nulo.");
+        }
+        if (regras == null) {
+            throw new IllegalArgumentException("As regras de combate não podem ser nulas.");
+        }
+        this.eventos = eventos;
+        this.regras = regras;
+    }
+
+    /**
+     * Obtém as regras de combate aplicadas por este serviço.
+     *
+     * @return As regras de combate.
+     */
+    public RegrasCombate getRegras() {
+        return regras;
+    }
+
+    /**
+     * Obtém o registo de eventos utilizado por este serviço.
+     *
+     * @return O registo de eventos.
+     */
+    @Override
+    public IRegistoEventos getRegistoEventos() {
+        return eventos;
     }
 
     /**
@@ -50,15 +119,264 @@ public class CombateServiceImpl implements ICombateService {
 
         ArrayUnorderedList<IInimigo> inimigos = divisaoAtual.getInimigosPresentes();
         if (inimigos == null || inimigos.isEmpty()) {
-            System.out.println("Nenhum inimigo na divisão.");
+            eventos.semInimigos(divisaoAtual);
             return; // Sem inimigos, nenhum combate ocorre.
         }
 
-        if (inimigoEntrouAgora) {
+        int vidaAntes = toCruz.getVida();
+        if (!eventos.isDetalhado()) {
+            resolverCombateAnalitico(toCruz, divisaoAtual, inimigoEntrouAgora);
+        } else if (inimigoEntrouAgora) {
             resolverCombateInimigoPrimeiro(toCruz, divisaoAtual);
         } else {
             resolverCombateToCruzPrimeiro(toCruz, divisaoAtual);
         }
+        divisaoAtual.atualizarHash();
+        eventos.combateTerminado(divisaoAtual, vidaAntes, toCruz.getVida());
+    }
+
+    /**
+     * Resolve o combate sem simular golpe a golpe: calcula o estado final com
+     * {@link #resolverAnaliticamente(RegrasCombate, int, int[], int[], boolean, int)} e aplica-o a Tó Cruz e aos
+     * inimigos, emitindo os mesmos eventos não detalhados, pela mesma ordem, que a resolução iterativa.
+     *
+     * @param toCruz          O agente Tó Cruz.
+     * @param divisaoAtual    A divisão com inimigos.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     */
+    private void resolverCombateAnalitico(ToCruz toCruz, IDivisao divisaoAtual, boolean inimigoPrimeiro) {
+        ArrayUnorderedList<IInimigo> inimigos = divisaoAtual.getInimigosPresentes();
+        eventos.combateIniciado(divisaoAtual, inimigoPrimeiro);
+
+        IInimigo[] combatentes = new IInimigo[inimigos.size()];
+        int[] poderes = new int[combatentes.length];
+        int[] tipos = new int[combatentes.length];
+        for (int i = 0; i < combatentes.length; i++) {
+            combatentes[i] = inimigos.getElementAt(i);
+            poderes[i] = combatentes[i].getPoder();
+            tipos[i] = combatentes[i].getIndiceTipo();
+        }
+
+        ResultadoCombate resultado = resolverAnaliticamente(regras, toCruz.getVida(), poderes, tipos,
+                inimigoPrimeiro, toCruz.getColetes());
+
+        aplicarResultado(divisaoAtual, poderes, resultado);
+        toCruz.sofrerDano(toCruz.getVida() - resultado.getVidaFinal());
+        emitirResultado(eventos, divisaoAtual, combatentes, resultado);
+    }
+
+    /**
+     * Aplica aos inimigos de uma divisão o resultado de um combate: o dano sofrido por cada um e a remoção dos
+     * derrotados. Não altera Tó Cruz nem emite eventos, pelo que pode ser chamado pelo dono da divisão noutra
+     * thread (ver {@link MotorCombateParticionado}).
+     *
+     * @param divisao   A divisão do combate.
+     * @param poderes   Os poderes dos inimigos antes do combate, pela ordem da lista.
+     * @param resultado O resultado do combate.
+     */
+    static void aplicarResultado(IDivisao divisao, int[] poderes, ResultadoCombate resultado) {
+        ArrayUnorderedList<IInimigo> inimigos = divisao.getInimigosPresentes();
+        boolean[] removidos = new boolean[poderes.length];
+        for (int i = 0; i < poderes.length; i++) {
+            inimigos.getElementAt(i).sofrerDano(poderes[i] - resultado.getPoderFinal(i));
+            removidos[i] = resultado.getRemocao(i) != ResultadoCombate.NAO_REMOVIDO;
+        }
+        inimigos.removeMarked(removidos);
+        divisao.atualizarHash();
+    }
+
+    /**
+     * Emite os eventos não detalhados do fim de um combate, pela mesma ordem que a resolução iterativa: os
+     * inimigos derrotados, por passagem de remoção, e depois a sala limpa ou a derrota de Tó Cruz.
+     *
+     * @param eventos     O destino dos eventos.
+     * @param divisao     A divisão do combate.
+     * @param combatentes Os inimigos presentes no início do combate, pela ordem da lista.
+     * @param resultado   O resultado do combate.
+     */
+    static void emitirResultado(IRegistoEventos eventos, IDivisao divisao, IInimigo[] combatentes,
+                                ResultadoCombate resultado) {
+        for (int passagem = ResultadoCombate.PRIMEIRA_REMOCAO; passagem <= ResultadoCombate.SEGUNDA_REMOCAO; passagem++) {
+            for (int i = 0; i < combatentes.length; i++) {
+                if (resultado.getRemocao(i) == passagem) {
+                    eventos.inimigoDerrotado(combatentes[i]);
+                }
+            }
+        }
+        if (resultado.isToCruzDerrotado()) {
+            eventos.toCruzDerrotado(divisao);
+        } else {
+            eventos.salaLimpa(divisao);
+        }
+    }
+
+    /**
+     * Calcula o resultado de um combate com as regras padrão, inimigos do tipo comum e Tó Cruz sem coletes.
+     *
+     * @param vida            A vida inicial de Tó Cruz.
+     * @param poderes         Os poderes dos inimigos, pela ordem da lista da divisão.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     * @return O resultado do combate.
+     * @see #resolverAnaliticamente(RegrasCombate, int, int[], int[], boolean, int)
+     */
+    public static ResultadoCombate resolverAnaliticamente(int vida, int[] poderes, boolean inimigoPrimeiro) {
+        return resolverAnaliticamente(RegrasCombate.PADRAO, vida, poderes, null, inimigoPrimeiro, 0);
+    }
+
+    /**
+     * Calcula o resultado de um combate a partir da vida de Tó Cruz e dos poderes dos inimigos, sem simular
+     * golpe a golpe.
+     * <p>
+     * No corpo a corpo Tó Cruz ataca sempre o primeiro inimigo vivo, que precisa de {@code ceil(poder / dano)}
+     * ataques, e o primeiro inimigo vivo responde depois de cada ataque exceto o que limpa a sala. As respostas
+     * de cada inimigo são resolvidas em bloco (ver {@link MotorCombateLote}).
+     * </p>
+     *
+     * @param regras          As regras de combate.
+     * @param vida            A vida inicial de Tó Cruz.
+     * @param poderes         Os poderes dos inimigos, pela ordem da lista da divisão.
+     * @param tipos           O índice do tipo de cada inimigo, ou {@code null} se forem todos comuns.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     * @param coletes         O número de coletes vestidos por Tó Cruz.
+     * @return O resultado do combate.
+     */
+    public static ResultadoCombate resolverAnaliticamente(RegrasCombate regras, int vida, int[] poderes, int[] tipos,
+                                                          boolean inimigoPrimeiro, int coletes) {
+        int n = poderes.length;
+        int[] finais = poderes.clone();
+        int[] remocoes = new int[n];
+        int[] vidas = {vida};
+        int[] rondas = new int[1];
+
+        boolean venceu = MotorCombateLote.resolverSala(regras, finais, tipos, 0, n, vidas, 0, coletes,
+                inimigoPrimeiro, rondas);
+
+        int primeiroVivo = -1;
+        int vidaAposInimigos = vida;
+        for (int i = 0; i < n; i++) {
+            if (poderes[i] > 0) {
+                if (primeiroVivo == -1) {
+                    primeiroVivo = i;
+                }
+                if (inimigoPrimeiro && vidaAposInimigos > 0) {
+                    vidaAposInimigos = Math.max(vidaAposInimigos - regras.getDanoInimigo(tipo(tipos, i), coletes), 0);
+                }
+            }
+        }
+
+        if (inimigoPrimeiro) {
+            // Sem corpo a corpo (Tó Cruz derrotado ou sem inimigos vivos) nenhum inimigo é removido.
+            if (vidaAposInimigos > 0 && primeiroVivo != -1) {
+                for (int i = 0; i < n; i++) {
+                    if (poderes[i] <= 0 || (i == primeiroVivo && poderes[i] <= regras.getDanoToCruz(tipo(tipos, i)))) {
+                        remocoes[i] = ResultadoCombate.PRIMEIRA_REMOCAO;
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                if (poderes[i] <= regras.getDanoToCruz(tipo(tipos, i))) {
+                    remocoes[i] = ResultadoCombate.PRIMEIRA_REMOCAO;
+                }
+            }
+        }
+
+        boolean houveCorpoACorpo = !(inimigoPrimeiro && (vidaAposInimigos <= 0 || primeiroVivo == -1));
+        for (int i = 0; i < n; i++) {
+            if (houveCorpoACorpo && finais[i] <= 0 && remocoes[i] == ResultadoCombate.NAO_REMOVIDO) {
+                remocoes[i] = ResultadoCombate.SEGUNDA_REMOCAO;
+            }
+        }
+        return new ResultadoCombate(vidas[0], finais, remocoes, rondas[0], !venceu);
+    }
+
+    /**
+     * Prevê a vida que Tó Cruz perde num combate com as regras padrão, com o mesmo resultado que
+     * {@link #resolverCombate}, sem alocar memória nem alterar o estado.
+     *
+     * @param vida            A vida de Tó Cruz antes do combate.
+     * @param poderes         Os poderes dos inimigos presentes.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     * @return A vida perdida; igual a {@code vida} se Tó Cruz for derrotado.
+     */
+    public static int previewCombate(int vida, int[] poderes, boolean inimigoPrimeiro) {
+        return previewCombate(RegrasCombate.PADRAO, vida, poderes, null, inimigoPrimeiro, 0);
+    }
+
+    /**
+     * Prevê a vida que Tó Cruz perde num combate, sem alocar memória nem alterar o estado.
+     *
+     * @param regras          As regras de combate.
+     * @param vida            A vida de Tó Cruz antes do combate.
+     * @param poderes         Os poderes dos inimigos presentes.
+     * @param tipos           O índice do tipo de cada inimigo, ou {@code null} se forem todos comuns.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     * @param coletes         O número de coletes vestidos por Tó Cruz.
+     * @return A vida perdida; igual a {@code vida} se Tó Cruz for derrotado.
+     */
+    public static int previewCombate(RegrasCombate regras, int vida, int[] poderes, int[] tipos,
+                                     boolean inimigoPrimeiro, int coletes) {
+        return Math.min(Math.max(vida, 0),
+                perdaCombate(regras, poderes, tipos, poderes.length, inimigoPrimeiro, coletes));
+    }
+
+    /**
+     * Calcula, com as regras padrão, a vida que Tó Cruz perde num combate que vence.
+     *
+     * @param poderes         Os poderes dos inimigos presentes.
+     * @param quantidade      O número de posições de {@code poderes} a considerar.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     * @return A perda de vida, limitada a {@link Integer#MAX_VALUE}.
+     */
+    public static int perdaCombate(int[] poderes, int quantidade, boolean inimigoPrimeiro) {
+        return perdaCombate(RegrasCombate.PADRAO, poderes, null, quantidade, inimigoPrimeiro, 0);
+    }
+
+    /**
+     * Calcula a vida que Tó Cruz perde num combate que vence. Com ataques alternados e dano fixo por tipo, a
+     * perda não depende da vida: Tó Cruz vence se e só se a sua vida for superior a este valor.
+     * <p>
+     * Atacando primeiro, Tó Cruz fere todos os inimigos; no corpo a corpo o primeiro inimigo responde
+     * {@code h - 1} vezes e cada um dos seguintes {@code h} vezes, sendo {@code h} os ataques de que precisa.
+     * Se os inimigos atacarem primeiro, cada inimigo vivo ataca ainda uma vez antes do corpo a corpo.
+     * </p>
+     *
+     * @param regras          As regras de combate.
+     * @param poderes         Os poderes dos inimigos presentes.
+     * @param tipos           O índice do tipo de cada inimigo, ou {@code null} se forem todos comuns.
+     * @param quantidade      O número de posições de {@code poderes} a considerar.
+     * @param inimigoPrimeiro {@code true} se os inimigos atacam primeiro.
+     * @param coletes         O número de coletes vestidos por Tó Cruz.
+     * @return A perda de vida, limitada a {@link Integer#MAX_VALUE}.
+     */
+    public static int perdaCombate(RegrasCombate regras, int[] poderes, int[] tipos, int quantidade,
+                                   boolean inimigoPrimeiro, int coletes) {
+        long perda = 0;
+        boolean primeiro = true;
+        for (int i = 0; i < quantidade; i++) {
+            int poder = poderes[i];
+            if (poder <= 0) {
+                continue;
+            }
+            int tipo = tipo(tipos, i);
+            int resposta = regras.getDanoInimigo(tipo, coletes);
+            if (inimigoPrimeiro) {
+                perda += resposta;
+            } else {
+                poder -= regras.getDanoToCruz(tipo);
+                if (poder <= 0) {
+                    continue;
+                }
+            }
+            long necessarios = regras.getAtaquesNecessarios(tipo, poder);
+            perda += (primeiro ? necessarios - 1 : necessarios) * resposta;
+            primeiro = false;
+        }
+        return (int) Math.min(perda, Integer.MAX_VALUE);
+    }
+
+    private static int tipo(int[] tipos, int i) {
+        return tipos == null ? 0 : tipos[i];
     }
 
     /**
@@ -70,23 +388,28 @@ public class CombateServiceImpl implements ICombateService {
      */
     private void resolverCombateToCruzPrimeiro(ToCruz toCruz, IDivisao divisaoAtual) throws ElementNotFoundException {
         ArrayUnorderedList<IInimigo> inimigos = divisaoAtual.getInimigosPresentes();
-        System.out.println(crossedSwords + " Combate iniciado (Tó Cruz primeiro) na divisão: " + divisaoAtual.getNomeDivisao());
+        eventos.combateIniciado(divisaoAtual, false);
 
         for (IInimigo inimigo : inimigos) {
             if (inimigo != null && inimigo.getPoder() > 0) {
-                inimigo.sofrerDano(10); // Dano fixo de Tó Cruz.
-                System.out.println("🟢 Tó Cruz atacou o inimigo '" + inimigo.getNome() + "'!");
+                int dano = regras.getDanoToCruz(inimigo.getIndiceTipo());
+                inimigo.sofrerDano(dano);
+                if (eventos.isDetalhado()) {
+                    eventos.toCruzAtacou(inimigo, dano);
+                }
             }
         }
 
-        removerInimigosMortos(inimigos);
+        // Um so array de marcas para todas as passagens de remocao deste combate.
+        boolean[] mortos = new boolean[inimigos.size()];
+        removerInimigosMortos(inimigos, mortos);
 
         if (inimigos.isEmpty()) {
-            System.out.println(trophy + " Todos os inimigos na sala foram derrotados!");
+            eventos.salaLimpa(divisaoAtual);
             return;
         }
 
-        combateCorpoACorpo(toCruz, inimigos);
+        combateCorpoACorpo(toCruz, divisaoAtual, inimigos, mortos);
     }
 
     /**
@@ -98,39 +421,50 @@ public class CombateServiceImpl implements ICombateService {
      */
     private void resolverCombateInimigoPrimeiro(ToCruz toCruz, IDivisao divisaoAtual) throws ElementNotFoundException {
         ArrayUnorderedList<IInimigo> inimigos = divisaoAtual.getInimigosPresentes();
-        System.out.println(crossedSwords + " Combate iniciado (Inimigo primeiro) na divisão: " + divisaoAtual.getNomeDivisao());
+        eventos.combateIniciado(divisaoAtual, true);
 
         for (IInimigo inimigo : inimigos) {
             if (inimigo.getPoder() > 0 && toCruz.getVida() > 0) {
-                toCruz.sofrerDano(5); // Dano fixo dos inimigos.
-                System.out.println(crossedSwords + " Inimigo '" + inimigo.getNome() + "' atacou Tó Cruz!");
+                int dano = regras.getDanoInimigo(inimigo.getIndiceTipo(), toCruz.getColetes());
+                toCruz.sofrerDano(dano);
+                if (eventos.isDetalhado()) {
+                    eventos.inimigoAtacou(inimigo, dano, false);
+                }
             }
         }
 
         if (toCruz.getVida() <= 0) {
-            System.err.println(skull + " Tó Cruz foi derrotado!");
+            eventos.toCruzDerrotado(divisaoAtual);
             return;
         }
 
-        combateCorpoACorpo(toCruz, inimigos);
+        combateCorpoACorpo(toCruz, divisaoAtual, inimigos, new boolean[inimigos.size()]);
     }
 
     /**
      * Realiza o combate corpo a corpo alternado entre Tó Cruz e os inimigos.
      *
      * @param toCruz   O agente Tó Cruz.
+     * @param divisao  A divisão onde o combate ocorre.
      * @param inimigos Lista de inimigos presentes na divisão.
+     * @param mortos   Marcas para a remoção dos inimigos derrotados, com pelo menos
+     *                 tantas posições como a lista.
      * @throws ElementNotFoundException se houver erro ao acessar os inimigos.
      */
-    private void combateCorpoACorpo(ToCruz toCruz, ArrayUnorderedList<IInimigo> inimigos) throws ElementNotFoundException {
+    private void combateCorpoACorpo(ToCruz toCruz, IDivisao divisao, ArrayUnorderedList<IInimigo> inimigos,
+                                    boolean[] mortos) throws ElementNotFoundException {
         while (toCruz.getVida() > 0 && existeInimigoVivo(inimigos)) {
             IInimigo alvo = getPrimeiroInimigoVivo(inimigos);
             if (alvo != null && alvo.getPoder() > 0) {
-                alvo.sofrerDano(10);
-                System.out.println("🟢 Tó Cruz atacou o inimigo '" + alvo.getNome() + "'!");
+                int dano = regras.getDanoToCruz(alvo.getIndiceTipo());
+                alvo.sofrerDano(dano);
+                if (eventos.isDetalhado()) {
+                    eventos.toCruzAtacou(alvo, dano);
+                }
             }
 
-            removerInimigosMortos(inimigos);
+            // Uma passagem por ronda: a resposta do inimigo nao derrota ninguem.
+            removerInimigosMortos(inimigos, mortos);
 
             if (toCruz.getVida() <= 0 || !existeInimigoVivo(inimigos)) {
                 break;
@@ -138,35 +472,43 @@ public class CombateServiceImpl implements ICombateService {
 
             alvo = getPrimeiroInimigoVivo(inimigos);
             if (alvo != null && alvo.getPoder() > 0) {
-                toCruz.sofrerDano(5);
-                System.out.println(crossedSwords + " Inimigo '" + alvo.getNome() + "' contra-atacou!");
+                int dano = regras.getDanoInimigo(alvo.getIndiceTipo(), toCruz.getColetes());
+                toCruz.sofrerDano(dano);
+                if (eventos.isDetalhado()) {
+                    eventos.inimigoAtacou(alvo, dano, true);
+                }
             }
-
-            removerInimigosMortos(inimigos);
         }
 
         if (toCruz.getVida() <= 0) {
-            System.err.println(skull + " Tó Cruz foi derrotado!");
+            eventos.toCruzDerrotado(divisao);
         } else if (!existeInimigoVivo(inimigos)) {
-            System.out.println(trophy + " Todos os inimigos na sala foram derrotados!");
+            eventos.salaLimpa(divisao);
         }
     }
 
     /**
-     * Remove inimigos mortos (poder <= 0) da lista.
+     * Remove inimigos mortos (poder <= 0) da lista numa única passagem, mantendo a ordem dos restantes. A
+     * remoção é feita por posição, pelo que inimigos com o mesmo nome não se confundem.
      *
      * @param inimigos Lista de inimigos.
-     * @throws ElementNotFoundException se ocorrer erro ao acessar elementos.
+     * @param mortos   Marcas reutilizadas entre chamadas, com pelo menos tantas posições como a lista;
+     *                 as primeiras {@code inimigos.size()} são reescritas.
      */
-    private void removerInimigosMortos(ArrayUnorderedList<IInimigo> inimigos) throws ElementNotFoundException {
-        for (int i = 0; i < inimigos.size(); i++) {
+    private void removerInimigosMortos(ArrayUnorderedList<IInimigo> inimigos, boolean[] mortos) {
+        int derrotados = 0;
+        int tamanho = inimigos.size();
+        for (int i = 0; i < tamanho; i++) {
             IInimigo inimigo = inimigos.getElementAt(i);
-            if (inimigo != null && inimigo.getPoder() <= 0) {
-                System.out.println(skull + " Inimigo '" + inimigo.getNome() + "' foi derrotado!");
-                inimigos.remove(inimigo);
-                i--;
+            mortos[i] = inimigo != null && inimigo.getPoder() <= 0;
+            if (mortos[i]) {
+                eventos.inimigoDerrotado(inimigo);
+                derrotados++;
             }
         }
+        if (derrotados > 0) {
+            inimigos.removeMarked(mortos);
+        }
     }
 
     /**
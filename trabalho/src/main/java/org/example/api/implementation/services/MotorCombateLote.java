@@ -0,0 +1,184 @@
+package org.example.api.implementation.services;
+
+import org.example.api.implementation.models.RegrasCombate;
+
+/**
+ * Resolve em lote muitos combates independentes, descritos por arrays de tipos
+ * primitivos em vez de listas de {@link org.example.api.implementation.interfaces.IInimigo}.
+ * <p>
+ * Os poderes dos inimigos de todas as salas estao seguidos num unico array: a sala
+ * {@code r} usa as posicoes {@code inicios[r]} a {@code inicios[r + 1] - 1}, pela
+ * ordem da lista de inimigos. A vida de To Cruz em cada sala e os poderes sao
+ * atualizados no proprio array, sem alocacoes nem eventos.
+ * </p>
+ * <p>
+ * O resultado de cada sala e o mesmo de
+ * {@link CombateServiceImpl#resolverCombate(org.example.api.implementation.models.ToCruz,
+ * org.example.api.implementation.interfaces.IDivisao, boolean)} com as mesmas
+ * {@link RegrasCombate}; os inimigos derrotados ficam com poder 0 em vez de serem
+ * removidos.
+ * </p>
+ */
+public class MotorCombateLote {
+
+    private final RegrasCombate regras;
+
+    /**
+     * Construtor do motor com as regras de combate padrao.
+     */
+    public MotorCombateLote() {
+        this(RegrasCombate.PADRAO);
+    }
+
+    /**
+     * Construtor do motor com regras de combate especificas.
+     *
+     * @param regras As regras de combate.
+     * @throws IllegalArgumentException se as regras forem nulas.
+     */
+    public MotorCombateLote(RegrasCombate regras) {
+        if (regras == null) {
+            throw new IllegalArgumentException("Regras de combate nao podem ser nulas.");
+        }
+        this.regras = regras;
+    }
+
+    /**
+     * Resolve os combates de todas as salas, com inimigos do tipo comum e To Cruz sem coletes.
+     *
+     * @param poderes         Os poderes dos inimigos de todas as salas; atualizados com os poderes finais.
+     * @param inicios         O inicio de cada sala em {@code poderes}, com {@code salas + 1} posicoes.
+     * @param vidas           A vida de To Cruz em cada sala; atualizada com a vida final.
+     * @param inimigoPrimeiro Em que salas os inimigos atacam primeiro, ou {@code null} se To Cruz
+     *                        ataca primeiro em todas.
+     * @return O numero de salas em que To Cruz nao foi derrotado.
+     * @throws IllegalArgumentException se as dimensoes dos arrays forem inconsistentes.
+     */
+    public int resolver(int[] poderes, int[] inicios, int[] vidas, boolean[] inimigoPrimeiro) {
+        if (inicios == null || vidas == null || inicios.length != vidas.length + 1) {
+            throw new IllegalArgumentException("Dimensoes do lote de combates inconsistentes.");
+        }
+        return resolver(poderes, null, inicios, vidas, null, inimigoPrimeiro, 0, vidas.length);
+    }
+
+    /**
+     * Resolve os combates das salas {@code de} (inclusive) a {@code ate} (exclusive).
+     *
+     * @param poderes         Os poderes dos inimigos de todas as salas; atualizados com os poderes finais.
+     * @param tipos           O indice do tipo de cada inimigo, ou {@code null} se forem todos comuns.
+     * @param inicios         O inicio de cada sala em {@code poderes}.
+     * @param vidas           A vida de To Cruz em cada sala; atualizada com a vida final.
+     * @param coletes         Os coletes de To Cruz em cada sala, ou {@code null} se nao tiver nenhum.
+     * @param inimigoPrimeiro Em que salas os inimigos atacam primeiro, ou {@code null}.
+     * @param de              A primeira sala a resolver.
+     * @param ate             A sala seguinte a ultima a resolver.
+     * @return O numero de salas do intervalo em que To Cruz nao foi derrotado.
+     */
+    public int resolver(int[] poderes, int[] tipos, int[] inicios, int[] vidas, int[] coletes,
+                        boolean[] inimigoPrimeiro, int de, int ate) {
+        int vitorias = 0;
+        for (int r = de; r < ate; r++) {
+            boolean primeiro = inimigoPrimeiro != null && inimigoPrimeiro[r];
+            int coletesSala = coletes == null ? 0 : coletes[r];
+            if (resolverSala(regras, poderes, tipos, inicios[r], inicios[r + 1], vidas, r, coletesSala, primeiro, null)) {
+                vitorias++;
+            }
+        }
+        return vitorias;
+    }
+
+    /**
+     * Resolve o combate de uma sala.
+     * <p>
+     * No corpo a corpo To Cruz ataca sempre o primeiro inimigo vivo, que precisa de
+     * {@code h = ceil(poder / dano)} ataques. Quem responde e o primeiro inimigo vivo
+     * depois de cada ataque, exceto o que limpa a sala: o primeiro inimigo responde
+     * {@code h - 1} vezes e cada um dos seguintes {@code h} vezes (uma delas logo
+     * apos a morte do anterior). Como a vida de To Cruz nao muda durante o ataque
+     * inicial, cada bloco de respostas e resolvido na mesma passagem que aplica esse
+     * ataque; se os inimigos atacarem primeiro, o seu ataque e uma passagem previa.
+     * </p>
+     *
+     * @param rondas Se nao for {@code null}, recebe em {@code rondas[0]} o numero de
+     *               ataques de To Cruz no corpo a corpo.
+     * @return {@code true} se To Cruz nao foi derrotado.
+     */
+    static boolean resolverSala(RegrasCombate regras, int[] poderes, int[] tipos, int inicio, int fim,
+                                int[] vidas, int sala, int coletes, boolean inimigoPrimeiro, int[] rondas) {
+        int vida = vidas[sala];
+        if (inimigoPrimeiro) {
+            for (int i = inicio; i < fim && vida > 0; i++) {
+                if (poderes[i] > 0) {
+                    vida = Math.max(vida - regras.getDanoInimigo(tipos == null ? 0 : tipos[i], coletes), 0);
+                }
+            }
+            if (vida <= 0) {
+                vidas[sala] = 0;
+                if (rondas != null) {
+                    rondas[0] = 0;
+                }
+                return false;
+            }
+        }
+
+        long perda = 0;
+        long ataques = 0;
+        boolean primeiroBloco = true;
+        boolean derrotado = false;
+
+        // Valores compilados do tipo do inimigo atual; so mudam quando muda o tipo.
+        int tipoAtual = 0;
+        int dano = regras.getDanoToCruz(0);
+        int resposta = regras.getDanoInimigo(0, coletes);
+
+        for (int i = inicio; i < fim; i++) {
+            int poder = poderes[i];
+            if (poder <= 0) {
+                continue;
+            }
+            if (tipos != null && tipos[i] != tipoAtual) {
+                tipoAtual = tipos[i];
+                dano = regras.getDanoToCruz(tipoAtual);
+                resposta = regras.getDanoInimigo(tipoAtual, coletes);
+            }
+            if (!inimigoPrimeiro) {
+                poder = Math.max(poder - dano, 0);
+                poderes[i] = poder;
+                if (poder == 0) {
+                    continue;
+                }
+            }
+            if (derrotado) {
+                continue;
+            }
+            if (vida <= 0) {
+                // To Cruz entrou sem vida: o corpo a corpo nao chega a comecar.
+                derrotado = true;
+                continue;
+            }
+
+            int necessarios = (poder - 1) / dano + 1;
+            long bloco = (long) (primeiroBloco ? necessarios - 1 : necessarios) * resposta;
+            if (perda + bloco < vida) {
+                perda += bloco;
+                ataques += necessarios;
+                poderes[i] = 0;
+            } else {
+                // To Cruz cai na resposta numero ceil(restante / resposta) deste bloco.
+                int restante = vida - (int) perda;
+                int suportadas = (restante - 1) / resposta + 1;
+                int golpes = primeiroBloco ? suportadas : suportadas - 1;
+                poderes[i] = poder - golpes * dano;
+                ataques += golpes;
+                derrotado = true;
+            }
+            primeiroBloco = false;
+        }
+
+        vidas[sala] = derrotado ? 0 : vida - (int) perda;
+        if (rondas != null) {
+            rondas[0] = (int) ataques;
+        }
+        return !derrotado;
+    }
+}
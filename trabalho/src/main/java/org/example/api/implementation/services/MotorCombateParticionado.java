@@ -0,0 +1,313 @@
+package org.example.api.implementation.services;
+
+import org.example.api.exceptions.ElementNotFoundException;
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IRegistoEventos;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.api.implementation.models.ResultadoCombate;
+import org.example.api.implementation.models.ToCruz;
+import org.example.collections.implementation.ArrayUnorderedList;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa turnos de movimento dos inimigos e de combate com as divisoes repartidas
+ * por varias threads.
+ * <p>
+ * Cada divisao pertence a um unico trabalhador, escolhido pelo seu indice no mapa
+ * ({@code indice % trabalhadores}), e so esse trabalhador altera a sua lista de
+ * inimigos. Um turno tem duas fases separadas por uma barreira:
+ * </p>
+ * <ol>
+ *     <li><b>Planear:</b> cada inimigo escolhe o destino (ate 2 passos aleatorios, como
+ *     em {@link IMapa#moverInimigos}) a partir do estado do inicio do turno, com um
+ *     gerador proprio da divisao derivado da semente, do turno e do indice da divisao.</li>
+ *     <li><b>Aplicar:</b> cada trabalhador retira das suas divisoes os inimigos que
+ *     saem, acrescenta os que chegam (por ordem da divisao de origem) e, se algum
+ *     inimigo entrou na divisao de To Cruz, resolve o combate com os inimigos a atacar
+ *     primeiro.</li>
+ * </ol>
+ * <p>
+ * O combate e resolvido sobre a vida de To Cruz no inicio do turno e o dano e somado
+ * num acumulador atomico, aplicado a To Cruz no fim do turno pela thread que o
+ * executa, que emite tambem os eventos por ordem das divisoes. O resultado de um turno
+ * nao depende do numero de trabalhadores: com um trabalhador tudo corre na thread
+ * chamadora e o motor e a execucao sequencial de referencia.
+ * </p>
+ * <p>
+ * As divisoes de cada trabalhador atualizam o hash do conteudo do mapa, que soma as
+ * alteracoes de forma atomica e por isso nao depende da ordem entre trabalhadores.
+ * As ligacoes do mapa sao lidas na construcao e nao devem mudar enquanto o motor
+ * estiver em uso.
+ * </p>
+ * <p>
+ * E o motor a usar em lotes de simulacoes: {@link IMapa#moverInimigos} continua a ser o
+ * da simulacao manual, sequencial e sem semente, e nao produz os mesmos turnos.
+ * </p>
+ */
+public class MotorCombateParticionado implements AutoCloseable {
+
+    private static final int MOVIMENTOS_POR_INIMIGO = 2;
+
+    private final IMapa mapa;
+    private final IRegistoEventos eventos;
+    private final int trabalhadores;
+    private final long semente;
+    private final ExecutorService executor;
+
+    private final IDivisao[] divisoes;
+    private final int[][] adjacentes;
+
+    /**
+     * Inimigos que saem de cada divisao no turno e o indice do respetivo destino.
+     */
+    private final IInimigo[][] saidas;
+    private final int[][] destinos;
+    private final int[] numeroSaidas;
+
+    private final int[] chegadas;
+    private final IInimigo[][] combatentes;
+    private final ResultadoCombate[] resultados;
+    private final AtomicInteger danoAcumulado = new AtomicInteger();
+
+    private long turno;
+    private int divisaoToCruz;
+    private int vidaToCruz;
+    private int coletesToCruz;
+    private RegrasCombate regras;
+
+    /**
+     * Construtor do motor.
+     *
+     * @param mapa          O mapa cujas divisoes sao repartidas.
+     * @param eventos       O registo que recebe os eventos de cada turno.
+     * @param trabalhadores O numero de threads; com 1 o motor corre na thread chamadora.
+     * @param semente       A semente dos movimentos aleatorios.
+     * @throws IllegalArgumentException se o mapa ou o registo forem nulos, ou se o numero
+     *                                  de trabalhadores nao for positivo.
+     */
+    public MotorCombateParticionado(IMapa mapa, IRegistoEventos eventos, int trabalhadores, long semente) {
+        if (mapa == null || eventos == null) {
+            throw new IllegalArgumentException("Mapa e registo de eventos nao podem ser nulos.");
+        }
+        if (trabalhadores <= 0) {
+            throw new IllegalArgumentException("O numero de trabalhadores deve ser positivo.");
+        }
+        this.mapa = mapa;
+        this.eventos = eventos;
+        this.trabalhadores = trabalhadores;
+        this.semente = semente;
+        this.executor = trabalhadores > 1 ? Executors.newFixedThreadPool(trabalhadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "combate-particionado");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        int n = mapa.getNumeroDivisoes();
+        this.divisoes = new IDivisao[n];
+        this.adjacentes = new int[n][];
+        for (int i = 0; i < n; i++) {
+            divisoes[i] = mapa.getDivisaoPorIndice(i);
+            adjacentes[i] = mapa.getIndicesAdjacentes(i);
+        }
+        this.saidas = new IInimigo[n][0];
+        this.destinos = new int[n][0];
+        this.numeroSaidas = new int[n];
+        this.chegadas = new int[n];
+        this.combatentes = new IInimigo[n][];
+        this.resultados = new ResultadoCombate[n];
+    }
+
+    /**
+     * Executa um turno: move os inimigos de todas as divisoes e resolve o combate na
+     * divisao de To Cruz, se algum inimigo la tiver entrado.
+     *
+     * @param toCruz O agente To Cruz.
+     * @return {@code true} se To Cruz continua vivo no fim do turno.
+     * @throws ElementNotFoundException se um inimigo a mover nao estiver na sua divisao.
+     * @throws IllegalArgumentException se To Cruz for nulo.
+     */
+    public boolean executarTurno(ToCruz toCruz) throws ElementNotFoundException {
+        if (toCruz == null) {
+            throw new IllegalArgumentException("To Cruz nao pode ser nulo.");
+        }
+        divisaoToCruz = toCruz.getPosicaoAtual() == null ? -1 : mapa.getIndiceDivisao(toCruz.getPosicaoAtual());
+        vidaToCruz = toCruz.getVida();
+        coletesToCruz = toCruz.getColetes();
+        regras = mapa.getRegrasCombate();
+
+        executarFase(false);
+        executarFase(true);
+
+        // Unico ponto em que a vida de To Cruz muda durante o turno.
+        int dano = danoAcumulado.getAndSet(0);
+        if (dano > 0) {
+            toCruz.sofrerDano(dano);
+        }
+        emitirEventos();
+        turno++;
+        return toCruz.getVida() > 0;
+    }
+
+    /**
+     * @return O numero de turnos executados.
+     */
+    public long getTurno() {
+        return turno;
+    }
+
+    /**
+     * Termina as threads do motor.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Executa uma fase em todos os trabalhadores e espera que terminem (a barreira).
+     */
+    private void executarFase(boolean aplicar) throws ElementNotFoundException {
+        if (executor == null) {
+            executarParte(0, aplicar);
+            return;
+        }
+
+        Future<?>[] tarefas = new Future<?>[trabalhadores];
+        for (int w = 0; w < trabalhadores; w++) {
+            final int trabalhador = w;
+            tarefas[w] = executor.submit(() -> {
+                executarParte(trabalhador, aplicar);
+                return null;
+            });
+        }
+        try {
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ElementNotFoundException) {
+                throw (ElementNotFoundException) e.getCause();
+            }
+            throw new IllegalStateException("Erro num trabalhador do combate: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Turno de combate interrompido.", e);
+        }
+    }
+
+    private void executarParte(int trabalhador, boolean aplicar) throws ElementNotFoundException {
+        if (!aplicar) {
+            for (int r = trabalhador; r < divisoes.length; r += trabalhadores) {
+                planear(r);
+            }
+            return;
+        }
+
+        for (int r = trabalhador; r < divisoes.length; r += trabalhadores) {
+            for (int k = 0; k < numeroSaidas[r]; k++) {
+                divisoes[r].removerInimigo(saidas[r][k]);
+            }
+        }
+        // As chegadas seguem a ordem das divisoes de origem, qualquer que seja o trabalhador.
+        for (int s = 0; s < divisoes.length; s++) {
+            for (int k = 0; k < numeroSaidas[s]; k++) {
+                int destino = destinos[s][k];
+                if (destino % trabalhadores == trabalhador) {
+                    divisoes[destino].adicionarInimigo(saidas[s][k]);
+                    chegadas[destino]++;
+                }
+            }
+        }
+        if (divisaoToCruz >= 0 && divisaoToCruz % trabalhadores == trabalhador && chegadas[divisaoToCruz] > 0) {
+            combater(divisaoToCruz);
+        }
+    }
+
+    /**
+     * Escolhe o destino de cada inimigo da divisao {@code r}, sem alterar nenhuma lista.
+     */
+    private void planear(int r) {
+        numeroSaidas[r] = 0;
+        chegadas[r] = 0;
+        combatentes[r] = null;
+        resultados[r] = null;
+
+        ArrayUnorderedList<IInimigo> inimigos = divisoes[r].getInimigosPresentes();
+        if (inimigos == null || inimigos.isEmpty()) {
+            return;
+        }
+        if (saidas[r].length < inimigos.size()) {
+            saidas[r] = new IInimigo[inimigos.size()];
+            destinos[r] = new int[inimigos.size()];
+        }
+
+        Random random = new Random(semente ^ (turno * 0x9E3779B97F4A7C15L) ^ ((long) r << 32));
+        for (int j = 0; j < inimigos.size(); j++) {
+            int destino = r;
+            for (int movimento = 0; movimento < MOVIMENTOS_POR_INIMIGO; movimento++) {
+                int[] vizinhos = adjacentes[destino];
+                if (vizinhos.length == 0) {
+                    break;
+                }
+                destino = vizinhos[random.nextInt(vizinhos.length)];
+            }
+            if (destino != r) {
+                saidas[r][numeroSaidas[r]] = inimigos.getElementAt(j);
+                destinos[r][numeroSaidas[r]] = destino;
+                numeroSaidas[r]++;
+            }
+        }
+    }
+
+    /**
+     * Resolve o combate na divisao {@code r}, pertencente ao trabalhador que a chama.
+     */
+    private void combater(int r) {
+        ArrayUnorderedList<IInimigo> inimigos = divisoes[r].getInimigosPresentes();
+        IInimigo[] presentes = new IInimigo[inimigos.size()];
+        int[] poderes = new int[presentes.length];
+        int[] tipos = new int[presentes.length];
+        for (int i = 0; i < presentes.length; i++) {
+            presentes[i] = inimigos.getElementAt(i);
+            poderes[i] = presentes[i].getPoder();
+            tipos[i] = presentes[i].getIndiceTipo();
+        }
+
+        ResultadoCombate resultado = CombateServiceImpl.resolverAnaliticamente(regras, vidaToCruz, poderes, tipos,
+                true, coletesToCruz);
+        CombateServiceImpl.aplicarResultado(divisoes[r], poderes, resultado);
+        combatentes[r] = presentes;
+        resultados[r] = resultado;
+        danoAcumulado.addAndGet(vidaToCruz - resultado.getVidaFinal());
+    }
+
+    /**
+     * Emite os eventos do turno na thread chamadora: primeiro os movimentos, por ordem
+     * da divisao de origem, e depois os combates.
+     */
+    private void emitirEventos() {
+        for (int s = 0; s < divisoes.length; s++) {
+            for (int k = 0; k < numeroSaidas[s]; k++) {
+                eventos.inimigoMoveu(saidas[s][k], divisoes[s], divisoes[destinos[s][k]]);
+            }
+        }
+        for (int r = 0; r < divisoes.length; r++) {
+            if (resultados[r] != null) {
+                eventos.inimigoEntrouNaSala(divisoes[r]);
+                eventos.combateIniciado(divisoes[r], true);
+                CombateServiceImpl.emitirResultado(eventos, divisoes[r], combatentes[r], resultados[r]);
+                eventos.combateTerminado(divisoes[r], vidaToCruz, resultados[r].getVidaFinal());
+            }
+        }
+    }
+}
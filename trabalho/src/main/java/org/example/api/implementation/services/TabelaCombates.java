@@ -0,0 +1,112 @@
+package org.example.api.implementation.services;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.collections.implementation.ArrayUnorderedList;
+
+/**
+ * Tabela memorizada, por divisao, da vida que To Cruz perde ao entrar numa divisao
+ * e combater os inimigos presentes.
+ * <p>
+ * A perda e calculada com as regras de combate do mapa, para To Cruz sem coletes, e
+ * guardada junto do hash do conteudo da divisao e das regras; enquanto nao mudar, a
+ * consulta custa O(1). Se To Cruz tiver vida {@code v}, sobrevive ao combate se e
+ * so se {@code v > perda}, ficando com {@code v - perda}.
+ * </p>
+ * <p>
+ * Os metodos sao sincronizados, pelo que a tabela pode ser consultada por um
+ * planeador noutra thread.
+ * </p>
+ */
+public class TabelaCombates {
+
+    private final IMapa mapa;
+    private long[] hashes = new long[0];
+    private int[] perdas = new int[0];
+    private boolean[] calculadas = new boolean[0];
+    private int[] poderes = new int[8];
+    private int[] tipos = new int[8];
+
+    /**
+     * Construtor da tabela.
+     *
+     * @param mapa O mapa cujas divisoes sao consultadas.
+     * @throws IllegalArgumentException se o mapa for nulo.
+     */
+    public TabelaCombates(IMapa mapa) {
+        if (mapa == null) {
+            throw new IllegalArgumentException("Mapa nao pode ser nulo.");
+        }
+        this.mapa = mapa;
+    }
+
+    /**
+     * Obtem a vida que To Cruz perde ao entrar na divisao, atacando primeiro, admitindo
+     * que sobrevive.
+     *
+     * @param divisao A divisao.
+     * @return A perda de vida, ou 0 se a divisao for nula ou nao tiver inimigos.
+     */
+    public synchronized int getPerda(IDivisao divisao) {
+        if (divisao == null) {
+            return 0;
+        }
+        int indice = mapa.getIndiceDivisao(divisao);
+        if (indice == -1) {
+            return calcular(divisao);
+        }
+        if (indice >= perdas.length) {
+            crescer(Math.max(indice + 1, mapa.getNumeroDivisoes()));
+        }
+
+        long hash = divisao.getHashConteudo() ^ mapa.getRegrasCombate().getHash();
+        if (!calculadas[indice] || hashes[indice] != hash) {
+            perdas[indice] = calcular(divisao);
+            hashes[indice] = hash;
+            calculadas[indice] = true;
+        }
+        return perdas[indice];
+    }
+
+    /**
+     * Esquece todas as perdas calculadas.
+     */
+    public synchronized void limpar() {
+        for (int i = 0; i < calculadas.length; i++) {
+            calculadas[i] = false;
+        }
+    }
+
+    private int calcular(IDivisao divisao) {
+        ArrayUnorderedList<IInimigo> inimigos = divisao.getInimigosPresentes();
+        if (inimigos == null || inimigos.isEmpty()) {
+            return 0;
+        }
+        int quantidade = inimigos.size();
+        if (quantidade > poderes.length) {
+            poderes = new int[Math.max(quantidade, poderes.length * 2)];
+            tipos = new int[poderes.length];
+        }
+        for (int i = 0; i < quantidade; i++) {
+            IInimigo inimigo = inimigos.getElementAt(i);
+            poderes[i] = inimigo.getPoder();
+            tipos[i] = inimigo.getIndiceTipo();
+        }
+        RegrasCombate regras = mapa.getRegrasCombate();
+        return CombateServiceImpl.perdaCombate(regras, poderes, tipos, quantidade, false, 0);
+    }
+
+    private void crescer(int capacidade) {
+        long[] novosHashes = new long[capacidade];
+        int[] novasPerdas = new int[capacidade];
+        boolean[] novasCalculadas = new boolean[capacidade];
+        System.arraycopy(hashes, 0, novosHashes, 0, hashes.length);
+        System.arraycopy(perdas, 0, novasPerdas, 0, perdas.length);
+        System.arraycopy(calculadas, 0, novasCalculadas, 0, calculadas.length);
+        hashes = novosHashes;
+        perdas = novasPerdas;
+        calculadas = novasCalculadas;
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.api.implementation.simulation;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.models.PlanoMissao;
+import org.example.collections.implementation.ArrayUnorderedList;
+
+/**
+ * Cache limitada de planos da simulacao automatica.
+ * <p>
+ * Cada plano e identificado pelo hash do conteudo do mapa, pela divisao objetivo
+ * e pela vida inicial de To Cruz: com os tres iguais, o planeamento produziria o
+ * mesmo plano. Os caminhos sao guardados como indices de divisoes, para que o
+ * plano possa ser aplicado a outra instancia de um mapa com o mesmo conteudo.
+ * </p>
+ * <p>
+ * Cada simulacao derrota inimigos e recolhe itens, pelo que o hash do conteudo muda
+ * depois de cada execucao. Para reutilizar planos entre simulacoes sobre o mesmo mapa,
+ * os metodos com um {@code estado} explicito identificam os planos pelo estado da
+ * missao tal como foi carregada (por exemplo {@code TabelaRotas#getHashMapa()}) em vez
+ * do conteudo atual.
+ * </p>
+ * <p>
+ * Quando a cache esta cheia, a entrada mais antiga e substituida. Os metodos sao
+ * sincronizados, pelo que a mesma cache pode ser partilhada entre simulacoes. Nao ha
+ * uma cache global: cada simulacao so usa a cache que lhe for dada com
+ * {@code SimulacaoAutomaticaImpl.setCachePlanos}.
+ * </p>
+ */
+public class CachePlanos {
+
+    /**
+     * Capacidade sugerida para uma cache partilhada pelas simulacoes de uma aplicacao.
+     */
+    public static final int CAPACIDADE_PADRAO = 64;
+
+    private static final String ESTRATEGIA = "cache";
+
+    private final long[] hashes;
+    private final int[] objetivos;
+    private final int[] vidas;
+    private final int[] entradas;
+    private final int[][] idas;
+    private final int[][] voltas;
+    private final int[] vidasPrevistas;
+
+    private int tamanho;
+    private int proxima;
+    private long acertos;
+    private long falhas;
+
+    /**
+     * Construtor da cache.
+     *
+     * @param capacidade O numero maximo de planos guardados.
+     * @throws IllegalArgumentException se a capacidade nao for positiva.
+     */
+    public CachePlanos(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade da cache deve ser positiva.");
+        }
+        this.hashes = new long[capacidade];
+        this.objetivos = new int[capacidade];
+        this.vidas = new int[capacidade];
+        this.entradas = new int[capacidade];
+        this.idas = new int[capacidade][];
+        this.voltas = new int[capacidade][];
+        this.vidasPrevistas = new int[capacidade];
+    }
+
+    /**
+     * Procura o plano para o estado atual do mapa, o objetivo e a vida indicados.
+     *
+     * @param mapa     O mapa.
+     * @param objetivo A divisao objetivo.
+     * @param vida     A vida inicial de To Cruz.
+     * @return O plano guardado, ou {@code null} se nao existir.
+     */
+    public PlanoMissao obter(IMapa mapa, IDivisao objetivo, int vida) {
+        return obter(mapa, mapa.getHashConteudo(), objetivo, vida);
+    }
+
+    /**
+     * Procura o plano para um estado da missao, o objetivo e a vida indicados.
+     *
+     * @param mapa     O mapa, onde os caminhos guardados sao resolvidos.
+     * @param estado   O hash que identifica o estado da missao.
+     * @param objetivo A divisao objetivo.
+     * @param vida     A vida inicial de To Cruz.
+     * @return O plano guardado, ou {@code null} se nao existir.
+     */
+    public synchronized PlanoMissao obter(IMapa mapa, long estado, IDivisao objetivo, int vida) {
+        int posicao = procurar(estado, mapa.getIndiceDivisao(objetivo), vida);
+        if (posicao == -1) {
+            falhas++;
+            return null;
+        }
+
+        IDivisao entrada = mapa.getDivisaoPorIndice(entradas[posicao]);
+        ArrayUnorderedList<IDivisao> ida = resolver(mapa, idas[posicao]);
+        ArrayUnorderedList<IDivisao> volta = resolver(mapa, voltas[posicao]);
+        if (entrada == null || ida == null || volta == null) {
+            falhas++;
+            return null;
+        }
+
+        acertos++;
+        return new PlanoMissao(entrada, ida, volta, vidasPrevistas[posicao], ESTRATEGIA);
+    }
+
+    /**
+     * Guarda o plano calculado para o estado atual do mapa, o objetivo e a vida.
+     * Deve ser chamado antes de o plano ser executado, enquanto o mapa ainda esta
+     * no estado em que o plano foi calculado.
+     *
+     * @param mapa     O mapa.
+     * @param objetivo A divisao objetivo.
+     * @param vida     A vida inicial de To Cruz.
+     * @param plano    O plano calculado.
+     */
+    public void guardar(IMapa mapa, IDivisao objetivo, int vida, PlanoMissao plano) {
+        guardar(mapa, mapa.getHashConteudo(), objetivo, vida, plano);
+    }
+
+    /**
+     * Guarda o plano calculado para um estado da missao, o objetivo e a vida.
+     *
+     * @param mapa     O mapa, onde as divisoes do plano sao convertidas em indices.
+     * @param estado   O hash que identifica o estado da missao.
+     * @param objetivo A divisao objetivo.
+     * @param vida     A vida inicial de To Cruz.
+     * @param plano    O plano calculado.
+     */
+    public synchronized void guardar(IMapa mapa, long estado, IDivisao objetivo, int vida, PlanoMissao plano) {
+        int indiceObjetivo = mapa.getIndiceDivisao(objetivo);
+        int indiceEntrada = mapa.getIndiceDivisao(plano.getEntrada());
+        int[] ida = indices(mapa, plano.getCaminhoParaObjetivo());
+        int[] volta = indices(mapa, plano.getCaminhoDeVolta());
+        if (indiceObjetivo == -1 || indiceEntrada == -1 || ida == null || volta == null) {
+            return;
+        }
+
+        int posicao = procurar(estado, indiceObjetivo, vida);
+        if (posicao == -1) {
+            posicao = proxima;
+            proxima = (proxima + 1) % hashes.length;
+            if (tamanho < hashes.length) {
+                tamanho++;
+            }
+        }
+
+        hashes[posicao] = estado;
+        objetivos[posicao] = indiceObjetivo;
+        vidas[posicao] = vida;
+        entradas[posicao] = indiceEntrada;
+        idas[posicao] = ida;
+        voltas[posicao] = volta;
+        vidasPrevistas[posicao] = plano.getVidaPrevista();
+    }
+
+    private int procurar(long hash, int objetivo, int vida) {
+        for (int i = 0; i < tamanho; i++) {
+            if (hashes[i] == hash && objetivos[i] == objetivo && vidas[i] == vida) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int[] indices(IMapa mapa, ArrayUnorderedList<IDivisao> caminho) {
+        int[] indices = new int[caminho.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = mapa.getIndiceDivisao(caminho.getElementAt(i));
+            if (indices[i] == -1) {
+                return null;
+            }
+        }
+        return indices;
+    }
+
+    private ArrayUnorderedList<IDivisao> resolver(IMapa mapa, int[] indices) {
+        ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
+        for (int indice : indices) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(indice);
+            if (divisao == null) {
+                return null;
+            }
+            caminho.addToRear(divisao);
+        }
+        return caminho;
+    }
+
+    /**
+     * Remove todos os planos e reinicia as estatisticas.
+     */
+    public synchronized void limpar() {
+        for (int i = 0; i < tamanho; i++) {
+            idas[i] = null;
+            voltas[i] = null;
+        }
+        tamanho = 0;
+        proxima = 0;
+        acertos = 0;
+        falhas = 0;
+    }
+
+    /**
+     * @return O numero de planos guardados.
+     */
+    public synchronized int size() {
+        return tamanho;
+    }
+
+    /**
+     * @return O numero maximo de planos guardados.
+     */
+    public int getCapacidade() {
+        return hashes.length;
+    }
+
+    /**
+     * @return O numero de consultas que encontraram um plano.
+     */
+    public synchronized long getAcertos() {
+        return acertos;
+    }
+
+    /**
+     * @return O numero de consultas que nao encontraram um plano.
+     */
+    public synchronized long getFalhas() {
+        return falhas;
+    }
+
+    /**
+     * @return A fracao de consultas que encontraram um plano (0 se ainda nao houve consultas).
+     */
+    public synchronized double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+}
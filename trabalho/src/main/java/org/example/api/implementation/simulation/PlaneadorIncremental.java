@@ -0,0 +1,309 @@
+package org.example.api.implementation.simulation;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IItem;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.models.PlanoMissao;
+import org.example.api.implementation.services.TabelaCombates;
+import org.example.collections.implementation.ArrayUnorderedList;
+import org.example.collections.implementation.ArrayHashSet;
+
+/**
+ * Planeador incremental ("anytime") das missoes automaticas.
+ * <p>
+ * O planeamento decorre em fases de custo crescente e pode ser interrompido a
+ * qualquer momento, por prazo ou cancelamento, mantendo sempre disponivel o
+ * melhor plano encontrado ate entao:
+ * </p>
+ * <ol>
+ *   <li>Caminho mais curto (pesquisa em largura) de cada entrada ate ao objetivo e
+ *       de volta a mesma entrada. O primeiro plano desta fase e sempre calculado,
+ *       mesmo que o prazo ja tenha expirado.</li>
+ *   <li>Caminhos que consideram o custo dos inimigos e dos itens, combinando cada
+ *       entrada com cada saida.</li>
+ *   <li>Desvios por divisoes com kits de vida ou coletes, na ida e na volta.</li>
+ * </ol>
+ * <p>
+ * Cada plano e avaliado simulando a vida de To Cruz ao longo do percurso, sendo
+ * cada divisao contabilizada apenas na primeira passagem (os inimigos derrotados e
+ * os itens coletados nao voltam a contar).
+ * </p>
+ */
+public class PlaneadorIncremental {
+
+    private static final String FASE_CAMINHO_CURTO = "caminho mais curto";
+    private static final String FASE_CUSTO = "caminho com custo";
+    private static final String FASE_DESVIO_ITENS = "desvio por itens";
+
+    private final IMapa mapa;
+    private final int vidaInicial;
+    private final int vidaMaxima;
+    private final TabelaCombates combates;
+
+    /**
+     * Melhor plano encontrado ate ao momento, publicado para outras threads.
+     */
+    private volatile PlanoMissao melhorPlano;
+
+    /**
+     * Pedido de cancelamento, que pode ser feito a partir de outra thread.
+     */
+    private volatile boolean cancelado;
+
+    /**
+     * Indica se todas as fases terminaram sem interrupcao.
+     */
+    private volatile boolean concluido;
+
+    private long prazoNanos;
+
+    /**
+     * Construtor do planeador.
+     *
+     * @param mapa        O mapa do edificio.
+     * @param vidaInicial A vida de To Cruz no inicio da missao.
+     * @param vidaMaxima  A vida maxima de To Cruz, acima da qual os kits de vida nao recuperam.
+     * @throws IllegalArgumentException se o mapa for nulo.
+     */
+    public PlaneadorIncremental(IMapa mapa, int vidaInicial, int vidaMaxima) {
+        if (mapa == null) {
+            throw new IllegalArgumentException("Mapa nao pode ser nulo.");
+        }
+        this.mapa = mapa;
+        this.vidaInicial = vidaInicial;
+        this.vidaMaxima = vidaMaxima;
+        this.combates = new TabelaCombates(mapa);
+    }
+
+    /**
+     * Planeia a missao ate ao objetivo, refinando o plano ate o prazo expirar, o
+     * planeamento ser cancelado ou todas as fases terminarem.
+     *
+     * @param objetivo    A divisao objetivo.
+     * @param prazoMillis O tempo maximo de planeamento, em milissegundos.
+     * @return O melhor plano encontrado, ou {@code null} se nenhuma entrada alcancar o objetivo.
+     * @throws IllegalArgumentException se o objetivo for nulo ou o prazo negativo.
+     */
+    public PlanoMissao planear(IDivisao objetivo, long prazoMillis) {
+        if (objetivo == null) {
+            throw new IllegalArgumentException("Erro: Divisao objetivo nao encontrada.");
+        }
+        if (prazoMillis < 0) {
+            throw new IllegalArgumentException("O prazo de planeamento nao pode ser negativo.");
+        }
+
+        prazoNanos = System.nanoTime() + prazoMillis * 1_000_000L;
+        concluido = false;
+
+        ArrayUnorderedList<IDivisao> entradas = mapa.getEntradasSaidas();
+        if (entradas == null || entradas.isEmpty()) {
+            return melhorPlano;
+        }
+
+        if (planearCaminhoCurto(entradas, objetivo)
+                && planearComCusto(entradas, objetivo)
+                && planearDesvios(entradas, objetivo)) {
+            concluido = true;
+        }
+        return melhorPlano;
+    }
+
+    /**
+     * Fase 1: caminho mais curto de cada entrada ao objetivo e de volta a mesma entrada.
+     *
+     * @return {@code false} se o planeamento foi interrompido.
+     */
+    private boolean planearCaminhoCurto(ArrayUnorderedList<IDivisao> entradas, IDivisao objetivo) {
+        for (int i = 0; i < entradas.size(); i++) {
+            if (melhorPlano != null && interrompido()) return false;
+
+            IDivisao entrada = entradas.getElementAt(i);
+            ArrayUnorderedList<IDivisao> ida = mapa.calcularCaminhoMaisCurto(entrada, objetivo);
+            if (ida.isEmpty()) continue;
+            ArrayUnorderedList<IDivisao> volta = mapa.calcularCaminhoMaisCurto(objetivo, entrada);
+            if (volta.isEmpty()) continue;
+
+            considerar(entrada, ida, volta, FASE_CAMINHO_CURTO);
+        }
+        return true;
+    }
+
+    /**
+     * Fase 2: melhores caminhos segundo o custo do mapa, combinando cada entrada com cada saida.
+     *
+     * @return {@code false} se o planeamento foi interrompido.
+     */
+    private boolean planearComCusto(ArrayUnorderedList<IDivisao> entradas, IDivisao objetivo) {
+        for (int i = 0; i < entradas.size(); i++) {
+            if (interrompido()) return false;
+
+            IDivisao entrada = entradas.getElementAt(i);
+            ArrayUnorderedList<IDivisao> ida = mapa.calcularMelhorCaminho(entrada, objetivo);
+            if (ida.isEmpty()) continue;
+
+            for (int j = 0; j < entradas.size(); j++) {
+                if (interrompido()) return false;
+
+                ArrayUnorderedList<IDivisao> volta = mapa.calcularMelhorCaminho(objetivo, entradas.getElementAt(j));
+                if (volta.isEmpty()) continue;
+
+                considerar(entrada, ida, volta, FASE_CUSTO);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fase 3: desvios por divisoes com kits ou coletes, primeiro na ida (mantendo a
+     * volta do melhor plano) e depois na volta (mantendo a ida do melhor plano).
+     *
+     * @return {@code false} se o planeamento foi interrompido.
+     */
+    private boolean planearDesvios(ArrayUnorderedList<IDivisao> entradas, IDivisao objetivo) {
+        ArrayUnorderedList<IDivisao> divisoes = mapa.getDivisoes();
+
+        for (int k = 0; k < divisoes.size(); k++) {
+            IDivisao desvio = divisoes.getElementAt(k);
+            if (desvio == null || !desvio.temKit() || desvio.equals(objetivo)) continue;
+
+            for (int i = 0; i < entradas.size(); i++) {
+                if (interrompido()) return false;
+
+                PlanoMissao atual = melhorPlano;
+                if (atual == null) return true;
+
+                IDivisao entrada = entradas.getElementAt(i);
+                ArrayUnorderedList<IDivisao> ida = concatenar(
+                        mapa.calcularMelhorCaminho(entrada, desvio),
+                        mapa.calcularMelhorCaminho(desvio, objetivo));
+                if (ida != null) {
+                    considerar(entrada, ida, atual.getCaminhoDeVolta(), FASE_DESVIO_ITENS);
+                }
+
+                if (interrompido()) return false;
+
+                atual = melhorPlano;
+                ArrayUnorderedList<IDivisao> volta = concatenar(
+                        mapa.calcularMelhorCaminho(objetivo, desvio),
+                        mapa.calcularMelhorCaminho(desvio, entrada));
+                if (volta != null) {
+                    considerar(atual.getEntrada(), atual.getCaminhoParaObjetivo(), volta, FASE_DESVIO_ITENS);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Junta dois caminhos consecutivos, omitindo a divisao repetida na juncao.
+     *
+     * @return O caminho resultante, ou {@code null} se algum dos troços for vazio.
+     */
+    private ArrayUnorderedList<IDivisao> concatenar(ArrayUnorderedList<IDivisao> primeiro,
+                                                    ArrayUnorderedList<IDivisao> segundo) {
+        if (primeiro == null || primeiro.isEmpty() || segundo == null || segundo.isEmpty()) {
+            return null;
+        }
+        ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
+        for (int i = 0; i < primeiro.size(); i++) {
+            caminho.addToRear(primeiro.getElementAt(i));
+        }
+        for (int i = 1; i < segundo.size(); i++) {
+            caminho.addToRear(segundo.getElementAt(i));
+        }
+        return caminho;
+    }
+
+    /**
+     * Avalia um candidato e publica-o se for melhor do que o plano atual: mais vida
+     * prevista ou, em caso de empate, menos passos.
+     */
+    private void considerar(IDivisao entrada, ArrayUnorderedList<IDivisao> ida,
+                            ArrayUnorderedList<IDivisao> volta, String fase) {
+        int vida = avaliar(ida, volta);
+        PlanoMissao atual = melhorPlano;
+
+        if (atual != null) {
+            if (vida < atual.getVidaPrevista()) return;
+            if (vida == atual.getVidaPrevista() && ida.size() + volta.size() >= atual.getNumeroPassos()) return;
+        }
+        melhorPlano = new PlanoMissao(entrada, ida, volta, vida, fase);
+    }
+
+    /**
+     * Simula a vida de To Cruz ao longo da ida e da volta, contando a vida perdida
+     * nos combates e a recuperacao dos kits e coletes apenas na primeira passagem por
+     * cada divisao. Como em {@code ToCruz.usarKitDeVida}, os kits nao levam a vida acima
+     * da vida maxima; os coletes somam sempre.
+     *
+     * @return A vida prevista, ou {@link Integer#MIN_VALUE} se To Cruz nao sobreviver.
+     */
+    int avaliar(ArrayUnorderedList<IDivisao> ida, ArrayUnorderedList<IDivisao> volta) {
+        ArrayHashSet<IDivisao> consumidas = new ArrayHashSet<>();
+        int vida = vidaInicial;
+
+        for (int troco = 0; troco < 2; troco++) {
+            ArrayUnorderedList<IDivisao> caminho = troco == 0 ? ida : volta;
+            for (int i = 0; i < caminho.size(); i++) {
+                IDivisao divisao = caminho.getElementAt(i);
+                if (divisao == null || !consumidas.add(divisao)) continue;
+
+                vida -= combates.getPerda(divisao);
+                if (vida <= 0) return Integer.MIN_VALUE;
+                vida = recuperar(vida, divisao);
+            }
+        }
+        return vida;
+    }
+
+    private int recuperar(int vida, IDivisao divisao) {
+        int kits = 0;
+        ArrayUnorderedList<IItem> itens = divisao.getItensPresentes();
+        if (itens != null) {
+            for (int i = 0; i < itens.size(); i++) {
+                IItem item = itens.getElementAt(i);
+                if ("kit de vida".equalsIgnoreCase(item.getTipo())) {
+                    kits += item.getPontos();
+                } else if ("colete".equalsIgnoreCase(item.getTipo())) {
+                    vida += item.getPontos();
+                }
+            }
+        }
+        return kits > 0 ? Math.max(vida, Math.min(vida + kits, vidaMaxima)) : vida;
+    }
+
+    private boolean interrompido() {
+        return cancelado || System.nanoTime() - prazoNanos >= 0;
+    }
+
+    /**
+     * Pede a interrupcao do planeamento. O plano ja encontrado continua disponivel.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    /**
+     * @return {@code true} se o planeamento foi cancelado.
+     */
+    public boolean isCancelado() {
+        return cancelado;
+    }
+
+    /**
+     * @return {@code true} se todas as fases terminaram antes do prazo.
+     */
+    public boolean isConcluido() {
+        return concluido;
+    }
+
+    /**
+     * Retorna o melhor plano encontrado ate ao momento. Pode ser chamado a partir
+     * de outra thread enquanto o planeamento decorre.
+     *
+     * @return O melhor plano, ou {@code null} se ainda nao existir nenhum.
+     */
+    public PlanoMissao getMelhorPlano() {
+        return melhorPlano;
+    }
+}
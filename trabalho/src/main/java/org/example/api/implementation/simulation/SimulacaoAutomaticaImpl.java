@@ -6,13 +6,19 @@ import org.example.api.implementation.interfaces.IDivisao;
 import org.example.api.implementation.interfaces.IInimigo;
 import org.example.api.implementation.interfaces.IItem;
 import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IRegistoEventos;
 import org.example.api.implementation.interfaces.ISimulacaoAutomatica;
+import org.example.api.implementation.models.PlanoMissao;
 import org.example.api.implementation.models.Predecessor;
+import org.example.api.implementation.models.TabelaRotas;
 import org.example.api.implementation.models.ToCruz;
 import org.example.api.implementation.services.CombateServiceImpl;
+import org.example.api.implementation.services.TabelaCombates;
+import org.example.api.implementation.utils.RegistoEventosConsola;
 import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.collections.implementation.ArrayQueue;
 import org.example.collections.implementation.ArrayUnorderedList;
-import org.example.collections.implementation.LinkedQueue;
+import org.example.collections.implementation.ArrayHashSet;
 import org.example.collections.implementation.LinkedStack;
 
 /**
@@ -47,6 +53,11 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
      */
     private final ICombateService combateService;
 
+    /**
+     * Destino dos eventos da simulação (consola, silencioso ou registo compacto).
+     */
+    private final IRegistoEventos eventos;
+
     /**
      * Lista não ordenada que armazena a sequência de divisões visitadas ao longo da simulação.
      */
@@ -64,6 +75,37 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
      */
     private final ArrayUnorderedList<IItem> itensColetados;
 
+    /**
+     * Planeador da última execução com prazo, consultável enquanto planeia.
+     */
+    private volatile PlaneadorIncremental planeador;
+
+    /**
+     * Tabela de rotas pré-calculada do edifício, opcional.
+     */
+    private TabelaRotas tabelaRotas;
+
+    /**
+     * Cache de planos consultada por {@link #executar(IDivisao)}, ou null se desativada.
+     */
+    private CachePlanos cachePlanos;
+
+    /**
+     * O estado da missao que identifica os planos na cache, se {@link #estadoPlanosFixo}.
+     */
+    private long estadoPlanos;
+
+    /**
+     * {@code true} se os planos sao identificados por {@link #estadoPlanos} e nao pelo
+     * conteudo atual do mapa.
+     */
+    private boolean estadoPlanosFixo;
+
+    /**
+     * Perdas de vida em combate por divisão, usadas na avaliação dos trajetos.
+     */
+    private final TabelaCombates tabelaCombates;
+
     // Emojis utilizados para enriquecer a saída no console.
     public static String checkMark = "\u2705"; // ✅
     public static String crossedSwords = "\uD83D\uDDE1"; // 🗡
@@ -86,13 +128,32 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
      * @throws IllegalArgumentException caso o mapa ou o toCruz sejam nulos.
      */
     public SimulacaoAutomaticaImpl(IMapa mapa, ToCruz toCruz) {
-        if (mapa == null || toCruz == null) {
+        this(mapa, toCruz, RegistoEventosConsola.INSTANCIA);
+    }
+
+    /**
+     * Construtor da simulação automática com um destino de eventos específico.
+     * Com um {@link org.example.api.implementation.utils.RegistoEventosNulo} a simulação,
+     * o combate, o movimento dos inimigos e os avisos do mapa correm sem qualquer escrita
+     * na consola; o registo é também o do mapa enquanto a simulação executa, e o registo
+     * anterior do mapa é reposto no fim de cada execução.
+     *
+     * @param mapa    O mapa do edifício, representando as divisões e conexões entre elas.
+     * @param toCruz  O agente (To Cruz) que irá se deslocar pelo mapa.
+     * @param eventos O registo que recebe os eventos da simulação.
+     *
+     * @throws IllegalArgumentException caso algum dos parâmetros seja nulo.
+     */
+    public SimulacaoAutomaticaImpl(IMapa mapa, ToCruz toCruz, IRegistoEventos eventos) {
+        if (mapa == null || toCruz == null || eventos == null) {
             throw new IllegalArgumentException("Mapa, To Cruz e CombateService nao podem ser nulos.");
         }
 
         this.mapa = mapa;
         this.toCruz = toCruz;
-        this.combateService = new CombateServiceImpl();
+        this.eventos = eventos;
+        this.combateService = new CombateServiceImpl(eventos, mapa.getRegrasCombate());
+        this.tabelaCombates = new TabelaCombates(mapa);
         this.caminhoPercorrido = new ArrayUnorderedList<>();
         this.inimigosDerrotados = new ArrayUnorderedList<>();
         this.itensColetados = new ArrayUnorderedList<>();
@@ -106,6 +167,10 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
      *
      * Caso não seja encontrado o melhor caminho, a simulação tentará um trajeto viável.
      *
+     * Se a cache de planos já tiver um plano para o mesmo conteúdo do mapa (ou o mesmo
+     * estado da missão, ver {@link #setCachePlanos(CachePlanos, long)}), o mesmo
+     * objetivo e a mesma vida inicial, a procura é omitida e esse plano é executado.
+     *
      * @param divisaoObjetivo A divisão do mapa onde se encontra o objetivo da missão.
      * 
      * @throws ElementNotFoundException se ocorrer algum problema ao acessar divisões ou itens.
@@ -113,19 +178,53 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
      */
     @Override
     public void executar(IDivisao divisaoObjetivo) throws ElementNotFoundException {
-        System.out.println("Inicio da simulacao automatica!");
+        IRegistoEventos anterior = usarRegistoNoMapa();
+        try {
+            planearEExecutar(divisaoObjetivo);
+        } finally {
+            mapa.setRegistoEventos(anterior);
+        }
+    }
+
+    /**
+     * Faz com que os avisos do mapa (por exemplo, caminhos nao encontrados no
+     * planeamento) sigam para o registo desta simulacao.
+     *
+     * @return O registo que o mapa tinha, a repor no fim da execucao.
+     */
+    private IRegistoEventos usarRegistoNoMapa() {
+        IRegistoEventos anterior = mapa.getRegistoEventos();
+        mapa.setRegistoEventos(eventos);
+        return anterior;
+    }
+
+    /**
+     * Corpo de {@link #executar(IDivisao)}, com o registo desta simulacao no mapa.
+     */
+    private void planearEExecutar(IDivisao divisaoObjetivo) throws ElementNotFoundException {
+        eventos.mensagem("Inicio da simulacao automatica!");
 
         if (divisaoObjetivo == null) {
-            System.err.println("Erro: Divisao objetivo nao encontrada.");
+            eventos.erro("Erro: Divisao objetivo nao encontrada.");
             throw new IllegalArgumentException("Erro: Divisao objetivo nao encontrada.");
         }
 
         ArrayUnorderedList<String> entradasSaidas = mapa.getEntradasSaidasNomes();
         if (entradasSaidas == null || entradasSaidas.isEmpty()) {
-            System.err.println("Erro: Nenhuma entrada ou saida encontrada no mapa.");
+            eventos.erro("Erro: Nenhuma entrada ou saida encontrada no mapa.");
             throw new IllegalArgumentException("Erro: Nenhuma entrada ou saida encontrada no mapa.");
         }
 
+        int vidaInicial = toCruz.getVida();
+        if (cachePlanos != null) {
+            PlanoMissao planoGuardado = cachePlanos.obter(mapa, getEstadoPlanos(), divisaoObjetivo, vidaInicial);
+            if (planoGuardado != null) {
+                executarPlano(planoGuardado.getEntrada(), planoGuardado.getCaminhoParaObjetivo(),
+                        planoGuardado.getCaminhoDeVolta());
+                return;
+            }
+        }
+
         IDivisao melhorEntrada = null;
         ArrayUnorderedList<IDivisao> melhorCaminhoParaObjetivo = null;
         ArrayUnorderedList<IDivisao> melhorCaminhoDeVolta = null;
@@ -136,10 +235,10 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
             IDivisao entradaAtual = mapa.getDivisaoPorNome(entradasSaidas.getElementAt(i));
             if (entradaAtual == null) continue;
 
-            ArrayUnorderedList<IDivisao> caminhoParaObjetivo = mapa.calcularMelhorCaminho(entradaAtual, divisaoObjetivo);
+            ArrayUnorderedList<IDivisao> caminhoParaObjetivo = calcularCaminho(entradaAtual, divisaoObjetivo);
             if (caminhoParaObjetivo == null || caminhoParaObjetivo.isEmpty()) continue;
 
-            ArrayUnorderedList<IDivisao> caminhoDeVolta = mapa.calcularMelhorCaminho(divisaoObjetivo, entradaAtual);
+            ArrayUnorderedList<IDivisao> caminhoDeVolta = calcularCaminho(divisaoObjetivo, entradaAtual);
             if (caminhoDeVolta == null || caminhoDeVolta.isEmpty()) continue;
 
             int vidaRestante = simularTrajeto(caminhoParaObjetivo, caminhoDeVolta);
@@ -151,14 +250,19 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
             }
         }
 
+        if (cachePlanos != null && melhorEntrada != null) {
+            cachePlanos.guardar(mapa, getEstadoPlanos(), divisaoObjetivo, vidaInicial, new PlanoMissao(melhorEntrada,
+                    melhorCaminhoParaObjetivo, melhorCaminhoDeVolta, maiorVidaRestante, "executar"));
+        }
+
         // Se não encontrou um caminho ideal, tenta um caminho viável.
         if (melhorEntrada == null || melhorCaminhoParaObjetivo == null || melhorCaminhoDeVolta == null) {
-            System.err.println("Nenhum trajeto ideal encontrado. Selecionando o primeiro trajeto viavel...");
+            eventos.erro("Nenhum trajeto ideal encontrado. Selecionando o primeiro trajeto viavel...");
             for (int i = 0; i < entradasSaidas.size(); i++) {
                 IDivisao entradaAlternativa = mapa.getDivisaoPorNome(entradasSaidas.getElementAt(i));
                 if (entradaAlternativa != null) {
-                    melhorCaminhoParaObjetivo = mapa.calcularMelhorCaminho(entradaAlternativa, divisaoObjetivo);
-                    melhorCaminhoDeVolta = mapa.calcularMelhorCaminho(divisaoObjetivo, entradaAlternativa);
+                    melhorCaminhoParaObjetivo = calcularCaminho(entradaAlternativa, divisaoObjetivo);
+                    melhorCaminhoDeVolta = calcularCaminho(divisaoObjetivo, entradaAlternativa);
 
                     if (melhorCaminhoParaObjetivo != null && !melhorCaminhoParaObjetivo.isEmpty() &&
                         melhorCaminhoDeVolta != null && !melhorCaminhoDeVolta.isEmpty()) {
@@ -169,11 +273,179 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
             }
 
             if (melhorEntrada == null) {
-                System.err.println("Erro: Nenhuma entrada viavel encontrada. Forcando inicio pela primeira entrada.");
+                eventos.erro("Erro: Nenhuma entrada viavel encontrada. Forcando inicio pela primeira entrada.");
                 melhorEntrada = mapa.getDivisaoPorNome(entradasSaidas.getElementAt(0));
             }
         }
 
+        executarPlano(melhorEntrada, melhorCaminhoParaObjetivo, melhorCaminhoDeVolta);
+    }
+
+    /**
+     * Calcula o melhor caminho entre duas divisões, consultando a tabela de rotas
+     * quando o destino é uma das suas referências e o mapa nos restantes casos.
+     *
+     * @param origem  Divisão de origem.
+     * @param destino Divisão de destino.
+     * @return O caminho da origem ao destino, ou lista vazia se não existir.
+     */
+    private ArrayUnorderedList<IDivisao> calcularCaminho(IDivisao origem, IDivisao destino) {
+        if (tabelaRotas != null) {
+            ArrayUnorderedList<IDivisao> caminho = tabelaRotas.getCaminho(mapa, origem, destino);
+            if (caminho != null) {
+                return caminho;
+            }
+        }
+        return mapa.calcularMelhorCaminho(origem, destino);
+    }
+
+    /**
+     * Define a tabela de rotas pré-calculada usada por {@link #executar(IDivisao)}.
+     * A tabela deve ter sido gerada para a missão carregada neste mapa; os inimigos
+     * derrotados e os itens recolhidos em simulações anteriores não a invalidam.
+     *
+     * @param tabelaRotas A tabela de rotas, ou null para calcular sempre os caminhos.
+     */
+    public void setTabelaRotas(TabelaRotas tabelaRotas) {
+        this.tabelaRotas = tabelaRotas;
+    }
+
+    /**
+     * Define a cache de planos consultada por {@link #executar(IDivisao)}. Por
+     * omissão não há cache e cada execução planeia; para reutilizar planos entre
+     * simulações do mesmo mapa, passa-se a todas a mesma cache.
+     *
+     * @param cachePlanos A cache de planos, ou null para planear sempre.
+     */
+    public void setCachePlanos(CachePlanos cachePlanos) {
+        this.cachePlanos = cachePlanos;
+        this.estadoPlanosFixo = false;
+    }
+
+    /**
+     * Define a cache de planos e o estado da missão que identifica os planos, em vez do
+     * conteúdo atual do mapa. As simulações sobre o mesmo mapa derrotam inimigos e
+     * recolhem itens; com o estado da missão carregada (por exemplo
+     * {@link TabelaRotas#getHashMapa()}) as simulações seguintes reutilizam o plano.
+     *
+     * @param cachePlanos A cache de planos, ou null para planear sempre.
+     * @param estado      O hash do estado da missão.
+     */
+    public void setCachePlanos(CachePlanos cachePlanos, long estado) {
+        this.cachePlanos = cachePlanos;
+        this.estadoPlanos = estado;
+        this.estadoPlanosFixo = true;
+    }
+
+    private long getEstadoPlanos() {
+        return estadoPlanosFixo ? estadoPlanos : mapa.getHashConteudo();
+    }
+
+    /**
+     * @return A cache de planos em uso, ou null se estiver desativada.
+     */
+    public CachePlanos getCachePlanos() {
+        return cachePlanos;
+    }
+
+    /**
+     * @return A tabela de rotas em uso, ou null se não houver.
+     */
+    public TabelaRotas getTabelaRotas() {
+        return tabelaRotas;
+    }
+
+    /**
+     * Executa a simulação automática dentro de um prazo de planeamento. Um
+     * {@link PlaneadorIncremental} calcula primeiro o caminho mais curto e vai
+     * refinando o plano (outras entradas e saídas, caminhos com custo, desvios por
+     * itens) até o prazo expirar ou o planeamento ser cancelado com
+     * {@link #cancelarPlaneamento()}. O melhor plano encontrado é então executado.
+     *
+     * @param divisaoObjetivo A divisão do mapa onde se encontra o objetivo da missão.
+     * @param prazoMillis     O tempo máximo de planeamento, em milissegundos.
+     *
+     * @throws ElementNotFoundException se ocorrer algum problema ao acessar divisões ou itens.
+     * @throws IllegalArgumentException se a divisão objetivo não for válida ou o mapa não
+     *                                  tiver entradas.
+     */
+    public void executarComPrazo(IDivisao divisaoObjetivo, long prazoMillis) throws ElementNotFoundException {
+        IRegistoEventos anterior = usarRegistoNoMapa();
+        try {
+            planearComPrazoEExecutar(divisaoObjetivo, prazoMillis);
+        } finally {
+            mapa.setRegistoEventos(anterior);
+        }
+    }
+
+    /**
+     * Corpo de {@link #executarComPrazo(IDivisao, long)}, com o registo desta simulacao no mapa.
+     */
+    private void planearComPrazoEExecutar(IDivisao divisaoObjetivo, long prazoMillis)
+            throws ElementNotFoundException {
+        eventos.mensagem("Inicio da simulacao automatica!");
+
+        if (divisaoObjetivo == null) {
+            eventos.erro("Erro: Divisao objetivo nao encontrada.");
+            throw new IllegalArgumentException("Erro: Divisao objetivo nao encontrada.");
+        }
+
+        ArrayUnorderedList<IDivisao> entradas = mapa.getEntradasSaidas();
+        if (entradas == null || entradas.isEmpty()) {
+            eventos.erro("Erro: Nenhuma entrada ou saida encontrada no mapa.");
+            throw new IllegalArgumentException("Erro: Nenhuma entrada ou saida encontrada no mapa.");
+        }
+
+        PlaneadorIncremental planeadorAtual = new PlaneadorIncremental(mapa, toCruz.getVida(), toCruz.getVidaMaxima());
+        planeador = planeadorAtual;
+        PlanoMissao plano = planeadorAtual.planear(divisaoObjetivo, prazoMillis);
+
+        if (plano == null) {
+            eventos.erro("Erro: Nenhuma entrada alcanca o objetivo.");
+            return;
+        }
+        if (!planeadorAtual.isConcluido()) {
+            eventos.mensagem("Planeamento interrompido; a usar o melhor plano encontrado (" + plano.getEstrategia() + ").");
+        }
+
+        executarPlano(plano.getEntrada(), plano.getCaminhoParaObjetivo(), plano.getCaminhoDeVolta());
+    }
+
+    /**
+     * Interrompe o planeamento em curso de {@link #executarComPrazo(IDivisao, long)}.
+     * Pode ser chamado a partir de outra thread; a simulação segue com o melhor
+     * plano encontrado até esse momento.
+     */
+    public void cancelarPlaneamento() {
+        PlaneadorIncremental planeadorAtual = planeador;
+        if (planeadorAtual != null) {
+            planeadorAtual.cancelar();
+        }
+    }
+
+    /**
+     * Retorna o melhor plano encontrado pelo planeamento com prazo, mesmo enquanto
+     * este ainda decorre.
+     *
+     * @return O melhor plano até ao momento, ou null se nenhum planeamento foi iniciado
+     *         ou ainda não existe nenhum plano.
+     */
+    public PlanoMissao getMelhorPlano() {
+        PlaneadorIncremental planeadorAtual = planeador;
+        return planeadorAtual == null ? null : planeadorAtual.getMelhorPlano();
+    }
+
+    /**
+     * Desloca To Cruz pela entrada, pelo caminho até ao objetivo e pelo caminho de
+     * volta, resolvendo combates e coletando itens em cada divisão.
+     *
+     * @param melhorEntrada             A divisão de entrada.
+     * @param melhorCaminhoParaObjetivo O caminho da entrada até ao objetivo.
+     * @param melhorCaminhoDeVolta      O caminho do objetivo até à saída.
+     * @throws ElementNotFoundException se ocorrer algum problema ao acessar divisões ou itens.
+     */
+    private void executarPlano(IDivisao melhorEntrada, ArrayUnorderedList<IDivisao> melhorCaminhoParaObjetivo,
+                               ArrayUnorderedList<IDivisao> melhorCaminhoDeVolta) throws ElementNotFoundException {
         // Registra o caminho a ser percorrido
         if (melhorEntrada != null && melhorCaminhoParaObjetivo != null) {
             for (int i = 0; i < melhorCaminhoParaObjetivo.size(); i++) {
@@ -183,7 +455,7 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
         }
 
         // Executa a simulação do deslocamento, combate e coleta de itens.
-        System.out.println("Movendo-se para a melhor entrada: " + melhorEntrada.getNomeDivisao());
+        eventos.mensagem("Movendo-se para a melhor entrada: " + melhorEntrada.getNomeDivisao());
         toCruz.moverPara(melhorEntrada);
 
         for (int i = 0; i < melhorCaminhoParaObjetivo.size(); i++) {
@@ -191,12 +463,12 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
             moverParaDivisao(divisao);
 
             if (toCruz.getVida() <= 0) {
-                System.err.println("💀 To Cruz foi derrotado!");
+                eventos.erro("💀 To Cruz foi derrotado!");
                 return;
             }
         }
 
-        System.out.println("🏁 To Cruz alcancou o objetivo!");
+        eventos.mensagem("🏁 To Cruz alcancou o objetivo!");
 
         // Retorno ao ponto de saída
         for (int i = 0; i < melhorCaminhoDeVolta.size(); i++) {
@@ -204,18 +476,23 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
             moverParaDivisao(divisao);
 
             if (toCruz.getVida() <= 0) {
-                System.err.println("💀 To Cruz foi derrotado no retorno!");
+                eventos.erro("💀 To Cruz foi derrotado no retorno!");
                 return;
             }
         }
 
-        System.out.println("🏆 Missao concluida com sucesso! To Cruz retornou com o alvo.");
+        eventos.mensagem("🏆 Missao concluida com sucesso! To Cruz retornou com o alvo.");
     }
 
     /**
      * Simula o trajeto de ida e volta, avaliando o impacto de inimigos e itens
      * sobre a vida de To Cruz, sem efetivamente movê-lo. Esta simulação é utilizada
      * para escolher o melhor caminho antes de executá-lo.
+     * <p>
+     * A vida perdida em cada divisão é a do combate real ({@link TabelaCombates}),
+     * e cada divisão conta apenas na primeira passagem: depois disso os inimigos
+     * estão derrotados e os itens coletados.
+     * </p>
      *
      * @param caminhoParaObjetivo Lista de divisões representando o caminho de entrada 
      *                            até o objetivo.
@@ -226,46 +503,29 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
      */
     public int simularTrajeto(ArrayUnorderedList<IDivisao> caminhoParaObjetivo,
                               ArrayUnorderedList<IDivisao> caminhoDeVolta) {
+        ArrayHashSet<IDivisao> visitadas = new ArrayHashSet<>();
         int vidaSimulada = toCruz.getVida();
 
-        // Simula impacto na ida
-        for (int i = 0; i < caminhoParaObjetivo.size(); i++) {
-            IDivisao divisao = caminhoParaObjetivo.getElementAt(i);
-            vidaSimulada -= calcularDanoInimigos(divisao);
-            vidaSimulada += calcularRecuperacaoItens(divisao);
-            if (vidaSimulada <= 0)
-                return Integer.MIN_VALUE; // Não sobrevive
-        }
-
-        // Simula impacto na volta
-        for (int i = 0; i < caminhoDeVolta.size(); i++) {
-            IDivisao divisao = caminhoDeVolta.getElementAt(i);
-            vidaSimulada -= calcularDanoInimigos(divisao);
-            vidaSimulada += calcularRecuperacaoItens(divisao);
-            if (vidaSimulada <= 0)
-                return Integer.MIN_VALUE; // Não sobrevive
+        for (int troco = 0; troco < 2; troco++) {
+            ArrayUnorderedList<IDivisao> caminho = troco == 0 ? caminhoParaObjetivo : caminhoDeVolta;
+            for (int i = 0; i < caminho.size(); i++) {
+                IDivisao divisao = caminho.getElementAt(i);
+                if (!visitadas.add(divisao)) continue;
+
+                vidaSimulada -= tabelaCombates.getPerda(divisao);
+                if (vidaSimulada <= 0)
+                    return Integer.MIN_VALUE; // Não sobrevive
+                int recuperacao = calcularRecuperacaoItens(divisao);
+                if (recuperacao > 0) {
+                    // Os kits de vida nao levam a vida acima da maxima (ToCruz.usarKitDeVida).
+                    vidaSimulada = Math.max(vidaSimulada, Math.min(vidaSimulada + recuperacao, toCruz.getVidaMaxima()));
+                }
+            }
         }
 
         return vidaSimulada;
     }
 
-    /**
-     * Calcula o dano total causado pelos inimigos presentes em uma determinada divisão.
-     *
-     * @param divisao Divisão cuja presença de inimigos será avaliada.
-     * @return Valor do dano causado pelos inimigos desta divisão.
-     */
-    private int calcularDanoInimigos(IDivisao divisao) {
-        int dano = 0;
-        ArrayUnorderedList<IInimigo> inimigos = divisao.getInimigosPresentes();
-        if (inimigos != null) {
-            for (int i = 0; i < inimigos.size(); i++) {
-                dano += inimigos.getElementAt(i).getPoder();
-            }
-        }
-        return dano;
-    }
-
     /**
      * Calcula a recuperação de vida proporcionada pelos itens presentes em uma divisão.
      * Apenas itens do tipo "kit de vida" são considerados para recuperar pontos de vida.
@@ -303,7 +563,7 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
 
         toCruz.moverPara(divisao);
         caminhoPercorrido.addToRear(divisao);
-        System.out.println("🤠 To Cruz moveu-se para a divisao: " + divisao.getNomeDivisao());
+        eventos.toCruzMoveu(divisao);
 
         ArrayUnorderedList<IInimigo> inimigos = divisao.getInimigosPresentes();
         if (inimigos != null && !inimigos.isEmpty()) {
@@ -314,17 +574,21 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
         // Coleta de itens
         ArrayUnorderedList<IItem> itens = divisao.getItensPresentes();
         if (itens != null && !itens.isEmpty()) {
-            System.out.println(backpack + " Itens encontrados na divisao: " + divisao.getNomeDivisao());
-            while (!itens.isEmpty()) {
-                try {
-                    IItem item = itens.removeFirst();
-                    toCruz.adicionarAoInventario(item);
-                    itensColetados.addToRear(item);
-                    System.out.println(checkMark + " Item coletado: " + item.getTipo());
-                } catch (EmptyCollectionException e) {
-                    System.err.println("Erro ao coletar item: " + e.getMessage());
-                    break;
+            eventos.itensEncontrados(divisao);
+            try {
+                while (!itens.isEmpty()) {
+                    try {
+                        IItem item = itens.removeFirst();
+                        toCruz.adicionarAoInventario(item);
+                        itensColetados.addToRear(item);
+                        eventos.itemColetado(item);
+                    } catch (EmptyCollectionException e) {
+                        eventos.erro("Erro ao coletar item: " + e.getMessage());
+                        break;
+                    }
                 }
+            } finally {
+                divisao.atualizarHash();
             }
         }
     }
@@ -340,47 +604,49 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
     public ArrayUnorderedList<IDivisao> encontrarCaminhoParaSaidaMaisProxima() {
         ArrayUnorderedList<String> entradasSaidas = mapa.getEntradasSaidasNomes();
         if (entradasSaidas.isEmpty()) {
-            System.err.println("Erro: Nenhuma divisao de saida definida no mapa.");
+            eventos.erro("Erro: Nenhuma divisao de saida definida no mapa.");
             return null;
         }
 
-        LinkedQueue<IDivisao> fila = new LinkedQueue<>();
-        ArrayUnorderedList<IDivisao> visitados = new ArrayUnorderedList<>();
+        ArrayHashSet<String> saidas = new ArrayHashSet<>(entradasSaidas.size());
+        for (int i = 0; i < entradasSaidas.size(); i++) {
+            saidas.add(entradasSaidas.getElementAt(i));
+        }
+
+        ArrayQueue<IDivisao> fila = new ArrayQueue<>();
+        ArrayHashSet<IDivisao> visitados = new ArrayHashSet<>();
         ArrayUnorderedList<Predecessor> predecessores = new ArrayUnorderedList<>();
 
         IDivisao posicaoInicial = toCruz.getPosicaoAtual();
         if (posicaoInicial == null) {
-            System.err.println("Erro: Posicao inicial de To Cruz e nula.");
+            eventos.erro("Erro: Posicao inicial de To Cruz e nula.");
             return null;
         }
 
         fila.enqueue(posicaoInicial);
-        visitados.addToRear(posicaoInicial);
+        visitados.add(posicaoInicial);
         predecessores.addToRear(new Predecessor(posicaoInicial, null));
 
         while (!fila.isEmpty()) {
             IDivisao atual = fila.dequeue();
 
             // Verifica se a divisão atual é uma saída
-            for (int i = 0; i < entradasSaidas.size(); i++) {
-                String nomeSaida = entradasSaidas.getElementAt(i);
-                if (atual.getNomeDivisao().equals(nomeSaida)) {
-                    System.out.println("Divisao de saida encontrada: " + atual.getNomeDivisao());
-
-                    // Reconstrói o caminho até esta divisão
-                    ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
-                    IDivisao passo = atual;
-                    while (passo != null) {
-                        caminho.addToRear(passo);
-                        passo = getPredecessor(predecessores, passo.getNomeDivisao());
-                    }
-                    return inverterLista(caminho);
+            if (saidas.contains(atual.getNomeDivisao())) {
+                eventos.mensagem("Divisao de saida encontrada: " + atual.getNomeDivisao());
+
+                // Reconstrói o caminho até esta divisão
+                ArrayUnorderedList<IDivisao> caminho = new ArrayUnorderedList<>();
+                IDivisao passo = atual;
+                while (passo != null) {
+                    caminho.addToRear(passo);
+                    passo = getPredecessor(predecessores, passo.getNomeDivisao());
                 }
+                return inverterLista(caminho);
             }
 
             ArrayUnorderedList<IDivisao> conexoes = mapa.obterConexoes(atual);
             if (conexoes == null || conexoes.isEmpty()) {
-                System.out.println("Aviso: Divisao " + atual.getNomeDivisao() + " nao possui conexoes.");
+                eventos.mensagem("Aviso: Divisao " + atual.getNomeDivisao() + " nao possui conexoes.");
                 continue;
             }
 
@@ -389,14 +655,14 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
                 if (vizinho == null) continue;
 
                 if (!visitados.contains(vizinho) && mapa.podeMover(atual.getNomeDivisao(), vizinho.getNomeDivisao())) {
-                    visitados.addToRear(vizinho);
+                    visitados.add(vizinho);
                     fila.enqueue(vizinho);
                     predecessores.addToRear(new Predecessor(vizinho, atual));
                 }
             }
         }
 
-        System.err.println("Erro: Nenhuma divisao de saida acessivel foi encontrada.");
+        eventos.erro("Erro: Nenhuma divisao de saida acessivel foi encontrada.");
         return null;
     }
 
@@ -436,7 +702,7 @@ public class SimulacaoAutomaticaImpl implements ISimulacaoAutomatica {
             try {
                 invertida.addToRear(pilha.pop());
             } catch (EmptyCollectionException e) {
-                System.err.println("Erro ao inverter a lista: " + e.getMessage());
+                eventos.erro("Erro ao inverter a lista: " + e.getMessage());
             }
         }
         return invertida;
@@ -9,6 +9,8 @@ import org.example.api.implementation.interfaces.IMapa;
 import org.example.api.implementation.interfaces.ISimulacaoManual;
 import org.example.api.implementation.models.ToCruz;
 import org.example.api.implementation.services.CombateServiceImpl;
+import org.example.api.implementation.utils.RegistoEventosConsola;
+import org.example.api.implementation.utils.GravadorTrajetoria;
 import org.example.collections.exceptions.EmptyCollectionException;
 import org.example.collections.implementation.ArrayUnorderedList;
 
@@ -53,7 +55,12 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
     /**
      * Serviço de combate para resolução de lutas entre To Cruz e inimigos.
      */
-    private final CombateServiceImpl combateService;
+    private CombateServiceImpl combateService;
+
+    /**
+     * Gravador da trajetória, opcional.
+     */
+    private GravadorTrajetoria gravador;
 
     /**
      * Lista de itens coletados durante a simulação.
@@ -84,7 +91,7 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
         this.mapa = mapa;
         this.toCruz = toCruz;
         this.scanner = new Scanner(System.in);
-        this.combateService = new CombateServiceImpl();
+        this.combateService = new CombateServiceImpl(RegistoEventosConsola.INSTANCIA, mapa.getRegrasCombate());
         this.itensColetados = new ArrayUnorderedList<>();
         this.inimigosDerrotados = new ArrayUnorderedList<>();
         this.caminhoPercorrido = new ArrayUnorderedList<>();
@@ -133,6 +140,9 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
 
         toCruz.moverPara(posicaoInicial);
         caminhoPercorrido.addToRear(posicaoInicial);
+        if (gravador != null) {
+            gravador.registarMovimento(posicaoInicial);
+        }
 
         if (divisaoObjetivo == null) {
             System.err.println("Erro: Divisao objetivo invalida.");
@@ -152,10 +162,11 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
 
             switch (comando.toLowerCase()) {
                 case "mover" -> mover();
-                case "usar" -> toCruz.usarKitDeVida();
+                case "usar" -> usarKitDeVida();
                 case "atacar" -> atacar();
                 case "sair" -> {
                     System.out.println("Simulacao terminada.");
+                    terminarGravacao();
                     return;
                 }
                 default -> {
@@ -194,11 +205,13 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
 
             if (toCruz.isAlvoConcluido()) {
                 System.out.println("Missao concluida com sucesso! To Cruz capturou o alvo.");
+                terminarGravacao();
                 return;
             }
         }
 
         System.out.println("To Cruz foi derrotado! Simulacao encerrada.");
+        terminarGravacao();
     }
 
     /**
@@ -381,6 +394,9 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
             if (proximaDivisao != null) {
                 toCruz.moverPara(proximaDivisao);
                 caminhoPercorrido.addToRear(proximaDivisao);
+                if (gravador != null) {
+                    gravador.registarMovimento(proximaDivisao);
+                }
                 verificarItens(proximaDivisao);
 
                 // Se houver inimigos, combate é resolvido imediatamente
@@ -397,6 +413,19 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
         }
     }
 
+    /**
+     * Usa um kit de vida do inventário de To Cruz e grava o uso na trajetória, se houver gravador.
+     *
+     * @throws IllegalStateException se o inventário não tiver kits de vida.
+     */
+    private void usarKitDeVida() {
+        int vidaAntes = toCruz.getVida();
+        toCruz.usarKitDeVida();
+        if (gravador != null) {
+            gravador.registarKitUsado(vidaAntes, toCruz.getVida());
+        }
+    }
+
     /**
      * Realiza um ataque contra os inimigos na divisão atual.
      * 
@@ -431,6 +460,7 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
                 break;
             }
         }
+        divisao.atualizarHash();
     }
 
     /**
@@ -458,12 +488,16 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
                         IItem item = itens.removeFirst();
                         itensColetados.addToRear(item);
                         toCruz.adicionarAoInventario(item);
+                        if (gravador != null) {
+                            gravador.registarItem(item);
+                        }
                         System.out.println("To Cruz coletou: " + item.getTipo());
                     } catch (EmptyCollectionException e) {
                         System.err.println("Erro ao coletar item: " + e.getMessage());
                         break;
                     }
                 }
+                divisao.atualizarHash();
             }
         }
     }
@@ -488,13 +522,38 @@ public class SimulacaoManualImpl implements ISimulacaoManual {
             }
         } else if (mapa.getEntradasSaidasNomes().contains(divisao.getNomeDivisao()) && toCruz.isAlvoConcluido()) {
             System.out.println("🏆 Missao concluida com sucesso! To Cruz saiu do edificio com o alvo.");
+            terminarGravacao();
             System.exit(0);
         } else if (mapa.getEntradasSaidasNomes().contains(divisao.getNomeDivisao()) && !toCruz.isAlvoConcluido()) {
             System.out.println("❌ Missao falhou! To Cruz saiu do edificio sem capturar o alvo.");
+            terminarGravacao();
             System.exit(0);
         }
     }
 
+    /**
+     * Grava a trajetória desta simulação. Os combates passam a ser registados pelo
+     * gravador, que os reencaminha para o seu registo delegado (normalmente a consola);
+     * os movimentos e os itens são gravados sem alterar a saída da simulação manual.
+     * O chamador deve iniciar o gravador antes de executar a simulação.
+     *
+     * @param gravador O gravador da trajetória, ou null para deixar de gravar.
+     */
+    public void setGravador(GravadorTrajetoria gravador) {
+        this.gravador = gravador;
+        this.combateService = new CombateServiceImpl(
+                gravador != null ? gravador : RegistoEventosConsola.INSTANCIA, mapa.getRegrasCombate());
+    }
+
+    /**
+     * Grava o fim da trajetória, se houver gravador.
+     */
+    private void terminarGravacao() {
+        if (gravador != null) {
+            gravador.terminar(getStatus(), toCruz.getVida());
+        }
+    }
+
     /**
      * Retorna uma lista com os nomes das divisões percorridas.
      * 
@@ -0,0 +1,153 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IMissao;
+import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.RelatorioCarregamento;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Carrega e valida varios arquivos de missao em paralelo, num numero limitado de threads.
+ * <p>
+ * Cada arquivo e carregado com {@link ImportJsonImpl} para um {@link MapaImpl} proprio,
+ * pelo que os carregamentos nao partilham estado. Um arquivo invalido nao interrompe os
+ * restantes: o erro fica registado no {@link RelatorioCarregamento}, com o tempo de cada
+ * arquivo.
+ * </p>
+ */
+public class CarregadorMissoes implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    /**
+     * Construtor do carregador.
+     *
+     * @param trabalhadores O numero de threads; com 1 os arquivos sao carregados na thread chamadora.
+     * @throws IllegalArgumentException se o numero de trabalhadores nao for positivo.
+     */
+    public CarregadorMissoes(int trabalhadores) {
+        if (trabalhadores <= 0) {
+            throw new IllegalArgumentException("O numero de trabalhadores deve ser positivo.");
+        }
+        this.executor = trabalhadores > 1 ? Executors.newFixedThreadPool(trabalhadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "carregador-missoes");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Carrega todos os arquivos {@code .json} de um diretorio, por ordem do nome.
+     *
+     * @param diretorio O diretorio das missoes.
+     * @return O relatorio do carregamento.
+     * @throws IllegalArgumentException se o caminho nao for um diretorio.
+     */
+    public RelatorioCarregamento carregarDiretorio(String diretorio) {
+        File[] encontrados = new File(diretorio).listFiles((pasta, nome) -> nome.endsWith(".json"));
+        if (encontrados == null) {
+            throw new IllegalArgumentException("Diretorio de missoes invalido: " + diretorio);
+        }
+
+        String[] caminhos = new String[encontrados.length];
+        for (int i = 0; i < encontrados.length; i++) {
+            // Ordenacao por insercao: um diretorio tem poucas centenas de missoes.
+            String caminho = encontrados[i].getPath();
+            int j = i;
+            while (j > 0 && caminhos[j - 1].compareTo(caminho) > 0) {
+                caminhos[j] = caminhos[j - 1];
+                j--;
+            }
+            caminhos[j] = caminho;
+        }
+        return carregar(caminhos);
+    }
+
+    /**
+     * Carrega uma lista de arquivos de missao.
+     *
+     * @param caminhos Os caminhos dos arquivos.
+     * @return O relatorio do carregamento, com os arquivos pela ordem indicada.
+     */
+    public RelatorioCarregamento carregar(String[] caminhos) {
+        int n = caminhos.length;
+        IMissao[] missoes = new IMissao[n];
+        Exception[] erros = new Exception[n];
+        long[] tempos = new long[n];
+        long inicio = System.nanoTime();
+
+        if (executor == null) {
+            for (int i = 0; i < n; i++) {
+                carregarArquivo(caminhos, i, missoes, erros, tempos);
+            }
+        } else {
+            Future<?>[] tarefas = new Future<?>[n];
+            for (int i = 0; i < n; i++) {
+                final int indice = i;
+                tarefas[i] = executor.submit(() -> carregarArquivo(caminhos, indice, missoes, erros, tempos));
+            }
+            try {
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Erro num trabalhador do carregamento: " + e.getCause().getMessage(),
+                        e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Carregamento de missoes interrompido.", e);
+            }
+        }
+
+        return new RelatorioCarregamento(caminhos.clone(), missoes, erros, tempos, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Valida as missoes de um diretorio a partir da linha de comandos: {@code [diretorio] [trabalhadores]}.
+     * Termina com codigo 1 se algum arquivo for invalido.
+     *
+     * @param args O diretorio (por omissao o atual) e o numero de threads (por omissao o de processadores).
+     */
+    public static void main(String[] args) {
+        String diretorio = args.length > 0 ? args[0] : ".";
+        int trabalhadores = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        RelatorioCarregamento relatorio;
+        try (CarregadorMissoes carregador = new CarregadorMissoes(trabalhadores)) {
+            relatorio = carregador.carregarDiretorio(diretorio);
+        }
+        System.out.print(relatorio.formatar());
+        if (!relatorio.isTodosValidos()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Termina as threads do carregador.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Carrega um arquivo e guarda a missao ou o erro na sua posicao; cada tarefa escreve
+     * apenas a sua posicao, e {@link Future#get()} torna as escritas visiveis a quem espera.
+     */
+    private static void carregarArquivo(String[] caminhos, int i, IMissao[] missoes, Exception[] erros,
+                                        long[] tempos) {
+        long inicio = System.nanoTime();
+        try {
+            missoes[i] = new ImportJsonImpl(new MapaImpl()).carregarMissao(caminhos[i]);
+        } catch (Exception e) {
+            // Inclui os erros de execucao do mapa (divisoes inexistentes, campos em falta).
+            erros[i] = e;
+        }
+        tempos[i] = System.nanoTime() - inicio;
+    }
+}
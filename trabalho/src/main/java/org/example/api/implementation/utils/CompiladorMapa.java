@@ -0,0 +1,268 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.interfaces.*;
+import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.collections.implementation.ArrayUnorderedList;
+import org.example.collections.implementation.ArrayHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compila uma missao num ficheiro binario compacto, carregado por
+ * {@link ImportMapaCompiladoImpl} sem analisar JSON nem procurar divisoes pelo nome.
+ * <p>
+ * Todos os inteiros sao de 32 bits, big-endian, e os textos sao referidos pelo seu
+ * indice numa tabela de textos no inicio do ficheiro, onde cada texto aparece uma so vez
+ * (os nomes e tipos repetidos partilham a mesma entrada). A seguir ao cabecalho
+ * ({@link #MAGIC}, {@link #VERSAO_FORMATO}) vem, por esta ordem:
+ * </p>
+ * <ol>
+ *     <li>a tabela de textos: o numero de textos e, para cada um, o tamanho em bytes e o texto em UTF-8;</li>
+ *     <li>o codigo (texto) e a versao da missao;</li>
+ *     <li>o numero de divisoes e o nome (texto) de cada uma, pela ordem dos indices do mapa;</li>
+ *     <li>as ligacoes em listas de adjacencia compactas (CSR): {@code n + 1} inicios e os indices dos vizinhos;</li>
+ *     <li>o numero de entradas/saidas e os seus indices;</li>
+ *     <li>o alvo: indice da divisao e tipo (texto), ou -1 e -1 se nao houver alvo;</li>
+ *     <li>as regras de combate: os valores base, o numero de tipos e, por tipo, o nome (texto) e as escalas;</li>
+ *     <li>o numero de inimigos e, por inimigo, nome (texto), poder, indice do tipo e divisao;</li>
+ *     <li>o numero de itens e, por item, tipo (texto), pontos e divisao.</li>
+ * </ol>
+ * <p>
+ * Inimigos e itens sao gravados pela ordem das divisoes e, em cada divisao, pela ordem
+ * das listas, pelo que o mapa carregado e igual ao original.
+ * </p>
+ */
+public class CompiladorMapa {
+
+    /**
+     * Identificador do formato ("TCMP").
+     */
+    static final int MAGIC = 0x54434D50;
+    /**
+     * Versao do formato; a versao 2 invalida os mapas compilados antes de os pontos dos
+     * itens em {@code pontos-recuperados}/{@code pontos-extra} serem lidos.
+     */
+    static final int VERSAO_FORMATO = 2;
+
+    /**
+     * Extensao usada para os mapas compilados.
+     */
+    public static final String EXTENSAO = ".mapa";
+
+    private String[] textos = new String[64];
+    private int numeroTextos;
+    private final ArrayHashMap<String, Integer> indicesTextos = new ArrayHashMap<>();
+
+    private CompiladorMapa() {
+    }
+
+    /**
+     * Compila um arquivo JSON de missao.
+     *
+     * @param jsonPath O caminho do arquivo JSON.
+     * @param destino  O caminho do mapa compilado.
+     * @throws InvalidJsonStructureException Se a estrutura do JSON for invalida.
+     * @throws InvalidFieldException         Se um campo do JSON for invalido.
+     * @throws DivisionNotFoundException     Se uma divisao referenciada nao existir.
+     * @throws IOException                   Se nao for possivel escrever o destino.
+     */
+    public static void compilar(String jsonPath, String destino)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException, IOException {
+        IMissao missao = new ImportJsonImpl(new MapaImpl()).carregarMissao(jsonPath);
+        compilar(missao, destino);
+    }
+
+    /**
+     * Compila uma missao ja carregada.
+     *
+     * @param missao  A missao, com o seu mapa.
+     * @param destino O caminho do mapa compilado.
+     * @throws IOException se nao for possivel escrever o destino.
+     * @throws IllegalArgumentException se a missao ou o destino forem nulos.
+     */
+    public static void compilar(IMissao missao, String destino) throws IOException {
+        if (missao == null || destino == null) {
+            throw new IllegalArgumentException("Missao e destino nao podem ser nulos.");
+        }
+        new CompiladorMapa().escrever(missao, destino);
+    }
+
+    /**
+     * Verifica se existe um mapa compilado mais recente do que o JSON de origem e no
+     * formato atual.
+     *
+     * @param jsonPath      O caminho do arquivo JSON.
+     * @param compiladoPath O caminho do mapa compilado.
+     * @return {@code true} se o mapa compilado pode ser usado em vez do JSON.
+     */
+    public static boolean isAtualizado(String jsonPath, String compiladoPath) {
+        File compilado = new File(compiladoPath);
+        if (!compilado.isFile() || compilado.lastModified() < new File(jsonPath).lastModified()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(compilado))) {
+            return in.readInt() == MAGIC && in.readInt() == VERSAO_FORMATO;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compila um JSON de missao a partir da linha de comandos: {@code <json> [destino]}.
+     * Sem destino, o mapa e gravado ao lado do JSON com a extensao {@link #EXTENSAO}.
+     *
+     * @param args O JSON de origem e, opcionalmente, o destino.
+     * @throws Exception se a compilacao falhar.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Uso: CompiladorMapa <json> [destino]");
+            return;
+        }
+        String destino = args.length > 1 ? args[1] : args[0].replaceFirst("\\.json$", "") + EXTENSAO;
+        compilar(args[0], destino);
+        System.out.println("Mapa compilado em " + destino);
+    }
+
+    private void escrever(IMissao missao, String destino) throws IOException {
+        IMapa mapa = missao.getMapa();
+        int n = mapa.getNumeroDivisoes();
+        RegrasCombate regras = mapa.getRegrasCombate();
+
+        int codMissao = texto(missao.getCodMissao());
+        int[] nomes = new int[n];
+        int[] inicios = new int[n + 1];
+        int[][] vizinhos = new int[n][];
+        int numeroInimigos = 0;
+        int numeroItens = 0;
+        int numeroSaidas = 0;
+        for (int i = 0; i < n; i++) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(i);
+            nomes[i] = texto(divisao.getNomeDivisao());
+            vizinhos[i] = mapa.getIndicesAdjacentes(i);
+            inicios[i + 1] = inicios[i] + vizinhos[i].length;
+            numeroInimigos += divisao.getInimigosPresentes().size();
+            numeroItens += divisao.getItensPresentes().size();
+            if (divisao.isEntradaSaida()) {
+                numeroSaidas++;
+            }
+        }
+
+        IAlvo alvo = mapa.getAlvo();
+        int alvoTipo = alvo == null ? -1 : texto(alvo.getTipo());
+        int[] tipos = new int[regras.getNumeroTipos()];
+        for (int t = 0; t < tipos.length; t++) {
+            tipos[t] = texto(regras.getNomeTipo(t));
+        }
+
+        int[] inimigos = new int[numeroInimigos * 4];
+        int[] itens = new int[numeroItens * 3];
+        int[] saidas = new int[numeroSaidas];
+        int e = 0;
+        int t = 0;
+        int s = 0;
+        for (int i = 0; i < n; i++) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(i);
+            ArrayUnorderedList<IInimigo> presentes = divisao.getInimigosPresentes();
+            for (int k = 0; k < presentes.size(); k++) {
+                IInimigo inimigo = presentes.getElementAt(k);
+                inimigos[e++] = texto(inimigo.getNome());
+                inimigos[e++] = inimigo.getPoder();
+                inimigos[e++] = inimigo.getIndiceTipo();
+                inimigos[e++] = i;
+            }
+            ArrayUnorderedList<IItem> itensPresentes = divisao.getItensPresentes();
+            for (int k = 0; k < itensPresentes.size(); k++) {
+                IItem item = itensPresentes.getElementAt(k);
+                itens[t++] = texto(item.getTipo());
+                itens[t++] = item.getPontos();
+                itens[t++] = i;
+            }
+            if (divisao.isEntradaSaida()) {
+                saidas[s++] = i;
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(destino)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSAO_FORMATO);
+
+            out.writeInt(numeroTextos);
+            for (int k = 0; k < numeroTextos; k++) {
+                byte[] bytes = textos[k].getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(codMissao);
+            out.writeInt(missao.getVersao());
+
+            out.writeInt(n);
+            escreverInts(out, nomes);
+            escreverInts(out, inicios);
+            for (int[] v : vizinhos) {
+                escreverInts(out, v);
+            }
+
+            out.writeInt(numeroSaidas);
+            escreverInts(out, saidas);
+
+            out.writeInt(alvo == null ? -1 : mapa.getIndiceDivisao(alvo.getDivisao()));
+            out.writeInt(alvoTipo);
+
+            out.writeInt(regras.getDanoToCruzBase());
+            out.writeInt(regras.getDanoInimigoBase());
+            out.writeInt(regras.getModificadorArma());
+            out.writeInt(regras.getReducaoColete());
+            out.writeInt(regras.getMaxColetes());
+            out.writeInt(tipos.length);
+            for (int k = 0; k < tipos.length; k++) {
+                out.writeInt(tipos[k]);
+                out.writeInt(regras.getEscalaDanoRecebido(k));
+                out.writeInt(regras.getEscalaDanoCausado(k));
+            }
+
+            out.writeInt(numeroInimigos);
+            escreverInts(out, inimigos);
+            out.writeInt(numeroItens);
+            escreverInts(out, itens);
+        }
+    }
+
+    /**
+     * Obtem o indice de um texto na tabela de textos, acrescentando-o se ainda nao existir.
+     *
+     * @return O indice do texto na tabela.
+     */
+    private int texto(String valor) {
+        Integer indice = indicesTextos.get(valor);
+        if (indice != null) {
+            return indice;
+        }
+        indicesTextos.put(valor, numeroTextos);
+        if (numeroTextos == textos.length) {
+            String[] maior = new String[textos.length * 2];
+            System.arraycopy(textos, 0, maior, 0, numeroTextos);
+            textos = maior;
+        }
+        textos[numeroTextos] = valor;
+        return numeroTextos++;
+    }
+
+    private static void escreverInts(DataOutputStream out, int[] valores) throws IOException {
+        for (int valor : valores) {
+            out.writeInt(valor);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IResultadoSimulacao;
+import org.example.collections.implementation.ArrayHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exporta os resultados de muitas simulacoes por colunas, para serem agregados por
+ * {@link LeitorColunar} lendo apenas as colunas necessarias.
+ * <p>
+ * Cada campo fica num arquivo proprio dentro do diretorio de destino, com inteiros de
+ * 32 bits big-endian, um por simulacao. Os textos (divisoes, codigo da missao, estado)
+ * sao codificados por dicionario: a coluna guarda o indice do texto em
+ * {@link #DICIONARIO}, ou -1 se o texto for nulo. O estado, que se repete em longas
+ * sequencias, e codificado por comprimento de sequencia: pares (indice do texto,
+ * numero de simulacoes seguidas).
+ * </p>
+ * <ul>
+ *     <li>{@link #META}: {@link #MAGIC}, {@link #VERSAO_FORMATO} e o numero de simulacoes (64 bits);</li>
+ *     <li>{@link #DICIONARIO}: o numero de textos e, por texto, o tamanho em bytes e o texto em UTF-8;</li>
+ *     <li>{@link #ESTADO}: as sequencias do estado;</li>
+ *     <li>{@link #VIDA}, {@link #ENTRADA}, {@link #SAIDA}, {@link #COMPRIMENTO},
+ *     {@link #MISSAO}, {@link #VERSAO}: uma coluna por campo.</li>
+ * </ul>
+ * <p>
+ * O dicionario e os metadados so sao gravados em {@link #close()}; ate la o diretorio
+ * nao e um lote valido.
+ * </p>
+ */
+public class ExportadorColunar implements AutoCloseable {
+
+    /**
+     * Identificador do formato ("TCCL").
+     */
+    static final int MAGIC = 0x5443434C;
+    static final int VERSAO_FORMATO = 1;
+
+    public static final String META = "meta.bin";
+    public static final String DICIONARIO = "dicionario.bin";
+    public static final String ESTADO = "estado.rle";
+    public static final String VIDA = "vida.i32";
+    public static final String ENTRADA = "entrada.i32";
+    public static final String SAIDA = "saida.i32";
+    public static final String COMPRIMENTO = "comprimento.i32";
+    public static final String MISSAO = "missao.i32";
+    public static final String VERSAO = "versao.i32";
+
+    private final File diretorio;
+    private final DataOutputStream estado;
+    private final DataOutputStream vida;
+    private final DataOutputStream entrada;
+    private final DataOutputStream saida;
+    private final DataOutputStream comprimento;
+    private final DataOutputStream missao;
+    private final DataOutputStream versao;
+
+    private String[] textos = new String[16];
+    private int numeroTextos;
+
+    /**
+     * A posicao de cada texto em {@code textos}.
+     */
+    private final ArrayHashMap<String, Integer> codigos = new ArrayHashMap<>();
+
+    private int estadoAtual = -1;
+    private int repeticoes;
+    private long execucoes;
+    private boolean fechado;
+
+    /**
+     * Construtor do exportador. O diretorio e criado se nao existir, e as colunas que la
+     * estejam sao substituidas.
+     *
+     * @param diretorio O diretorio do lote.
+     * @throws IOException se nao for possivel criar o diretorio ou as colunas.
+     */
+    public ExportadorColunar(String diretorio) throws IOException {
+        this.diretorio = new File(diretorio);
+        if (!this.diretorio.isDirectory() && !this.diretorio.mkdirs()) {
+            throw new IOException("Nao foi possivel criar o diretorio " + diretorio);
+        }
+        // Um lote anterior deixa de ser valido antes de as colunas serem reescritas.
+        new File(this.diretorio, META).delete();
+        this.estado = abrir(ESTADO);
+        this.vida = abrir(VIDA);
+        this.entrada = abrir(ENTRADA);
+        this.saida = abrir(SAIDA);
+        this.comprimento = abrir(COMPRIMENTO);
+        this.missao = abrir(MISSAO);
+        this.versao = abrir(VERSAO);
+    }
+
+    /**
+     * Acrescenta o resultado de uma simulacao.
+     *
+     * @param resultado O resultado.
+     * @throws IOException              se a escrita falhar.
+     * @throws IllegalArgumentException se o resultado for nulo.
+     * @throws IllegalStateException    se o exportador ja foi fechado.
+     */
+    public void adicionar(IResultadoSimulacao resultado) throws IOException {
+        if (resultado == null) {
+            throw new IllegalArgumentException("O resultado nao pode ser nulo.");
+        }
+        if (fechado) {
+            throw new IllegalStateException("O exportador ja foi fechado.");
+        }
+
+        int codigoEstado = codigo(resultado.getStatus());
+        if (codigoEstado != estadoAtual) {
+            terminarSequencia();
+            estadoAtual = codigoEstado;
+        }
+        repeticoes++;
+
+        vida.writeInt(resultado.getVidaRestante());
+        entrada.writeInt(codigo(resultado.getDivisaoInicial()));
+        saida.writeInt(codigo(resultado.getDivisaoFinal()));
+        comprimento.writeInt(resultado.getTrajeto() != null ? resultado.getTrajeto().size() : 0);
+        missao.writeInt(codigo(resultado.getCodigoMissao()));
+        versao.writeInt(resultado.getVersaoMissao());
+        execucoes++;
+    }
+
+    /**
+     * @return O numero de simulacoes acrescentadas.
+     */
+    public long getNumeroExecucoes() {
+        return execucoes;
+    }
+
+    /**
+     * Fecha as colunas e grava o dicionario e os metadados.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    @Override
+    public void close() throws IOException {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        terminarSequencia();
+        for (DataOutputStream coluna : new DataOutputStream[]{estado, vida, entrada, saida, comprimento, missao,
+                versao}) {
+            coluna.close();
+        }
+
+        try (DataOutputStream out = abrir(DICIONARIO)) {
+            out.writeInt(numeroTextos);
+            for (int k = 0; k < numeroTextos; k++) {
+                byte[] bytes = textos[k].getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        // Os metadados por ultimo: so existem quando o lote esta completo.
+        try (DataOutputStream out = abrir(META)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSAO_FORMATO);
+            out.writeLong(execucoes);
+        }
+    }
+
+    private void terminarSequencia() throws IOException {
+        if (repeticoes > 0) {
+            estado.writeInt(estadoAtual);
+            estado.writeInt(repeticoes);
+            repeticoes = 0;
+        }
+    }
+
+    private DataOutputStream abrir(String nome) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(diretorio, nome)), 1 << 16));
+    }
+
+    /**
+     * Obtem o indice de um texto no dicionario, acrescentando-o se for novo.
+     *
+     * @return O indice, ou -1 se o texto for nulo.
+     */
+    private int codigo(String texto) {
+        if (texto == null) {
+            return -1;
+        }
+        Integer codigo = codigos.get(texto);
+        if (codigo != null) {
+            return codigo;
+        }
+
+        if (numeroTextos == textos.length) {
+            String[] maior = new String[textos.length * 2];
+            System.arraycopy(textos, 0, maior, 0, numeroTextos);
+            textos = maior;
+        }
+        textos[numeroTextos] = texto;
+        codigos.put(texto, numeroTextos);
+        return numeroTextos++;
+    }
+}
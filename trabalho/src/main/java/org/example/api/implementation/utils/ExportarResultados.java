@@ -1,25 +1,48 @@
 package org.example.api.implementation.utils;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 import org.example.api.implementation.interfaces.IExportador;
 import org.example.api.implementation.interfaces.IMapa;
 import org.example.api.implementation.interfaces.IResultadoSimulacao;
+import org.example.collections.implementation.ArrayUnorderedList;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Classe para exportar os resultados das simulações em formato JSON.
  * <p>
- * Esta classe utiliza a biblioteca Gson para serializar objetos relacionados aos resultados
- * de simulações em um arquivo JSON formatado.
+ * Os resultados são escritos campo a campo com o {@link JsonWriter} do Gson, sem
+ * reflexão nem cópias intermédias, diretamente para um escritor com buffer sobre o
+ * canal do arquivo. O formato é o de {@link ResultadoFormatadoImpl}: indentado por
+ * omissão, ou numa só linha no modo compacto.
  * </p>
  *
  * @see IExportador
  */
 public class ExportarResultados implements IExportador {
 
+    private final boolean compacto;
+
+    /**
+     * Construtor do exportador, com o JSON indentado.
+     */
+    public ExportarResultados() {
+        this(false);
+    }
+
+    /**
+     * Construtor do exportador.
+     *
+     * @param compacto {@code true} para escrever o JSON sem indentação nem quebras de linha.
+     */
+    public ExportarResultados(boolean compacto) {
+        this.compacto = compacto;
+    }
+
     /**
      * Exporta os resultados de uma simulação para um arquivo JSON.
      *
@@ -34,14 +57,8 @@ public class ExportarResultados implements IExportador {
             throw new IllegalArgumentException("Parâmetros resultado, caminhoArquivo ou mapa não podem ser nulos.");
         }
 
-        Gson gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
-
-        try (FileWriter writer = new FileWriter(caminhoArquivo)) {
-            // Criação de uma classe auxiliar para formatar o resultado.
-            ResultadoFormatadoImpl resultadoFormatado = new ResultadoFormatadoImpl(resultado, mapa);
-            gson.toJson(resultadoFormatado, writer); // Serializa o resultado formatado para JSON.
+        try (Writer writer = Files.newBufferedWriter(Paths.get(caminhoArquivo), StandardCharsets.UTF_8)) {
+            escrever(resultado, mapa, writer);
             System.out.println("Relatório exportado com sucesso para: " + caminhoArquivo);
         } catch (IOException e) {
             System.err.println("Erro ao exportar relatório: " + e.getMessage());
@@ -49,22 +66,146 @@ public class ExportarResultados implements IExportador {
     }
 
     /**
-     * Exporta relatórios comparativos de duas simulações (manual e automática) para um arquivo JSON.
+     * Escreve um resultado em JSON, com os campos de {@link ResultadoFormatadoImpl}. O escritor
+     * não é fechado.
+     *
+     * @param resultado O resultado da simulação.
+     * @param mapa      O mapa da simulação, de onde vêm as entradas/saídas.
+     * @param writer    O destino.
+     * @throws IOException se a escrita falhar.
+     */
+    public void escrever(IResultadoSimulacao resultado, IMapa mapa, Writer writer) throws IOException {
+        JsonWriter json = new JsonWriter(writer);
+        // As mesmas opções que o Gson usava: escape de HTML e campos nulos omitidos.
+        json.setHtmlSafe(true);
+        json.setSerializeNulls(false);
+        if (!compacto) {
+            json.setIndent("  ");
+        }
+        escrever(json, resultado, mapa);
+        json.flush();
+    }
+
+    /**
+     * Escreve um resultado como um objeto JSON num {@link JsonWriter} já configurado.
+     *
+     * @param json      O escritor JSON.
+     * @param resultado O resultado da simulação.
+     * @param mapa      O mapa da simulação.
+     * @throws IOException se a escrita falhar.
+     */
+    static void escrever(JsonWriter json, IResultadoSimulacao resultado, IMapa mapa) throws IOException {
+        ArrayUnorderedList<String> trajeto = resultado.getTrajeto();
+        json.beginObject();
+        json.name("id").value(resultado.getId());
+        json.name("divisaoInicial").value(resultado.getDivisaoInicial());
+        json.name("divisaoFinal").value(resultado.getDivisaoFinal());
+        json.name("status").value(resultado.getStatus());
+        json.name("vidaRestante").value(resultado.getVidaRestante());
+
+        json.name("trajeto").beginArray();
+        if (trajeto != null) {
+            for (int i = 0; i < trajeto.size(); i++) {
+                json.value(trajeto.getElementAt(i));
+            }
+        }
+        json.endArray();
+
+        json.name("entradasSaidas").beginArray();
+        ArrayUnorderedList<String> entradasSaidas = mapa.getEntradasSaidasNomes();
+        if (entradasSaidas != null && trajeto != null) {
+            boolean[] percorridas = percorridas(entradasSaidas, trajeto);
+            for (int i = 0; i < entradasSaidas.size(); i++) {
+                if (percorridas[i]) {
+                    json.value(entradasSaidas.getElementAt(i));
+                }
+            }
+        }
+        json.endArray();
+
+        json.name("codigoMissao").value(resultado.getCodigoMissao());
+        json.name("versaoMissao").value(resultado.getVersaoMissao());
+        json.endObject();
+    }
+
+    /**
+     * Marca as entradas/saídas que aparecem no trajeto. As entradas/saídas são ordenadas
+     * pelo nome e cada divisão do trajeto é procurada por pesquisa binária, em vez de
+     * percorrer o trajeto para cada entrada/saída.
+     *
+     * @return Para cada posição de {@code entradasSaidas}, se a divisão foi percorrida.
+     */
+    private static boolean[] percorridas(ArrayUnorderedList<String> entradasSaidas, ArrayUnorderedList<String> trajeto) {
+        int m = entradasSaidas.size();
+        int[] ordem = new int[m];
+        int validas = 0;
+        for (int i = 0; i < m; i++) {
+            String nome = entradasSaidas.getElementAt(i);
+            if (nome == null) {
+                continue;
+            }
+            int j = validas++;
+            while (j > 0 && entradasSaidas.getElementAt(ordem[j - 1]).compareTo(nome) > 0) {
+                ordem[j] = ordem[j - 1];
+                j--;
+            }
+            ordem[j] = i;
+        }
+
+        boolean[] percorridas = new boolean[m];
+        for (int k = 0; k < trajeto.size(); k++) {
+            String divisao = trajeto.getElementAt(k);
+            if (divisao == null) {
+                continue;
+            }
+            int inicio = 0;
+            int fim = validas - 1;
+            while (inicio <= fim) {
+                int meio = (inicio + fim) >>> 1;
+                int comparacao = entradasSaidas.getElementAt(ordem[meio]).compareTo(divisao);
+                if (comparacao == 0) {
+                    percorridas[ordem[meio]] = true;
+                    break;
+                }
+                if (comparacao < 0) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio - 1;
+                }
+            }
+        }
+        return percorridas;
+    }
+
+    /**
+     * Exporta os resultados de duas simulações (automática e manual) para um relatório NDJSON.
      * <p>
-     * Este método deve ser implementado para exportar os resultados das simulações manuais
-     * e automáticas em um único relatório JSON.
+     * Os dois resultados são acrescentados ao arquivo, um por linha, no formato compacto, com
+     * {@link RelatorioNdjson}; chamadas sucessivas com o mesmo arquivo juntam as simulações num
+     * único relatório.
      * </p>
      *
      * @param simulacaoAutomatica Os resultados da simulação automática.
      * @param simulacaoManual     Os resultados da simulação manual.
      * @param mapa                O mapa associado às simulações.
      * @param caminhoArquivo      O caminho do arquivo onde os relatórios serão salvos.
-     * @throws UnsupportedOperationException Este método ainda não foi implementado.
+     * @throws IllegalArgumentException se algum parâmetro for nulo.
      */
     @Override
     public void exportarRelatorioSimulacoes(IResultadoSimulacao simulacaoAutomatica,
                                             IResultadoSimulacao simulacaoManual,
                                             IMapa mapa, String caminhoArquivo) {
-        throw new UnsupportedOperationException("Método exportarRelatorioSimulacoes ainda não foi implementado.");
+        if (simulacaoAutomatica == null || simulacaoManual == null || mapa == null || caminhoArquivo == null) {
+            throw new IllegalArgumentException("Parâmetros das simulações, mapa ou caminhoArquivo não podem ser nulos.");
+        }
+
+        try (RelatorioNdjson relatorio = new RelatorioNdjson(caminhoArquivo)) {
+            relatorio.adicionar(simulacaoAutomatica, mapa);
+            relatorio.adicionar(simulacaoManual, mapa);
+        } catch (IOException e) {
+            System.err.println("Erro ao exportar relatório: " + e.getMessage());
+            return;
+        }
+        System.out.println("Relatório exportado com sucesso para: " + caminhoArquivo);
     }
 }
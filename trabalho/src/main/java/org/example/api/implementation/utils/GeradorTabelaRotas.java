@@ -0,0 +1,325 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IAlvo;
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IMissao;
+import org.example.api.implementation.models.TabelaRotas;
+import org.example.collections.primitive.IntMinHeap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gera, guarda e carrega a {@link TabelaRotas} de um edificio.
+ * <p>
+ * As divisoes de referencia sao as entradas/saidas, a divisao do alvo e as
+ * divisoes com itens. Para cada referencia corre-se um Dijkstra sobre o grafo
+ * invertido (o custo de uma aresta e o custo de entrar na divisao de destino), o
+ * que da, para todas as divisoes, o custo ate a referencia e o proximo passo. As
+ * referencias sao processadas em paralelo sobre copias em arrays do mapa.
+ * </p>
+ * <p>
+ * A tabela e guardada num ficheiro binario ao lado do JSON do mapa (mesmo nome,
+ * extensao {@code .rotas}) e reutilizada enquanto o codigo da missao, a versao, as
+ * divisoes e o {@link TabelaRotas#hashMapa(IMapa)} coincidirem.
+ * </p>
+ */
+public class GeradorTabelaRotas {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeradorTabelaRotas.class);
+
+    /**
+     * Identificador do formato do ficheiro ("TCRT").
+     */
+    private static final int MAGIC = 0x54435254;
+
+    /**
+     * Versao do formato e do modelo de custos. A versao 2 mede o custo de entrar numa
+     * divisao pela vida perdida no combate ({@code TabelaCombates}) em vez da soma do
+     * poder dos inimigos; a versao 3 guarda o hash do mapa a seguir a versao da missao.
+     * Tabelas de versoes anteriores sao geradas de novo.
+     */
+    private static final int VERSAO_FORMATO = 3;
+
+    private static final String EXTENSAO = ".rotas";
+
+    /**
+     * Carrega a tabela guardada ao lado do JSON do mapa ou, se nao existir ou estiver
+     * desatualizada, gera-a e guarda-a.
+     *
+     * @param mapa        O mapa ja carregado.
+     * @param missao      A missao carregada (codigo e versao).
+     * @param caminhoJson O caminho do ficheiro JSON do mapa.
+     * @return A tabela de rotas do edificio.
+     * @throws IllegalArgumentException se algum parametro for nulo.
+     */
+    public TabelaRotas obterOuGerar(IMapa mapa, IMissao missao, String caminhoJson) {
+        if (mapa == null || missao == null || caminhoJson == null) {
+            throw new IllegalArgumentException("Mapa, missao e caminho do JSON nao podem ser nulos.");
+        }
+
+        String caminhoTabela = caminhoTabela(caminhoJson);
+        TabelaRotas tabela = carregar(caminhoTabela, mapa, missao.getCodMissao(), missao.getVersao());
+        if (tabela != null) {
+            return tabela;
+        }
+
+        tabela = gerar(mapa, missao.getCodMissao(), missao.getVersao());
+        try {
+            guardar(tabela, caminhoTabela);
+        } catch (IOException e) {
+            logger.error("Erro ao guardar a tabela de rotas: {}", e.getMessage());
+        }
+        return tabela;
+    }
+
+    /**
+     * Retorna o caminho do ficheiro da tabela correspondente a um JSON de mapa.
+     *
+     * @param caminhoJson O caminho do JSON do mapa.
+     * @return O mesmo caminho com a extensao {@code .rotas}.
+     */
+    public String caminhoTabela(String caminhoJson) {
+        int ponto = caminhoJson.lastIndexOf('.');
+        int separador = Math.max(caminhoJson.lastIndexOf('/'), caminhoJson.lastIndexOf('\\'));
+        String base = ponto > separador ? caminhoJson.substring(0, ponto) : caminhoJson;
+        return base + EXTENSAO;
+    }
+
+    /**
+     * Gera a tabela de rotas do mapa no seu estado atual.
+     *
+     * @param mapa      O mapa.
+     * @param codMissao O codigo da missao.
+     * @param versao    A versao da missao.
+     * @return A tabela gerada.
+     */
+    public TabelaRotas gerar(IMapa mapa, String codMissao, int versao) {
+        int n = mapa.getNumeroDivisoes();
+        long hashMapa = TabelaRotas.hashMapa(mapa);
+        String[] nomes = new String[n];
+        int[] custoEntrada = new int[n];
+        int[][] adjacentes = new int[n][];
+
+        for (int i = 0; i < n; i++) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(i);
+            nomes[i] = divisao.getNomeDivisao();
+            custoEntrada[i] = mapa.calcularCusto(null, divisao);
+            adjacentes[i] = mapa.getIndicesAdjacentes(i);
+        }
+
+        int[] referencias = escolherReferencias(mapa, n);
+        int[][] custos = new int[referencias.length][];
+        int[][] proximos = new int[referencias.length][];
+
+        int threads = Math.max(1, Math.min(referencias.length, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] tarefas = new Future<?>[referencias.length];
+            for (int r = 0; r < referencias.length; r++) {
+                final int posicao = r;
+                tarefas[r] = executor.submit(() -> {
+                    custos[posicao] = new int[n];
+                    proximos[posicao] = new int[n];
+                    dijkstraAte(referencias[posicao], adjacentes, custoEntrada, custos[posicao], proximos[posicao]);
+                });
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Erro ao gerar a tabela de rotas: " + e.getMessage(), e);
+        } finally {
+            executor.shutdown();
+        }
+
+        return new TabelaRotas(codMissao, versao, hashMapa, nomes, referencias, custos, proximos);
+    }
+
+    /**
+     * Seleciona as divisoes de referencia, sem repeticoes: entradas/saidas, alvo e
+     * divisoes com itens.
+     */
+    private int[] escolherReferencias(IMapa mapa, int n) {
+        boolean[] escolhida = new boolean[n];
+        int total = 0;
+
+        IAlvo alvo = mapa.getAlvo();
+        if (alvo != null && alvo.getDivisao() != null) {
+            int indice = mapa.getIndiceDivisao(alvo.getDivisao());
+            if (indice != -1) {
+                escolhida[indice] = true;
+                total++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(i);
+            if (!escolhida[i] && (divisao.isEntradaSaida()
+                    || (divisao.getItensPresentes() != null && !divisao.getItensPresentes().isEmpty()))) {
+                escolhida[i] = true;
+                total++;
+            }
+        }
+
+        int[] referencias = new int[total];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            if (escolhida[i]) {
+                referencias[pos++] = i;
+            }
+        }
+        return referencias;
+    }
+
+    /**
+     * Dijkstra a partir do destino sobre o grafo invertido, com uma {@link IntMinHeap}
+     * indexada, em O((N + A) log N). Entre divisoes com o mesmo custo e fixada primeiro a
+     * de menor indice, pelo que as tabelas sao as mesmas da versao sem fila de prioridade.
+     *
+     * @param destino      O indice da referencia.
+     * @param adjacentes   As listas de adjacencia por indice.
+     * @param custoEntrada O custo de entrar em cada divisao.
+     * @param custos       Saida: custo minimo de cada divisao ate ao destino.
+     * @param proximos     Saida: proximo passo de cada divisao em direcao ao destino.
+     */
+    private void dijkstraAte(int destino, int[][] adjacentes, int[] custoEntrada, int[] custos, int[] proximos) {
+        int n = custos.length;
+        boolean[] fixada = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            custos[i] = TabelaRotas.INALCANCAVEL;
+            proximos[i] = -1;
+        }
+        custos[destino] = 0;
+
+        IntMinHeap heap = new IntMinHeap(n);
+        heap.add(destino, 0);
+        while (!heap.isEmpty()) {
+            int atual = heap.removeMin();
+            fixada[atual] = true;
+
+            // Quem esta em 'vizinho' pode entrar em 'atual', pagando o custo de entrada de 'atual'.
+            long custoPeloAtual = (long) custos[atual] + custoEntrada[atual];
+            for (int vizinho : adjacentes[atual]) {
+                if (!fixada[vizinho] && custoPeloAtual < custos[vizinho]) {
+                    custos[vizinho] = (int) custoPeloAtual;
+                    proximos[vizinho] = atual;
+                    heap.addOrDecrease(vizinho, custos[vizinho]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda a tabela num ficheiro binario.
+     *
+     * @param tabela  A tabela a guardar.
+     * @param caminho O caminho do ficheiro.
+     * @throws IOException se ocorrer um erro de escrita.
+     */
+    public void guardar(TabelaRotas tabela, String caminho) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(caminho)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSAO_FORMATO);
+            out.writeUTF(tabela.getCodMissao() == null ? "" : tabela.getCodMissao());
+            out.writeInt(tabela.getVersao());
+            out.writeLong(tabela.getHashMapa());
+
+            int n = tabela.getNumeroDivisoes();
+            out.writeInt(n);
+            for (int i = 0; i < n; i++) {
+                out.writeUTF(tabela.getNomeDivisao(i));
+            }
+
+            int referencias = tabela.getNumeroReferencias();
+            out.writeInt(referencias);
+            for (int r = 0; r < referencias; r++) {
+                out.writeInt(tabela.getReferencia(r));
+                for (int i = 0; i < n; i++) {
+                    out.writeInt(tabela.getCustoReferencia(r, i));
+                    out.writeInt(tabela.getProximoReferencia(r, i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Carrega a tabela de um ficheiro, validando-a contra a missao e o mapa.
+     *
+     * @param caminho   O caminho do ficheiro.
+     * @param mapa      O mapa carregado.
+     * @param codMissao O codigo da missao.
+     * @param versao    A versao da missao.
+     * @return A tabela, ou {@code null} se o ficheiro nao existir, estiver truncado ou
+     *         corrompido, ou pertencer a outro formato, missao, versao ou mapa.
+     */
+    public TabelaRotas carregar(String caminho, IMapa mapa, String codMissao, int versao) {
+        File ficheiro = new File(caminho);
+        if (!ficheiro.isFile()) {
+            return null;
+        }
+
+        // O ficheiro e lido de uma vez para que se saiba quantos bytes faltam antes de cada alocacao.
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(ficheiro.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSAO_FORMATO) {
+                return null;
+            }
+            String cod = in.readUTF();
+            int versaoTabela = in.readInt();
+            long hashMapa = in.readLong();
+            if (!cod.equals(codMissao) || versaoTabela != versao || hashMapa != TabelaRotas.hashMapa(mapa)) {
+                return null;
+            }
+
+            int n = in.readInt();
+            if (n != mapa.getNumeroDivisoes()) {
+                return null;
+            }
+            String[] nomes = new String[n];
+            for (int i = 0; i < n; i++) {
+                nomes[i] = in.readUTF();
+            }
+
+            // Uma contagem impossivel (negativa, acima do numero de divisoes ou maior do que o
+            // resto do ficheiro) indica um ficheiro truncado ou corrompido: e tratada como uma
+            // tabela desatualizada, que volta a ser gerada.
+            int total = in.readInt();
+            if (total < 0 || total > n || (long) total * (4 + 8L * n) > in.available()) {
+                return null;
+            }
+            int[] referencias = new int[total];
+            int[][] custos = new int[total][n];
+            int[][] proximos = new int[total][n];
+            for (int r = 0; r < total; r++) {
+                referencias[r] = in.readInt();
+                if (referencias[r] < 0 || referencias[r] >= n) {
+                    return null;
+                }
+                for (int i = 0; i < n; i++) {
+                    custos[r][i] = in.readInt();
+                    proximos[r][i] = in.readInt();
+                    if (proximos[r][i] < -1 || proximos[r][i] >= n) {
+                        return null;
+                    }
+                }
+            }
+
+            TabelaRotas tabela = new TabelaRotas(cod, versaoTabela, hashMapa, nomes, referencias, custos, proximos);
+            return tabela.corresponde(codMissao, versao, mapa) ? tabela : null;
+        } catch (IOException e) {
+            logger.warn("Tabela de rotas ignorada ({}): {}", caminho, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IItem;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IRegistoEventos;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Registo de eventos que grava a trajetoria de uma simulacao num formato binario
+ * compacto, reencaminhando cada evento para outro registo (por exemplo a consola).
+ * <p>
+ * O ficheiro comeca com um cabecalho (codigo e versao da missao, numero de
+ * divisoes, divisao inicial e vida inicial) seguido de registos com uma etiqueta de
+ * um byte. As divisoes sao gravadas pelo seu indice no mapa e todos os inteiros
+ * como varints, pelo que um movimento ocupa tipicamente dois bytes. A trajetoria
+ * pode ser reproduzida com {@link LeitorTrajetoria}.
+ * </p>
+ * <p>
+ * A simulacao manual, que escreve a sua propria saida, usa
+ * {@link #registarMovimento(IDivisao)}, {@link #registarItem(IItem)} e
+ * {@link #registarKitUsado(int, int)}, que gravam sem reencaminhar.
+ * </p>
+ */
+public class GravadorTrajetoria implements IRegistoEventos {
+
+    /**
+     * Identificador do formato ("TCTJ").
+     */
+    static final int MAGIC = 0x5443544A;
+    static final int VERSAO_FORMATO = 2;
+
+    static final int MOVIMENTO = 1;
+    static final int COMBATE = 2;
+    static final int INIMIGO_DERROTADO = 3;
+    static final int ITEM = 4;
+    static final int DERROTA = 5;
+    static final int INIMIGO_MOVEU = 6;
+    static final int FIM = 7;
+    static final int KIT_USADO = 8;
+
+    static final int ITEM_KIT = 0;
+    static final int ITEM_COLETE = 1;
+    static final int ITEM_OUTRO = 2;
+
+    private final IMapa mapa;
+    private final OutputStream out;
+    private final IRegistoEventos delegado;
+    private boolean iniciado;
+    private boolean terminado;
+
+    /**
+     * Construtor do gravador.
+     *
+     * @param mapa     O mapa da simulacao, usado para converter divisoes em indices.
+     * @param out      O destino dos bytes gravados.
+     * @param delegado O registo que recebe tambem os eventos (por exemplo
+     *                 {@link RegistoEventosConsola#INSTANCIA} ou {@link RegistoEventosNulo#INSTANCIA}).
+     * @throws IllegalArgumentException se algum parametro for nulo.
+     */
+    public GravadorTrajetoria(IMapa mapa, OutputStream out, IRegistoEventos delegado) {
+        if (mapa == null || out == null || delegado == null) {
+            throw new IllegalArgumentException("Mapa, destino e registo delegado nao podem ser nulos.");
+        }
+        this.mapa = mapa;
+        this.out = out instanceof BufferedOutputStream ? out : new BufferedOutputStream(out);
+        this.delegado = delegado;
+    }
+
+    /**
+     * Grava o cabecalho da trajetoria. Deve ser chamado antes da simulacao.
+     *
+     * @param codMissao      O codigo da missao.
+     * @param versao         A versao da missao.
+     * @param divisaoInicial A divisao onde To Cruz comeca.
+     * @param vidaInicial    A vida inicial de To Cruz.
+     * @throws IllegalStateException se o cabecalho ja tiver sido gravado.
+     */
+    public void iniciar(String codMissao, int versao, IDivisao divisaoInicial, int vidaInicial) {
+        if (iniciado) {
+            throw new IllegalStateException("A trajetoria ja foi iniciada.");
+        }
+        iniciado = true;
+        escreverInt32(MAGIC);
+        escreverVarInt(VERSAO_FORMATO);
+        escreverTexto(codMissao == null ? "" : codMissao);
+        escreverVarInt(versao);
+        escreverVarInt(mapa.getNumeroDivisoes());
+        escreverVarInt(mapa.getIndiceDivisao(divisaoInicial) + 1);
+        escreverVarInt(vidaInicial);
+    }
+
+    /**
+     * Grava o fim da simulacao e escoa os bytes pendentes. O destino nao e fechado.
+     *
+     * @param status    O estado final ("SUCESSO" ou "FALHA").
+     * @param vidaFinal A vida final de To Cruz.
+     */
+    public void terminar(String status, int vidaFinal) {
+        verificarIniciado();
+        if (terminado) {
+            return;
+        }
+        terminado = true;
+        escreverByte(FIM);
+        escreverByte("SUCESSO".equalsIgnoreCase(status) ? 1 : 0);
+        escreverVarInt(vidaFinal);
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava um movimento de To Cruz sem o reencaminhar.
+     *
+     * @param divisao A divisao para onde To Cruz se moveu.
+     */
+    public void registarMovimento(IDivisao divisao) {
+        escreverDivisao(MOVIMENTO, divisao);
+    }
+
+    /**
+     * Grava a coleta de um item sem a reencaminhar.
+     *
+     * @param item O item coletado.
+     */
+    public void registarItem(IItem item) {
+        verificarIniciado();
+        escreverByte(ITEM);
+        String tipo = item.getTipo();
+        if ("kit de vida".equalsIgnoreCase(tipo)) {
+            escreverByte(ITEM_KIT);
+        } else if ("colete".equalsIgnoreCase(tipo)) {
+            escreverByte(ITEM_COLETE);
+        } else {
+            escreverByte(ITEM_OUTRO);
+            escreverTexto(tipo);
+        }
+        escreverVarInt(item.getPontos());
+    }
+
+    /**
+     * Grava o uso de um kit de vida do inventario sem o reencaminhar. A vida e gravada
+     * antes e depois do uso, ja limitada a vida maxima, para que a reproducao nao tenha
+     * de conhecer o limite.
+     *
+     * @param vidaAntes  A vida de To Cruz antes de usar o kit.
+     * @param vidaDepois A vida de To Cruz depois de usar o kit.
+     */
+    public void registarKitUsado(int vidaAntes, int vidaDepois) {
+        verificarIniciado();
+        escreverByte(KIT_USADO);
+        escreverVarInt(vidaAntes);
+        escreverVarInt(vidaDepois);
+    }
+
+    @Override
+    public boolean isDetalhado() {
+        return delegado.isDetalhado();
+    }
+
+    @Override
+    public void mensagem(String mensagem) {
+        delegado.mensagem(mensagem);
+    }
+
+    @Override
+    public void erro(String mensagem) {
+        delegado.erro(mensagem);
+    }
+
+    @Override
+    public void toCruzMoveu(IDivisao divisao) {
+        registarMovimento(divisao);
+        delegado.toCruzMoveu(divisao);
+    }
+
+    @Override
+    public void itensEncontrados(IDivisao divisao) {
+        delegado.itensEncontrados(divisao);
+    }
+
+    @Override
+    public void itemColetado(IItem item) {
+        registarItem(item);
+        delegado.itemColetado(item);
+    }
+
+    @Override
+    public void semInimigos(IDivisao divisao) {
+        delegado.semInimigos(divisao);
+    }
+
+    @Override
+    public void combateIniciado(IDivisao divisao, boolean inimigoPrimeiro) {
+        delegado.combateIniciado(divisao, inimigoPrimeiro);
+    }
+
+    @Override
+    public void toCruzAtacou(IInimigo inimigo, int dano) {
+        delegado.toCruzAtacou(inimigo, dano);
+    }
+
+    @Override
+    public void inimigoAtacou(IInimigo inimigo, int dano, boolean contraAtaque) {
+        delegado.inimigoAtacou(inimigo, dano, contraAtaque);
+    }
+
+    @Override
+    public void inimigoDerrotado(IInimigo inimigo) {
+        verificarIniciado();
+        escreverByte(INIMIGO_DERROTADO);
+        escreverTexto(inimigo.getNome());
+        delegado.inimigoDerrotado(inimigo);
+    }
+
+    @Override
+    public void salaLimpa(IDivisao divisao) {
+        delegado.salaLimpa(divisao);
+    }
+
+    @Override
+    public void toCruzDerrotado(IDivisao divisao) {
+        escreverDivisao(DERROTA, divisao);
+        delegado.toCruzDerrotado(divisao);
+    }
+
+    @Override
+    public void combateTerminado(IDivisao divisao, int vidaAntes, int vidaDepois) {
+        escreverDivisao(COMBATE, divisao);
+        escreverVarInt(vidaAntes);
+        escreverVarInt(vidaDepois);
+        delegado.combateTerminado(divisao, vidaAntes, vidaDepois);
+    }
+
+    @Override
+    public void inimigoMoveu(IInimigo inimigo, IDivisao origem, IDivisao destino) {
+        escreverDivisao(INIMIGO_MOVEU, origem);
+        escreverVarInt(mapa.getIndiceDivisao(destino) + 1);
+        escreverTexto(inimigo.getNome());
+        delegado.inimigoMoveu(inimigo, origem, destino);
+    }
+
+    @Override
+    public void inimigoEntrouNaSala(IDivisao divisao) {
+        delegado.inimigoEntrouNaSala(divisao);
+    }
+
+    private void verificarIniciado() {
+        if (!iniciado) {
+            throw new IllegalStateException("A trajetoria ainda nao foi iniciada.");
+        }
+    }
+
+    /**
+     * Escreve uma etiqueta seguida do indice da divisao (mais um, para que 0 represente
+     * uma divisao desconhecida).
+     */
+    private void escreverDivisao(int etiqueta, IDivisao divisao) {
+        verificarIniciado();
+        escreverByte(etiqueta);
+        escreverVarInt(mapa.getIndiceDivisao(divisao) + 1);
+    }
+
+    private void escreverTexto(String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarInt(bytes.length);
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escreve um inteiro nao negativo em grupos de 7 bits, do menos significativo
+     * para o mais significativo (LEB128 sem sinal).
+     */
+    private void escreverVarInt(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Valor negativo na trajetoria: " + valor);
+        }
+        while ((valor & ~0x7F) != 0) {
+            escreverByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        escreverByte(valor);
+    }
+
+    private void escreverInt32(int valor) {
+        escreverByte(valor >>> 24);
+        escreverByte(valor >>> 16);
+        escreverByte(valor >>> 8);
+        escreverByte(valor);
+    }
+
+    private void escreverByte(int valor) {
+        try {
+            out.write(valor & 0xFF);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
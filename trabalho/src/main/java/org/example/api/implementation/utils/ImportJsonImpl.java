@@ -7,6 +7,7 @@ import org.example.api.implementation.interfaces.*;
 import org.example.api.implementation.models.InimigoImpl;
 import org.example.api.implementation.models.ItemImpl;
 import org.example.api.implementation.models.MissaoImpl;
+import org.example.api.implementation.models.RegrasCombate;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -28,6 +29,13 @@ import java.io.IOException;
 public class ImportJsonImpl implements IImportJson {
 
     private static final Logger logger = LoggerFactory.getLogger(ImportJsonImpl.class);
+
+    /**
+     * Chaves aceites para os pontos de um item: os kits usam {@code pontos-recuperados} e
+     * os coletes {@code pontos-extra}.
+     */
+    private static final String[] CHAVES_PONTOS = {"pontos", "pontos-recuperados", "pontos-extra"};
+
     private final IMapa mapa;
 
     /**
@@ -53,15 +61,18 @@ public class ImportJsonImpl implements IImportJson {
             throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
         try (FileReader reader = new FileReader(jsonPath)) {
             JSONParser parser = new JSONParser();
-            JSONObject jsonObject = (JSONObject) parser.parse(reader);
+            Object raiz = parser.parse(reader);
+            // Todos os erros de uma vez, antes de o mapa ser alterado
+            ValidadorMissao.verificar(raiz, jsonPath, true);
+            JSONObject jsonObject = (JSONObject) raiz;
 
             // Validação e criação da missão
             String codMissao = validarString(jsonObject.get("cod-missao"), "cod-missao");
             int versao = validarInt(jsonObject.get("versao"), "versao");
             IMissao missao = new MissaoImpl(codMissao, versao, mapa);
 
-            // Carrega o mapa associado à missão
-            carregarMapa(jsonPath);
+            // Carrega o mapa associado à missão a partir do mesmo JSON, sem voltar a ler o arquivo
+            carregarMapa(jsonObject);
 
             return missao;
         } catch (IOException | ParseException e) {
@@ -84,90 +95,239 @@ public class ImportJsonImpl implements IImportJson {
             throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
         try (FileReader reader = new FileReader(jsonPath)) {
             JSONParser parser = new JSONParser();
-            JSONObject jsonObject = (JSONObject) parser.parse(reader);
+            Object raiz = parser.parse(reader);
+            ValidadorMissao.verificar(raiz, jsonPath, false);
+            carregarMapa((JSONObject) raiz);
+        } catch (IOException e) {
+            logger.error("Erro de IO ao ler o JSON: {}", e.getMessage());
+            throw new InvalidJsonStructureException("Erro de IO: " + e.getMessage());
+        } catch (ParseException e) {
+            logger.error("Erro ao analisar o JSON: {}", e.getMessage());
+            throw new InvalidJsonStructureException("Erro ao analisar o JSON: " + e.getMessage());
+        }
+    }
 
-            // Processar divisões
-            JSONArray edificioArray = (JSONArray) jsonObject.get("edificio");
-            for (Object element : edificioArray) {
-                String divisaoNome = validarString(element, "edificio");
-                mapa.adicionarDivisao(divisaoNome);
+    /**
+     * Carrega as divisões, conexões, inimigos, itens e outras informações do mapa
+     * a partir do JSON já analisado.
+     *
+     * @param jsonObject O objeto raiz do JSON da missão.
+     * @throws InvalidJsonStructureException Se a estrutura básica do JSON for inválida.
+     * @throws InvalidFieldException         Se um campo específico do JSON for inválido.
+     * @throws DivisionNotFoundException     Se uma divisão referenciada não for encontrada no mapa.
+     */
+    private void carregarMapa(JSONObject jsonObject)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        // Processar divisões; o mapa so e alterado em construtor.construir()
+        IConstrutorMapa construtor = mapa.construtor();
+        JSONArray edificioArray = (JSONArray) jsonObject.get("edificio");
+        JSONArray ligacoesArray = (JSONArray) jsonObject.get("ligacoes");
+        if (edificioArray != null) {
+            construtor.reservar(edificioArray.size(), ligacoesArray == null ? 0 : ligacoesArray.size());
+        }
+        for (Object element : edificioArray) {
+            String divisaoNome = validarString(element, "edificio");
+            construtor.adicionarDivisao(divisaoNome);
+        }
+
+        // Processar conexões
+        for (Object element : ligacoesArray) {
+            JSONArray ligacao = (JSONArray) element;
+            if (ligacao.size() != 2) {
+                throw new InvalidJsonStructureException("Cada conexão deve conter exatamente dois valores.");
             }
+            String origem = validarString(ligacao.get(0), "ligacao[0]");
+            String destino = validarString(ligacao.get(1), "ligacao[1]");
+            construtor.adicionarLigacao(construtor.getIndice(origem), construtor.getIndice(destino));
+        }
 
-            // Processar conexões
-            JSONArray ligacoesArray = (JSONArray) jsonObject.get("ligacoes");
-            for (Object element : ligacoesArray) {
-                JSONArray ligacao = (JSONArray) element;
-                if (ligacao.size() != 2) {
-                    throw new InvalidJsonStructureException("Cada conexão deve conter exatamente dois valores.");
-                }
-                String origem = validarString(ligacao.get(0), "ligacao[0]");
-                String destino = validarString(ligacao.get(1), "ligacao[1]");
+        // Processar regras de combate (opcionais)
+        RegrasCombate regras = jsonObject.containsKey("regras-combate")
+                ? carregarRegrasCombate(jsonObject.get("regras-combate"))
+                : RegrasCombate.PADRAO;
 
-                if (mapa.getDivisaoPorNome(origem) == null) {
-                    throw new DivisionNotFoundException("Divisão de origem não encontrada: " + origem);
+        // Processar inimigos
+        JSONArray inimigosArray = (JSONArray) jsonObject.get("inimigos");
+        for (Object element : inimigosArray) {
+            JSONObject inimigoObj = (JSONObject) element;
+            String nome = validarString(inimigoObj.get("nome"), "inimigo.nome");
+            int poder = validarInt(inimigoObj.get("poder"), "inimigo.poder");
+            String divisaoNome = validarString(inimigoObj.get("divisao"), "inimigo.divisao");
+
+            IInimigo inimigo = new InimigoImpl(nome, poder);
+            if (inimigoObj.containsKey("tipo")) {
+                String tipo = validarString(inimigoObj.get("tipo"), "inimigo.tipo");
+                int indiceTipo = regras.getIndiceTipo(tipo);
+                if (indiceTipo == -1) {
+                    throw new InvalidFieldException("Tipo de inimigo desconhecido: " + tipo);
                 }
-                if (mapa.getDivisaoPorNome(destino) == null) {
-                    throw new DivisionNotFoundException("Divisão de destino não encontrada: " + destino);
+                inimigo.setIndiceTipo(indiceTipo);
+            }
+            construtor.adicionarInimigo(construtor.getIndice(divisaoNome), inimigo);
+        }
+
+        // Processar itens
+        JSONArray itensArray = (JSONArray) jsonObject.get("itens");
+        for (Object element : itensArray) {
+            JSONObject itemObj = (JSONObject) element;
+            String tipo = validarString(itemObj.get("tipo"), "item.tipo");
+            int pontos = 0;
+            for (String chave : CHAVES_PONTOS) {
+                if (itemObj.containsKey(chave)) {
+                    pontos = validarInt(itemObj.get(chave), "item." + chave);
                 }
+            }
+            String divisaoNome = validarString(itemObj.get("divisao"), "item.divisao");
+            construtor.adicionarItem(construtor.getIndice(divisaoNome), new ItemImpl(tipo, pontos));
+        }
+
+        // Processar entradas e saídas
+        JSONArray entradasSaidasArray = (JSONArray) jsonObject.get("entradas-saidas");
+        for (Object element : entradasSaidasArray) {
+            String nomeDivisao = validarString(element, "entradas-saidas");
+            construtor.adicionarEntradaSaida(construtor.getIndice(nomeDivisao));
+        }
 
-                mapa.adicionarLigacao(origem, destino);
+        // Processar alvo
+        JSONObject alvoObj = (JSONObject) jsonObject.get("alvo");
+        String alvoDivisao = validarString(alvoObj.get("divisao"), "alvo.divisao");
+        String alvoTipo = validarString(alvoObj.get("tipo"), "alvo.tipo");
+        construtor.definirAlvo(construtor.getIndice(alvoDivisao), alvoTipo);
+
+        construtor.construir();
+        mapa.setRegrasCombate(regras);
+    }
+
+    /**
+     * Lê as regras de combate da missão e compila-as.
+     * <p>
+     * Todas as chaves são opcionais e, quando omitidas, têm os valores das regras padrão:
+     * {@code "dano-to-cruz"} (10), {@code "dano-inimigo"} (5), {@code "modificador-arma"} (100, em
+     * percentagem), {@code "reducao-colete"} (0), {@code "max-coletes"} (0) e {@code "tipos-inimigo"}, um
+     * objeto que associa a cada nome de tipo as percentagens {@code "escala-dano-recebido"} e
+     * {@code "escala-dano-causado"} (100 por omissão). O tipo {@code "comum"} existe sempre.
+     * </p>
+     *
+     * @param value O valor da chave {@code "regras-combate"}.
+     * @return As regras compiladas.
+     * @throws InvalidFieldException Se algum campo for inválido.
+     */
+    static RegrasCombate carregarRegrasCombate(Object value) throws InvalidFieldException {
+        if (!(value instanceof JSONObject)) {
+            throw new InvalidFieldException("Campo 'regras-combate' deve ser um objeto.");
+        }
+        JSONObject regrasObj = (JSONObject) value;
+        int danoToCruz = validarIntOpcional(regrasObj, "dano-to-cruz", 10);
+        int danoInimigo = validarIntOpcional(regrasObj, "dano-inimigo", 5);
+        int modificadorArma = validarIntOpcional(regrasObj, "modificador-arma", 100);
+        int reducaoColete = validarIntOpcional(regrasObj, "reducao-colete", 0);
+        int maxColetes = validarIntOpcional(regrasObj, "max-coletes", 0);
+
+        JSONObject tiposObj = new JSONObject();
+        if (regrasObj.containsKey("tipos-inimigo")) {
+            if (!(regrasObj.get("tipos-inimigo") instanceof JSONObject)) {
+                throw new InvalidFieldException("Campo 'regras-combate.tipos-inimigo' deve ser um objeto.");
             }
+            tiposObj = (JSONObject) regrasObj.get("tipos-inimigo");
+        }
 
-            // Processar entradas e saídas
-            JSONArray entradasSaidasArray = (JSONArray) jsonObject.get("entradas-saidas");
-            for (Object element : entradasSaidasArray) {
-                String nomeDivisao = validarString(element, "entradas-saidas");
-                mapa.adicionarEntradaSaida(nomeDivisao);
+        int comuns = 0;
+        for (Object chave : tiposObj.keySet()) {
+            if (isTipoComum(chave)) {
+                comuns++;
             }
+        }
+        if (comuns > 1) {
+            throw new InvalidFieldException("Tipo de inimigo '" + RegrasCombate.TIPO_COMUM + "' repetido em 'regras-combate'.");
+        }
+        int numeroTipos = comuns == 1 ? tiposObj.size() : tiposObj.size() + 1;
+        String[] tipos = new String[numeroTipos];
+        int[] escalaRecebido = new int[numeroTipos];
+        int[] escalaCausado = new int[numeroTipos];
+        tipos[0] = RegrasCombate.TIPO_COMUM;
+        escalaRecebido[0] = 100;
+        escalaCausado[0] = 100;
 
-            // Processar alvo
-            JSONObject alvoObj = (JSONObject) jsonObject.get("alvo");
-            String alvoDivisao = validarString(alvoObj.get("divisao"), "alvo.divisao");
-            String alvoTipo = validarString(alvoObj.get("tipo"), "alvo.tipo");
-            mapa.definirAlvo(alvoDivisao, alvoTipo);
-
-            // Processar inimigos
-            JSONArray inimigosArray = (JSONArray) jsonObject.get("inimigos");
-            for (Object element : inimigosArray) {
-                JSONObject inimigoObj = (JSONObject) element;
-                String nome = validarString(inimigoObj.get("nome"), "inimigo.nome");
-                int poder = validarInt(inimigoObj.get("poder"), "inimigo.poder");
-                String divisaoNome = validarString(inimigoObj.get("divisao"), "inimigo.divisao");
-
-                IDivisao divisao = mapa.getDivisaoPorNome(divisaoNome);
-                if (divisao != null) {
-                    IInimigo inimigo = new InimigoImpl(nome, poder);
-                    mapa.adicionarInimigo(divisaoNome, inimigo);
-                } else {
-                    throw new DivisionNotFoundException("Divisão para inimigo não encontrada: " + divisaoNome);
-                }
+        int proximo = 1;
+        for (Object chave : tiposObj.keySet()) {
+            String nome = validarString(chave, "regras-combate.tipos-inimigo");
+            Object tipoValor = tiposObj.get(chave);
+            if (!(tipoValor instanceof JSONObject)) {
+                throw new InvalidFieldException("Tipo de inimigo '" + nome + "' deve ser um objeto.");
+            }
+            JSONObject tipoObj = (JSONObject) tipoValor;
+            if (regrasTemTipo(tipos, proximo, nome)) {
+                throw new InvalidFieldException("Tipo de inimigo '" + nome + "' repetido em 'regras-combate'.");
             }
+            int indice = isTipoComum(nome) ? 0 : proximo++;
+            tipos[indice] = indice == 0 ? RegrasCombate.TIPO_COMUM : nome;
+            escalaRecebido[indice] = validarIntOpcional(tipoObj, "escala-dano-recebido", 100);
+            escalaCausado[indice] = validarIntOpcional(tipoObj, "escala-dano-causado", 100);
+        }
 
-            // Processar itens
-            JSONArray itensArray = (JSONArray) jsonObject.get("itens");
-            for (Object element : itensArray) {
-                JSONObject itemObj = (JSONObject) element;
-                String tipo = validarString(itemObj.get("tipo"), "item.tipo");
-                int pontos = itemObj.containsKey("pontos")
-                        ? validarInt(itemObj.get("pontos"), "item.pontos")
-                        : 0;
-                String divisaoNome = validarString(itemObj.get("divisao"), "item.divisao");
-
-                IDivisao divisao = mapa.getDivisaoPorNome(divisaoNome);
-                if (divisao != null) {
-                    IItem item = new ItemImpl(tipo, pontos);
-                    mapa.adicionarItem(divisaoNome, item);
-                } else {
-                    throw new DivisionNotFoundException("Divisão para item não encontrada: " + divisaoNome);
-                }
+        try {
+            return new RegrasCombate(danoToCruz, danoInimigo, modificadorArma, reducaoColete, maxColetes,
+                    tipos, escalaRecebido, escalaCausado);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFieldException("Campo 'regras-combate' inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Verifica se um nome de tipo de inimigo é o tipo comum, sem distinguir maiúsculas, como
+     * {@link RegrasCombate#getIndiceTipo(String)}.
+     *
+     * @param nome O nome do tipo.
+     * @return {@code true} se for o tipo comum.
+     */
+    private static boolean isTipoComum(Object nome) {
+        return nome instanceof String && RegrasCombate.TIPO_COMUM.equalsIgnoreCase(((String) nome).trim());
+    }
+
+    /**
+     * Verifica se um nome de tipo já foi lido, sem distinguir maiúsculas.
+     *
+     * @param tipos Os tipos lidos, com o tipo comum no índice 0.
+     * @param lidos O número de posições preenchidas a partir do índice 0.
+     * @param nome  O nome do tipo.
+     * @return {@code true} se o tipo já existir.
+     */
+    private static boolean regrasTemTipo(String[] tipos, int lidos, String nome) {
+        // O indice 0 e sempre o tipo comum, verificado a parte.
+        for (int t = 1; t < lidos; t++) {
+            if (tipos[t].equalsIgnoreCase(nome.trim())) {
+                return true;
             }
-        } catch (IOException e) {
-            logger.error("Erro de IO ao ler o JSON: {}", e.getMessage());
-            throw new InvalidJsonStructureException("Erro de IO: " + e.getMessage());
-        } catch (ParseException e) {
-            logger.error("Erro ao analisar o JSON: {}", e.getMessage());
-            throw new InvalidJsonStructureException("Erro ao analisar o JSON: " + e.getMessage());
         }
+        return false;
+    }
+
+    /**
+     * Verifica se um campo de um item guarda os seus pontos.
+     *
+     * @param campo O nome do campo.
+     * @return {@code true} se for uma das chaves de pontos aceites.
+     */
+    static boolean isCampoPontos(String campo) {
+        for (String chave : CHAVES_PONTOS) {
+            if (chave.equals(campo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lê um número inteiro opcional de um objeto JSON.
+     *
+     * @param objeto  O objeto JSON.
+     * @param campo   O nome do campo.
+     * @param omissao O valor a devolver se o campo não existir.
+     * @return O valor do campo, ou {@code omissao}.
+     * @throws InvalidFieldException Se o campo existir e não for um número inteiro válido.
+     */
+    private static int validarIntOpcional(JSONObject objeto, String campo, int omissao) throws InvalidFieldException {
+        return objeto.containsKey(campo) ? validarInt(objeto.get(campo), campo) : omissao;
     }
 
     /**
@@ -178,7 +338,7 @@ public class ImportJsonImpl implements IImportJson {
      * @return O valor como string.
      * @throws InvalidFieldException Se o valor não for uma string válida.
      */
-    private String validarString(Object value, String campo) throws InvalidFieldException {
+    private static String validarString(Object value, String campo) throws InvalidFieldException {
         if (value == null || !(value instanceof String)) {
             throw new InvalidFieldException("Campo '" + campo + "' deve ser uma string válida.");
         }
@@ -193,7 +353,7 @@ public class ImportJsonImpl implements IImportJson {
      * @return O valor como inteiro.
      * @throws InvalidFieldException Se o valor não for um número inteiro válido.
      */
-    private int validarInt(Object value, String campo) throws InvalidFieldException {
+    private static int validarInt(Object value, String campo) throws InvalidFieldException {
         if (value == null || !(value instanceof Number)) {
             throw new InvalidFieldException("Campo '" + campo + "' deve ser um número inteiro válido.");
         }
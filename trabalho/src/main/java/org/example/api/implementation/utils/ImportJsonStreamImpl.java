@@ -0,0 +1,273 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.interfaces.*;
+import org.example.api.implementation.models.InimigoImpl;
+import org.example.api.implementation.models.ItemImpl;
+import org.example.api.implementation.models.MissaoImpl;
+import org.example.api.implementation.models.RegrasCombate;
+import org.json.simple.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Importação de missões e mapas a partir de arquivos JSON, lidos em streaming.
+ * <p>
+ * Ao contrário de {@link ImportJsonImpl}, o documento nunca é materializado como uma árvore: o arquivo é lido uma
+ * única vez pelo {@link ValidadorMissao}, que entrega as divisões, ligações, inimigos e itens sem erros a um
+ * {@link IConstrutorMapa} à medida que os tokens são lidos, pelo que a memória usada é a do mapa e não a do mapa
+ * mais a árvore do JSON.
+ * </p>
+ * <p>
+ * Os elementos que referem divisões que ainda não foram lidas (secções antes de {@code "edificio"}) ficam pendentes
+ * pelo nome e são resolvidos no fim; nos mapas habituais {@code "edificio"} vem primeiro e nada fica pendente. Só se
+ * a validação não encontrar erros são resolvidos os tipos dos inimigos, com as regras de combate do documento, e o
+ * mapa é construído: com erros, o mapa fica como estava e a exceção indica todos os erros, como em
+ * {@link ImportJsonImpl}.
+ * </p>
+ */
+public class ImportJsonStreamImpl implements IImportJson {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJsonStreamImpl.class);
+    private final IMapa mapa;
+
+    /**
+     * Estado de um carregamento, que recebe os elementos validados.
+     */
+    private static class Carregamento implements ValidadorMissao.Destino {
+        private final IConstrutorMapa construtor;
+        private String codMissao;
+        private int versao;
+        private JSONObject regras;
+
+        private IInimigo[] inimigosComTipo = new IInimigo[4];
+        private String[] tipos = new String[4];
+        private int numeroComTipo;
+
+        /**
+         * Ligações, inimigos e itens cuja divisão ainda não tinha sido lida: a divisão e o
+         * destino da ligação (um {@link String}), o inimigo ou o item.
+         */
+        private String[] divisoesPendentes = new String[4];
+        private Object[] elementosPendentes = new Object[4];
+        private int numeroPendentes;
+
+        private String[] entradasSaidas = new String[4];
+        private int numeroEntradasSaidas;
+        private String alvoDivisao;
+        private String alvoTipo;
+
+        private Carregamento(IConstrutorMapa construtor) {
+            this.construtor = construtor;
+        }
+
+        @Override
+        public void codigo(String codigo) {
+            codMissao = codigo;
+        }
+
+        @Override
+        public void versao(int versao) {
+            this.versao = versao;
+        }
+
+        @Override
+        public void divisao(String nome) {
+            construtor.adicionarDivisao(nome);
+        }
+
+        @Override
+        public void ligacao(String origem, String destino) {
+            int indiceOrigem = indice(origem);
+            int indiceDestino = indice(destino);
+            if (indiceOrigem == -1 || indiceDestino == -1) {
+                adiar(origem, destino);
+            } else {
+                construtor.adicionarLigacao(indiceOrigem, indiceDestino);
+            }
+        }
+
+        @Override
+        public void inimigo(String nome, int poder, String divisao, String tipo) {
+            IInimigo inimigo = new InimigoImpl(nome, poder);
+            int indice = indice(divisao);
+            if (indice == -1) {
+                adiar(divisao, inimigo);
+            } else {
+                construtor.adicionarInimigo(indice, inimigo);
+            }
+            if (tipo != null) {
+                // As regras de combate podem aparecer depois dos inimigos: o tipo e resolvido no fim.
+                if (numeroComTipo == tipos.length) {
+                    int capacidade = tipos.length * 2;
+                    IInimigo[] maioresInimigos = new IInimigo[capacidade];
+                    String[] maioresTipos = new String[capacidade];
+                    System.arraycopy(inimigosComTipo, 0, maioresInimigos, 0, numeroComTipo);
+                    System.arraycopy(tipos, 0, maioresTipos, 0, numeroComTipo);
+                    inimigosComTipo = maioresInimigos;
+                    tipos = maioresTipos;
+                }
+                inimigosComTipo[numeroComTipo] = inimigo;
+                tipos[numeroComTipo] = tipo;
+                numeroComTipo++;
+            }
+        }
+
+        @Override
+        public void item(String tipo, int pontos, String divisao) {
+            IItem item = new ItemImpl(tipo, pontos);
+            int indice = indice(divisao);
+            if (indice == -1) {
+                adiar(divisao, item);
+            } else {
+                construtor.adicionarItem(indice, item);
+            }
+        }
+
+        @Override
+        public void entradaSaida(String divisao) {
+            if (numeroEntradasSaidas == entradasSaidas.length) {
+                String[] maior = new String[numeroEntradasSaidas * 2];
+                System.arraycopy(entradasSaidas, 0, maior, 0, numeroEntradasSaidas);
+                entradasSaidas = maior;
+            }
+            entradasSaidas[numeroEntradasSaidas++] = divisao;
+        }
+
+        @Override
+        public void alvo(String divisao, String tipo) {
+            alvoDivisao = divisao;
+            alvoTipo = tipo;
+        }
+
+        @Override
+        public void regras(JSONObject regras) {
+            this.regras = regras;
+        }
+
+        /**
+         * @return O indice da divisao, ou -1 se ainda nao tiver sido lida.
+         */
+        private int indice(String nome) {
+            try {
+                return construtor.getIndice(nome);
+            } catch (DivisionNotFoundException e) {
+                return -1;
+            }
+        }
+
+        private void adiar(String divisao, Object elemento) {
+            if (numeroPendentes == divisoesPendentes.length) {
+                String[] divisoes = new String[numeroPendentes * 2];
+                Object[] elementos = new Object[numeroPendentes * 2];
+                System.arraycopy(divisoesPendentes, 0, divisoes, 0, numeroPendentes);
+                System.arraycopy(elementosPendentes, 0, elementos, 0, numeroPendentes);
+                divisoesPendentes = divisoes;
+                elementosPendentes = elementos;
+            }
+            divisoesPendentes[numeroPendentes] = divisao;
+            elementosPendentes[numeroPendentes] = elemento;
+            numeroPendentes++;
+        }
+    }
+
+    /**
+     * Construtor que inicializa o mapa utilizado para importação.
+     *
+     * @param mapa O mapa no qual os dados serão carregados.
+     */
+    public ImportJsonStreamImpl(IMapa mapa) {
+        this.mapa = mapa;
+    }
+
+    /**
+     * Carrega uma missão a partir de um arquivo JSON, lendo-o uma única vez.
+     *
+     * @param jsonPath Caminho do arquivo JSON contendo os dados da missão.
+     * @return A missão configurada com base no JSON.
+     * @throws InvalidJsonStructureException Se a estrutura básica do JSON for inválida.
+     * @throws InvalidFieldException         Se um campo específico do JSON for inválido.
+     * @throws DivisionNotFoundException     Se uma divisão referenciada não for encontrada no mapa.
+     */
+    @Override
+    public IMissao carregarMissao(String jsonPath)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        Carregamento carregamento = carregar(jsonPath, true);
+        return new MissaoImpl(carregamento.codMissao, carregamento.versao, mapa);
+    }
+
+    /**
+     * Carrega as divisões, conexões, inimigos, itens e outras informações do mapa a partir de um arquivo JSON.
+     *
+     * @param jsonPath Caminho do arquivo JSON contendo os dados do mapa.
+     * @throws InvalidJsonStructureException Se a estrutura básica do JSON for inválida.
+     * @throws InvalidFieldException         Se um campo específico do JSON for inválido.
+     * @throws DivisionNotFoundException     Se uma divisão referenciada não for encontrada no mapa.
+     */
+    @Override
+    public void carregarMapa(String jsonPath)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        carregar(jsonPath, false);
+    }
+
+    private Carregamento carregar(String jsonPath, boolean missao)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        Carregamento carregamento = new Carregamento(mapa.construtor());
+        try (Reader reader = new BufferedReader(new FileReader(jsonPath))) {
+            // Valida e entrega os elementos ao construtor na mesma passagem pelo arquivo
+            ValidadorMissao.verificar(reader, jsonPath, missao, carregamento);
+        } catch (IOException e) {
+            logger.error("Erro de IO ao ler o JSON: {}", e.getMessage());
+            throw new InvalidJsonStructureException("Erro de IO: " + e.getMessage());
+        }
+        terminar(carregamento);
+        return carregamento;
+    }
+
+    /**
+     * Resolve os elementos pendentes e os tipos dos inimigos, marca as entradas/saídas e o alvo e constrói o mapa.
+     */
+    private void terminar(Carregamento carregamento)
+            throws InvalidFieldException, DivisionNotFoundException {
+        IConstrutorMapa construtor = carregamento.construtor;
+        for (int i = 0; i < carregamento.numeroPendentes; i++) {
+            int divisao = construtor.getIndice(carregamento.divisoesPendentes[i]);
+            Object elemento = carregamento.elementosPendentes[i];
+            if (elemento instanceof IInimigo) {
+                construtor.adicionarInimigo(divisao, (IInimigo) elemento);
+            } else if (elemento instanceof IItem) {
+                construtor.adicionarItem(divisao, (IItem) elemento);
+            } else {
+                construtor.adicionarLigacao(divisao, construtor.getIndice((String) elemento));
+            }
+        }
+
+        RegrasCombate regras = carregamento.regras == null
+                ? RegrasCombate.PADRAO
+                : ImportJsonImpl.carregarRegrasCombate(carregamento.regras);
+        for (int i = 0; i < carregamento.numeroComTipo; i++) {
+            int indiceTipo = regras.getIndiceTipo(carregamento.tipos[i]);
+            if (indiceTipo == -1) {
+                throw new InvalidFieldException("Tipo de inimigo desconhecido: " + carregamento.tipos[i]);
+            }
+            carregamento.inimigosComTipo[i].setIndiceTipo(indiceTipo);
+        }
+
+        for (int i = 0; i < carregamento.numeroEntradasSaidas; i++) {
+            construtor.adicionarEntradaSaida(construtor.getIndice(carregamento.entradasSaidas[i]));
+        }
+        if (carregamento.alvoDivisao != null) {
+            construtor.definirAlvo(construtor.getIndice(carregamento.alvoDivisao), carregamento.alvoTipo);
+        }
+
+        construtor.construir();
+        mapa.setRegrasCombate(regras);
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.interfaces.*;
+import org.example.api.implementation.models.InimigoImpl;
+import org.example.api.implementation.models.ItemImpl;
+import org.example.api.implementation.models.MissaoImpl;
+import org.example.api.implementation.models.RegrasCombate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.api.implementation.utils.CompiladorMapa.MAGIC;
+import static org.example.api.implementation.utils.CompiladorMapa.VERSAO_FORMATO;
+
+/**
+ * Carrega uma missao compilada por {@link CompiladorMapa}.
+ * <p>
+ * O ficheiro e mapeado em memoria ({@link FileChannel#map}), pelo que e lido
+ * diretamente da cache de paginas do sistema, partilhada entre processos que
+ * carreguem o mesmo mapa. As divisoes e as ligacoes sao criadas em bloco
+ * ({@link IMapa#adicionarDivisoes(String[])}, {@link IMapa#adicionarLigacoes(int[], int[])})
+ * e os inimigos e itens sao colocados pelo indice da divisao, sem procuras pelo nome.
+ * </p>
+ * <p>
+ * Implementa {@link IImportJson} para poder substituir {@link ImportJsonImpl}; os
+ * erros de formato sao comunicados com {@link InvalidJsonStructureException}.
+ * </p>
+ */
+public class ImportMapaCompiladoImpl implements IImportJson {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportMapaCompiladoImpl.class);
+    private final IMapa mapa;
+
+    private String codMissao;
+    private int versao;
+
+    /**
+     * Construtor que inicializa o mapa utilizado para importacao.
+     *
+     * @param mapa O mapa no qual os dados serao carregados.
+     */
+    public ImportMapaCompiladoImpl(IMapa mapa) {
+        this.mapa = mapa;
+    }
+
+    /**
+     * Carrega uma missao a partir de um mapa compilado.
+     *
+     * @param caminho Caminho do mapa compilado.
+     * @return A missao carregada.
+     * @throws InvalidJsonStructureException Se o ficheiro nao for um mapa compilado valido.
+     */
+    @Override
+    public IMissao carregarMissao(String caminho)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        carregarMapa(caminho);
+        return new MissaoImpl(codMissao, versao, mapa);
+    }
+
+    /**
+     * Carrega as divisoes, ligacoes, inimigos, itens e restantes dados do mapa a partir de um mapa compilado.
+     *
+     * @param caminho Caminho do mapa compilado.
+     * @throws InvalidJsonStructureException Se o ficheiro nao for um mapa compilado valido.
+     */
+    @Override
+    public void carregarMapa(String caminho)
+            throws InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        ByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(Paths.get(caminho), StandardOpenOption.READ)) {
+            buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        } catch (IOException e) {
+            logger.error("Erro de IO ao ler o mapa compilado: {}", e.getMessage());
+            throw new InvalidJsonStructureException("Erro de IO: " + e.getMessage());
+        }
+
+        try {
+            carregar(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidJsonStructureException("Mapa compilado truncado: " + caminho);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new InvalidJsonStructureException("Mapa compilado invalido: " + e.getMessage());
+        }
+    }
+
+    private void carregar(ByteBuffer buffer) throws InvalidJsonStructureException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSAO_FORMATO) {
+            throw new InvalidJsonStructureException("Formato de mapa compilado invalido.");
+        }
+        if (mapa.getNumeroDivisoes() != 0) {
+            throw new InvalidJsonStructureException("Um mapa compilado so pode ser carregado num mapa vazio.");
+        }
+
+        String[] textos = new String[lerQuantidade(buffer, 4)];
+        for (int k = 0; k < textos.length; k++) {
+            byte[] bytes = new byte[lerQuantidade(buffer, 1)];
+            buffer.get(bytes);
+            textos[k] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        codMissao = textos[buffer.getInt()];
+        versao = buffer.getInt();
+
+        int n = lerQuantidade(buffer, 8);
+        String[] nomes = new String[n];
+        int[] indicesNomes = lerInts(buffer, n);
+        for (int i = 0; i < n; i++) {
+            nomes[i] = textos[indicesNomes[i]];
+        }
+        int[] inicios = lerInts(buffer, n + 1);
+        int[] adjacentes = lerInts(buffer, inicios[n]);
+        mapa.adicionarDivisoes(nomes);
+        mapa.adicionarLigacoes(inicios, adjacentes);
+
+        // As entradas/saidas e o alvo passam pelo construtor para nao escreverem mensagens.
+        IConstrutorMapa construtor = mapa.construtor();
+        int[] saidas = lerInts(buffer, lerQuantidade(buffer, 4));
+        for (int saida : saidas) {
+            construtor.adicionarEntradaSaida(saida);
+        }
+
+        int alvoDivisao = buffer.getInt();
+        int alvoTipo = buffer.getInt();
+        if (alvoDivisao >= 0) {
+            construtor.definirAlvo(alvoDivisao, textos[alvoTipo]);
+        }
+        construtor.construir();
+
+        int danoToCruzBase = buffer.getInt();
+        int danoInimigoBase = buffer.getInt();
+        int modificadorArma = buffer.getInt();
+        int reducaoColete = buffer.getInt();
+        int maxColetes = buffer.getInt();
+        int numeroTipos = lerQuantidade(buffer, 12);
+        String[] tipos = new String[numeroTipos];
+        int[] escalaDanoRecebido = new int[numeroTipos];
+        int[] escalaDanoCausado = new int[numeroTipos];
+        for (int t = 0; t < numeroTipos; t++) {
+            tipos[t] = textos[buffer.getInt()];
+            escalaDanoRecebido[t] = buffer.getInt();
+            escalaDanoCausado[t] = buffer.getInt();
+        }
+        RegrasCombate regras = new RegrasCombate(danoToCruzBase, danoInimigoBase, modificadorArma, reducaoColete,
+                maxColetes, tipos, escalaDanoRecebido, escalaDanoCausado);
+        mapa.setRegrasCombate(regras);
+
+        int[] inimigos = lerInts(buffer, lerQuantidade(buffer, 16) * 4);
+        for (int k = 0; k < inimigos.length; k += 4) {
+            IInimigo inimigo = new InimigoImpl(textos[inimigos[k]], inimigos[k + 1]);
+            if (inimigos[k + 2] < 0 || inimigos[k + 2] >= numeroTipos) {
+                throw new InvalidJsonStructureException("Tipo de inimigo invalido no mapa compilado.");
+            }
+            inimigo.setIndiceTipo(inimigos[k + 2]);
+            divisao(inimigos[k + 3]).adicionarInimigo(inimigo);
+        }
+
+        int[] itens = lerInts(buffer, lerQuantidade(buffer, 12) * 3);
+        for (int k = 0; k < itens.length; k += 3) {
+            IDivisao divisao = divisao(itens[k + 2]);
+            IItem item = new ItemImpl(textos[itens[k]], itens[k + 1]);
+            item.setDivisao(divisao);
+            divisao.adicionarItem(item);
+        }
+    }
+
+    private IDivisao divisao(int indice) throws InvalidJsonStructureException {
+        IDivisao divisao = mapa.getDivisaoPorIndice(indice);
+        if (divisao == null) {
+            throw new InvalidJsonStructureException("Indice de divisao invalido no mapa compilado: " + indice);
+        }
+        return divisao;
+    }
+
+    /**
+     * Le o numero de elementos de uma secao e verifica-o antes de alocar: um numero
+     * negativo, ou maior do que cabe no resto do ficheiro com pelo menos
+     * {@code bytesPorElemento} bytes por elemento, indica um ficheiro corrompido.
+     *
+     * @throws InvalidJsonStructureException se o numero for invalido.
+     */
+    private static int lerQuantidade(ByteBuffer buffer, int bytesPorElemento) throws InvalidJsonStructureException {
+        int quantidade = buffer.getInt();
+        if (quantidade < 0 || quantidade > buffer.remaining() / bytesPorElemento) {
+            throw new InvalidJsonStructureException("Numero de elementos invalido no mapa compilado: " + quantidade);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Le um bloco de inteiros de uma vez e avanca o buffer.
+     */
+    private static int[] lerInts(ByteBuffer buffer, int quantidade) {
+        if (quantidade < 0 || quantidade > buffer.remaining() / 4) {
+            throw new BufferUnderflowException();
+        }
+        int[] valores = new int[quantidade];
+        buffer.asIntBuffer().get(valores);
+        buffer.position(buffer.position() + quantidade * 4);
+        return valores;
+    }
+}
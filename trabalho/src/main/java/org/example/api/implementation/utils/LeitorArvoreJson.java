@@ -0,0 +1,223 @@
+package org.example.api.implementation.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Apresenta uma arvore do json-simple ja analisada como um {@link JsonReader}, para que o
+ * {@link ValidadorMissao} a percorra sem voltar a ler o arquivo.
+ * <p>
+ * A pilha guarda os valores ainda por ler e, para cada lista ou objeto aberto, o iterador
+ * dos seus elementos; os caminhos devolvidos por {@link #getPath()} sao os do
+ * {@link JsonReader} sobre o texto. So sao suportados os metodos usados pelo validador.
+ * </p>
+ */
+final class LeitorArvoreJson extends JsonReader {
+
+    private static final Reader SEM_TEXTO = new Reader() {
+        @Override
+        public int read(char[] buffer, int inicio, int tamanho) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Marca o valor {@code null} do JSON na pilha.
+     */
+    private static final Object NULO = new Object();
+
+    private Object[] pilha = new Object[32];
+    private boolean[] objeto = new boolean[32];
+    private String[] nomes = new String[32];
+    private int[] indices = new int[32];
+    private int tamanho;
+
+    /**
+     * @param raiz O valor raiz da arvore.
+     */
+    LeitorArvoreJson(Object raiz) {
+        super(SEM_TEXTO);
+        empilhar(raiz == null ? NULO : raiz);
+    }
+
+    @Override
+    public JsonToken peek() {
+        if (tamanho == 0) {
+            return JsonToken.END_DOCUMENT;
+        }
+        Object topo = pilha[tamanho - 1];
+        if (topo instanceof Iterator) {
+            Iterator<?> iterador = (Iterator<?>) topo;
+            if (objeto[tamanho - 1]) {
+                return iterador.hasNext() ? JsonToken.NAME : JsonToken.END_OBJECT;
+            }
+            if (!iterador.hasNext()) {
+                return JsonToken.END_ARRAY;
+            }
+            Object valor = iterador.next();
+            empilhar(valor == null ? NULO : valor);
+            return peek();
+        }
+        if (topo instanceof JSONObject) {
+            return JsonToken.BEGIN_OBJECT;
+        }
+        if (topo instanceof JSONArray) {
+            return JsonToken.BEGIN_ARRAY;
+        }
+        if (topo instanceof String) {
+            return JsonToken.STRING;
+        }
+        if (topo instanceof Number) {
+            return JsonToken.NUMBER;
+        }
+        if (topo instanceof Boolean) {
+            return JsonToken.BOOLEAN;
+        }
+        return JsonToken.NULL;
+    }
+
+    @Override
+    public boolean hasNext() {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public void beginArray() {
+        JSONArray lista = (JSONArray) esperar(JsonToken.BEGIN_ARRAY);
+        tamanho--;
+        empilhar(lista.iterator());
+        indices[tamanho - 1] = 0;
+    }
+
+    @Override
+    public void endArray() {
+        esperar(JsonToken.END_ARRAY);
+        tamanho--;
+        consumido();
+    }
+
+    @Override
+    public void beginObject() {
+        JSONObject mapa = (JSONObject) esperar(JsonToken.BEGIN_OBJECT);
+        tamanho--;
+        empilhar(mapa.entrySet().iterator());
+        objeto[tamanho - 1] = true;
+        nomes[tamanho - 1] = null;
+    }
+
+    @Override
+    public void endObject() {
+        esperar(JsonToken.END_OBJECT);
+        tamanho--;
+        consumido();
+    }
+
+    @Override
+    public String nextName() {
+        esperar(JsonToken.NAME);
+        Map.Entry<?, ?> entrada = (Map.Entry<?, ?>) ((Iterator<?>) pilha[tamanho - 1]).next();
+        String nome = String.valueOf(entrada.getKey());
+        nomes[tamanho - 1] = nome;
+        empilhar(entrada.getValue() == null ? NULO : entrada.getValue());
+        return nome;
+    }
+
+    @Override
+    public String nextString() {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw new IllegalStateException("Esperado um texto mas foi " + token + " em " + getPath());
+        }
+        String valor = pilha[--tamanho].toString();
+        consumido();
+        return valor;
+    }
+
+    @Override
+    public void skipValue() {
+        if (peek() == JsonToken.NAME) {
+            nextName();
+        }
+        JsonToken token = peek();
+        if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT || token == JsonToken.END_DOCUMENT) {
+            throw new IllegalStateException("Nao ha valor para saltar em " + getPath());
+        }
+        tamanho--;
+        consumido();
+    }
+
+    @Override
+    public String getPath() {
+        StringBuilder caminho = new StringBuilder("$");
+        for (int i = 0; i < tamanho; i++) {
+            if (!(pilha[i] instanceof Iterator)) {
+                continue;
+            }
+            if (!objeto[i]) {
+                caminho.append('[').append(indices[i]).append(']');
+            } else if (nomes[i] != null) {
+                caminho.append('.').append(nomes[i]);
+            }
+        }
+        return caminho.toString();
+    }
+
+    @Override
+    public void close() {
+        tamanho = 0;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " em " + getPath();
+    }
+
+    private Object esperar(JsonToken esperado) {
+        JsonToken token = peek();
+        if (token != esperado) {
+            throw new IllegalStateException("Esperado " + esperado + " mas foi " + token + " em " + getPath());
+        }
+        return pilha[tamanho - 1];
+    }
+
+    /**
+     * Conta o valor acabado de ler na lista que o contem.
+     */
+    private void consumido() {
+        if (tamanho > 0 && pilha[tamanho - 1] instanceof Iterator && !objeto[tamanho - 1]) {
+            indices[tamanho - 1]++;
+        }
+    }
+
+    private void empilhar(Object valor) {
+        if (tamanho == pilha.length) {
+            int capacidade = tamanho * 2;
+            Object[] maiorPilha = new Object[capacidade];
+            boolean[] maiorObjeto = new boolean[capacidade];
+            String[] maioresNomes = new String[capacidade];
+            int[] maioresIndices = new int[capacidade];
+            System.arraycopy(pilha, 0, maiorPilha, 0, tamanho);
+            System.arraycopy(objeto, 0, maiorObjeto, 0, tamanho);
+            System.arraycopy(nomes, 0, maioresNomes, 0, tamanho);
+            System.arraycopy(indices, 0, maioresIndices, 0, tamanho);
+            pilha = maiorPilha;
+            objeto = maiorObjeto;
+            nomes = maioresNomes;
+            indices = maioresIndices;
+        }
+        objeto[tamanho] = false;
+        pilha[tamanho++] = valor;
+    }
+}
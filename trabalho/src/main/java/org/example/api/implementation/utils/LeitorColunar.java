@@ -0,0 +1,224 @@
+package org.example.api.implementation.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import static org.example.api.implementation.utils.ExportadorColunar.COMPRIMENTO;
+import static org.example.api.implementation.utils.ExportadorColunar.DICIONARIO;
+import static org.example.api.implementation.utils.ExportadorColunar.ESTADO;
+import static org.example.api.implementation.utils.ExportadorColunar.MAGIC;
+import static org.example.api.implementation.utils.ExportadorColunar.META;
+import static org.example.api.implementation.utils.ExportadorColunar.VERSAO_FORMATO;
+import static org.example.api.implementation.utils.ExportadorColunar.VIDA;
+
+/**
+ * Calcula agregados sobre um lote gravado por {@link ExportadorColunar}.
+ * <p>
+ * Cada agregado le apenas as colunas de que precisa, mapeadas em memoria por blocos: a
+ * taxa de sucesso percorre as sequencias do estado, sem tocar nas outras colunas, e os
+ * percentis da vida percorrem so a coluna da vida, sem ordenar nem copiar os valores.
+ * </p>
+ */
+public class LeitorColunar {
+
+    /**
+     * Tamanho maximo, em bytes, de cada bloco mapeado de uma coluna.
+     */
+    private static final long BLOCO = 1L << 28;
+
+    /**
+     * Amplitude maxima dos valores para contar os percentis num histograma; acima disso
+     * cada percentil e procurado por pesquisa binaria sobre os valores.
+     */
+    private static final long AMPLITUDE_HISTOGRAMA = 1L << 24;
+
+    private final File diretorio;
+    private final long execucoes;
+    private final String[] textos;
+
+    /**
+     * Construtor do leitor; le os metadados e o dicionario do lote.
+     *
+     * @param diretorio O diretorio do lote.
+     * @throws IOException se o lote nao existir, estiver incompleto ou noutro formato.
+     */
+    public LeitorColunar(String diretorio) throws IOException {
+        this.diretorio = new File(diretorio);
+        try (DataInputStream in = abrir(META)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSAO_FORMATO) {
+                throw new IOException("Formato de lote invalido: " + diretorio);
+            }
+            this.execucoes = in.readLong();
+        }
+        try (DataInputStream in = abrir(DICIONARIO)) {
+            this.textos = new String[in.readInt()];
+            for (int k = 0; k < textos.length; k++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                textos[k] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * @return O numero de simulacoes do lote.
+     */
+    public long getNumeroExecucoes() {
+        return execucoes;
+    }
+
+    /**
+     * @param codigo O indice de um texto numa coluna de textos.
+     * @return O texto, ou {@code null} para o indice -1.
+     */
+    public String getTexto(int codigo) {
+        return codigo < 0 ? null : textos[codigo];
+    }
+
+    /**
+     * Calcula a fracao de simulacoes com estado "SUCESSO", lendo apenas a coluna do estado.
+     *
+     * @return A taxa de sucesso, entre 0 e 1.
+     * @throws IOException se a leitura falhar.
+     */
+    public double getTaxaSucesso() throws IOException {
+        long[] sucessos = new long[1];
+        percorrer(ESTADO, valores -> {
+            while (valores.hasRemaining()) {
+                int codigo = valores.get();
+                int repeticoes = valores.get();
+                if (codigo >= 0 && "SUCESSO".equalsIgnoreCase(textos[codigo])) {
+                    sucessos[0] += repeticoes;
+                }
+            }
+        });
+        return execucoes == 0 ? 0 : (double) sucessos[0] / execucoes;
+    }
+
+    /**
+     * Calcula percentis da vida restante (pelo metodo do posto mais proximo), lendo apenas
+     * a coluna da vida.
+     *
+     * @param percentis Os percentis pedidos, entre 0 e 100.
+     * @return O valor de cada percentil, pela ordem pedida.
+     * @throws IOException              se a leitura falhar.
+     * @throws IllegalArgumentException se algum percentil estiver fora de [0, 100].
+     * @throws IllegalStateException    se o lote nao tiver simulacoes.
+     */
+    public int[] getPercentisVida(double... percentis) throws IOException {
+        long[] postos = new long[percentis.length];
+        for (int k = 0; k < percentis.length; k++) {
+            if (percentis[k] < 0 || percentis[k] > 100) {
+                throw new IllegalArgumentException("Percentil invalido: " + percentis[k]);
+            }
+            postos[k] = Math.max(1, (long) Math.ceil(percentis[k] / 100 * execucoes));
+        }
+        if (execucoes == 0) {
+            throw new IllegalStateException("O lote nao tem simulacoes.");
+        }
+
+        int[] limites = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+        percorrer(VIDA, valores -> {
+            while (valores.hasRemaining()) {
+                int vida = valores.get();
+                limites[0] = Math.min(limites[0], vida);
+                limites[1] = Math.max(limites[1], vida);
+            }
+        });
+        int minimo = limites[0];
+        int maximo = limites[1];
+
+        int[] resultado = new int[percentis.length];
+        if ((long) maximo - minimo < AMPLITUDE_HISTOGRAMA) {
+            long[] histograma = new long[maximo - minimo + 1];
+            percorrer(VIDA, valores -> {
+                while (valores.hasRemaining()) {
+                    histograma[valores.get() - minimo]++;
+                }
+            });
+            for (int k = 0; k < postos.length; k++) {
+                long acumulado = 0;
+                int v = 0;
+                while ((acumulado += histograma[v]) < postos[k]) {
+                    v++;
+                }
+                resultado[k] = minimo + v;
+            }
+        } else {
+            // O menor valor v com pelo menos "posto" simulacoes de vida <= v.
+            for (int k = 0; k < postos.length; k++) {
+                long baixo = minimo;
+                long alto = maximo;
+                while (baixo < alto) {
+                    long meio = (baixo + alto) >> 1;
+                    if (contarAte((int) meio) >= postos[k]) {
+                        alto = meio;
+                    } else {
+                        baixo = meio + 1;
+                    }
+                }
+                resultado[k] = (int) baixo;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula o comprimento medio dos trajetos, lendo apenas a coluna do comprimento.
+     *
+     * @return O comprimento medio, ou 0 se o lote nao tiver simulacoes.
+     * @throws IOException se a leitura falhar.
+     */
+    public double getComprimentoMedio() throws IOException {
+        long[] soma = new long[1];
+        percorrer(COMPRIMENTO, valores -> {
+            while (valores.hasRemaining()) {
+                soma[0] += valores.get();
+            }
+        });
+        return execucoes == 0 ? 0 : (double) soma[0] / execucoes;
+    }
+
+    private long contarAte(int limite) throws IOException {
+        long[] contagem = new long[1];
+        percorrer(VIDA, valores -> {
+            while (valores.hasRemaining()) {
+                if (valores.get() <= limite) {
+                    contagem[0]++;
+                }
+            }
+        });
+        return contagem[0];
+    }
+
+    /**
+     * Processamento de um bloco de uma coluna.
+     */
+    private interface Bloco {
+        void processar(IntBuffer valores);
+    }
+
+    /**
+     * Percorre uma coluna por blocos mapeados em memoria.
+     */
+    private void percorrer(String coluna, Bloco bloco) throws IOException {
+        try (FileChannel canal = FileChannel.open(new File(diretorio, coluna).toPath(), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            for (long inicio = 0; inicio < tamanho; inicio += BLOCO) {
+                bloco.processar(canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(BLOCO, tamanho - inicio))
+                        .asIntBuffer());
+            }
+        }
+    }
+
+    private DataInputStream abrir(String nome) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(new File(diretorio, nome))));
+    }
+}
@@ -0,0 +1,328 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IResultadoSimulacao;
+import org.example.api.implementation.models.ResultadoSimulacaoImpl;
+import org.example.collections.implementation.ArrayUnorderedList;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.example.api.implementation.utils.GravadorTrajetoria.*;
+
+/**
+ * Reproduz uma trajetoria gravada por {@link GravadorTrajetoria}, sem voltar a
+ * simular.
+ * <p>
+ * A reproducao reconstroi o estado final de To Cruz (divisao, vida e estado da
+ * missao), o trajeto efetivamente percorrido e as contagens de combates, inimigos
+ * derrotados, itens coletados e kits usados, e permite gerar o relatorio JSON habitual. O mapa
+ * deve ser o da missao gravada, carregado do mesmo ficheiro, para que os indices
+ * das divisoes correspondam.
+ * </p>
+ */
+public class LeitorTrajetoria {
+
+    private final IMapa mapa;
+
+    private String codMissao;
+    private int versao;
+    private IDivisao divisaoInicial;
+    private IDivisao divisaoFinal;
+    private int vida;
+    private int vidaGravada;
+    private boolean sucesso;
+    private boolean terminada;
+    private int combates;
+    private int inimigosDerrotados;
+    private int itensColetados;
+    private int kitsUsados;
+    private int movimentosInimigos;
+    private ArrayUnorderedList<String> trajeto;
+
+    /**
+     * Construtor do leitor.
+     *
+     * @param mapa O mapa da missao gravada.
+     * @throws IllegalArgumentException se o mapa for nulo.
+     */
+    public LeitorTrajetoria(IMapa mapa) {
+        if (mapa == null) {
+            throw new IllegalArgumentException("Mapa nao pode ser nulo.");
+        }
+        this.mapa = mapa;
+    }
+
+    /**
+     * Le e reproduz uma trajetoria completa.
+     *
+     * @param entrada O fluxo com a trajetoria gravada.
+     * @throws IOException se o fluxo nao contiver uma trajetoria valida para este mapa.
+     */
+    public void reproduzir(InputStream entrada) throws IOException {
+        InputStream in = entrada instanceof BufferedInputStream ? entrada : new BufferedInputStream(entrada);
+
+        if (lerInt32(in) != MAGIC) {
+            throw new IOException("Formato de trajetoria invalido.");
+        }
+        // A versao 1 e igual a atual, mas sem o registo de uso de kits.
+        int versaoFormato = lerVarInt(in);
+        if (versaoFormato < 1 || versaoFormato > VERSAO_FORMATO) {
+            throw new IOException("Formato de trajetoria invalido.");
+        }
+        codMissao = lerTexto(in);
+        versao = lerVarInt(in);
+        if (lerVarInt(in) != mapa.getNumeroDivisoes()) {
+            throw new IOException("A trajetoria nao corresponde ao mapa carregado.");
+        }
+        divisaoInicial = lerDivisao(in);
+        divisaoFinal = divisaoInicial;
+        vida = lerVarInt(in);
+        vidaGravada = vida;
+        sucesso = false;
+        terminada = false;
+        combates = 0;
+        inimigosDerrotados = 0;
+        itensColetados = 0;
+        kitsUsados = 0;
+        movimentosInimigos = 0;
+        trajeto = new ArrayUnorderedList<>();
+
+        int etiqueta;
+        while (!terminada && (etiqueta = in.read()) != -1) {
+            switch (etiqueta) {
+                case MOVIMENTO -> {
+                    IDivisao divisao = lerDivisao(in);
+                    if (divisao != null) {
+                        divisaoFinal = divisao;
+                        trajeto.addToRear(divisao.getNomeDivisao());
+                    }
+                }
+                case COMBATE -> {
+                    lerDivisao(in);
+                    lerVarInt(in);
+                    vida = lerVarInt(in);
+                    combates++;
+                }
+                case INIMIGO_DERROTADO -> {
+                    lerTexto(in);
+                    inimigosDerrotados++;
+                }
+                case ITEM -> {
+                    int tipo = lerByte(in);
+                    if (tipo == ITEM_OUTRO) {
+                        lerTexto(in);
+                    }
+                    int pontos = lerVarInt(in);
+                    if (tipo == ITEM_COLETE) {
+                        vida += pontos;
+                    }
+                    itensColetados++;
+                }
+                case KIT_USADO -> {
+                    lerVarInt(in);
+                    vida = lerVarInt(in);
+                    kitsUsados++;
+                }
+                case DERROTA -> {
+                    lerDivisao(in);
+                    vida = 0;
+                }
+                case INIMIGO_MOVEU -> {
+                    lerDivisao(in);
+                    lerDivisao(in);
+                    lerTexto(in);
+                    movimentosInimigos++;
+                }
+                case FIM -> {
+                    sucesso = lerByte(in) == 1;
+                    vidaGravada = lerVarInt(in);
+                    terminada = true;
+                }
+                default -> throw new IOException("Registo desconhecido na trajetoria: " + etiqueta);
+            }
+        }
+
+        if (!terminada) {
+            vidaGravada = vida;
+        }
+    }
+
+    /**
+     * Cria o resultado da simulacao reproduzida, no mesmo formato que o das
+     * simulacoes executadas.
+     *
+     * @param id O identificador do resultado.
+     * @return O resultado da simulacao.
+     * @throws IllegalStateException se ainda nao foi reproduzida nenhuma trajetoria.
+     */
+    public IResultadoSimulacao criarResultado(String id) {
+        if (trajeto == null) {
+            throw new IllegalStateException("Nenhuma trajetoria foi reproduzida.");
+        }
+        return new ResultadoSimulacaoImpl(
+                id,
+                divisaoInicial != null ? divisaoInicial.getNomeDivisao() : "",
+                divisaoFinal != null ? divisaoFinal.getNomeDivisao() : null,
+                getStatus(),
+                getVidaFinal(),
+                trajeto,
+                mapa.getEntradasSaidasNomes(),
+                codMissao,
+                versao);
+    }
+
+    /**
+     * Reproduz uma trajetoria e exporta o relatorio JSON correspondente.
+     *
+     * @param entrada        O fluxo com a trajetoria gravada.
+     * @param id             O identificador do resultado.
+     * @param caminhoArquivo O ficheiro JSON de destino.
+     * @throws IOException se a trajetoria for invalida.
+     */
+    public void exportarParaJson(InputStream entrada, String id, String caminhoArquivo) throws IOException {
+        reproduzir(entrada);
+        new ExportarResultados().exportarParaJson(criarResultado(id), caminhoArquivo, mapa);
+    }
+
+    /**
+     * @return {@code true} se a vida reconstruida a partir dos eventos coincide com a
+     *         vida final gravada.
+     */
+    public boolean isConsistente() {
+        return vida == vidaGravada;
+    }
+
+    /**
+     * @return O codigo da missao gravada.
+     */
+    public String getCodMissao() {
+        return codMissao;
+    }
+
+    /**
+     * @return A versao da missao gravada.
+     */
+    public int getVersao() {
+        return versao;
+    }
+
+    /**
+     * @return A divisao onde To Cruz comecou.
+     */
+    public IDivisao getDivisaoInicial() {
+        return divisaoInicial;
+    }
+
+    /**
+     * @return A ultima divisao para onde To Cruz se moveu.
+     */
+    public IDivisao getDivisaoFinal() {
+        return divisaoFinal;
+    }
+
+    /**
+     * @return A vida final gravada ou, se a trajetoria nao tiver fim, a reconstruida.
+     */
+    public int getVidaFinal() {
+        return vidaGravada;
+    }
+
+    /**
+     * @return "SUCESSO" ou "FALHA", conforme o registo de fim.
+     */
+    public String getStatus() {
+        return sucesso ? "SUCESSO" : "FALHA";
+    }
+
+    /**
+     * @return {@code true} se a trajetoria terminou com o registo de fim.
+     */
+    public boolean isTerminada() {
+        return terminada;
+    }
+
+    /**
+     * @return O numero de combates gravados.
+     */
+    public int getCombates() {
+        return combates;
+    }
+
+    /**
+     * @return O numero de inimigos derrotados.
+     */
+    public int getInimigosDerrotados() {
+        return inimigosDerrotados;
+    }
+
+    /**
+     * @return O numero de itens coletados.
+     */
+    public int getItensColetados() {
+        return itensColetados;
+    }
+
+    /**
+     * @return O numero de kits de vida usados do inventario.
+     */
+    public int getKitsUsados() {
+        return kitsUsados;
+    }
+
+    /**
+     * @return O numero de movimentos de inimigos gravados.
+     */
+    public int getMovimentosInimigos() {
+        return movimentosInimigos;
+    }
+
+    /**
+     * @return Os nomes das divisoes por onde To Cruz passou, pela ordem dos movimentos.
+     */
+    public ArrayUnorderedList<String> getTrajeto() {
+        return trajeto;
+    }
+
+    private IDivisao lerDivisao(InputStream in) throws IOException {
+        int indice = lerVarInt(in) - 1;
+        return indice < 0 ? null : mapa.getDivisaoPorIndice(indice);
+    }
+
+    private String lerTexto(InputStream in) throws IOException {
+        int tamanho = lerVarInt(in);
+        byte[] bytes = in.readNBytes(tamanho);
+        if (bytes.length != tamanho) {
+            throw new EOFException("Trajetoria truncada.");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int lerVarInt(InputStream in) throws IOException {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+            int b = lerByte(in);
+            valor |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint invalido na trajetoria.");
+    }
+
+    private int lerInt32(InputStream in) throws IOException {
+        return (lerByte(in) << 24) | (lerByte(in) << 16) | (lerByte(in) << 8) | lerByte(in);
+    }
+
+    private int lerByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Trajetoria truncada.");
+        }
+        return b;
+    }
+}
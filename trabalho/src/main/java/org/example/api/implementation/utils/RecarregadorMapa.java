@@ -0,0 +1,474 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.ElementNotFoundException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.interfaces.IAlvo;
+import org.example.api.implementation.interfaces.IConstrutorMapa;
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IItem;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.api.implementation.models.ResultadoRecarga;
+import org.example.collections.implementation.ArrayHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+/**
+ * Acompanha o arquivo de uma missao ja carregada e, quando ele e alterado, aplica ao
+ * mapa apenas as diferencas.
+ * <p>
+ * O arquivo novo e carregado para um mapa temporario e comparado com o conteudo do
+ * carregamento anterior, divisao a divisao pelo nome. As divisoes com o mesmo hash de
+ * conteudo ({@link IDivisao#getHashConteudo()}) sao saltadas; nas restantes, os inimigos
+ * e itens sao comparados como multiconjuntos, e so os que mudaram sao removidos ou
+ * acrescentados ao mapa vivo. Como a comparacao e feita com o arquivo anterior e nao com
+ * o estado do jogo, um inimigo que ja foi derrotado e que o arquivo deixa de ter e
+ * simplesmente ignorado.
+ * </p>
+ * <p>
+ * As caches que dependem do conteudo das divisoes ({@code TabelaCombates}, {@code CachePlanos})
+ * invalidam-se pelos hashes, pelo que so as entradas das divisoes alteradas deixam de servir.
+ * A tabela de rotas depende do grafo e tambem dos inimigos, dos itens, do alvo e das
+ * regras, pelo que depois de uma recarga com alteracoes se verifica com
+ * {@link org.example.api.implementation.models.TabelaRotas#corresponde} e nao apenas
+ * com {@link ResultadoRecarga#isEstrutural()}.
+ * </p>
+ */
+public class RecarregadorMapa implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecarregadorMapa.class);
+    private static final String[] VAZIO = new String[0];
+
+    private final IMapa mapa;
+    private final Path arquivo;
+    private final WatchService observador;
+    private Conteudo conteudo;
+    private FileTime ultimaModificacao;
+
+    /**
+     * Construtor do recarregador. O conteudo atual do mapa passa a ser a referencia das
+     * comparacoes, pelo que o mapa deve ter sido carregado do arquivo indicado.
+     *
+     * @param mapa        O mapa carregado.
+     * @param caminhoJson O arquivo da missao.
+     * @throws IOException se nao for possivel acompanhar o diretorio do arquivo.
+     */
+    public RecarregadorMapa(IMapa mapa, String caminhoJson) throws IOException {
+        this.mapa = mapa;
+        this.arquivo = Paths.get(caminhoJson).toAbsolutePath();
+        this.conteudo = Conteudo.de(mapa);
+        this.ultimaModificacao = Files.getLastModifiedTime(arquivo);
+        this.observador = arquivo.getFileSystem().newWatchService();
+        arquivo.getParent().register(observador, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_CREATE);
+    }
+
+    /**
+     * Verifica, sem bloquear, se o arquivo foi alterado e, nesse caso, recarrega-o.
+     * Um arquivo que nao se consegue carregar (por exemplo, ainda a meio de ser gravado)
+     * e registado no log e o mapa fica como estava.
+     *
+     * @return O resultado da recarga, ou {@code null} se o arquivo nao mudou ou nao foi carregado.
+     */
+    public ResultadoRecarga verificar() {
+        boolean alterado = false;
+        WatchKey chave;
+        while ((chave = observador.poll()) != null) {
+            for (WatchEvent<?> evento : chave.pollEvents()) {
+                if (evento.kind() == StandardWatchEventKinds.OVERFLOW
+                        || arquivo.getFileName().equals(evento.context())) {
+                    alterado = true;
+                }
+            }
+            chave.reset();
+        }
+
+        try {
+            // Um editor costuma gerar mais do que um evento por gravacao.
+            if (!alterado || Files.getLastModifiedTime(arquivo).equals(ultimaModificacao)) {
+                return null;
+            }
+            return recarregar();
+        } catch (IOException | InvalidJsonStructureException | InvalidFieldException | DivisionNotFoundException
+                 | RuntimeException e) {
+            logger.error("Recarga de {} ignorada: {}", arquivo, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Carrega o arquivo e aplica ao mapa as diferencas para o carregamento anterior.
+     *
+     * @return O resultado da recarga.
+     * @throws IOException                   se nao for possivel ler a data do arquivo.
+     * @throws InvalidJsonStructureException se o arquivo for invalido; o mapa nao e alterado.
+     * @throws InvalidFieldException         se algum campo for invalido; o mapa nao e alterado.
+     * @throws DivisionNotFoundException     se o arquivo referir uma divisao inexistente; o mapa nao e alterado.
+     */
+    public ResultadoRecarga recarregar()
+            throws IOException, InvalidJsonStructureException, InvalidFieldException, DivisionNotFoundException {
+        long inicio = System.nanoTime();
+        FileTime modificacao = Files.getLastModifiedTime(arquivo);
+        MapaImpl novoMapa = new MapaImpl();
+        new ImportJsonImpl(novoMapa).carregarMapa(arquivo.toString());
+        Conteudo novo = Conteudo.de(novoMapa);
+
+        ResultadoRecarga resultado = aplicar(conteudo, novo, inicio);
+        conteudo = novo;
+        ultimaModificacao = modificacao;
+        logger.info("Mapa recarregado de {}: {}", arquivo, resultado);
+        return resultado;
+    }
+
+    /**
+     * Deixa de acompanhar o arquivo.
+     */
+    @Override
+    public void close() {
+        try {
+            observador.close();
+        } catch (IOException e) {
+            logger.warn("Erro ao fechar o observador de {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private ResultadoRecarga aplicar(Conteudo antigo, Conteudo novo, long inicio) throws DivisionNotFoundException {
+        int[] divisoes = new int[2];
+        int[] ligacoes = new int[2];
+        int[] inimigos = new int[2];
+        int[] itens = new int[2];
+        int alteradas = 0;
+
+        // As regras primeiro: os tipos dos inimigos que ficam passam a ser os das regras novas.
+        boolean regrasAlteradas = antigo.regras.getHash() != novo.regras.getHash();
+        if (regrasAlteradas) {
+            converterTipos(mapa.getRegrasCombate(), novo.regras);
+            mapa.setRegrasCombate(novo.regras);
+        }
+
+        // Ligacoes que deixaram de existir entre divisoes que continuam no mapa.
+        for (int i = 0; i < antigo.nomes.length; i++) {
+            int j = novo.indice(antigo.nomes[i]);
+            if (j < 0) {
+                continue;
+            }
+            for (String vizinho : antigo.vizinhos[i]) {
+                if (antigo.nomes[i].compareTo(vizinho) <= 0 && novo.indice(vizinho) >= 0
+                        && !contem(novo.vizinhos[j], vizinho) && mapa.removerLigacao(antigo.nomes[i], vizinho)) {
+                    ligacoes[1]++;
+                }
+            }
+        }
+
+        for (String nome : antigo.nomes) {
+            if (novo.indice(nome) < 0) {
+                mapa.removerDivisao(nome);
+                divisoes[1]++;
+            }
+        }
+
+        // Divisoes, ligacoes, inimigos e itens novos sao acrescentados de uma so vez.
+        IConstrutorMapa construtor = mapa.construtor();
+        for (String nome : novo.nomes) {
+            if (antigo.indice(nome) < 0) {
+                construtor.adicionarDivisao(nome);
+                divisoes[0]++;
+            }
+        }
+        for (int j = 0; j < novo.nomes.length; j++) {
+            int i = antigo.indice(novo.nomes[j]);
+            for (String vizinho : novo.vizinhos[j]) {
+                if (novo.nomes[j].compareTo(vizinho) <= 0
+                        && (i < 0 || antigo.indice(vizinho) < 0 || !contem(antigo.vizinhos[i], vizinho))) {
+                    construtor.adicionarLigacao(construtor.getIndice(novo.nomes[j]), construtor.getIndice(vizinho));
+                    ligacoes[0]++;
+                }
+            }
+        }
+
+        for (int j = 0; j < novo.nomes.length; j++) {
+            int i = antigo.indice(novo.nomes[j]);
+            if (i >= 0 && antigo.hashes[i] == novo.hashes[j]) {
+                continue;
+            }
+            int indice = construtor.getIndice(novo.nomes[j]);
+            IDivisao viva = i >= 0 ? mapa.getDivisaoPorIndice(indice) : null;
+            boolean alterada = i >= 0 && antigo.saidas[i] != novo.saidas[j];
+
+            String[] antigos = i >= 0 ? antigo.chavesInimigos[i] : VAZIO;
+            String[] novos = novo.chavesInimigos[j];
+            int a = 0;
+            int b = 0;
+            while (a < antigos.length || b < novos.length) {
+                int comparacao = a == antigos.length ? 1 : b == novos.length ? -1 : antigos[a].compareTo(novos[b]);
+                if (comparacao < 0) {
+                    if (removerInimigo(viva, antigos[a])) {
+                        inimigos[1]++;
+                        alterada = true;
+                    }
+                    a++;
+                } else if (comparacao > 0) {
+                    construtor.adicionarInimigo(indice, novo.inimigos[j][b++]);
+                    inimigos[0]++;
+                    alterada = true;
+                } else {
+                    a++;
+                    b++;
+                }
+            }
+
+            antigos = i >= 0 ? antigo.chavesItens[i] : VAZIO;
+            novos = novo.chavesItens[j];
+            a = 0;
+            b = 0;
+            while (a < antigos.length || b < novos.length) {
+                int comparacao = a == antigos.length ? 1 : b == novos.length ? -1 : antigos[a].compareTo(novos[b]);
+                if (comparacao < 0) {
+                    if (removerItem(viva, antigos[a])) {
+                        itens[1]++;
+                        alterada = true;
+                    }
+                    a++;
+                } else if (comparacao > 0) {
+                    construtor.adicionarItem(indice, novo.itens[j][b++]);
+                    itens[0]++;
+                    alterada = true;
+                } else {
+                    a++;
+                    b++;
+                }
+            }
+
+            if (alterada && viva != null) {
+                alteradas++;
+            }
+        }
+        boolean alvoAlterado = !Objects.equals(antigo.alvoDivisao, novo.alvoDivisao)
+                || !Objects.equals(antigo.alvoTipo, novo.alvoTipo);
+        if (alvoAlterado) {
+            if (novo.alvoDivisao == null) {
+                construtor.removerAlvo();
+            } else {
+                construtor.definirAlvo(construtor.getIndice(novo.alvoDivisao), novo.alvoTipo);
+            }
+        }
+        construtor.construir();
+
+        for (int j = 0; j < novo.nomes.length; j++) {
+            IDivisao viva = mapa.getDivisaoPorIndice(construtor.getIndice(novo.nomes[j]));
+            if (viva.isEntradaSaida() != novo.saidas[j]) {
+                viva.setEntradaSaida(novo.saidas[j]);
+            }
+        }
+
+        return new ResultadoRecarga(divisoes, ligacoes, alteradas, inimigos, itens, regrasAlteradas, alvoAlterado,
+                System.nanoTime() - inicio);
+    }
+
+    /**
+     * Passa os indices de tipo dos inimigos do mapa para as regras novas, pelo nome do tipo.
+     * Um tipo que deixou de existir passa a ser o tipo comum.
+     */
+    private void converterTipos(RegrasCombate atuais, RegrasCombate novas) {
+        for (int i = 0; i < mapa.getNumeroDivisoes(); i++) {
+            IDivisao divisao = mapa.getDivisaoPorIndice(i);
+            boolean alterada = false;
+            for (int k = 0; k < divisao.getInimigosPresentes().size(); k++) {
+                IInimigo inimigo = divisao.getInimigosPresentes().getElementAt(k);
+                int tipo = Math.max(0, novas.getIndiceTipo(atuais.getNomeTipo(inimigo.getIndiceTipo())));
+                if (tipo != inimigo.getIndiceTipo()) {
+                    inimigo.setIndiceTipo(tipo);
+                    alterada = true;
+                }
+            }
+            if (alterada) {
+                divisao.atualizarHash();
+            }
+        }
+    }
+
+    private boolean removerInimigo(IDivisao divisao, String chave) {
+        for (int k = 0; k < divisao.getInimigosPresentes().size(); k++) {
+            IInimigo inimigo = divisao.getInimigosPresentes().getElementAt(k);
+            if (chave(inimigo, mapa.getRegrasCombate()).equals(chave)) {
+                try {
+                    divisao.removerInimigo(inimigo);
+                    return true;
+                } catch (ElementNotFoundException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean removerItem(IDivisao divisao, String chave) {
+        for (int k = 0; k < divisao.getItensPresentes().size(); k++) {
+            IItem item = divisao.getItensPresentes().getElementAt(k);
+            if (chave(item).equals(chave)) {
+                try {
+                    divisao.removerItem(item);
+                    return true;
+                } catch (ElementNotFoundException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String chave(IInimigo inimigo, RegrasCombate regras) {
+        return inimigo.getNome() + '\u0000' + inimigo.getPoder() + '\u0000' + regras.getNomeTipo(inimigo.getIndiceTipo());
+    }
+
+    private static String chave(IItem item) {
+        return item.getTipo() + '\u0000' + item.getPontos();
+    }
+
+    private static boolean contem(String[] ordenados, String chave) {
+        int inicio = 0;
+        int fim = ordenados.length - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int comparacao = ordenados[meio].compareTo(chave);
+            if (comparacao == 0) {
+                return true;
+            }
+            if (comparacao < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ordena as chaves por insercao, levando consigo os elementos correspondentes; cada
+     * divisao tem poucos inimigos, itens e vizinhos.
+     */
+    private static void ordenar(String[] chaves, Object[] elementos) {
+        for (int i = 1; i < chaves.length; i++) {
+            String chave = chaves[i];
+            Object elemento = elementos == null ? null : elementos[i];
+            int j = i;
+            while (j > 0 && chaves[j - 1].compareTo(chave) > 0) {
+                chaves[j] = chaves[j - 1];
+                if (elementos != null) {
+                    elementos[j] = elementos[j - 1];
+                }
+                j--;
+            }
+            chaves[j] = chave;
+            if (elementos != null) {
+                elementos[j] = elemento;
+            }
+        }
+    }
+
+    /**
+     * Fotografia do conteudo de um mapa, usada como referencia da recarga seguinte: por
+     * divisao, o hash, os vizinhos e as chaves ordenadas dos inimigos (nome, poder e tipo)
+     * e dos itens (tipo e pontos).
+     */
+    private static final class Conteudo {
+
+        private String[] nomes;
+        private long[] hashes;
+        private boolean[] saidas;
+        private String[][] vizinhos;
+        private String[][] chavesInimigos;
+        private IInimigo[][] inimigos;
+        private String[][] chavesItens;
+        private IItem[][] itens;
+        private String alvoDivisao;
+        private String alvoTipo;
+        private RegrasCombate regras;
+
+        /**
+         * A posicao de cada divisao, pelo nome.
+         */
+        private ArrayHashMap<String, Integer> posicoes;
+
+        static Conteudo de(IMapa mapa) {
+            Conteudo conteudo = new Conteudo();
+            int n = mapa.getNumeroDivisoes();
+            conteudo.regras = mapa.getRegrasCombate();
+            conteudo.nomes = new String[n];
+            conteudo.hashes = new long[n];
+            conteudo.saidas = new boolean[n];
+            conteudo.vizinhos = new String[n][];
+            conteudo.chavesInimigos = new String[n][];
+            conteudo.inimigos = new IInimigo[n][];
+            conteudo.chavesItens = new String[n][];
+            conteudo.itens = new IItem[n][];
+
+            conteudo.posicoes = new ArrayHashMap<>(n);
+
+            for (int i = 0; i < n; i++) {
+                IDivisao divisao = mapa.getDivisaoPorIndice(i);
+                conteudo.nomes[i] = divisao.getNomeDivisao();
+                conteudo.hashes[i] = divisao.getHashConteudo();
+                conteudo.saidas[i] = divisao.isEntradaSaida();
+                conteudo.posicoes.put(conteudo.nomes[i], i);
+
+                int numeroInimigos = divisao.getInimigosPresentes().size();
+                conteudo.chavesInimigos[i] = new String[numeroInimigos];
+                conteudo.inimigos[i] = new IInimigo[numeroInimigos];
+                for (int k = 0; k < numeroInimigos; k++) {
+                    conteudo.inimigos[i][k] = divisao.getInimigosPresentes().getElementAt(k);
+                    conteudo.chavesInimigos[i][k] = chave(conteudo.inimigos[i][k], conteudo.regras);
+                }
+                ordenar(conteudo.chavesInimigos[i], conteudo.inimigos[i]);
+
+                int numeroItens = divisao.getItensPresentes().size();
+                conteudo.chavesItens[i] = new String[numeroItens];
+                conteudo.itens[i] = new IItem[numeroItens];
+                for (int k = 0; k < numeroItens; k++) {
+                    conteudo.itens[i][k] = divisao.getItensPresentes().getElementAt(k);
+                    conteudo.chavesItens[i][k] = chave(conteudo.itens[i][k]);
+                }
+                ordenar(conteudo.chavesItens[i], conteudo.itens[i]);
+            }
+
+            for (int i = 0; i < n; i++) {
+                int[] adjacentes = mapa.getIndicesAdjacentes(i);
+                conteudo.vizinhos[i] = new String[adjacentes.length];
+                for (int k = 0; k < adjacentes.length; k++) {
+                    conteudo.vizinhos[i][k] = conteudo.nomes[adjacentes[k]];
+                }
+                ordenar(conteudo.vizinhos[i], null);
+            }
+
+            IAlvo alvo = mapa.getAlvo();
+            if (alvo != null) {
+                conteudo.alvoDivisao = alvo.getDivisao().getNomeDivisao();
+                conteudo.alvoTipo = alvo.getTipo();
+            }
+            return conteudo;
+        }
+
+        /**
+         * @return A posicao da divisao com o nome dado, ou -1 se nao existir.
+         */
+        int indice(String nome) {
+            Integer posicao = posicoes.get(nome);
+            return posicao == null ? -1 : posicao;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IItem;
+import org.example.api.implementation.interfaces.IRegistoEventos;
+
+import static org.example.api.implementation.simulation.SimulacaoAutomaticaImpl.*;
+
+/**
+ * Registo de eventos que escreve cada evento na consola.
+ * <p>
+ * Reproduz a saida original da simulacao, do combate e do movimento dos inimigos,
+ * incluindo os emojis e a separacao entre {@code System.out} e {@code System.err}.
+ * </p>
+ */
+public class RegistoEventosConsola implements IRegistoEventos {
+
+    /**
+     * Instancia partilhada, sem estado, usada por omissao pelas simulacoes.
+     */
+    public static final RegistoEventosConsola INSTANCIA = new RegistoEventosConsola();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDetalhado() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void mensagem(String mensagem) {
+        System.out.println(mensagem);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void erro(String mensagem) {
+        System.err.println(mensagem);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void toCruzMoveu(IDivisao divisao) {
+        System.out.println("🤠 To Cruz moveu-se para a divisao: " + divisao.getNomeDivisao());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void itensEncontrados(IDivisao divisao) {
+        System.out.println(backpack + " Itens encontrados na divisao: " + divisao.getNomeDivisao());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void itemColetado(IItem item) {
+        System.out.println(checkMark + " Item coletado: " + item.getTipo());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void semInimigos(IDivisao divisao) {
+        System.out.println("Nenhum inimigo na divisão.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void combateIniciado(IDivisao divisao, boolean inimigoPrimeiro) {
+        String quem = inimigoPrimeiro ? "Inimigo primeiro" : "Tó Cruz primeiro";
+        System.out.println(crossedSwords + " Combate iniciado (" + quem + ") na divisão: " + divisao.getNomeDivisao());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void toCruzAtacou(IInimigo inimigo, int dano) {
+        System.out.println("🟢 Tó Cruz atacou o inimigo '" + inimigo.getNome() + "'!");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void inimigoAtacou(IInimigo inimigo, int dano, boolean contraAtaque) {
+        if (contraAtaque) {
+            System.out.println(crossedSwords + " Inimigo '" + inimigo.getNome() + "' contra-atacou!");
+        } else {
+            System.out.println(crossedSwords + " Inimigo '" + inimigo.getNome() + "' atacou Tó Cruz!");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void inimigoDerrotado(IInimigo inimigo) {
+        System.out.println(skull + " Inimigo '" + inimigo.getNome() + "' foi derrotado!");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void salaLimpa(IDivisao divisao) {
+        System.out.println(trophy + " Todos os inimigos na sala foram derrotados!");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void toCruzDerrotado(IDivisao divisao) {
+        System.err.println(skull + " Tó Cruz foi derrotado!");
+    }
+
+    /**
+     * Nao produz saida: o balanco do combate ja foi descrito pelos eventos anteriores.
+     */
+    @Override
+    public void combateTerminado(IDivisao divisao, int vidaAntes, int vidaDepois) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void inimigoMoveu(IInimigo inimigo, IDivisao origem, IDivisao destino) {
+        System.out.println("Inimigo '" + inimigo.getNome() + "' movimentou de " +
+                origem.getNomeDivisao() + " para " + destino.getNomeDivisao());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void inimigoEntrouNaSala(IDivisao divisao) {
+        System.out.println(crossedSwords
+                + " Inimigo entrou na sala de To Cruz! Combate iniciado (inimigos primeiro).");
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.api.implementation.utils;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.interfaces.IItem;
+import org.example.api.implementation.interfaces.IRegistoEventos;
+
+/**
+ * Registo de eventos que descarta todos os eventos.
+ * <p>
+ * Destinado a execucoes em lote, onde milhares de simulacoes correm sem qualquer
+ * escrita na consola.
+ * </p>
+ */
+public class RegistoEventosNulo implements IRegistoEventos {
+
+    /**
+     * Instancia partilhada, sem estado.
+     */
+    public static final RegistoEventosNulo INSTANCIA = new RegistoEventosNulo();
+
+    @Override
+    public boolean isDetalhado() {
+        return false;
+    }
+
+    @Override
+    public void mensagem(String mensagem) {
+    }
+
+    @Override
+    public void erro(String mensagem) {
+    }
+
+    @Override
+    public void toCruzMoveu(IDivisao divisao) {
+    }
+
+    @Override
+    public void itensEncontrados(IDivisao divisao) {
+    }
+
+    @Override
+    public void itemColetado(IItem item) {
+    }
+
+    @Override
+    public void semInimigos(IDivisao divisao) {
+    }
+
+    @Override
+    public void combateIniciado(IDivisao divisao, boolean inimigoPrimeiro) {
+    }
+
+    @Override
+    public void toCruzAtacou(IInimigo inimigo, int dano) {
+    }
+
+    @Override
+    public void inimigoAtacou(IInimigo inimigo, int dano, boolean contraAtaque) {
+    }
+
+    @Override
+    public void inimigoDerrotado(IInimigo inimigo) {
+    }
+
+    @Override
+    public void salaLimpa(IDivisao divisao) {
+    }
+
+    @Override
+    public void toCruzDerrotado(IDivisao divisao) {
+    }
+
+    @Override
+    public void combateTerminado(IDivisao divisao, int vidaAntes, int vidaDepois) {
+    }
+
+    @Override
+    public void inimigoMoveu(IInimigo inimigo, IDivisao origem, IDivisao destino) {
+    }
+
+    @Override
+    public void inimigoEntrouNaSala(IDivisao divisao) {
+    }
+}
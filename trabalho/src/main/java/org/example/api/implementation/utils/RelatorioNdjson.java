@@ -0,0 +1,238 @@
+package org.example.api.implementation.utils;
+
+import com.google.gson.stream.JsonWriter;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IResultadoSimulacao;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Relatorio de muitas simulacoes num arquivo NDJSON: um resultado por linha, no formato
+ * compacto de {@link ExportarResultados}, sempre acrescentado ao fim do arquivo.
+ * <p>
+ * Cada resultado e convertido em texto na thread que o adiciona (o trajeto e as
+ * entradas/saidas podem mudar depois) e posto numa fila limitada; uma thread propria
+ * escreve as linhas com buffer, opcionalmente comprimidas em gzip, e despeja o buffer
+ * no disco a cada {@code intervaloFlushMillis}. Quem adiciona so espera se a fila estiver
+ * cheia, ou seja, se o disco nao acompanhar as simulacoes.
+ * </p>
+ * <p>
+ * Um arquivo gzip acrescentado por varias sessoes fica com varios membros seguidos, que
+ * {@link java.util.zip.GZIPInputStream} le como um so.
+ * </p>
+ * <p>
+ * Pode ser usado por varias threads: um resultado aceite por {@link #adicionar} e sempre
+ * escrito, mesmo que outra thread feche o relatorio ao mesmo tempo; depois de fechado,
+ * {@code adicionar} lanca excecao em vez de perder a linha.
+ * </p>
+ */
+public class RelatorioNdjson implements AutoCloseable {
+
+    /**
+     * Linha que indica a thread de escrita que nao ha mais resultados; comparada pela
+     * identidade, pelo que nenhum resultado a pode imitar.
+     */
+    private static final String FIM = new String("");
+
+    private final BlockingQueue<String> fila;
+    private final Writer writer;
+    private final long intervaloFlushNanos;
+    private final Thread escritor;
+
+    /**
+     * Partilhado por quem adiciona (verifica o fecho e poe a linha na fila) e exclusivo de
+     * {@link #close()}, para que nenhuma linha entre na fila depois de {@link #FIM}.
+     */
+    private final ReadWriteLock fecho = new ReentrantReadWriteLock();
+
+    private volatile IOException erro;
+    private volatile long escritos;
+    private volatile boolean fechado;
+
+    /**
+     * Construtor com as opcoes por omissao: sem compressao, fila de 1024 resultados e
+     * flush a cada segundo.
+     *
+     * @param caminhoArquivo O arquivo do relatorio.
+     * @throws IOException se nao for possivel abrir o arquivo.
+     */
+    public RelatorioNdjson(String caminhoArquivo) throws IOException {
+        this(caminhoArquivo, false, 1024, 1000);
+    }
+
+    /**
+     * Construtor do relatorio.
+     *
+     * @param caminhoArquivo      O arquivo do relatorio.
+     * @param gzip                {@code true} para comprimir as linhas em gzip.
+     * @param capacidade          O numero maximo de resultados a espera de serem escritos.
+     * @param intervaloFlushMillis O intervalo maximo entre despejos do buffer no disco.
+     * @throws IOException              se nao for possivel abrir o arquivo.
+     * @throws IllegalArgumentException se a capacidade ou o intervalo nao forem positivos.
+     */
+    public RelatorioNdjson(String caminhoArquivo, boolean gzip, int capacidade, long intervaloFlushMillis)
+            throws IOException {
+        if (capacidade <= 0 || intervaloFlushMillis <= 0) {
+            throw new IllegalArgumentException("A capacidade e o intervalo de flush devem ser positivos.");
+        }
+        OutputStream saida = new FileOutputStream(caminhoArquivo, true);
+        if (gzip) {
+            // syncFlush: cada flush termina um bloco completo, legivel mesmo que o processo termine a seguir.
+            saida = new GZIPOutputStream(saida, 1 << 16, true);
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 1 << 16);
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.intervaloFlushNanos = TimeUnit.MILLISECONDS.toNanos(intervaloFlushMillis);
+        this.escritor = new Thread(this::escrever, "relatorio-ndjson");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Adiciona um resultado ao relatorio.
+     *
+     * @param resultado O resultado da simulacao.
+     * @param mapa      O mapa da simulacao.
+     * @throws IllegalArgumentException se algum parametro for nulo.
+     * @throws IllegalStateException    se o relatorio ja foi fechado ou se a escrita falhou.
+     */
+    public void adicionar(IResultadoSimulacao resultado, IMapa mapa) {
+        if (resultado == null || mapa == null) {
+            throw new IllegalArgumentException("Parametros resultado ou mapa nao podem ser nulos.");
+        }
+        if (fechado) {
+            throw new IllegalStateException("O relatorio ja foi fechado.");
+        }
+        if (erro != null) {
+            throw new IllegalStateException("Erro ao escrever o relatorio: " + erro.getMessage(), erro);
+        }
+
+        StringWriter linha = new StringWriter();
+        try {
+            JsonWriter json = new JsonWriter(linha);
+            json.setHtmlSafe(true);
+            json.setSerializeNulls(false);
+            ExportarResultados.escrever(json, resultado, mapa);
+        } catch (IOException e) {
+            // Um StringWriter nao lanca IOException.
+            throw new IllegalStateException(e);
+        }
+
+        fecho.readLock().lock();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("O relatorio ja foi fechado.");
+            }
+            fila.put(linha.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido a espera de espaco no relatorio.", e);
+        } finally {
+            fecho.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return O numero de resultados ja escritos no buffer do arquivo.
+     */
+    public long getNumeroEscritos() {
+        return escritos;
+    }
+
+    /**
+     * Escreve os resultados que faltam e fecha o arquivo. Espera que terminem as chamadas
+     * a {@link #adicionar} ja em curso; as seguintes sao recusadas.
+     *
+     * @throws IOException se alguma escrita falhou.
+     */
+    @Override
+    public void close() throws IOException {
+        fecho.writeLock().lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        } finally {
+            fecho.writeLock().unlock();
+        }
+        try {
+            fila.put(FIM);
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido a fechar o relatorio.", e);
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+
+    /**
+     * Ciclo da thread de escrita: escreve as linhas pela ordem da fila e faz flush quando
+     * passa o intervalo ou quando a fila fica vazia durante um intervalo inteiro.
+     */
+    private void escrever() {
+        long ultimoFlush = System.nanoTime();
+        boolean pendente = false;
+        try {
+            while (true) {
+                String linha = fila.poll(intervaloFlushNanos, TimeUnit.NANOSECONDS);
+                if (linha == FIM) {
+                    break;
+                }
+                if (linha != null) {
+                    writer.write(linha);
+                    writer.write('\n');
+                    escritos++;
+                    pendente = true;
+                }
+                if (pendente && (linha == null || System.nanoTime() - ultimoFlush >= intervaloFlushNanos)) {
+                    writer.flush();
+                    ultimoFlush = System.nanoTime();
+                    pendente = false;
+                }
+            }
+        } catch (IOException e) {
+            erro = e;
+            descartarAteAoFim();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (erro == null) {
+                    erro = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Depois de um erro de escrita, consome a fila ate ao fim, para que quem ainda esta a
+     * adicionar e {@link #close()} nao fiquem bloqueados com a fila cheia.
+     */
+    private void descartarAteAoFim() {
+        try {
+            while (fila.take() != FIM) {
+                // Descarta a linha.
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,706 @@
+package org.example.api.implementation.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import org.example.api.exceptions.InvalidFieldException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.collections.implementation.ArrayHashSet;
+import org.example.collections.implementation.ArrayUnorderedList;
+import org.json.simple.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Valida uma missao numa unica passagem pelos tokens do JSON, antes de qualquer
+ * divisao ser criada, e junta todos os erros encontrados.
+ * <p>
+ * Os tokens vem do texto, com o {@link JsonReader} do Gson, ou de uma arvore do
+ * json-simple ja analisada ({@link LeitorArvoreJson}), pelo que o arquivo nunca e lido
+ * so para ser validado. Na leitura em streaming, cada elemento sem erros e entregue a
+ * um {@link Destino} na mesma passagem.
+ * </p>
+ * <p>
+ * Sao verificados os tipos de todos os campos que os carregadores leem, os campos
+ * obrigatorios, os valores (poder e pontos nao negativos, valores das regras de combate)
+ * e as referencias: as divisoes de {@code ligacoes}, {@code inimigos}, {@code itens},
+ * {@code entradas-saidas} e {@code alvo} e os tipos dos inimigos. Como as seccoes podem
+ * vir por qualquer ordem, as referencias sao guardadas durante a passagem e resolvidas
+ * no fim contra o conjunto (por dispersao) dos nomes declarados.
+ * </p>
+ * <p>
+ * Cada erro indica o caminho do valor no JSON, por exemplo
+ * {@code $.itens[2].pontos-recuperados: deve ser um numero inteiro nao negativo}. Um JSON
+ * mal formado interrompe a validacao nesse ponto.
+ * </p>
+ */
+public class ValidadorMissao {
+
+    private final ArrayUnorderedList<String> erros = new ArrayUnorderedList<>();
+    private final boolean missao;
+    private boolean estrutural;
+
+    private final ArrayHashSet<String> divisoes = new ArrayHashSet<>(32);
+    private final ArrayHashSet<String> tiposDeclarados = new ArrayHashSet<>();
+
+    /**
+     * Referencias pendentes, resolvidas no fim: o nome e o caminho de onde foi referido.
+     */
+    private String[] referencias = new String[32];
+    private String[] caminhosReferencias = new String[32];
+    private int numeroReferencias;
+
+    private String[] tiposUsados = new String[8];
+    private String[] caminhosTipos = new String[8];
+    private int numeroTipos;
+
+    private final Destino destino;
+
+    /**
+     * Recebe os elementos da missao a medida que sao validados. Cada elemento so e
+     * entregue se nao tiver erros; as divisoes referidas podem ainda nao ter sido
+     * declaradas, e as que nao existirem sao indicadas como erro no fim da passagem.
+     */
+    interface Destino {
+
+        /**
+         * @param codigo O codigo da missao.
+         */
+        void codigo(String codigo);
+
+        /**
+         * @param versao A versao da missao.
+         */
+        void versao(int versao);
+
+        /**
+         * @param nome O nome de uma divisao do edificio, sem repeticoes.
+         */
+        void divisao(String nome);
+
+        /**
+         * @param origem  A primeira divisao da ligacao.
+         * @param destino A segunda divisao da ligacao.
+         */
+        void ligacao(String origem, String destino);
+
+        /**
+         * @param nome    O nome do inimigo.
+         * @param poder   O poder do inimigo.
+         * @param divisao A divisao do inimigo.
+         * @param tipo    O tipo do inimigo, ou {@code null} se for o comum.
+         */
+        void inimigo(String nome, int poder, String divisao, String tipo);
+
+        /**
+         * @param tipo    O tipo do item.
+         * @param pontos  Os pontos do item, 0 se nao tiver o campo.
+         * @param divisao A divisao do item.
+         */
+        void item(String tipo, int pontos, String divisao);
+
+        /**
+         * @param divisao Uma divisao de entrada/saida.
+         */
+        void entradaSaida(String divisao);
+
+        /**
+         * @param divisao A divisao do alvo.
+         * @param tipo    O tipo do alvo.
+         */
+        void alvo(String divisao, String tipo);
+
+        /**
+         * @param regras As regras de combate, no formato lido por
+         *               {@link ImportJsonImpl#carregarRegrasCombate(Object)}.
+         */
+        void regras(JSONObject regras);
+    }
+
+    /**
+     * @param missao  {@code true} se {@code cod-missao} e {@code versao} forem obrigatorios.
+     * @param destino O destino dos elementos validados, ou {@code null}.
+     */
+    private ValidadorMissao(boolean missao, Destino destino) {
+        this.missao = missao;
+        this.destino = destino;
+    }
+
+    /**
+     * Valida um arquivo de missao.
+     *
+     * @param caminho O caminho do arquivo.
+     * @return Os erros encontrados, vazia se a missao for valida.
+     * @throws InvalidJsonStructureException se nao for possivel ler o arquivo.
+     */
+    public static ArrayUnorderedList<String> validar(String caminho) throws InvalidJsonStructureException {
+        try (Reader reader = new BufferedReader(new FileReader(caminho), 1 << 16)) {
+            return validar(reader);
+        } catch (IOException e) {
+            throw new InvalidJsonStructureException("Erro de IO: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Valida uma missao lida de um {@link Reader}, que nao e fechado.
+     *
+     * @param reader O JSON da missao.
+     * @return Os erros encontrados, vazia se a missao for valida.
+     * @throws IOException se a leitura falhar.
+     */
+    public static ArrayUnorderedList<String> validar(Reader reader) throws IOException {
+        ValidadorMissao validador = new ValidadorMissao(true, null);
+        validador.executar(new JsonReader(reader));
+        return validador.erros;
+    }
+
+    /**
+     * Valida uma missao ja analisada pelo json-simple e lanca uma excecao com todos os
+     * erros, se os houver.
+     *
+     * @param raiz   O valor raiz do JSON.
+     * @param origem A origem da missao, para a mensagem (normalmente o caminho do arquivo).
+     * @param missao {@code true} para exigir tambem {@code cod-missao} e {@code versao},
+     *               que nao sao precisos para carregar apenas o mapa.
+     * @throws InvalidJsonStructureException se faltar alguma seccao obrigatoria ou tiver o tipo errado.
+     * @throws InvalidFieldException         se algum campo for invalido ou referir algo inexistente.
+     */
+    public static void verificar(Object raiz, String origem, boolean missao)
+            throws InvalidJsonStructureException, InvalidFieldException {
+        ValidadorMissao validador = new ValidadorMissao(missao, null);
+        try {
+            validador.executar(new LeitorArvoreJson(raiz));
+        } catch (IOException e) {
+            throw new InvalidJsonStructureException("Erro de IO: " + e.getMessage());
+        }
+        validador.lancarErros(origem);
+    }
+
+    /**
+     * Valida uma missao lida em streaming e entrega os seus elementos a um destino na
+     * mesma passagem; no fim, lanca uma excecao com todos os erros, se os houver. O
+     * destino so deve ser usado se nao for lancada nenhuma excecao.
+     *
+     * @param reader  O JSON da missao, que nao e fechado.
+     * @param origem  A origem da missao, para a mensagem.
+     * @param missao  {@code true} para exigir tambem {@code cod-missao} e {@code versao}.
+     * @param destino O destino dos elementos validados.
+     * @throws IOException                   se a leitura falhar.
+     * @throws InvalidJsonStructureException se o JSON for mal formado ou lhe faltar alguma seccao obrigatoria.
+     * @throws InvalidFieldException         se algum campo for invalido ou referir algo inexistente.
+     */
+    static void verificar(Reader reader, String origem, boolean missao, Destino destino)
+            throws IOException, InvalidJsonStructureException, InvalidFieldException {
+        ValidadorMissao validador = new ValidadorMissao(missao, destino);
+        validador.executar(new JsonReader(reader));
+        validador.lancarErros(origem);
+    }
+
+    private void lancarErros(String origem) throws InvalidJsonStructureException, InvalidFieldException {
+        int total = erros.size();
+        if (total == 0) {
+            return;
+        }
+        StringBuilder mensagem = new StringBuilder();
+        mensagem.append(total).append(total == 1 ? " erro" : " erros").append(" na missao ").append(origem)
+                .append(':');
+        for (int i = 0; i < total; i++) {
+            mensagem.append("\n  ").append(erros.getElementAt(i));
+        }
+        if (estrutural) {
+            throw new InvalidJsonStructureException(mensagem.toString());
+        }
+        throw new InvalidFieldException(mensagem.toString());
+    }
+
+    private void executar(JsonReader reader) throws IOException {
+        try {
+            raiz(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                erroEstrutural(reader.getPath(), "conteudo a mais depois da missao");
+            }
+        } catch (MalformedJsonException | IllegalStateException e) {
+            erroEstrutural(reader.getPath(), "JSON mal formado (" + e.getMessage() + ")");
+            return;
+        } catch (EOFException e) {
+            erroEstrutural(reader.getPath(), "JSON incompleto");
+            return;
+        }
+
+        for (int k = 0; k < numeroReferencias; k++) {
+            if (!divisoes.contains(referencias[k])) {
+                erro(caminhosReferencias[k], "a divisao '" + referencias[k] + "' nao existe");
+            }
+        }
+        for (int k = 0; k < numeroTipos; k++) {
+            if (!tiposDeclarados.contains(tiposUsados[k])) {
+                erro(caminhosTipos[k], "tipo de inimigo desconhecido: " + tiposUsados[k]);
+            }
+        }
+    }
+
+    private void raiz(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            erroEstrutural("$", "a missao deve ser um objeto");
+            reader.skipValue();
+            return;
+        }
+        tiposDeclarados.add(RegrasCombate.TIPO_COMUM);
+
+        boolean codigo = false;
+        boolean versao = false;
+        boolean edificio = false;
+        boolean ligacoes = false;
+        boolean inimigos = false;
+        boolean itens = false;
+        boolean entradasSaidas = false;
+        boolean alvo = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "cod-missao":
+                    codigo = true;
+                    String cod = texto(reader);
+                    if (cod != null && destino != null) {
+                        destino.codigo(cod);
+                    }
+                    break;
+                case "versao":
+                    versao = true;
+                    Integer numero = inteiro(reader, Integer.MIN_VALUE, "um numero inteiro");
+                    if (numero != null && destino != null) {
+                        destino.versao(numero);
+                    }
+                    break;
+                case "edificio":
+                    edificio = true;
+                    edificio(reader);
+                    break;
+                case "ligacoes":
+                    ligacoes = true;
+                    ligacoes(reader);
+                    break;
+                case "inimigos":
+                    inimigos = true;
+                    lista(reader, this::inimigo);
+                    break;
+                case "itens":
+                    itens = true;
+                    lista(reader, this::item);
+                    break;
+                case "entradas-saidas":
+                    entradasSaidas = true;
+                    lista(reader, this::entradaSaida);
+                    break;
+                case "alvo":
+                    alvo = true;
+                    alvo(reader);
+                    break;
+                case "regras-combate":
+                    JSONObject regras = regras(reader);
+                    if (regras != null && destino != null) {
+                        destino.regras(regras);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        String[] nomes = {"cod-missao", "versao", "edificio", "ligacoes", "inimigos", "itens", "entradas-saidas",
+                "alvo"};
+        boolean[] presentes = {codigo, versao, edificio, ligacoes, inimigos, itens, entradasSaidas, alvo};
+        for (int k = missao ? 0 : 2; k < nomes.length; k++) {
+            if (!presentes[k]) {
+                erroEstrutural("$", "falta o campo '" + nomes[k] + "'");
+            }
+        }
+    }
+
+    private void edificio(JsonReader reader) throws IOException {
+        if (!inicioLista(reader)) {
+            return;
+        }
+        while (reader.hasNext()) {
+            String caminho = reader.getPath();
+            String nome = texto(reader);
+            if (nome != null && !divisoes.add(nome)) {
+                erro(caminho, "divisao '" + nome + "' repetida");
+            } else if (nome != null && destino != null) {
+                destino.divisao(nome);
+            }
+        }
+        reader.endArray();
+    }
+
+    private void ligacoes(JsonReader reader) throws IOException {
+        if (!inicioLista(reader)) {
+            return;
+        }
+        while (reader.hasNext()) {
+            String caminho = reader.getPath();
+            if (!inicioLista(reader)) {
+                continue;
+            }
+            int antes = erros.size();
+            String[] nomes = new String[2];
+            int extremos = 0;
+            while (reader.hasNext()) {
+                if (extremos < 2) {
+                    nomes[extremos] = referencia(reader);
+                } else {
+                    reader.skipValue();
+                }
+                extremos++;
+            }
+            reader.endArray();
+            if (extremos != 2) {
+                erro(caminho, "cada ligacao deve ter exatamente duas divisoes");
+            } else if (erros.size() == antes && destino != null) {
+                destino.ligacao(nomes[0], nomes[1]);
+            }
+        }
+        reader.endArray();
+    }
+
+    private void inimigo(JsonReader reader) throws IOException {
+        String caminho = reader.getPath();
+        if (!inicioObjeto(reader)) {
+            return;
+        }
+        int antes = erros.size();
+        boolean nome = false;
+        boolean poder = false;
+        boolean divisao = false;
+        String valorNome = null;
+        Integer valorPoder = null;
+        String valorDivisao = null;
+        String valorTipo = null;
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "nome":
+                    nome = true;
+                    valorNome = texto(reader);
+                    break;
+                case "poder":
+                    poder = true;
+                    valorPoder = inteiro(reader, 0, "um numero inteiro nao negativo");
+                    break;
+                case "divisao":
+                    divisao = true;
+                    valorDivisao = referencia(reader);
+                    break;
+                case "tipo":
+                    String tipoCaminho = reader.getPath();
+                    String tipo = texto(reader);
+                    valorTipo = tipo;
+                    if (tipo != null) {
+                        if (numeroTipos == tiposUsados.length) {
+                            tiposUsados = copiar(tiposUsados, numeroTipos * 2);
+                            caminhosTipos = copiar(caminhosTipos, numeroTipos * 2);
+                        }
+                        tiposUsados[numeroTipos] = tipo.toLowerCase(Locale.ROOT);
+                        caminhosTipos[numeroTipos++] = tipoCaminho;
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        exigir(caminho, nome, "nome");
+        exigir(caminho, poder, "poder");
+        exigir(caminho, divisao, "divisao");
+        if (erros.size() == antes && destino != null) {
+            destino.inimigo(valorNome, valorPoder, valorDivisao, valorTipo);
+        }
+    }
+
+    private void item(JsonReader reader) throws IOException {
+        String caminho = reader.getPath();
+        if (!inicioObjeto(reader)) {
+            return;
+        }
+        int antes = erros.size();
+        boolean tipo = false;
+        boolean divisao = false;
+        int pontos = 0;
+        String valorTipo = null;
+        Integer valorPontos = null;
+        String valorDivisao = null;
+        while (reader.hasNext()) {
+            String campo = reader.nextName();
+            if (ImportJsonImpl.isCampoPontos(campo)) {
+                pontos++;
+                valorPontos = inteiro(reader, 0, "um numero inteiro nao negativo");
+            } else if (campo.equals("tipo")) {
+                tipo = true;
+                valorTipo = texto(reader);
+            } else if (campo.equals("divisao")) {
+                divisao = true;
+                valorDivisao = referencia(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        exigir(caminho, tipo, "tipo");
+        exigir(caminho, divisao, "divisao");
+        if (pontos > 1) {
+            erro(caminho, "o item tem mais do que um campo de pontos");
+        }
+        if (erros.size() == antes && destino != null) {
+            destino.item(valorTipo, valorPontos == null ? 0 : valorPontos, valorDivisao);
+        }
+    }
+
+    private void entradaSaida(JsonReader reader) throws IOException {
+        String divisao = referencia(reader);
+        if (divisao != null && destino != null) {
+            destino.entradaSaida(divisao);
+        }
+    }
+
+    private void alvo(JsonReader reader) throws IOException {
+        String caminho = reader.getPath();
+        if (!inicioObjeto(reader)) {
+            return;
+        }
+        int antes = erros.size();
+        boolean divisao = false;
+        boolean tipo = false;
+        String valorDivisao = null;
+        String valorTipo = null;
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "divisao":
+                    divisao = true;
+                    valorDivisao = referencia(reader);
+                    break;
+                case "tipo":
+                    tipo = true;
+                    valorTipo = texto(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        exigir(caminho, divisao, "divisao");
+        exigir(caminho, tipo, "tipo");
+        if (erros.size() == antes && destino != null) {
+            destino.alvo(valorDivisao, valorTipo);
+        }
+    }
+
+    /**
+     * Valida as regras de combate com os limites de {@link RegrasCombate} e junta os
+     * campos conhecidos num objeto para {@link ImportJsonImpl#carregarRegrasCombate(Object)}.
+     *
+     * @return As regras, ou {@code null} se nao forem um objeto.
+     */
+    @SuppressWarnings("unchecked")
+    private JSONObject regras(JsonReader reader) throws IOException {
+        if (!inicioObjeto(reader)) {
+            return null;
+        }
+        JSONObject regras = new JSONObject();
+        while (reader.hasNext()) {
+            String campo = reader.nextName();
+            switch (campo) {
+                case "dano-to-cruz":
+                case "modificador-arma":
+                    guardar(regras, campo, inteiro(reader, 1, "um numero inteiro positivo"));
+                    break;
+                case "dano-inimigo":
+                case "reducao-colete":
+                case "max-coletes":
+                    guardar(regras, campo, inteiro(reader, 0, "um numero inteiro nao negativo"));
+                    break;
+                case "tipos-inimigo":
+                    JSONObject tipos = tiposInimigo(reader);
+                    if (tipos != null) {
+                        regras.put(campo, tipos);
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return regras;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSONObject tiposInimigo(JsonReader reader) throws IOException {
+        if (!inicioObjeto(reader)) {
+            return null;
+        }
+        JSONObject tipos = new JSONObject();
+        while (reader.hasNext()) {
+            String nome = reader.nextName().trim();
+            tiposDeclarados.add(nome.toLowerCase(Locale.ROOT));
+            if (!inicioObjeto(reader)) {
+                continue;
+            }
+            JSONObject tipo = new JSONObject();
+            while (reader.hasNext()) {
+                String campo = reader.nextName();
+                switch (campo) {
+                    case "escala-dano-recebido":
+                    case "escala-dano-causado":
+                        guardar(tipo, campo, inteiro(reader, 0, "um numero inteiro nao negativo"));
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            tipos.put(nome, tipo);
+        }
+        reader.endObject();
+        return tipos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void guardar(JSONObject objeto, String campo, Integer valor) {
+        if (valor != null) {
+            objeto.put(campo, valor.longValue());
+        }
+    }
+
+    /**
+     * Elemento de uma lista.
+     */
+    private interface Elemento {
+        void validar(JsonReader reader) throws IOException;
+    }
+
+    private void lista(JsonReader reader, Elemento elemento) throws IOException {
+        if (!inicioLista(reader)) {
+            return;
+        }
+        while (reader.hasNext()) {
+            elemento.validar(reader);
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Le o nome de uma divisao e guarda-o para ser resolvido no fim.
+     *
+     * @return O nome, ou {@code null} se o valor for invalido.
+     */
+    private String referencia(JsonReader reader) throws IOException {
+        String caminho = reader.getPath();
+        String nome = texto(reader);
+        if (nome == null) {
+            return null;
+        }
+        if (numeroReferencias == referencias.length) {
+            referencias = copiar(referencias, numeroReferencias * 2);
+            caminhosReferencias = copiar(caminhosReferencias, numeroReferencias * 2);
+        }
+        referencias[numeroReferencias] = nome;
+        caminhosReferencias[numeroReferencias++] = caminho;
+        return nome;
+    }
+
+    /**
+     * Le um texto nao vazio.
+     *
+     * @return O texto sem espacos nas pontas, ou {@code null} se o valor for invalido.
+     */
+    private String texto(JsonReader reader) throws IOException {
+        String caminho = reader.getPath();
+        if (reader.peek() != JsonToken.STRING) {
+            erro(caminho, "deve ser um texto");
+            reader.skipValue();
+            return null;
+        }
+        String valor = reader.nextString().trim();
+        if (valor.isEmpty()) {
+            erro(caminho, "nao pode ser vazio");
+            return null;
+        }
+        return valor;
+    }
+
+    /**
+     * Le um numero inteiro nao menor do que {@code minimo}.
+     *
+     * @return O numero, ou {@code null} se o valor for invalido.
+     */
+    private Integer inteiro(JsonReader reader, int minimo, String descricao) throws IOException {
+        String caminho = reader.getPath();
+        if (reader.peek() != JsonToken.NUMBER) {
+            erro(caminho, "deve ser " + descricao);
+            reader.skipValue();
+            return null;
+        }
+        String valor = reader.nextString();
+        try {
+            int numero = Integer.parseInt(valor);
+            if (numero >= minimo) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Tratado abaixo, como um numero abaixo do minimo.
+        }
+        erro(caminho, "deve ser " + descricao);
+        return null;
+    }
+
+    private boolean inicioLista(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            erroEstrutural(reader.getPath(), "deve ser uma lista");
+            reader.skipValue();
+            return false;
+        }
+        reader.beginArray();
+        return true;
+    }
+
+    private boolean inicioObjeto(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            erroEstrutural(reader.getPath(), "deve ser um objeto");
+            reader.skipValue();
+            return false;
+        }
+        reader.beginObject();
+        return true;
+    }
+
+    private void exigir(String caminho, boolean presente, String campo) {
+        if (!presente) {
+            erro(caminho, "falta o campo '" + campo + "'");
+        }
+    }
+
+    private void erro(String caminho, String mensagem) {
+        erros.addToRear(caminho + ": " + mensagem);
+    }
+
+    private void erroEstrutural(String caminho, String mensagem) {
+        estrutural = true;
+        erro(caminho, mensagem);
+    }
+
+    private static String[] copiar(String[] array, int tamanho) {
+        String[] copia = new String[tamanho];
+        System.arraycopy(array, 0, copia, 0, Math.min(array.length, tamanho));
+        return copia;
+    }
+}
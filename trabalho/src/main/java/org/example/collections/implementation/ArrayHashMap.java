@@ -0,0 +1,342 @@
+package org.example.collections.implementation;
+
+import org.example.collections.interfaces.MapADT;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementação de um mapa genérico por endereçamento aberto, com sondagem linear.
+ * <p>
+ * As chaves e os valores ficam em dois arrays paralelos, sem um nó por par; a posição
+ * inicial de cada chave vem do seu {@code hashCode()}, misturado para espalhar as chaves
+ * com hashes parecidos, e as chaves são comparadas com {@code equals}. A capacidade é uma
+ * potência de dois e duplica quando o mapa fica meio cheio, pelo que obter, associar e
+ * remover custam O(1) em média.
+ * </p>
+ * <p>
+ * A remoção desloca para trás as chaves seguintes do mesmo grupo, para que as pesquisas
+ * não precisem de marcas de posições apagadas. As chaves não podem ser nulas (uma posição
+ * nula está livre); os valores podem.
+ * </p>
+ * <p>
+ * As subclasses podem mudar a forma de comparar as chaves redefinindo
+ * {@link #hash(Object)} e {@link #iguais(Object, Object)}, como faz {@link IdentityArrayHashMap}.
+ * </p>
+ *
+ * @param <K> O tipo das chaves do mapa.
+ * @param <V> O tipo dos valores do mapa.
+ */
+public class ArrayHashMap<K, V> implements MapADT<K, V> {
+
+    /**
+     * Capacidade padrão inicial das tabelas.
+     */
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * As chaves; {@code null} indica uma posição livre.
+     */
+    private Object[] keys;
+
+    /**
+     * O valor de cada chave, na mesma posição.
+     */
+    private Object[] values;
+
+    private int count;
+
+    /**
+     * Número de alterações estruturais, para os iteradores detetarem modificações.
+     */
+    protected int modCount;
+
+    /**
+     * Cria um mapa vazio utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    public ArrayHashMap() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * Cria um mapa vazio com espaço para {@code expectedSize} chaves sem crescer.
+     *
+     * @param expectedSize O número de chaves esperado.
+     * @throws IllegalArgumentException se o número for negativo ou demasiado grande.
+     */
+    public ArrayHashMap(int expectedSize) {
+        if (expectedSize < 0 || expectedSize > 1 << 29) {
+            throw new IllegalArgumentException("Capacidade invalida: " + expectedSize);
+        }
+        int capacidade = 2;
+        while (capacidade < expectedSize * 2) {
+            capacidade <<= 1;
+        }
+        keys = new Object[capacidade];
+        values = new Object[capacidade];
+    }
+
+    /**
+     * Garante espaço para pelo menos {@code expectedSize} chaves sem novas expansões,
+     * com uma única redistribuição das chaves atuais em vez de uma por duplicação.
+     *
+     * @param expectedSize O número de chaves a suportar.
+     * @throws IllegalArgumentException se o número for demasiado grande.
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > 1 << 29) {
+            throw new IllegalArgumentException("Capacidade invalida: " + expectedSize);
+        }
+        int capacidade = keys.length;
+        while (capacidade < expectedSize * 2) {
+            capacidade <<= 1;
+        }
+        if (capacidade > keys.length) {
+            redimensionar(capacidade);
+        }
+    }
+
+    /**
+     * Calcula o hash de uma chave, usado para escolher a sua posição inicial.
+     *
+     * @param key A chave, não nula.
+     * @return O hash da chave.
+     */
+    protected int hash(Object key) {
+        return key.hashCode();
+    }
+
+    /**
+     * Compara uma chave procurada com uma chave guardada no mapa.
+     *
+     * @param key    A chave procurada.
+     * @param stored A chave guardada.
+     * @return {@code true} se forem a mesma chave.
+     */
+    protected boolean iguais(Object key, Object stored) {
+        return key == stored || key.equals(stored);
+    }
+
+    /**
+     * Associa um valor a uma chave, substituindo o valor anterior, se existir.
+     *
+     * @param key   A chave.
+     * @param value O valor.
+     * @return O valor anterior, ou null se a chave não existia.
+     * @throws IllegalArgumentException se a chave for nula.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int p = procurar(key);
+        if (keys[p] != null) {
+            V anterior = (V) values[p];
+            values[p] = value;
+            return anterior;
+        }
+        keys[p] = key;
+        values[p] = value;
+        modCount++;
+        if (++count * 2 > keys.length) {
+            redimensionar(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Retorna o valor associado a uma chave.
+     *
+     * @param key A chave.
+     * @return O valor, ou null se a chave não existir.
+     * @throws IllegalArgumentException se a chave for nula.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        return (V) values[procurar(key)];
+    }
+
+    /**
+     * Verifica se uma chave existe no mapa.
+     *
+     * @param key A chave.
+     * @return {@code true} se a chave existir.
+     * @throws IllegalArgumentException se a chave for nula.
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return keys[procurar(key)] != null;
+    }
+
+    /**
+     * Remove uma chave do mapa.
+     *
+     * @param key A chave.
+     * @return O valor que estava associado, ou null se a chave não existia.
+     * @throws IllegalArgumentException se a chave for nula.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int p = procurar(key);
+        if (keys[p] == null) {
+            return null;
+        }
+        V anterior = (V) values[p];
+
+        int mascara = keys.length - 1;
+        // Desloca para a posicao livre as chaves seguintes que a sondagem deixaria de encontrar.
+        int livre = p;
+        for (int q = (p + 1) & mascara; keys[q] != null; q = (q + 1) & mascara) {
+            int ideal = misturar(hash(keys[q])) & mascara;
+            if (((q - ideal) & mascara) >= ((q - livre) & mascara)) {
+                keys[livre] = keys[q];
+                values[livre] = values[q];
+                livre = q;
+            }
+        }
+        keys[livre] = null;
+        values[livre] = null;
+        count--;
+        modCount++;
+        return anterior;
+    }
+
+    /**
+     * Verifica se o mapa está vazio.
+     *
+     * @return {@code true} se o mapa estiver vazio, {@code false} caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de chaves no mapa.
+     *
+     * @return O tamanho do mapa.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia o mapa, mantendo a capacidade atual.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = null;
+            values[i] = null;
+        }
+        count = 0;
+        modCount++;
+    }
+
+    /**
+     * Retorna um iterador sobre as chaves, pela ordem das posições na tabela.
+     *
+     * @return Um iterador sobre as chaves.
+     */
+    @Override
+    public Iterator<K> keys() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Retorna a posição da chave, ou a posição livre onde seria inserida.
+     */
+    private int procurar(Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException("A chave nao pode ser nula.");
+        }
+        int mascara = keys.length - 1;
+        int p = misturar(hash(key)) & mascara;
+        while (keys[p] != null && !iguais(key, keys[p])) {
+            p = (p + 1) & mascara;
+        }
+        return p;
+    }
+
+    private void redimensionar(int capacidade) {
+        Object[] antigasChaves = keys;
+        Object[] antigosValores = values;
+        keys = new Object[capacidade];
+        values = new Object[keys.length];
+        int mascara = keys.length - 1;
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasChaves[i] != null) {
+                int p = misturar(hash(antigasChaves[i])) & mascara;
+                while (keys[p] != null) {
+                    p = (p + 1) & mascara;
+                }
+                keys[p] = antigasChaves[i];
+                values[p] = antigosValores[i];
+            }
+        }
+    }
+
+    private static int misturar(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Iterador sobre as chaves, que falha se o mapa for alterado durante a iteração.
+     */
+    private class KeyIterator implements Iterator<K> {
+        private int posicao = avancar(0);
+        private final int expectedModCount = modCount;
+
+        private int avancar(int i) {
+            while (i < keys.length && keys[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return posicao < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException("O mapa foi modificado.");
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) keys[posicao];
+            posicao = avancar(posicao + 1);
+            return key;
+        }
+    }
+
+    /**
+     * Retorna uma representação em string do mapa, com os pares chave=valor pela ordem
+     * das posições na tabela.
+     *
+     * @return Uma string contendo os pares do mapa.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ArrayHashMap{");
+        boolean primeiro = true;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                if (!primeiro) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append('=').append(values[i]);
+                primeiro = false;
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
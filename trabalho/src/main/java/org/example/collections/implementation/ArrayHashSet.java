@@ -0,0 +1,144 @@
+package org.example.collections.implementation;
+
+import org.example.collections.interfaces.SetADT;
+
+import java.util.Iterator;
+
+/**
+ * Implementação de um conjunto genérico sobre um {@link ArrayHashMap}, com os elementos como
+ * chaves.
+ * <p>
+ * Adicionar, remover e verificar se um elemento pertence ao conjunto custam O(1) em
+ * média, em vez da pesquisa linear por {@code equals} de uma lista. Os elementos não
+ * podem ser nulos.
+ * </p>
+ *
+ * @param <T> O tipo de elementos armazenados no conjunto.
+ */
+public class ArrayHashSet<T> implements SetADT<T> {
+
+    /**
+     * O mapa cujas chaves são os elementos do conjunto.
+     */
+    private final ArrayHashMap<T, Boolean> map;
+
+    /**
+     * Cria um conjunto vazio com a capacidade padrão.
+     */
+    public ArrayHashSet() {
+        this(ArrayHashMap.DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * Cria um conjunto vazio com espaço para {@code expectedSize} elementos sem crescer.
+     *
+     * @param expectedSize O número de elementos esperado.
+     * @throws IllegalArgumentException se o número for negativo ou demasiado grande.
+     */
+    public ArrayHashSet(int expectedSize) {
+        this.map = criarMapa(expectedSize);
+    }
+
+    /**
+     * Cria o mapa que guarda os elementos; as subclasses podem devolver um mapa que
+     * compare os elementos de outra forma.
+     *
+     * @param expectedSize O número de elementos esperado.
+     * @return O mapa vazio.
+     */
+    protected ArrayHashMap<T, Boolean> criarMapa(int expectedSize) {
+        return new ArrayHashMap<>(expectedSize);
+    }
+
+    /**
+     * Adiciona um elemento ao conjunto.
+     *
+     * @param element O elemento.
+     * @return {@code true} se o elemento foi adicionado, {@code false} se já existia.
+     * @throws IllegalArgumentException se o elemento for nulo.
+     */
+    @Override
+    public boolean add(T element) {
+        return map.put(element, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Remove um elemento do conjunto.
+     *
+     * @param element O elemento.
+     * @return {@code true} se o elemento existia.
+     * @throws IllegalArgumentException se o elemento for nulo.
+     */
+    @Override
+    public boolean remove(T element) {
+        return map.remove(element) != null;
+    }
+
+    /**
+     * Verifica se um elemento pertence ao conjunto.
+     *
+     * @param element O elemento.
+     * @return {@code true} se pertencer ao conjunto.
+     * @throws IllegalArgumentException se o elemento for nulo.
+     */
+    @Override
+    public boolean contains(T element) {
+        return map.containsKey(element);
+    }
+
+    /**
+     * Verifica se o conjunto está vazio.
+     *
+     * @return {@code true} se o conjunto estiver vazio, {@code false} caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Retorna o número de elementos no conjunto.
+     *
+     * @return O tamanho do conjunto.
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Esvazia o conjunto, mantendo a capacidade atual.
+     */
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Retorna um iterador sobre os elementos, pela ordem das posições na tabela.
+     *
+     * @return Um iterador sobre os elementos.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return map.keys();
+    }
+
+    /**
+     * Retorna uma representação em string do conjunto.
+     *
+     * @return Uma string contendo os elementos do conjunto.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ArrayHashSet[");
+        Iterator<T> it = iterator();
+        while (it.hasNext()) {
+            sb.append(it.next());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
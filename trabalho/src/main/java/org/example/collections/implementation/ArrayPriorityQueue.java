@@ -0,0 +1,223 @@
+package org.example.collections.implementation;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.collections.interfaces.PriorityQueueADT;
+
+/**
+ * Implementação de uma fila de prioridade genérica com uma heap binária de mínimo num
+ * array.
+ * <p>
+ * Os elementos, as prioridades e a ordem de chegada ficam em arrays paralelos, sem um nó
+ * por elemento; enfileirar e desenfileirar custam O(log n). Entre elementos com a mesma
+ * prioridade sai primeiro o que foi enfileirado antes, pelo que a ordem de saída é
+ * sempre a mesma para a mesma sequência de operações. Quando o array fica cheio, a
+ * capacidade é duplicada.
+ * </p>
+ *
+ * @param <T> O tipo de elementos armazenados na fila.
+ */
+public class ArrayPriorityQueue<T> implements PriorityQueueADT<T> {
+
+    /**
+     * Capacidade padrão inicial do array.
+     */
+    protected final int DEFAULT_CAPACITY = 10;
+
+    private T[] elements;
+    private int[] priorities;
+
+    /**
+     * A ordem de chegada de cada elemento, para desempatar prioridades iguais.
+     */
+    private long[] order;
+
+    private int count;
+    private long nextOrder;
+
+    /**
+     * Cria uma fila vazia utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    public ArrayPriorityQueue() {
+        alocar(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Cria uma fila vazia com uma capacidade inicial específica.
+     *
+     * @param initialCapacity capacidade inicial da fila.
+     * @throws IllegalArgumentException se a capacidade não for positiva.
+     */
+    public ArrayPriorityQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade inicial deve ser positiva.");
+        }
+        alocar(initialCapacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void alocar(int capacidade) {
+        elements = (T[]) (new Object[capacidade]);
+        priorities = new int[capacidade];
+        order = new long[capacidade];
+    }
+
+    /**
+     * Enfileira um elemento com uma prioridade, duplicando a capacidade se necessário.
+     *
+     * @param element  O elemento.
+     * @param priority A prioridade; valores menores saem primeiro.
+     */
+    @Override
+    public void enqueue(T element, int priority) {
+        if (count == elements.length) {
+            expandCapacity();
+        }
+        elements[count] = element;
+        priorities[count] = priority;
+        order[count] = nextOrder++;
+        subir(count++);
+    }
+
+    private void expandCapacity() {
+        T[] antigosElementos = elements;
+        int[] antigasPrioridades = priorities;
+        long[] antigaOrdem = order;
+        alocar(elements.length * 2);
+        System.arraycopy(antigosElementos, 0, elements, 0, count);
+        System.arraycopy(antigasPrioridades, 0, priorities, 0, count);
+        System.arraycopy(antigaOrdem, 0, order, 0, count);
+    }
+
+    /**
+     * Remove e retorna o elemento de menor prioridade.
+     *
+     * @return O elemento de menor prioridade.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("PriorityQueue");
+        }
+
+        T result = elements[0];
+        count--;
+        mover(count, 0);
+        elements[count] = null; // Remove a referência para ajudar o coletor de lixo
+        if (count > 0) {
+            descer(0);
+        }
+        return result;
+    }
+
+    /**
+     * Retorna, sem remover, o elemento de menor prioridade.
+     *
+     * @return O elemento de menor prioridade.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("PriorityQueue");
+        }
+        return elements[0];
+    }
+
+    /**
+     * Retorna a menor prioridade na fila.
+     *
+     * @return A prioridade do elemento em {@link #first()}.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    @Override
+    public int firstPriority() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("PriorityQueue");
+        }
+        return priorities[0];
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return {@code true} se a fila estiver vazia, {@code false} caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de elementos na fila.
+     *
+     * @return O tamanho da fila.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    private boolean antes(int a, int b) {
+        return priorities[a] < priorities[b] || (priorities[a] == priorities[b] && order[a] < order[b]);
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (!antes(i, pai)) {
+                break;
+            }
+            trocar(i, pai);
+            i = pai;
+        }
+    }
+
+    private void descer(int i) {
+        int filho;
+        while ((filho = 2 * i + 1) < count) {
+            if (filho + 1 < count && antes(filho + 1, filho)) {
+                filho++;
+            }
+            if (!antes(filho, i)) {
+                break;
+            }
+            trocar(i, filho);
+            i = filho;
+        }
+    }
+
+    private void mover(int de, int para) {
+        elements[para] = elements[de];
+        priorities[para] = priorities[de];
+        order[para] = order[de];
+    }
+
+    private void trocar(int a, int b) {
+        T elemento = elements[a];
+        int prioridade = priorities[a];
+        long ordem = order[a];
+        mover(b, a);
+        elements[b] = elemento;
+        priorities[b] = prioridade;
+        order[b] = ordem;
+    }
+
+    /**
+     * Retorna uma representação em string da fila, com os pares elemento=prioridade pela
+     * ordem interna da heap.
+     *
+     * @return Uma string contendo os elementos da fila.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ArrayPriorityQueue[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]).append('=').append(priorities[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.collections.implementation;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.collections.interfaces.QueueADT;
+
+/**
+ * Implementação de uma fila (queue) genérica utilizando um array circular.
+ * <p>
+ * Ao contrário de {@link LinkedQueue}, não cria um nó por cada elemento enfileirado e
+ * remove da frente em tempo constante, sem deslocar os restantes elementos: os índices
+ * {@code front} e {@code rear} avançam de forma circular sobre o array. Quando o array
+ * fica cheio, a capacidade é duplicada e os elementos são copiados pela ordem da fila.
+ * </p>
+ *
+ * <p><b>Invariantes da classe:</b></p>
+ * <ul>
+ *   <li>Os elementos ocupam as posições {@code front, front+1, ..., front+count-1}, módulo
+ *       a capacidade do array.</li>
+ *   <li>{@code rear} é a próxima posição livre, ou seja, {@code (front + count) % queue.length}.</li>
+ *   <li>As posições livres contêm {@code null}, para não reter referências.</li>
+ * </ul>
+ *
+ * @param <T> O tipo de elementos armazenados na fila.
+ */
+public class ArrayQueue<T> implements QueueADT<T> {
+
+    /**
+     * Capacidade padrão inicial do array.
+     */
+    protected final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Índice do elemento na frente da fila.
+     */
+    protected int front;
+
+    /**
+     * Índice da próxima posição livre na traseira da fila.
+     */
+    protected int rear;
+
+    /**
+     * Número de elementos na fila.
+     */
+    protected int count;
+
+    /**
+     * Array circular que guarda os elementos da fila.
+     */
+    protected T[] queue;
+
+    /**
+     * Cria uma fila vazia utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayQueue() {
+        queue = (T[]) (new Object[DEFAULT_CAPACITY]);
+    }
+
+    /**
+     * Cria uma fila vazia com uma capacidade inicial específica.
+     *
+     * @param initialCapacity capacidade inicial da fila.
+     * @throws IllegalArgumentException se a capacidade não for positiva.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade inicial deve ser positiva.");
+        }
+        queue = (T[]) (new Object[initialCapacity]);
+    }
+
+    /**
+     * Adiciona um elemento à traseira da fila, duplicando a capacidade se necessário.
+     *
+     * @param element O elemento a ser adicionado.
+     */
+    @Override
+    public void enqueue(T element) {
+        if (count == queue.length) {
+            expandCapacity();
+        }
+
+        queue[rear] = element;
+        rear = (rear + 1) % queue.length;
+        count++;
+    }
+
+    /**
+     * Duplica a capacidade do array, copiando os elementos a partir da frente para o
+     * início do novo array.
+     */
+    @SuppressWarnings("unchecked")
+    private void expandCapacity() {
+        T[] larger = (T[]) (new Object[queue.length * 2]);
+
+        int primeiros = queue.length - front;
+        System.arraycopy(queue, front, larger, 0, primeiros);
+        System.arraycopy(queue, 0, larger, primeiros, front);
+
+        front = 0;
+        rear = count;
+        queue = larger;
+    }
+
+    /**
+     * Remove e retorna o elemento na frente da fila.
+     *
+     * @return O elemento na frente da fila.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Queue");
+        }
+
+        T result = queue[front];
+        queue[front] = null; // Remove a referência para ajudar o coletor de lixo
+        front = (front + 1) % queue.length;
+        count--;
+
+        return result;
+    }
+
+    /**
+     * Retorna o elemento na frente da fila sem removê-lo.
+     *
+     * @return O elemento na frente da fila.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Queue");
+        }
+
+        return queue[front];
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return {@code true} se a fila estiver vazia, {@code false} caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de elementos na fila.
+     *
+     * @return O tamanho da fila.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia a fila, mantendo a capacidade atual, para que possa ser reutilizada.
+     */
+    public void clear() {
+        for (int i = 0, k = front; i < count; i++, k = (k + 1) % queue.length) {
+            queue[k] = null;
+        }
+        front = rear = count = 0;
+    }
+
+    /**
+     * Retorna uma representação em string da fila, com os elementos da frente para a
+     * traseira.
+     *
+     * @return Uma string contendo os elementos da fila.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ArrayQueue{");
+        sb.append("front=").append(front);
+        sb.append(", rear=").append(rear);
+        sb.append(", size=").append(count);
+        sb.append(", queue=[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(queue[(front + i) % queue.length]);
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+}
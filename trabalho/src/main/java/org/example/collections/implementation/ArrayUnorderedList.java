@@ -142,4 +142,71 @@ public class ArrayUnorderedList<T> extends ArrayList<T> implements UnorderedList
 
         return -1; // Retorna -1 se o elemento nao for encontrado
     }
+
+    /**
+     * Procura um elemento pela identidade ({@code ==}) em vez de {@code equals}, para
+     * distinguir elementos iguais mas diferentes (por exemplo, inimigos com o mesmo nome).
+     *
+     * @param element O elemento a procurar.
+     * @return O indice do elemento, ou -1 se nao estiver na lista.
+     */
+    public int indexOfSame(T element) {
+        for (int i = 0; i < count; i++) {
+            if (list[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Remove a propria instancia indicada (identidade), deslocando os elementos seguintes
+     * para preservar a ordem dos restantes.
+     *
+     * @param element O elemento a remover.
+     * @return O elemento removido.
+     * @throws ElementNotFoundException se a instancia nao estiver na lista.
+     */
+    public T removeSame(T element) throws ElementNotFoundException {
+        int index = indexOfSame(element);
+        if (index == -1) {
+            throw new ElementNotFoundException("O elemento nao foi encontrado.");
+        }
+        T removido = list[index];
+        System.arraycopy(list, index + 1, list, index, count - index - 1);
+        count--;
+        list[count] = null;
+        modCount++;
+        return removido;
+    }
+
+    /**
+     * Remove numa unica passagem todos os elementos marcados, preservando a ordem dos
+     * restantes: O(n) em vez de O(n) por cada remocao.
+     *
+     * @param marked {@code marked[i]} indica se o elemento do indice {@code i} e removido;
+     *               deve ter pelo menos {@link #size()} posicoes.
+     * @return O numero de elementos removidos.
+     * @throws IllegalArgumentException se o array de marcas for nulo ou curto.
+     */
+    public int removeMarked(boolean[] marked) {
+        if (marked == null || marked.length < count) {
+            throw new IllegalArgumentException("Marcas insuficientes para a lista.");
+        }
+        int destino = 0;
+        for (int i = 0; i < count; i++) {
+            if (!marked[i]) {
+                list[destino++] = list[i];
+            }
+        }
+        int removidos = count - destino;
+        for (int i = destino; i < count; i++) {
+            list[i] = null;
+        }
+        count = destino;
+        if (removidos > 0) {
+            modCount++;
+        }
+        return removidos;
+    }
 }
@@ -2,6 +2,9 @@ package org.example.collections.implementation;
 
 import org.example.collections.exceptions.EmptyCollectionException;
 import org.example.collections.interfaces.GraphADT;
+import org.example.collections.primitive.IntArrayList;
+import org.example.collections.primitive.IntArrayStack;
+import org.example.collections.primitive.IntRingQueue;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -17,6 +20,12 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
     protected double[][] adjMatrix;
     protected T[] vertices;
 
+    /**
+     * Indice de cada vertice em {@code vertices}, para {@link #getIndex(Object)} nao
+     * percorrer os vertices; com vertices iguais, guarda o primeiro.
+     */
+    private final ArrayHashMap<T, Integer> indices = new ArrayHashMap<>();
+
     /**
      * Construtor padrao que inicializa o grafo com capacidade padrao.
      */
@@ -26,6 +35,19 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         this.vertices = (T[]) (new Object[DEFAULT_CAPACITY]);
     }
 
+    /**
+     * Garante espaco para pelo menos {@code capacidade} vertices sem novas expansoes.
+     * Quem conhece o numero de vertices antes de os adicionar evita assim as copias
+     * sucessivas da matriz de adjacencia feitas por cada duplicacao.
+     *
+     * @param capacidade O numero de vertices a suportar.
+     */
+    public void ensureCapacity(int capacidade) {
+        if (capacidade > vertices.length) {
+            redimensionar(capacidade);
+        }
+    }
+
     /**
      * Adiciona um vertice ao grafo.
      *
@@ -44,6 +66,9 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         }
 
         vertices[numVertices] = vertex;
+        if (!indices.containsKey(vertex)) {
+            indices.put(vertex, numVertices);
+        }
 
         for (int i = 0; i <= numVertices; i++) {
             adjMatrix[numVertices][i] = 0;
@@ -85,14 +110,18 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
      * Expande a capacidade do grafo, dobrando o tamanho atual.
      */
     private void expandCapacity() {
-        T[] verticesTmp = (T[]) (new Object[this.vertices.length * 2]);
-        double[][] adjMatrixTmp = new double[this.vertices.length * 2][this.vertices.length * 2];
+        redimensionar(this.vertices.length * 2);
+    }
 
-        for (int i = 0; i < this.numVertices; i++) {
-            for (int j = 0; j < this.numVertices; j++) {
-                adjMatrixTmp[i][j] = this.adjMatrix[i][j];
-            }
+    /**
+     * Copia os vertices e a matriz de adjacencia para arrays com a capacidade indicada.
+     */
+    private void redimensionar(int capacidade) {
+        T[] verticesTmp = (T[]) (new Object[capacidade]);
+        double[][] adjMatrixTmp = new double[capacidade][capacidade];
 
+        for (int i = 0; i < this.numVertices; i++) {
+            System.arraycopy(this.adjMatrix[i], 0, adjMatrixTmp[i], 0, this.numVertices);
             verticesTmp[i] = this.vertices[i];
         }
         this.vertices = verticesTmp;
@@ -135,8 +164,9 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
                 vertices[i] = vertices[i + 1];
             }
 
+            // Copia tambem a ultima coluna, que o deslocamento das colunas a seguir ainda le.
             for (int i = index; i < numVertices; i++) {
-                for (int j = 0; j < numVertices; j++) {
+                for (int j = 0; j <= numVertices; j++) {
                     adjMatrix[i][j] = adjMatrix[i + 1][j];
                 }
             }
@@ -152,6 +182,7 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
                 adjMatrix[numVertices][i] = 0;
                 adjMatrix[i][numVertices] = 0;
             }
+            reconstruirIndices();
         } else {
             throw new IllegalArgumentException("Indice do vertice invalido");
         }
@@ -169,9 +200,29 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         this.addEdge(getIndex(vertex1), getIndex(vertex2));
     }
 
+    /**
+     * Retorna o indice de um vertice, em tempo constante em media.
+     * <p>
+     * O indice guardado e confirmado com {@code equals}. Se o vertice nao estiver no
+     * indice, por exemplo porque o seu hash mudou depois de ser adicionado, os vertices
+     * sao percorridos como antes e o indice e reconstruido.
+     * </p>
+     *
+     * @param vertex O vertice a procurar.
+     * @return O indice do vertice, ou -1 se nao existir.
+     */
     public int getIndex(T vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+        Integer index = indices.get(vertex);
+        if (index != null && index < numVertices && vertices[index].equals(vertex)) {
+            return index;
+        }
+
         for (int i = 0; i < numVertices; i++) {
             if (vertices[i].equals(vertex)) {
+                reconstruirIndices();
                 return i;
             }
         }
@@ -179,6 +230,56 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         return -1;
     }
 
+    /**
+     * Volta a calcular o indice de todos os vertices.
+     */
+    private void reconstruirIndices() {
+        indices.clear();
+        for (int i = 0; i < numVertices; i++) {
+            if (!indices.containsKey(vertices[i])) {
+                indices.put(vertices[i], i);
+            }
+        }
+    }
+
+    /**
+     * Retorna o vertice guardado num indice.
+     *
+     * @param index O indice do vertice.
+     * @return O vertice, ou null se o indice for invalido.
+     */
+    public T getVertex(int index) {
+        return indexIsValid(index) ? vertices[index] : null;
+    }
+
+    /**
+     * Retorna os indices dos vertices adjacentes a um indice, por ordem crescente.
+     *
+     * @param index O indice do vertice.
+     * @return Um array com os indices adjacentes (vazio se o indice for invalido).
+     */
+    public int[] getIndicesAdjacentes(int index) {
+        if (!indexIsValid(index)) {
+            return new int[0];
+        }
+
+        int total = 0;
+        for (int i = 0; i < numVertices; i++) {
+            if (adjMatrix[index][i] != 0) {
+                total++;
+            }
+        }
+
+        int[] adjacentes = new int[total];
+        int pos = 0;
+        for (int i = 0; i < numVertices; i++) {
+            if (adjMatrix[index][i] != 0) {
+                adjacentes[pos++] = i;
+            }
+        }
+        return adjacentes;
+    }
+
     /**
      * Adiciona uma aresta entre dois indices de vertices.
      *
@@ -276,8 +377,8 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
     }
 
     public Iterator<T> iteratorBFS(int startIndex) {
-        Integer x;
-        LinkedQueue<Integer> traversalQueue = new LinkedQueue<>();
+        int x;
+        IntRingQueue traversalQueue = new IntRingQueue(numVertices);
         ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
 
         if (!indexIsValid(startIndex)) {
@@ -331,9 +432,9 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
     }
 
     public Iterator<T> iteratorDFS(int startIndex) {
-        Integer x;
+        int x;
         boolean found;
-        LinkedStack<Integer> traversalStack = new LinkedStack<>();
+        IntArrayStack traversalStack = new IntArrayStack(numVertices);
         ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
 
         boolean[] visited = new boolean[numVertices];
@@ -389,13 +490,11 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
             return resultList.iterator();
         }
 
-        Iterator<Integer> it;
-
         try {
-            it = iteratorShortestPathIndices(startIndex, targetIndex);
+            IntArrayList path = shortestPathIndices(startIndex, targetIndex);
 
-            while (it.hasNext()) {
-                resultList.addToRear(vertices[it.next()]);
+            for (int i = 0; i < path.size(); i++) {
+                resultList.addToRear(vertices[path.get(i)]);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -404,16 +503,16 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         return resultList.iterator();
     }
 
-    private Iterator<Integer> iteratorShortestPathIndices(int startIndex, int targetIndex)
+    private IntArrayList shortestPathIndices(int startIndex, int targetIndex)
             throws EmptyCollectionException {
         int index = startIndex;
         int[] pathLength = new int[numVertices];
         int[] predecessor = new int[numVertices];
-        LinkedQueue<Integer> traversalQueue = new LinkedQueue<>();
-        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        IntRingQueue traversalQueue = new IntRingQueue(numVertices);
+        IntArrayList resultList = new IntArrayList();
 
         if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex)) {
-            return resultList.iterator();
+            return resultList;
         }
 
         boolean[] visited = new boolean[numVertices];
@@ -441,10 +540,10 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         }
 
         if (index != targetIndex) {
-            return resultList.iterator();
+            return resultList;
         }
 
-        LinkedStack<Integer> stack = new LinkedStack<>();
+        IntArrayStack stack = new IntArrayStack(pathLength[targetIndex] + 1);
         index = targetIndex;
         stack.push(index);
 
@@ -455,10 +554,10 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
         } while (index != startIndex);
 
         while (!stack.isEmpty()) {
-            resultList.addToRear(stack.pop());
+            resultList.add(stack.pop());
         }
 
-        return resultList.iterator();
+        return resultList;
     }
 
     /**
@@ -533,9 +632,17 @@ public class Graph<T> implements GraphADT<T>, Iterable<T> {
      * @return true se os vertices forem adjacentes, false caso contrario.
      */
     public boolean isAdjacent(T vertex1, T vertex2) {
-        int index1 = getIndex(vertex1);
-        int index2 = getIndex(vertex2);
+        return isAdjacent(getIndex(vertex1), getIndex(vertex2));
+    }
 
+    /**
+     * Verifica se dois indices de vertices sao adjacentes.
+     *
+     * @param index1 O indice do primeiro vertice.
+     * @param index2 O indice do segundo vertice.
+     * @return true se os vertices forem adjacentes, false caso contrario.
+     */
+    public boolean isAdjacent(int index1, int index2) {
         if (!indexIsValid(index1) || !indexIsValid(index2)) {
             return false;
         }
@@ -0,0 +1,42 @@
+package org.example.collections.implementation;
+
+/**
+ * Mapa por endereçamento aberto que compara as chaves pela identidade ({@code ==}) e
+ * usa {@link System#identityHashCode(Object)} em vez de {@code equals}/{@code hashCode}.
+ * <p>
+ * Serve para associar valores a objetos concretos (por exemplo, as divisões guardadas
+ * no grafo) sem chamar {@code equals}, e sem depender de campos que possam mudar
+ * enquanto o objeto está no mapa.
+ * </p>
+ *
+ * @param <K> O tipo das chaves do mapa.
+ * @param <V> O tipo dos valores do mapa.
+ */
+public class IdentityArrayHashMap<K, V> extends ArrayHashMap<K, V> {
+
+    /**
+     * Cria um mapa vazio com a capacidade padrão.
+     */
+    public IdentityArrayHashMap() {
+        super();
+    }
+
+    /**
+     * Cria um mapa vazio com espaço para {@code expectedSize} chaves sem crescer.
+     *
+     * @param expectedSize O número de chaves esperado.
+     */
+    public IdentityArrayHashMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    @Override
+    protected int hash(Object key) {
+        return System.identityHashCode(key);
+    }
+
+    @Override
+    protected boolean iguais(Object key, Object stored) {
+        return key == stored;
+    }
+}
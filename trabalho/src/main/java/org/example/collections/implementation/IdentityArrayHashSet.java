@@ -0,0 +1,35 @@
+package org.example.collections.implementation;
+
+/**
+ * Conjunto que compara os elementos pela identidade ({@code ==}), sobre um
+ * {@link IdentityArrayHashMap}.
+ * <p>
+ * Adequado para marcar objetos já visitados quando todos vêm da mesma estrutura (por
+ * exemplo, os vértices devolvidos pelo grafo), evitando as chamadas a {@code equals}.
+ * </p>
+ *
+ * @param <T> O tipo de elementos armazenados no conjunto.
+ */
+public class IdentityArrayHashSet<T> extends ArrayHashSet<T> {
+
+    /**
+     * Cria um conjunto vazio com a capacidade padrão.
+     */
+    public IdentityArrayHashSet() {
+        super();
+    }
+
+    /**
+     * Cria um conjunto vazio com espaço para {@code expectedSize} elementos sem crescer.
+     *
+     * @param expectedSize O número de elementos esperado.
+     */
+    public IdentityArrayHashSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    @Override
+    protected ArrayHashMap<T, Boolean> criarMapa(int expectedSize) {
+        return new IdentityArrayHashMap<>(expectedSize);
+    }
+}
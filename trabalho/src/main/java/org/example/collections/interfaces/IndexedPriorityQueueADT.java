@@ -0,0 +1,85 @@
+package org.example.collections.interfaces;
+
+/**
+ * A interface IndexedPriorityQueueADT define o contrato para uma Fila de Prioridade
+ * indexada sobre vértices (identificadores inteiros em {@code [0, capacidade)}).
+ * Cada vértice está no máximo uma vez na fila, com uma chave inteira, e sai primeiro o
+ * vértice de menor chave.
+ *
+ * Ao contrário de {@link PriorityQueueADT}, permite diminuir a chave de um vértice já
+ * presente, a operação de que o algoritmo de Dijkstra precisa quando encontra um
+ * caminho mais barato, sem voltar a enfileirar o vértice.
+ */
+public interface IndexedPriorityQueueADT {
+
+    /**
+     * Adiciona um vértice com uma chave.
+     *
+     * @param vertex o vértice.
+     * @param key    a chave.
+     * @throws IllegalArgumentException se o vértice for inválido ou já estiver na fila.
+     */
+    void add(int vertex, int key);
+
+    /**
+     * Diminui a chave de um vértice presente na fila.
+     *
+     * @param vertex o vértice.
+     * @param key    a nova chave, que não pode ser maior do que a atual.
+     * @throws IllegalArgumentException se o vértice não estiver na fila ou a chave for maior.
+     */
+    void decreaseKey(int vertex, int key);
+
+    /**
+     * Adiciona um vértice ou, se já estiver na fila com uma chave maior, diminui-a.
+     *
+     * @param vertex o vértice.
+     * @param key    a chave.
+     * @return true se a fila foi alterada, false caso contrário.
+     */
+    boolean addOrDecrease(int vertex, int key);
+
+    /**
+     * Remove e retorna o vértice de menor chave.
+     *
+     * @return o vértice de menor chave.
+     * @throws RuntimeException se a fila estiver vazia (a exceção específica depende da implementação).
+     */
+    int removeMin();
+
+    /**
+     * Verifica se um vértice está na fila.
+     *
+     * @param vertex o vértice.
+     * @return true se o vértice estiver na fila, false caso contrário.
+     */
+    boolean contains(int vertex);
+
+    /**
+     * Retorna a chave de um vértice presente na fila.
+     *
+     * @param vertex o vértice.
+     * @return a chave do vértice.
+     * @throws IllegalArgumentException se o vértice não estiver na fila.
+     */
+    int getKey(int vertex);
+
+    /**
+     * Verifica se a fila está vazia, ou seja, sem vértices.
+     *
+     * @return true se a fila não contiver vértices, false caso contrário.
+     */
+    boolean isEmpty();
+
+    /**
+     * Retorna o número de vértices contidos na fila.
+     *
+     * @return a quantidade de vértices na fila.
+     */
+    int size();
+
+    /**
+     * Remove todos os vértices da fila.
+     */
+    void clear();
+}
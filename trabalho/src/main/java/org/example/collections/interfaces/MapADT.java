@@ -0,0 +1,87 @@
+package org.example.collections.interfaces;
+
+import java.util.Iterator;
+
+/**
+ * A interface MapADT define o contrato para um Mapa (Map) abstrato.
+ * Um mapa associa cada chave a um valor; as chaves não se repetem e cada uma tem no
+ * máximo um valor associado.
+ *
+ * Esta interface fornece operações para associar, obter e remover valores pela chave,
+ * verificar se uma chave existe, o tamanho e se o mapa está vazio, esvaziá-lo e
+ * percorrer as suas chaves.
+ *
+ * @param <K> o tipo das chaves do mapa
+ * @param <V> o tipo dos valores do mapa
+ */
+public interface MapADT<K, V> {
+
+    /**
+     * Associa um valor a uma chave, substituindo o valor anterior, se existir.
+     *
+     * @param key   a chave. Não deve ser nula. Se for nula, o comportamento depende da implementação.
+     * @param value o valor a associar à chave.
+     * @return o valor que estava associado à chave, ou null se a chave não existia.
+     */
+    V put(K key, V value);
+
+    /**
+     * Retorna o valor associado a uma chave.
+     *
+     * @param key a chave.
+     * @return o valor associado, ou null se a chave não existir.
+     */
+    V get(K key);
+
+    /**
+     * Verifica se uma chave existe no mapa.
+     *
+     * @param key a chave.
+     * @return true se a chave existir, false caso contrário.
+     */
+    boolean containsKey(K key);
+
+    /**
+     * Remove uma chave, e o valor associado, do mapa.
+     *
+     * @param key a chave a ser removida.
+     * @return o valor que estava associado à chave, ou null se a chave não existia.
+     */
+    V remove(K key);
+
+    /**
+     * Verifica se o mapa está vazio, ou seja, sem chaves.
+     *
+     * @return true se o mapa não contiver chaves, false caso contrário.
+     */
+    boolean isEmpty();
+
+    /**
+     * Retorna o número de chaves contidas no mapa.
+     *
+     * @return a quantidade de chaves no mapa.
+     */
+    int size();
+
+    /**
+     * Remove todas as chaves do mapa.
+     */
+    void clear();
+
+    /**
+     * Retorna um iterador sobre as chaves do mapa, por uma ordem que depende da
+     * implementação.
+     *
+     * @return um iterador sobre as chaves do mapa.
+     */
+    Iterator<K> keys();
+
+    /**
+     * Retorna uma representação em String dos pares chave-valor do mapa. O formato
+     * exato da string depende da implementação.
+     *
+     * @return uma representação textual do mapa.
+     */
+    @Override
+    String toString();
+}
@@ -0,0 +1,71 @@
+package org.example.collections.interfaces;
+
+/**
+ * A interface PriorityQueueADT define o contrato para uma Fila de Prioridade abstrata.
+ * Cada elemento é enfileirado com uma prioridade inteira e sai primeiro o elemento de
+ * menor prioridade; entre elementos com a mesma prioridade, o comportamento depende da
+ * implementação.
+ *
+ * Esta interface fornece operações de enfileiramento com prioridade, desenfileiramento,
+ * inspeção do primeiro elemento e da sua prioridade, verificação de tamanho e se a fila
+ * está vazia, além de gerar uma representação textual da fila.
+ *
+ * @param <T> o tipo de elementos armazenados na fila
+ */
+public interface PriorityQueueADT<T> {
+
+    /**
+     * Enfileira um elemento com uma prioridade.
+     *
+     * @param element  o elemento a ser adicionado.
+     * @param priority a prioridade do elemento; valores menores saem primeiro.
+     */
+    void enqueue(T element, int priority);
+
+    /**
+     * Remove e retorna o elemento de menor prioridade.
+     *
+     * @return o elemento de menor prioridade.
+     * @throws RuntimeException se a fila estiver vazia (a exceção específica depende da implementação).
+     */
+    T dequeue();
+
+    /**
+     * Retorna, sem remover, o elemento de menor prioridade.
+     *
+     * @return o elemento de menor prioridade.
+     * @throws RuntimeException se a fila estiver vazia (a exceção específica depende da implementação).
+     */
+    T first();
+
+    /**
+     * Retorna a prioridade do elemento em {@link #first()}.
+     *
+     * @return a menor prioridade na fila.
+     * @throws RuntimeException se a fila estiver vazia (a exceção específica depende da implementação).
+     */
+    int firstPriority();
+
+    /**
+     * Verifica se a fila está vazia, ou seja, sem elementos.
+     *
+     * @return true se a fila não contiver elementos, false caso contrário.
+     */
+    boolean isEmpty();
+
+    /**
+     * Retorna o número de elementos contidos na fila.
+     *
+     * @return a quantidade de elementos na fila.
+     */
+    int size();
+
+    /**
+     * Retorna uma representação em String dos elementos da fila. O formato exato da
+     * string depende da implementação.
+     *
+     * @return uma representação textual da fila.
+     */
+    @Override
+    String toString();
+}
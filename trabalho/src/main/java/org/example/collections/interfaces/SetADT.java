@@ -0,0 +1,78 @@
+package org.example.collections.interfaces;
+
+import java.util.Iterator;
+
+/**
+ * A interface SetADT define o contrato para um Conjunto (Set) abstrato.
+ * Um conjunto é uma coleção sem elementos repetidos e sem ordem definida, cuja operação
+ * principal é verificar se um elemento pertence ao conjunto.
+ *
+ * Esta interface fornece operações para adicionar, remover e procurar elementos,
+ * verificar o tamanho e se o conjunto está vazio, esvaziá-lo e percorrê-lo.
+ *
+ * @param <T> o tipo de elementos armazenados no conjunto
+ */
+public interface SetADT<T> extends Iterable<T> {
+
+    /**
+     * Adiciona um elemento ao conjunto, se ainda não pertencer a ele.
+     *
+     * @param element o elemento a ser adicionado.
+     *                Não deve ser nulo. Se for nulo, o comportamento depende da implementação.
+     * @return true se o elemento foi adicionado, false se já pertencia ao conjunto.
+     */
+    boolean add(T element);
+
+    /**
+     * Remove um elemento do conjunto.
+     *
+     * @param element o elemento a ser removido.
+     * @return true se o elemento pertencia ao conjunto, false caso contrário.
+     */
+    boolean remove(T element);
+
+    /**
+     * Verifica se um elemento pertence ao conjunto.
+     *
+     * @param element o elemento a procurar.
+     * @return true se o elemento pertencer ao conjunto, false caso contrário.
+     */
+    boolean contains(T element);
+
+    /**
+     * Verifica se o conjunto está vazio, ou seja, sem elementos.
+     *
+     * @return true se o conjunto não contiver elementos, false caso contrário.
+     */
+    boolean isEmpty();
+
+    /**
+     * Retorna o número de elementos contidos no conjunto.
+     *
+     * @return a quantidade de elementos no conjunto.
+     */
+    int size();
+
+    /**
+     * Remove todos os elementos do conjunto.
+     */
+    void clear();
+
+    /**
+     * Retorna um iterador sobre os elementos do conjunto, por uma ordem que depende da
+     * implementação.
+     *
+     * @return um iterador sobre os elementos do conjunto.
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Retorna uma representação em String dos elementos do conjunto. O formato exato
+     * da string depende da implementação.
+     *
+     * @return uma representação textual do conjunto.
+     */
+    @Override
+    String toString();
+}
@@ -0,0 +1,176 @@
+package org.example.collections.primitive;
+
+/**
+ * Lista de inteiros num array que cresce conforme necessário.
+ * <p>
+ * Guarda {@code int} diretamente, sem objetos {@code Integer}, e permite ler e
+ * substituir qualquer posição em tempo constante. Serve para os custos, distâncias e
+ * caminhos (índices de vértices) calculados pelos algoritmos sobre o grafo.
+ * </p>
+ */
+public class IntArrayList {
+
+    /**
+     * Capacidade padrão inicial do array.
+     */
+    protected static final int DEFAULT_CAPACITY = 10;
+
+    private int[] list;
+    private int count;
+
+    /**
+     * Cria uma lista vazia utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Cria uma lista vazia com uma capacidade inicial específica.
+     *
+     * @param initialCapacity capacidade inicial da lista.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade invalida: " + initialCapacity);
+        }
+        list = new int[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Adiciona um inteiro ao fim da lista, duplicando a capacidade se necessário.
+     *
+     * @param element O inteiro a ser adicionado.
+     */
+    public void add(int element) {
+        if (count == list.length) {
+            int[] larger = new int[list.length * 2];
+            System.arraycopy(list, 0, larger, 0, count);
+            list = larger;
+        }
+        list[count++] = element;
+    }
+
+    /**
+     * Retorna o inteiro numa posição.
+     *
+     * @param index A posição.
+     * @return O inteiro nessa posição.
+     * @throws IndexOutOfBoundsException se o índice estiver fora do intervalo.
+     */
+    public int get(int index) {
+        verificarIndice(index);
+        return list[index];
+    }
+
+    /**
+     * Substitui o inteiro numa posição.
+     *
+     * @param index   A posição.
+     * @param element O novo valor.
+     * @return O valor que estava nessa posição.
+     * @throws IndexOutOfBoundsException se o índice estiver fora do intervalo.
+     */
+    public int set(int index, int element) {
+        verificarIndice(index);
+        int anterior = list[index];
+        list[index] = element;
+        return anterior;
+    }
+
+    /**
+     * Remove e retorna o último inteiro da lista.
+     *
+     * @return O último inteiro.
+     * @throws IndexOutOfBoundsException se a lista estiver vazia.
+     */
+    public int removeLast() {
+        verificarIndice(count - 1);
+        return list[--count];
+    }
+
+    /**
+     * Procura a primeira posição de um inteiro.
+     *
+     * @param element O inteiro a procurar.
+     * @return A posição, ou -1 se não estiver na lista.
+     */
+    public int indexOf(int element) {
+        for (int i = 0; i < count; i++) {
+            if (list[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Verifica se um inteiro está na lista.
+     *
+     * @param element O inteiro a procurar.
+     * @return {@code true} se estiver na lista.
+     */
+    public boolean contains(int element) {
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * Verifica se a lista está vazia.
+     *
+     * @return {@code true} se a lista estiver vazia, {@code false} caso contrário.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de elementos na lista.
+     *
+     * @return O tamanho da lista.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia a lista, mantendo a capacidade atual.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Retorna uma cópia dos elementos da lista.
+     *
+     * @return Um array com os {@link #size()} elementos, pela ordem da lista.
+     */
+    public int[] toArray() {
+        int[] copia = new int[count];
+        System.arraycopy(list, 0, copia, 0, count);
+        return copia;
+    }
+
+    private void verificarIndice(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Índice fora do intervalo: " + index);
+        }
+    }
+
+    /**
+     * Retorna uma representação em string da lista.
+     *
+     * @return Uma string contendo os elementos da lista.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntArrayList[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(list[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.collections.primitive;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+
+/**
+ * Pilha de inteiros num array que cresce conforme necessário.
+ * <p>
+ * Tem as mesmas operações que {@link org.example.collections.interfaces.StackADT}, mas
+ * guarda {@code int} diretamente: empilhar não cria objetos {@code Integer} nem nós.
+ * </p>
+ */
+public class IntArrayStack {
+
+    /**
+     * Capacidade padrão inicial do array.
+     */
+    protected static final int DEFAULT_CAPACITY = 10;
+
+    private int[] stack;
+    private int top;
+
+    /**
+     * Cria uma pilha vazia utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    public IntArrayStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Cria uma pilha vazia com uma capacidade inicial específica.
+     *
+     * @param initialCapacity capacidade inicial da pilha.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public IntArrayStack(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade invalida: " + initialCapacity);
+        }
+        stack = new int[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Empilha um inteiro, duplicando a capacidade se necessário.
+     *
+     * @param element O inteiro a empilhar.
+     */
+    public void push(int element) {
+        if (top == stack.length) {
+            int[] larger = new int[stack.length * 2];
+            System.arraycopy(stack, 0, larger, 0, top);
+            stack = larger;
+        }
+        stack[top++] = element;
+    }
+
+    /**
+     * Desempilha e retorna o inteiro do topo.
+     *
+     * @return O inteiro do topo.
+     * @throws EmptyCollectionException se a pilha estiver vazia.
+     */
+    public int pop() throws EmptyCollectionException {
+        if (top == 0) {
+            throw new EmptyCollectionException("Stack");
+        }
+        return stack[--top];
+    }
+
+    /**
+     * Retorna, sem remover, o inteiro do topo.
+     *
+     * @return O inteiro do topo.
+     * @throws EmptyCollectionException se a pilha estiver vazia.
+     */
+    public int peek() throws EmptyCollectionException {
+        if (top == 0) {
+            throw new EmptyCollectionException("Stack");
+        }
+        return stack[top - 1];
+    }
+
+    /**
+     * Verifica se a pilha está vazia.
+     *
+     * @return {@code true} se a pilha não contiver elementos, {@code false} caso contrário.
+     */
+    public boolean isEmpty() {
+        return top == 0;
+    }
+
+    /**
+     * Retorna o número de elementos na pilha.
+     *
+     * @return A quantidade de elementos na pilha.
+     */
+    public int size() {
+        return top;
+    }
+
+    /**
+     * Esvazia a pilha, mantendo a capacidade atual.
+     */
+    public void clear() {
+        top = 0;
+    }
+
+    /**
+     * Retorna uma representação em string da pilha, da base para o topo.
+     *
+     * @return Uma string contendo os elementos da pilha.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntArrayStack[");
+        for (int i = 0; i < top; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(stack[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
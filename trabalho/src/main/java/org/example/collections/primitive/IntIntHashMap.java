@@ -0,0 +1,205 @@
+package org.example.collections.primitive;
+
+/**
+ * Mapa de inteiros para inteiros por endereçamento aberto, com sondagem linear.
+ * <p>
+ * Chaves e valores ficam em arrays de {@code int}, sem objetos {@code Integer} nem nós;
+ * a capacidade é uma potência de dois e duplica quando o mapa fica meio cheio. Qualquer
+ * valor de {@code int} pode ser chave: a ocupação de cada posição é guardada à parte.
+ * A remoção desloca para trás as chaves seguintes do mesmo grupo, para que as pesquisas
+ * não precisem de marcas de posições apagadas.
+ * </p>
+ */
+public class IntIntHashMap {
+
+    /**
+     * Capacidade padrão inicial das tabelas.
+     */
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    private int[] chaves;
+    private int[] valores;
+    private boolean[] ocupadas;
+    private int count;
+
+    /**
+     * Cria um mapa vazio utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * Cria um mapa vazio com espaço para {@code esperados} chaves sem crescer.
+     *
+     * @param esperados O número de chaves esperado.
+     * @throws IllegalArgumentException se o número for negativo ou demasiado grande.
+     */
+    public IntIntHashMap(int esperados) {
+        if (esperados < 0 || esperados > 1 << 29) {
+            throw new IllegalArgumentException("Capacidade invalida: " + esperados);
+        }
+        int capacidade = 2;
+        while (capacidade < esperados * 2) {
+            capacidade <<= 1;
+        }
+        alocar(capacidade);
+    }
+
+    /**
+     * Associa um valor a uma chave, substituindo o valor anterior, se existir.
+     *
+     * @param key   A chave.
+     * @param value O valor.
+     */
+    public void put(int key, int value) {
+        int p = procurar(key);
+        if (ocupadas[p]) {
+            valores[p] = value;
+            return;
+        }
+        chaves[p] = key;
+        valores[p] = value;
+        ocupadas[p] = true;
+        if (++count * 2 > chaves.length) {
+            redimensionar();
+        }
+    }
+
+    /**
+     * Retorna o valor associado a uma chave.
+     *
+     * @param key         A chave.
+     * @param valorOmisso O valor a retornar se a chave não existir.
+     * @return O valor, ou {@code valorOmisso}.
+     */
+    public int getOrDefault(int key, int valorOmisso) {
+        int p = procurar(key);
+        return ocupadas[p] ? valores[p] : valorOmisso;
+    }
+
+    /**
+     * Verifica se uma chave existe no mapa.
+     *
+     * @param key A chave.
+     * @return {@code true} se existir.
+     */
+    public boolean containsKey(int key) {
+        return ocupadas[procurar(key)];
+    }
+
+    /**
+     * Remove uma chave do mapa.
+     *
+     * @param key A chave.
+     * @return {@code true} se a chave existia.
+     */
+    public boolean remove(int key) {
+        int p = procurar(key);
+        if (!ocupadas[p]) {
+            return false;
+        }
+        int mascara = chaves.length - 1;
+        // Desloca para a posicao livre as chaves seguintes que a sondagem deixaria de encontrar.
+        int livre = p;
+        for (int q = (p + 1) & mascara; ocupadas[q]; q = (q + 1) & mascara) {
+            int ideal = misturar(chaves[q]) & mascara;
+            if (((q - ideal) & mascara) >= ((q - livre) & mascara)) {
+                chaves[livre] = chaves[q];
+                valores[livre] = valores[q];
+                livre = q;
+            }
+        }
+        ocupadas[livre] = false;
+        count--;
+        return true;
+    }
+
+    /**
+     * Verifica se o mapa está vazio.
+     *
+     * @return {@code true} se o mapa estiver vazio, {@code false} caso contrário.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de chaves no mapa.
+     *
+     * @return O tamanho do mapa.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia o mapa, mantendo a capacidade atual.
+     */
+    public void clear() {
+        for (int i = 0; i < ocupadas.length; i++) {
+            ocupadas[i] = false;
+        }
+        count = 0;
+    }
+
+    /**
+     * Retorna a posição da chave, ou a posição livre onde seria inserida.
+     */
+    private int procurar(int key) {
+        int mascara = chaves.length - 1;
+        int p = misturar(key) & mascara;
+        while (ocupadas[p] && chaves[p] != key) {
+            p = (p + 1) & mascara;
+        }
+        return p;
+    }
+
+    private void redimensionar() {
+        int[] antigasChaves = chaves;
+        int[] antigosValores = valores;
+        boolean[] antigasOcupadas = ocupadas;
+        alocar(chaves.length * 2);
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasOcupadas[i]) {
+                int p = procurar(antigasChaves[i]);
+                chaves[p] = antigasChaves[i];
+                valores[p] = antigosValores[i];
+                ocupadas[p] = true;
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        valores = new int[capacidade];
+        ocupadas = new boolean[capacidade];
+    }
+
+    private static int misturar(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Retorna uma representação em string do mapa, com os pares chave=valor pela ordem
+     * interna das tabelas.
+     *
+     * @return Uma string contendo os pares do mapa.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntIntHashMap{");
+        boolean primeiro = true;
+        for (int i = 0; i < chaves.length; i++) {
+            if (ocupadas[i]) {
+                if (!primeiro) {
+                    sb.append(", ");
+                }
+                sb.append(chaves[i]).append('=').append(valores[i]);
+                primeiro = false;
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
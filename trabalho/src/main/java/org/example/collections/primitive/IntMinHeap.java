@@ -0,0 +1,281 @@
+package org.example.collections.primitive;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.collections.interfaces.IndexedPriorityQueueADT;
+
+/**
+ * Heap binária de mínimo sobre identificadores inteiros (por exemplo, índices de
+ * vértices) em {@code [0, capacidade)}, cada um com uma chave inteira.
+ * <p>
+ * Cada identificador está no máximo uma vez na heap, e a posição de cada um é guardada,
+ * o que permite diminuir a chave de um identificador já presente em O(log n), a operação
+ * de que o algoritmo de Dijkstra precisa quando encontra um caminho mais barato. Todos os
+ * arrays são alocados no construtor; a heap pode ser esvaziada com {@link #clear()} e
+ * reutilizada sem novas alocações.
+ * </p>
+ * <p>
+ * Entre identificadores com a mesma chave, sai primeiro o de menor identificador, para
+ * que a ordem de saída seja determinista.
+ * </p>
+ */
+public class IntMinHeap implements IndexedPriorityQueueADT {
+
+    /**
+     * Os identificadores, pela ordem da heap.
+     */
+    private final int[] heap;
+
+    /**
+     * A posição de cada identificador em {@code heap}, ou -1 se não estiver na heap.
+     */
+    private final int[] posicao;
+
+    /**
+     * A chave de cada identificador presente.
+     */
+    private final int[] chave;
+
+    private int count;
+
+    /**
+     * Cria uma heap vazia para os identificadores de 0 a {@code capacidade - 1}.
+     *
+     * @param capacidade O número de identificadores possíveis.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public IntMinHeap(int capacidade) {
+        if (capacidade < 0) {
+            throw new IllegalArgumentException("Capacidade invalida: " + capacidade);
+        }
+        heap = new int[capacidade];
+        posicao = new int[capacidade];
+        chave = new int[capacidade];
+        for (int i = 0; i < capacidade; i++) {
+            posicao[i] = -1;
+        }
+    }
+
+    /**
+     * Adiciona um identificador com uma chave.
+     *
+     * @param vertex O identificador.
+     * @param key    A chave.
+     * @throws IllegalArgumentException se o identificador for invalido ou ja estiver na heap.
+     */
+    @Override
+    public void add(int vertex, int key) {
+        verificar(vertex);
+        if (posicao[vertex] != -1) {
+            throw new IllegalArgumentException("O identificador ja esta na heap: " + vertex);
+        }
+        chave[vertex] = key;
+        heap[count] = vertex;
+        posicao[vertex] = count;
+        subir(count++);
+    }
+
+    /**
+     * Diminui a chave de um identificador presente na heap.
+     *
+     * @param vertex O identificador.
+     * @param key    A nova chave, que não pode ser maior do que a atual.
+     * @throws IllegalArgumentException se o identificador nao estiver na heap ou se a
+     *                                  chave for maior do que a atual.
+     */
+    @Override
+    public void decreaseKey(int vertex, int key) {
+        verificar(vertex);
+        if (posicao[vertex] == -1) {
+            throw new IllegalArgumentException("O identificador nao esta na heap: " + vertex);
+        }
+        if (key > chave[vertex]) {
+            throw new IllegalArgumentException("A nova chave e maior do que a atual: " + key);
+        }
+        chave[vertex] = key;
+        subir(posicao[vertex]);
+    }
+
+    /**
+     * Adiciona um identificador ou, se já estiver na heap com uma chave maior, diminui-a.
+     *
+     * @param vertex O identificador.
+     * @param key    A chave.
+     * @return {@code true} se a heap foi alterada.
+     * @throws IllegalArgumentException se o identificador for invalido.
+     */
+    @Override
+    public boolean addOrDecrease(int vertex, int key) {
+        verificar(vertex);
+        if (posicao[vertex] == -1) {
+            add(vertex, key);
+            return true;
+        }
+        if (key < chave[vertex]) {
+            decreaseKey(vertex, key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove e retorna o identificador com a menor chave.
+     *
+     * @return O identificador.
+     * @throws EmptyCollectionException se a heap estiver vazia.
+     */
+    @Override
+    public int removeMin() throws EmptyCollectionException {
+        if (count == 0) {
+            throw new EmptyCollectionException("Heap");
+        }
+        int minimo = heap[0];
+        posicao[minimo] = -1;
+        if (--count > 0) {
+            heap[0] = heap[count];
+            posicao[heap[0]] = 0;
+            descer(0);
+        }
+        return minimo;
+    }
+
+    /**
+     * Retorna, sem remover, o identificador com a menor chave.
+     *
+     * @return O identificador.
+     * @throws EmptyCollectionException se a heap estiver vazia.
+     */
+    public int peekMin() throws EmptyCollectionException {
+        if (count == 0) {
+            throw new EmptyCollectionException("Heap");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Retorna a menor chave da heap.
+     *
+     * @return A chave do identificador em {@link #peekMin()}.
+     * @throws EmptyCollectionException se a heap estiver vazia.
+     */
+    public int peekMinKey() throws EmptyCollectionException {
+        return chave[peekMin()];
+    }
+
+    /**
+     * Verifica se um identificador está na heap.
+     *
+     * @param vertex O identificador.
+     * @return {@code true} se estiver na heap.
+     */
+    @Override
+    public boolean contains(int vertex) {
+        return vertex >= 0 && vertex < posicao.length && posicao[vertex] != -1;
+    }
+
+    /**
+     * Retorna a chave de um identificador presente na heap.
+     *
+     * @param vertex O identificador.
+     * @return A chave.
+     * @throws IllegalArgumentException se o identificador nao estiver na heap.
+     */
+    @Override
+    public int getKey(int vertex) {
+        if (!contains(vertex)) {
+            throw new IllegalArgumentException("O identificador nao esta na heap: " + vertex);
+        }
+        return chave[vertex];
+    }
+
+    /**
+     * Verifica se a heap está vazia.
+     *
+     * @return {@code true} se a heap estiver vazia, {@code false} caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de identificadores na heap.
+     *
+     * @return O tamanho da heap.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia a heap.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            posicao[heap[i]] = -1;
+        }
+        count = 0;
+    }
+
+    private boolean menor(int a, int b) {
+        return chave[a] < chave[b] || (chave[a] == chave[b] && a < b);
+    }
+
+    private void subir(int i) {
+        int vertex = heap[i];
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (!menor(vertex, heap[pai])) {
+                break;
+            }
+            heap[i] = heap[pai];
+            posicao[heap[i]] = i;
+            i = pai;
+        }
+        heap[i] = vertex;
+        posicao[vertex] = i;
+    }
+
+    private void descer(int i) {
+        int vertex = heap[i];
+        int filho;
+        while ((filho = 2 * i + 1) < count) {
+            if (filho + 1 < count && menor(heap[filho + 1], heap[filho])) {
+                filho++;
+            }
+            if (!menor(heap[filho], vertex)) {
+                break;
+            }
+            heap[i] = heap[filho];
+            posicao[heap[i]] = i;
+            i = filho;
+        }
+        heap[i] = vertex;
+        posicao[vertex] = i;
+    }
+
+    private void verificar(int vertex) {
+        if (vertex < 0 || vertex >= posicao.length) {
+            throw new IllegalArgumentException("Identificador invalido: " + vertex);
+        }
+    }
+
+    /**
+     * Retorna uma representação em string da heap, com os pares identificador=chave pela
+     * ordem interna.
+     *
+     * @return Uma string contendo os elementos da heap.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntMinHeap[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(heap[i]).append('=').append(chave[heap[i]]);
+        }
+        return sb.append(']').toString();
+    }
+}
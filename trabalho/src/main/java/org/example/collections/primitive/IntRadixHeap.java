@@ -0,0 +1,298 @@
+package org.example.collections.primitive;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.collections.interfaces.IndexedPriorityQueueADT;
+
+/**
+ * Heap radix indexada sobre vértices em {@code [0, capacidade)}, para chaves inteiras
+ * monótonas: nenhuma chave adicionada ou diminuída pode ser menor do que o último
+ * mínimo removido, o que acontece no algoritmo de Dijkstra com custos não negativos
+ * (por exemplo, a vida perdida nos combates).
+ * <p>
+ * Os vértices ficam em 33 baldes, conforme o bit mais alto em que a sua chave difere
+ * do último mínimo; o balde 0 tem os vértices com chave igual ao último mínimo.
+ * Adicionar e diminuir uma chave custam O(1), sem comparações: o vértice muda de balde
+ * numa lista duplamente ligada guardada em arrays. Remover o mínimo só percorre um balde
+ * quando o balde 0 está vazio, redistribuindo-o pelos baldes inferiores; cada vértice
+ * desce no máximo 32 vezes, pelo que o custo amortizado é O(log C), com C a amplitude
+ * das chaves. Todos os arrays são alocados no construtor.
+ * </p>
+ * <p>
+ * Entre vértices com a mesma chave, a ordem de saída depende da ordem das operações,
+ * mas é sempre a mesma para a mesma sequência de operações.
+ * </p>
+ */
+public class IntRadixHeap implements IndexedPriorityQueueADT {
+
+    private static final int BALDES = 33;
+
+    private final int[] chave;
+
+    /**
+     * O balde de cada vértice, ou -1 se não estiver na heap.
+     */
+    private final int[] balde;
+    private final int[] seguinte;
+    private final int[] anterior;
+
+    /**
+     * O primeiro vértice de cada balde, ou -1 se o balde estiver vazio.
+     */
+    private final int[] cabeca = new int[BALDES];
+
+    /**
+     * O último mínimo removido.
+     */
+    private int ultimo = Integer.MIN_VALUE;
+    private int count;
+
+    /**
+     * Cria uma heap vazia para os vértices de 0 a {@code capacidade - 1}.
+     *
+     * @param capacidade O número de vértices possíveis.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public IntRadixHeap(int capacidade) {
+        if (capacidade < 0) {
+            throw new IllegalArgumentException("Capacidade invalida: " + capacidade);
+        }
+        chave = new int[capacidade];
+        balde = new int[capacidade];
+        seguinte = new int[capacidade];
+        anterior = new int[capacidade];
+        for (int i = 0; i < capacidade; i++) {
+            balde[i] = -1;
+        }
+        for (int b = 0; b < BALDES; b++) {
+            cabeca[b] = -1;
+        }
+    }
+
+    /**
+     * Adiciona um vértice com uma chave.
+     *
+     * @param vertex O vértice.
+     * @param key    A chave, não menor do que o último mínimo removido.
+     * @throws IllegalArgumentException se o vértice for inválido, já estiver na heap ou a
+     *                                  chave for menor do que o último mínimo.
+     */
+    @Override
+    public void add(int vertex, int key) {
+        verificar(vertex);
+        if (balde[vertex] != -1) {
+            throw new IllegalArgumentException("O vertice ja esta na heap: " + vertex);
+        }
+        verificarMonotonia(key);
+        chave[vertex] = key;
+        ligar(vertex);
+        count++;
+    }
+
+    /**
+     * Diminui a chave de um vértice presente na heap.
+     *
+     * @param vertex O vértice.
+     * @param key    A nova chave, entre o último mínimo removido e a chave atual.
+     * @throws IllegalArgumentException se o vértice não estiver na heap ou a chave estiver
+     *                                  fora desse intervalo.
+     */
+    @Override
+    public void decreaseKey(int vertex, int key) {
+        verificar(vertex);
+        if (balde[vertex] == -1) {
+            throw new IllegalArgumentException("O vertice nao esta na heap: " + vertex);
+        }
+        if (key > chave[vertex]) {
+            throw new IllegalArgumentException("A nova chave e maior do que a atual: " + key);
+        }
+        verificarMonotonia(key);
+        desligar(vertex);
+        chave[vertex] = key;
+        ligar(vertex);
+    }
+
+    /**
+     * Adiciona um vértice ou, se já estiver na heap com uma chave maior, diminui-a.
+     *
+     * @param vertex O vértice.
+     * @param key    A chave.
+     * @return {@code true} se a heap foi alterada.
+     * @throws IllegalArgumentException se o vértice for inválido ou a chave for menor do
+     *                                  que o último mínimo.
+     */
+    @Override
+    public boolean addOrDecrease(int vertex, int key) {
+        verificar(vertex);
+        if (balde[vertex] == -1) {
+            add(vertex, key);
+            return true;
+        }
+        if (key < chave[vertex]) {
+            decreaseKey(vertex, key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove e retorna o vértice com a menor chave.
+     *
+     * @return O vértice.
+     * @throws EmptyCollectionException se a heap estiver vazia.
+     */
+    @Override
+    public int removeMin() throws EmptyCollectionException {
+        if (count == 0) {
+            throw new EmptyCollectionException("Heap");
+        }
+        if (cabeca[0] == -1) {
+            int b = 1;
+            while (cabeca[b] == -1) {
+                b++;
+            }
+            // O novo ultimo minimo e a menor chave do primeiro balde nao vazio; todos os seus
+            // vertices passam para baldes inferiores.
+            int minimo = Integer.MAX_VALUE;
+            for (int v = cabeca[b]; v != -1; v = seguinte[v]) {
+                minimo = Math.min(minimo, chave[v]);
+            }
+            ultimo = minimo;
+            int v = cabeca[b];
+            cabeca[b] = -1;
+            while (v != -1) {
+                int proximo = seguinte[v];
+                ligar(v);
+                v = proximo;
+            }
+        }
+
+        int vertex = cabeca[0];
+        desligar(vertex);
+        balde[vertex] = -1;
+        count--;
+        return vertex;
+    }
+
+    /**
+     * Verifica se um vértice está na heap.
+     *
+     * @param vertex O vértice.
+     * @return {@code true} se estiver na heap.
+     */
+    @Override
+    public boolean contains(int vertex) {
+        return vertex >= 0 && vertex < balde.length && balde[vertex] != -1;
+    }
+
+    /**
+     * Retorna a chave de um vértice presente na heap.
+     *
+     * @param vertex O vértice.
+     * @return A chave.
+     * @throws IllegalArgumentException se o vértice não estiver na heap.
+     */
+    @Override
+    public int getKey(int vertex) {
+        if (!contains(vertex)) {
+            throw new IllegalArgumentException("O vertice nao esta na heap: " + vertex);
+        }
+        return chave[vertex];
+    }
+
+    /**
+     * Verifica se a heap está vazia.
+     *
+     * @return {@code true} se a heap estiver vazia, {@code false} caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de vértices na heap.
+     *
+     * @return O tamanho da heap.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia a heap e volta a aceitar qualquer chave.
+     */
+    @Override
+    public void clear() {
+        for (int b = 0; b < BALDES; b++) {
+            for (int v = cabeca[b]; v != -1; v = seguinte[v]) {
+                balde[v] = -1;
+            }
+            cabeca[b] = -1;
+        }
+        ultimo = Integer.MIN_VALUE;
+        count = 0;
+    }
+
+    /**
+     * Põe um vértice à cabeça do balde correspondente à sua chave.
+     */
+    private void ligar(int vertex) {
+        int b = 32 - Integer.numberOfLeadingZeros(chave[vertex] ^ ultimo);
+        balde[vertex] = b;
+        anterior[vertex] = -1;
+        seguinte[vertex] = cabeca[b];
+        if (cabeca[b] != -1) {
+            anterior[cabeca[b]] = vertex;
+        }
+        cabeca[b] = vertex;
+    }
+
+    /**
+     * Tira um vértice do seu balde.
+     */
+    private void desligar(int vertex) {
+        int b = balde[vertex];
+        if (anterior[vertex] != -1) {
+            seguinte[anterior[vertex]] = seguinte[vertex];
+        } else {
+            cabeca[b] = seguinte[vertex];
+        }
+        if (seguinte[vertex] != -1) {
+            anterior[seguinte[vertex]] = anterior[vertex];
+        }
+    }
+
+    private void verificarMonotonia(int key) {
+        if (key < ultimo) {
+            throw new IllegalArgumentException("A chave " + key + " e menor do que o ultimo minimo " + ultimo);
+        }
+    }
+
+    private void verificar(int vertex) {
+        if (vertex < 0 || vertex >= balde.length) {
+            throw new IllegalArgumentException("Vertice invalido: " + vertex);
+        }
+    }
+
+    /**
+     * Retorna uma representação em string da heap, com os pares vértice=chave por balde.
+     *
+     * @return Uma string contendo os elementos da heap.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntRadixHeap[");
+        boolean primeiro = true;
+        for (int b = 0; b < BALDES; b++) {
+            for (int v = cabeca[b]; v != -1; v = seguinte[v]) {
+                if (!primeiro) {
+                    sb.append(", ");
+                }
+                sb.append(v).append('=').append(chave[v]);
+                primeiro = false;
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.collections.primitive;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+
+/**
+ * Fila de inteiros num array circular, especializada para os índices dos vértices nas
+ * travessias do grafo.
+ * <p>
+ * Tem as mesmas operações que {@link org.example.collections.interfaces.QueueADT}, mas
+ * guarda {@code int} diretamente: enfileirar não cria objetos {@code Integer} nem nós.
+ * A capacidade é sempre uma potência de dois, para que o avanço circular dos índices
+ * seja uma máscara de bits. A fila pode ser esvaziada com {@link #clear()} e reutilizada
+ * entre travessias sem voltar a alocar o array.
+ * </p>
+ */
+public class IntRingQueue {
+
+    /**
+     * Capacidade padrão inicial do array.
+     */
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    private int[] queue;
+    private int front;
+    private int count;
+
+    /**
+     * Cria uma fila vazia utilizando a capacidade padrão {@link #DEFAULT_CAPACITY}.
+     */
+    public IntRingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Cria uma fila vazia com capacidade para pelo menos {@code initialCapacity} elementos.
+     *
+     * @param initialCapacity capacidade inicial da fila.
+     * @throws IllegalArgumentException se a capacidade for negativa ou demasiado grande.
+     */
+    public IntRingQueue(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade invalida: " + initialCapacity);
+        }
+        int capacidade = 1;
+        while (capacidade < initialCapacity) {
+            capacidade <<= 1;
+        }
+        queue = new int[capacidade];
+    }
+
+    /**
+     * Adiciona um inteiro à traseira da fila, duplicando a capacidade se necessário.
+     *
+     * @param element O inteiro a ser adicionado.
+     */
+    public void enqueue(int element) {
+        if (count == queue.length) {
+            expandCapacity();
+        }
+        queue[(front + count) & (queue.length - 1)] = element;
+        count++;
+    }
+
+    private void expandCapacity() {
+        int[] larger = new int[queue.length * 2];
+        int primeiros = queue.length - front;
+        System.arraycopy(queue, front, larger, 0, primeiros);
+        System.arraycopy(queue, 0, larger, primeiros, front);
+        front = 0;
+        queue = larger;
+    }
+
+    /**
+     * Remove e retorna o inteiro na frente da fila.
+     *
+     * @return O inteiro na frente da fila.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    public int dequeue() throws EmptyCollectionException {
+        if (count == 0) {
+            throw new EmptyCollectionException("Queue");
+        }
+        int result = queue[front];
+        front = (front + 1) & (queue.length - 1);
+        count--;
+        return result;
+    }
+
+    /**
+     * Retorna o inteiro na frente da fila sem removê-lo.
+     *
+     * @return O inteiro na frente da fila.
+     * @throws EmptyCollectionException Se a fila estiver vazia.
+     */
+    public int first() throws EmptyCollectionException {
+        if (count == 0) {
+            throw new EmptyCollectionException("Queue");
+        }
+        return queue[front];
+    }
+
+    /**
+     * Verifica se a fila está vazia.
+     *
+     * @return {@code true} se a fila estiver vazia, {@code false} caso contrário.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Retorna o número de elementos na fila.
+     *
+     * @return O tamanho da fila.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Esvazia a fila, mantendo a capacidade atual.
+     */
+    public void clear() {
+        front = count = 0;
+    }
+
+    /**
+     * Retorna uma representação em string da fila, da frente para a traseira.
+     *
+     * @return Uma string contendo os elementos da fila.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IntRingQueue[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(queue[(front + i) & (queue.length - 1)]);
+        }
+        return sb.append(']').toString();
+    }
+}
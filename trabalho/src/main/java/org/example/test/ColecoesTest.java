@@ -0,0 +1,363 @@
+package org.example.test;
+
+import org.example.collections.exceptions.EmptyCollectionException;
+import org.example.collections.implementation.ArrayHashMap;
+import org.example.collections.implementation.ArrayHashSet;
+import org.example.collections.implementation.ArrayPriorityQueue;
+import org.example.collections.implementation.ArrayQueue;
+import org.example.collections.implementation.Graph;
+import org.example.collections.implementation.IdentityArrayHashSet;
+import org.example.collections.interfaces.IndexedPriorityQueueADT;
+import org.example.collections.primitive.IntArrayList;
+import org.example.collections.primitive.IntArrayStack;
+import org.example.collections.primitive.IntIntHashMap;
+import org.example.collections.primitive.IntMinHeap;
+import org.example.collections.primitive.IntRadixHeap;
+import org.example.collections.primitive.IntRingQueue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes das colecoes em array: as filas circulares, os conjuntos e mapas por
+ * dispersao, as filas de prioridade e as colecoes de inteiros do pacote {@code collections.primitive}.
+ */
+public class ColecoesTest {
+
+    /**
+     * Testa que as filas circulares mantem a ordem FIFO quando os indices dao a volta ao
+     * array e quando a capacidade cresce a meio.
+     */
+    @Test
+    void testFilasCircularesMantemOrdem() {
+        ArrayQueue<Integer> fila = new ArrayQueue<>(3);
+        IntRingQueue filaInt = new IntRingQueue(2);
+        int proximo = 0;
+        int esperado = 0;
+        for (int ronda = 0; ronda < 50; ronda++) {
+            for (int k = 0; k < ronda % 7; k++) {
+                fila.enqueue(proximo);
+                filaInt.enqueue(proximo++);
+            }
+            for (int k = 0; k < ronda % 5 && !fila.isEmpty(); k++) {
+                assertEquals(esperado, filaInt.first());
+                assertEquals(esperado, filaInt.dequeue());
+                assertEquals(esperado++, fila.dequeue());
+            }
+            assertEquals(fila.size(), filaInt.size());
+        }
+        while (!fila.isEmpty()) {
+            assertEquals(esperado, filaInt.dequeue());
+            assertEquals(esperado++, fila.dequeue());
+        }
+        assertEquals(proximo, esperado);
+        assertThrows(EmptyCollectionException.class, fila::dequeue);
+        assertThrows(EmptyCollectionException.class, filaInt::dequeue);
+    }
+
+    /**
+     * Testa as filas circulares num caso fixo: a traseira da a volta ao array, a
+     * capacidade cresce com a frente a meio do array, e uma fila vazia, nova ou depois
+     * de {@code clear}, nao devolve elementos.
+     */
+    @Test
+    void testFilasCrescemComOsIndicesDadosAVolta() {
+        ArrayQueue<Integer> fila = new ArrayQueue<>(4);
+        IntRingQueue filaInt = new IntRingQueue(4);
+        assertThrows(EmptyCollectionException.class, fila::first);
+        assertThrows(EmptyCollectionException.class, fila::dequeue);
+        assertThrows(EmptyCollectionException.class, filaInt::first);
+        assertThrows(EmptyCollectionException.class, filaInt::dequeue);
+
+        for (int i = 1; i <= 4; i++) {
+            fila.enqueue(i);
+            filaInt.enqueue(i);
+        }
+        assertEquals(1, fila.dequeue());
+        assertEquals(2, fila.dequeue());
+        assertEquals(1, filaInt.dequeue());
+        assertEquals(2, filaInt.dequeue());
+
+        // A traseira da a volta e a fila fica cheia com a frente na posicao 2
+        fila.enqueue(5);
+        fila.enqueue(6);
+        filaInt.enqueue(5);
+        filaInt.enqueue(6);
+        assertEquals("ArrayQueue{front=2, rear=2, size=4, queue=[3, 4, 5, 6]}", fila.toString());
+
+        // Cresce com os elementos divididos entre o fim e o inicio do array
+        fila.enqueue(7);
+        filaInt.enqueue(7);
+        assertEquals("ArrayQueue{front=0, rear=5, size=5, queue=[3, 4, 5, 6, 7]}", fila.toString());
+        assertEquals("IntRingQueue[3, 4, 5, 6, 7]", filaInt.toString());
+        for (int esperado = 3; esperado <= 7; esperado++) {
+            assertEquals(esperado, fila.first());
+            assertEquals(esperado, fila.dequeue());
+            assertEquals(esperado, filaInt.first());
+            assertEquals(esperado, filaInt.dequeue());
+        }
+        assertTrue(fila.isEmpty());
+        assertTrue(filaInt.isEmpty());
+        assertThrows(EmptyCollectionException.class, fila::dequeue);
+        assertThrows(EmptyCollectionException.class, filaInt::dequeue);
+
+        fila.enqueue(8);
+        filaInt.enqueue(8);
+        fila.clear();
+        filaInt.clear();
+        assertEquals(0, fila.size());
+        assertEquals(0, filaInt.size());
+        assertThrows(EmptyCollectionException.class, fila::first);
+        assertThrows(EmptyCollectionException.class, filaInt::first);
+        fila.enqueue(9);
+        filaInt.enqueue(9);
+        assertEquals(9, fila.dequeue());
+        assertEquals(9, filaInt.dequeue());
+    }
+
+    /**
+     * Testa a lista e a pilha de inteiros.
+     */
+    @Test
+    void testListaEPilhaDeInteiros() {
+        IntArrayList lista = new IntArrayList(1);
+        IntArrayStack pilha = new IntArrayStack(1);
+        for (int i = 0; i < 100; i++) {
+            lista.add(i * 2);
+            pilha.push(i);
+        }
+        assertEquals(100, lista.size());
+        assertEquals(84, lista.set(42, -1));
+        assertEquals(-1, lista.get(42));
+        assertEquals(42, lista.indexOf(-1));
+        assertFalse(lista.contains(84));
+        assertEquals(198, lista.removeLast());
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(99));
+
+        for (int i = 99; i >= 0; i--) {
+            assertEquals(i, pilha.peek());
+            assertEquals(i, pilha.pop());
+        }
+        assertThrows(EmptyCollectionException.class, pilha::pop);
+    }
+
+    /**
+     * Testa a heap de minimo contra uma procura linear do minimo, com insercoes,
+     * diminuicoes de chave e remocoes misturadas.
+     */
+    @Test
+    void testIntMinHeapComDiminuicaoDeChave() {
+        Random random = new Random(7);
+        int n = 200;
+        IntMinHeap heap = new IntMinHeap(n);
+        int[] chaves = new int[n];
+        boolean[] presentes = new boolean[n];
+
+        for (int passo = 0; passo < 5000; passo++) {
+            int v = random.nextInt(n);
+            int operacao = random.nextInt(3);
+            if (operacao == 0 && !presentes[v]) {
+                chaves[v] = random.nextInt(1000);
+                heap.add(v, chaves[v]);
+                presentes[v] = true;
+            } else if (operacao == 1 && presentes[v]) {
+                chaves[v] -= random.nextInt(50);
+                heap.decreaseKey(v, chaves[v]);
+            } else if (operacao == 2 && !heap.isEmpty()) {
+                int minimo = -1;
+                for (int i = 0; i < n; i++) {
+                    if (presentes[i] && (minimo == -1 || chaves[i] < chaves[minimo])) {
+                        minimo = i;
+                    }
+                }
+                assertEquals(chaves[minimo], heap.peekMinKey());
+                assertEquals(minimo, heap.removeMin());
+                presentes[minimo] = false;
+            }
+        }
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertTrue(heap.addOrDecrease(3, 10));
+        assertFalse(heap.addOrDecrease(3, 12));
+        assertTrue(heap.addOrDecrease(3, 4));
+        assertEquals(4, heap.getKey(3));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(3, 5));
+        assertThrows(IllegalArgumentException.class, () -> heap.add(3, 1));
+    }
+
+    /**
+     * Testa o mapa de inteiros com chaves que colidem, remocoes e crescimento das tabelas.
+     */
+    @Test
+    void testIntIntHashMap() {
+        IntIntHashMap mapa = new IntIntHashMap(2);
+        for (int i = -500; i < 500; i++) {
+            mapa.put(i * 1024, i);
+        }
+        assertEquals(1000, mapa.size());
+        for (int i = -500; i < 500; i += 2) {
+            assertTrue(mapa.remove(i * 1024));
+        }
+        assertFalse(mapa.remove(-500 * 1024));
+        assertEquals(500, mapa.size());
+        for (int i = -500; i < 500; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i, mapa.getOrDefault(i * 1024, -1));
+        }
+        mapa.put(1024 * 3, 0);
+        assertEquals(0, mapa.getOrDefault(1024 * 3, -1));
+        assertFalse(mapa.containsKey(Integer.MIN_VALUE));
+        mapa.put(0, 9);
+        assertTrue(mapa.containsKey(0));
+    }
+
+    /**
+     * Testa o mapa e os conjuntos por dispersao: substituicao de valores, remocoes com
+     * deslocamento das chaves seguintes, reserva de espaco, iteracao e comparacao pela
+     * identidade.
+     */
+    @Test
+    void testMapaEConjuntosPorDispersao() {
+        ArrayHashMap<String, Integer> mapa = new ArrayHashMap<>(1);
+        for (int i = 0; i < 1000; i++) {
+            assertNull(mapa.put("k" + i, i));
+        }
+        assertEquals(999, mapa.put("k999", -1));
+        for (int i = 0; i < 1000; i += 3) {
+            assertEquals(i == 999 ? -1 : i, mapa.remove("k" + i));
+        }
+        assertNull(mapa.remove("k0"));
+        assertEquals(666, mapa.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 3 != 0, mapa.containsKey("k" + i));
+        }
+        int percorridas = 0;
+        for (Iterator<String> it = mapa.keys(); it.hasNext(); it.next()) {
+            percorridas++;
+        }
+        assertEquals(666, percorridas);
+        assertThrows(IllegalArgumentException.class, () -> mapa.put(null, 1));
+
+        // Reservar espaco redistribui as chaves sem perder nenhuma
+        mapa.ensureCapacity(5000);
+        assertEquals(666, mapa.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 3 != 0 ? Integer.valueOf(i) : null, mapa.get("k" + i));
+        }
+
+        String a = new String("divisao");
+        String b = new String("divisao");
+        ArrayHashSet<String> porIgualdade = new ArrayHashSet<>();
+        IdentityArrayHashSet<String> porIdentidade = new IdentityArrayHashSet<>();
+        assertTrue(porIgualdade.add(a));
+        assertFalse(porIgualdade.add(b));
+        assertTrue(porIdentidade.add(a));
+        assertTrue(porIdentidade.add(b));
+        assertEquals(2, porIdentidade.size());
+        assertTrue(porIdentidade.remove(b));
+        assertFalse(porIdentidade.contains(b));
+        assertTrue(porIgualdade.contains(b));
+    }
+
+    /**
+     * Testa que o indice de um vertice no grafo acompanha as remocoes de vertices.
+     */
+    @Test
+    void testIndiceDosVerticesDoGrafo() {
+        Graph<String> grafo = new Graph<>();
+        for (int i = 0; i < 30; i++) {
+            grafo.addVertex("v" + i);
+        }
+        grafo.removeVertex("v3");
+        assertEquals(-1, grafo.getIndex("v3"));
+        assertEquals(3, grafo.getIndex("v4"));
+        assertEquals(28, grafo.getIndex("v29"));
+        assertEquals(-1, grafo.getIndex(null));
+    }
+
+    /**
+     * Testa que a fila de prioridade em array sai por ordem de prioridade e, entre
+     * prioridades iguais, pela ordem de chegada.
+     */
+    @Test
+    void testFilaDePrioridadeDesempataPorChegada() {
+        ArrayPriorityQueue<String> fila = new ArrayPriorityQueue<>(2);
+        fila.enqueue("c", 5);
+        fila.enqueue("a", 1);
+        fila.enqueue("d", 5);
+        fila.enqueue("b", 1);
+        fila.enqueue("e", 9);
+
+        assertEquals("a", fila.first());
+        assertEquals(1, fila.firstPriority());
+        String[] esperado = {"a", "b", "c", "d", "e"};
+        for (String elemento : esperado) {
+            assertEquals(elemento, fila.dequeue());
+        }
+        assertTrue(fila.isEmpty());
+        assertThrows(EmptyCollectionException.class, fila::dequeue);
+    }
+
+    /**
+     * Testa que a heap radix e a heap binaria indexada dao os mesmos custos num Dijkstra
+     * sobre grafos aleatorios, e que a heap radix recusa chaves abaixo do ultimo minimo.
+     */
+    @Test
+    void testHeapRadixIgualAHeapBinariaNoDijkstra() {
+        Random random = new Random(7);
+        for (int ronda = 0; ronda < 20; ronda++) {
+            int n = 1 + random.nextInt(60);
+            boolean[][] ligadas = new boolean[n][n];
+            for (int e = 0; e < n * 2; e++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                ligadas[a][b] = ligadas[b][a] = a != b;
+            }
+            int[] custoEntrada = new int[n];
+            for (int i = 0; i < n; i++) {
+                custoEntrada[i] = random.nextInt(201);
+            }
+
+            assertArrayEquals(dijkstra(new IntMinHeap(n), ligadas, custoEntrada),
+                    dijkstra(new IntRadixHeap(n), ligadas, custoEntrada));
+        }
+
+        IntRadixHeap heap = new IntRadixHeap(3);
+        heap.add(0, 10);
+        heap.add(1, 4);
+        assertEquals(1, heap.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> heap.add(2, 3));
+        heap.decreaseKey(0, 4);
+        assertEquals(0, heap.removeMin());
+        assertThrows(EmptyCollectionException.class, heap::removeMin);
+        heap.clear();
+        heap.add(2, 3);
+        assertEquals(3, heap.getKey(2));
+    }
+
+    private int[] dijkstra(IndexedPriorityQueueADT heap, boolean[][] ligadas, int[] custoEntrada) {
+        int n = custoEntrada.length;
+        int[] custos = new int[n];
+        boolean[] fixada = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            custos[i] = Integer.MAX_VALUE;
+        }
+        custos[0] = 0;
+        heap.add(0, 0);
+        while (!heap.isEmpty()) {
+            int atual = heap.removeMin();
+            fixada[atual] = true;
+            for (int vizinho = 0; vizinho < n; vizinho++) {
+                if (ligadas[atual][vizinho] && !fixada[vizinho]
+                        && custos[atual] + custoEntrada[vizinho] < custos[vizinho]) {
+                    custos[vizinho] = custos[atual] + custoEntrada[vizinho];
+                    heap.addOrDecrease(vizinho, custos[vizinho]);
+                }
+            }
+        }
+        return custos;
+    }
+}
@@ -0,0 +1,454 @@
+package org.example.test;
+
+import org.example.api.exceptions.ElementNotFoundException;
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.models.DivisaoImpl;
+import org.example.api.implementation.models.InimigoImpl;
+import org.example.api.implementation.models.ItemImpl;
+import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.RegrasCombate;
+import org.example.api.implementation.models.ResultadoCombate;
+import org.example.api.implementation.models.ToCruz;
+import org.example.api.implementation.services.CombateServiceImpl;
+import org.example.api.implementation.services.MotorCombateLote;
+import org.example.api.implementation.services.MotorCombateParticionado;
+import org.example.api.implementation.utils.RegistoEventosNulo;
+import org.example.collections.implementation.ArrayUnorderedList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes para validar o comportamento da CombateServiceImpl.
+ * Compara a resolucao analitica (registo nao detalhado) com a resolucao golpe a
+ * golpe (registo detalhado).
+ */
+public class CombateServiceTest {
+
+    /**
+     * Registo que guarda os eventos nao detalhados num texto, para comparar as duas resolucoes.
+     */
+    private static class RegistoTexto extends RegistoEventosNulo {
+        private final boolean detalhado;
+        private final StringBuilder texto = new StringBuilder();
+
+        /**
+         * Os movimentos dos inimigos, pela ordem dos eventos.
+         */
+        private final ArrayUnorderedList<IInimigo> movidos = new ArrayUnorderedList<>();
+        private final ArrayUnorderedList<IDivisao> origens = new ArrayUnorderedList<>();
+        private final ArrayUnorderedList<IDivisao> destinos = new ArrayUnorderedList<>();
+
+        RegistoTexto(boolean detalhado) {
+            this.detalhado = detalhado;
+        }
+
+        @Override
+        public boolean isDetalhado() {
+            return detalhado;
+        }
+
+        @Override
+        public void inimigoDerrotado(IInimigo inimigo) {
+            texto.append("derrotado:").append(inimigo.getNome()).append(';');
+        }
+
+        @Override
+        public void salaLimpa(IDivisao divisao) {
+            texto.append("limpa;");
+        }
+
+        @Override
+        public void toCruzDerrotado(IDivisao divisao) {
+            texto.append("toCruzDerrotado;");
+        }
+
+        @Override
+        public void inimigoMoveu(IInimigo inimigo, IDivisao origem, IDivisao destino) {
+            texto.append("moveu:").append(inimigo.getNome()).append(':').append(origem.getNomeDivisao())
+                    .append("->").append(destino.getNomeDivisao()).append(';');
+            movidos.addToRear(inimigo);
+            origens.addToRear(origem);
+            destinos.addToRear(destino);
+        }
+
+        @Override
+        public void combateTerminado(IDivisao divisao, int vidaAntes, int vidaDepois) {
+            texto.append("fim:").append(vidaAntes).append("->").append(vidaDepois).append(';');
+        }
+    }
+
+    /**
+     * Testa, para combates aleatorios, se a resolucao analitica produz a mesma vida
+     * final, os mesmos sobreviventes e os mesmos eventos que a resolucao iterativa,
+     * e se a previsao acerta na vida perdida.
+     */
+    @Test
+    void testResolucaoAnaliticaIgualAIterativa() throws ElementNotFoundException {
+        Random random = new Random(42);
+
+        for (int caso = 0; caso < 2000; caso++) {
+            int vida = random.nextInt(161);
+            boolean inimigoPrimeiro = random.nextBoolean();
+            int[] poderes = new int[random.nextInt(7)];
+            for (int i = 0; i < poderes.length; i++) {
+                poderes[i] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(220);
+            }
+
+            RegistoTexto iterativo = new RegistoTexto(true);
+            RegistoTexto analitico = new RegistoTexto(false);
+            ToCruz toCruzIterativo = new ToCruz("To Cruz", vida);
+            ToCruz toCruzAnalitico = new ToCruz("To Cruz", vida);
+            IDivisao salaIterativa = criarSala(poderes);
+            IDivisao salaAnalitica = criarSala(poderes);
+
+            new CombateServiceImpl(iterativo).resolverCombate(toCruzIterativo, salaIterativa, inimigoPrimeiro);
+            new CombateServiceImpl(analitico).resolverCombate(toCruzAnalitico, salaAnalitica, inimigoPrimeiro);
+
+            String descricao = "caso " + caso + ": vida=" + vida + ", inimigoPrimeiro=" + inimigoPrimeiro;
+            assertEquals(toCruzIterativo.getVida(), toCruzAnalitico.getVida(), descricao);
+            assertEquals(vida - toCruzIterativo.getVida(),
+                    CombateServiceImpl.previewCombate(vida, poderes, inimigoPrimeiro), descricao);
+            assertEquals(iterativo.texto.toString(), analitico.texto.toString(), descricao);
+            assertEquals(salaIterativa.getInimigosPresentes().toString(),
+                    salaAnalitica.getInimigosPresentes().toString(), descricao);
+        }
+    }
+
+    /**
+     * Testa se o motor em lote produz, para cada sala, a mesma vida final e os mesmos
+     * poderes finais que a resolucao analitica.
+     */
+    @Test
+    void testMotorCombateLoteIgualAAnalitica() {
+        Random random = new Random(7);
+        int salas = 500;
+        int[] inicios = new int[salas + 1];
+        int[] vidas = new int[salas];
+        boolean[] inimigoPrimeiro = new boolean[salas];
+        int[][] poderesPorSala = new int[salas][];
+
+        for (int r = 0; r < salas; r++) {
+            vidas[r] = random.nextInt(161);
+            inimigoPrimeiro[r] = random.nextBoolean();
+            poderesPorSala[r] = new int[random.nextInt(7)];
+            for (int i = 0; i < poderesPorSala[r].length; i++) {
+                poderesPorSala[r][i] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(220);
+            }
+            inicios[r + 1] = inicios[r] + poderesPorSala[r].length;
+        }
+        int[] poderes = new int[inicios[salas]];
+        for (int r = 0; r < salas; r++) {
+            System.arraycopy(poderesPorSala[r], 0, poderes, inicios[r], poderesPorSala[r].length);
+        }
+        int[] vidasIniciais = vidas.clone();
+
+        int vitorias = new MotorCombateLote().resolver(poderes, inicios, vidas, inimigoPrimeiro);
+
+        int vitoriasEsperadas = 0;
+        for (int r = 0; r < salas; r++) {
+            ResultadoCombate esperado = CombateServiceImpl.resolverAnaliticamente(
+                    vidasIniciais[r], poderesPorSala[r], inimigoPrimeiro[r]);
+            assertEquals(esperado.getVidaFinal(), vidas[r], "sala " + r);
+            for (int i = 0; i < poderesPorSala[r].length; i++) {
+                assertEquals(esperado.getPoderFinal(i), poderes[inicios[r] + i], "sala " + r + ", inimigo " + i);
+            }
+            if (!esperado.isToCruzDerrotado()) {
+                vitoriasEsperadas++;
+            }
+        }
+        assertEquals(vitoriasEsperadas, vitorias);
+    }
+
+    /**
+     * Testa o calculo direto de um combate longo contra inimigos com poder 200.
+     */
+    @Test
+    void testResolverAnaliticamente() {
+        // Depois do primeiro ataque faltam 19 + 19 ataques; com 100 de vida To Cruz suporta 20 respostas.
+        ResultadoCombate derrota = CombateServiceImpl.resolverAnaliticamente(100, new int[]{200, 200}, false);
+        assertTrue(derrota.isToCruzDerrotado());
+        assertEquals(0, derrota.getVidaFinal());
+        assertEquals(20, derrota.getRondas());
+        assertEquals(0, derrota.getPoderFinal(0));
+        assertEquals(180, derrota.getPoderFinal(1));
+        assertEquals(1, derrota.getSobreviventes());
+
+        // O inimigo ataca primeiro (95 de vida); 19 ataques de To Cruz e 18 respostas.
+        ResultadoCombate vitoria = CombateServiceImpl.resolverAnaliticamente(100, new int[]{190}, true);
+        assertFalse(vitoria.isToCruzDerrotado());
+        assertEquals(19, vitoria.getRondas());
+        assertEquals(5, vitoria.getVidaFinal());
+        assertEquals(0, vitoria.getSobreviventes());
+    }
+
+    /**
+     * Testa, com regras personalizadas (varios tipos de inimigo e coletes), se a
+     * resolucao analitica e a previsao continuam iguais a resolucao golpe a golpe.
+     */
+    @Test
+    void testRegrasPersonalizadas() throws ElementNotFoundException {
+        RegrasCombate regras = new RegrasCombate(12, 6, 150, 2, 2,
+                new String[]{RegrasCombate.TIPO_COMUM, "blindado", "sniper"},
+                new int[]{100, 40, 120}, new int[]{100, 50, 300});
+        assertEquals(18, regras.getDanoToCruz(0));
+        assertEquals(7, regras.getDanoToCruz(1));
+        assertEquals(18, regras.getDanoInimigo(2, 0));
+        assertEquals(14, regras.getDanoInimigo(2, 5));
+        assertEquals(1, regras.getIndiceTipo("Blindado"));
+        assertEquals(-1, regras.getIndiceTipo("dragao"));
+
+        Random random = new Random(99);
+        for (int caso = 0; caso < 2000; caso++) {
+            int vida = random.nextInt(201);
+            int coletes = random.nextInt(4);
+            boolean inimigoPrimeiro = random.nextBoolean();
+            int[] poderes = new int[random.nextInt(7)];
+            int[] tipos = new int[poderes.length];
+            for (int i = 0; i < poderes.length; i++) {
+                poderes[i] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(220);
+                tipos[i] = random.nextInt(regras.getNumeroTipos());
+            }
+
+            RegistoTexto iterativo = new RegistoTexto(true);
+            RegistoTexto analitico = new RegistoTexto(false);
+            ToCruz toCruzIterativo = criarToCruz(vida, coletes);
+            ToCruz toCruzAnalitico = criarToCruz(vida, coletes);
+            IDivisao salaIterativa = criarSala(poderes, tipos);
+            IDivisao salaAnalitica = criarSala(poderes, tipos);
+
+            new CombateServiceImpl(iterativo, regras).resolverCombate(toCruzIterativo, salaIterativa, inimigoPrimeiro);
+            new CombateServiceImpl(analitico, regras).resolverCombate(toCruzAnalitico, salaAnalitica, inimigoPrimeiro);
+
+            String descricao = "caso " + caso + ": vida=" + vida + ", coletes=" + coletes
+                    + ", inimigoPrimeiro=" + inimigoPrimeiro;
+            assertEquals(toCruzIterativo.getVida(), toCruzAnalitico.getVida(), descricao);
+            assertEquals(vida - toCruzIterativo.getVida(), CombateServiceImpl.previewCombate(
+                    regras, vida, poderes, tipos, inimigoPrimeiro, coletes), descricao);
+            assertEquals(iterativo.texto.toString(), analitico.texto.toString(), descricao);
+            assertEquals(salaIterativa.getInimigosPresentes().toString(),
+                    salaAnalitica.getInimigosPresentes().toString(), descricao);
+        }
+    }
+
+    /**
+     * Testa se a contagem de ataques das regras compiladas coincide com
+     * {@code ceil(poder / dano)} nos extremos dos valores inteiros.
+     */
+    @Test
+    void testAtaquesNecessarios() {
+        int[] danos = {1, 2, 3, 7, 10, 1000, 65537, (1 << 30) + 1, Integer.MAX_VALUE};
+        Random random = new Random(5);
+        for (int dano : danos) {
+            RegrasCombate regras = new RegrasCombate(dano, 5, 100, 0, 0,
+                    new String[]{RegrasCombate.TIPO_COMUM}, new int[]{100}, new int[]{100});
+            assertEquals(dano, regras.getDanoToCruz(0));
+            int[] poderes = {1, Math.max(dano - 1, 1), dano, dano + 1 > 0 ? dano + 1 : dano,
+                    Integer.MAX_VALUE - 1, Integer.MAX_VALUE, 1 + random.nextInt(Integer.MAX_VALUE)};
+            for (int poder : poderes) {
+                long esperado = (poder + (long) dano - 1) / dano;
+                assertEquals(esperado, regras.getAtaquesNecessarios(0, poder), "dano=" + dano + ", poder=" + poder);
+            }
+        }
+    }
+
+    /**
+     * Testa se inimigos com o mesmo nome nao se confundem: o morto e removido pela
+     * posicao e o vivo continua a combater, nas duas resolucoes; e se a saida de um
+     * inimigo da divisao retira a propria instancia e mantem a ordem dos restantes.
+     */
+    @Test
+    void testInimigosComNomeRepetido() throws ElementNotFoundException {
+        for (boolean detalhado : new boolean[]{true, false}) {
+            IDivisao sala = new DivisaoImpl("Sala");
+            IInimigo forte = new InimigoImpl("badguy5", 50);
+            IInimigo fraco = new InimigoImpl("badguy5", 5);
+            sala.adicionarInimigo(forte);
+            sala.adicionarInimigo(fraco);
+            ToCruz toCruz = new ToCruz("To Cruz", 100);
+
+            RegistoTexto eventos = new RegistoTexto(detalhado);
+            new CombateServiceImpl(eventos).resolverCombate(toCruz, sala, false);
+
+            // O fraco cai no primeiro ataque; o forte (40) precisa de 4 ataques e responde 3 vezes.
+            assertEquals(85, toCruz.getVida(), "detalhado=" + detalhado);
+            assertEquals("derrotado:badguy5;derrotado:badguy5;limpa;fim:100->85;", eventos.texto.toString());
+            assertTrue(sala.getInimigosPresentes().isEmpty());
+        }
+
+        IDivisao sala = new DivisaoImpl("Sala");
+        IInimigo primeiro = new InimigoImpl("badguy5", 30);
+        IInimigo segundo = new InimigoImpl("badguy5", 70);
+        IInimigo terceiro = new InimigoImpl("badguy6", 20);
+        IInimigo quarto = new InimigoImpl("badguy7", 10);
+        sala.adicionarInimigo(primeiro);
+        sala.adicionarInimigo(segundo);
+        sala.adicionarInimigo(terceiro);
+        sala.adicionarInimigo(quarto);
+        sala.removerInimigo(segundo);
+        // Os restantes mantem a ordem: o quarto nao passa para o lugar do segundo.
+        assertEquals(3, sala.getInimigosPresentes().size());
+        assertSame(primeiro, sala.getInimigosPresentes().getElementAt(0));
+        assertSame(terceiro, sala.getInimigosPresentes().getElementAt(1));
+        assertSame(quarto, sala.getInimigosPresentes().getElementAt(2));
+    }
+
+    /**
+     * Testa se o motor particionado produz, turno a turno, o mesmo estado e os mesmos
+     * eventos com um trabalhador (execucao sequencial) e com varios, e o mesmo estado que
+     * os movimentos do turno aplicados um a um as divisoes de um terceiro mapa, seguidos
+     * do combate golpe a golpe de {@link CombateServiceImpl}. O hash do conteudo de cada
+     * mapa tem de ser igual ao de um mapa construido de novo com o mesmo conteudo.
+     */
+    @Test
+    void testMotorParticionadoIgualAoSequencial() throws ElementNotFoundException {
+        MapaImpl mapaSequencial = criarMapaAleatorio(11);
+        MapaImpl mapaParalelo = criarMapaAleatorio(11);
+        ToCruz toCruzSequencial = new ToCruz("To Cruz", 2000);
+        ToCruz toCruzParalelo = new ToCruz("To Cruz", 2000);
+        toCruzSequencial.setPosicaoAtual(mapaSequencial.getDivisaoPorIndice(0));
+        toCruzParalelo.setPosicaoAtual(mapaParalelo.getDivisaoPorIndice(0));
+        RegistoTexto eventosSequencial = new RegistoTexto(false);
+        RegistoTexto eventosParalelo = new RegistoTexto(false);
+
+        MapaImpl mapaReferencia = criarMapaAleatorio(11);
+        ToCruz toCruzReferencia = new ToCruz("To Cruz", 2000);
+        toCruzReferencia.setPosicaoAtual(mapaReferencia.getDivisaoPorIndice(0));
+        CombateServiceImpl combateReferencia = new CombateServiceImpl(new RegistoTexto(true));
+
+        boolean houveCombate = false;
+        int movimentosAplicados = 0;
+        try (MotorCombateParticionado sequencial = new MotorCombateParticionado(mapaSequencial, eventosSequencial, 1, 3);
+             MotorCombateParticionado paralelo = new MotorCombateParticionado(mapaParalelo, eventosParalelo, 4, 3)) {
+            for (int turno = 0; turno < 60; turno++) {
+                boolean vivoSequencial = sequencial.executarTurno(toCruzSequencial);
+                boolean vivoParalelo = paralelo.executarTurno(toCruzParalelo);
+                movimentosAplicados = aplicarMovimentos(eventosParalelo, movimentosAplicados, mapaParalelo,
+                        mapaReferencia, toCruzReferencia, combateReferencia);
+
+                assertEquals(vivoSequencial, vivoParalelo, "turno " + turno);
+                assertEquals(toCruzSequencial.getVida(), toCruzParalelo.getVida(), "turno " + turno);
+                assertEquals(toCruzReferencia.getVida(), toCruzParalelo.getVida(), "turno " + turno);
+                assertEquals(eventosSequencial.texto.toString(), eventosParalelo.texto.toString(), "turno " + turno);
+                for (int r = 0; r < mapaSequencial.getNumeroDivisoes(); r++) {
+                    String inimigosParalelo = mapaParalelo.getDivisaoPorIndice(r).getInimigosPresentes().toString();
+                    assertEquals(mapaSequencial.getDivisaoPorIndice(r).getInimigosPresentes().toString(),
+                            inimigosParalelo, "turno " + turno);
+                    assertEquals(mapaReferencia.getDivisaoPorIndice(r).getInimigosPresentes().toString(),
+                            inimigosParalelo, "turno " + turno);
+                }
+                assertEquals(hashRecalculado(mapaSequencial), mapaSequencial.getHashConteudo(), "turno " + turno);
+                assertEquals(hashRecalculado(mapaParalelo), mapaParalelo.getHashConteudo(), "turno " + turno);
+                assertEquals(mapaReferencia.getHashConteudo(), mapaParalelo.getHashConteudo(), "turno " + turno);
+                houveCombate |= toCruzSequencial.getVida() < 2000;
+            }
+        }
+        assertTrue(houveCombate);
+    }
+
+    /**
+     * Aplica ao mapa de referencia, pela API sequencial das divisoes, os movimentos que o
+     * motor emitiu no ultimo turno: primeiro as saidas e depois as chegadas, como o motor.
+     * Se algum inimigo chegou a divisao de To Cruz, resolve o combate com os inimigos a
+     * atacar primeiro.
+     *
+     * @return O numero de movimentos ja aplicados.
+     */
+    private int aplicarMovimentos(RegistoTexto eventos, int aplicados, MapaImpl mapaMotor, MapaImpl referencia,
+                                  ToCruz toCruz, CombateServiceImpl combate) throws ElementNotFoundException {
+        int total = eventos.movidos.size();
+        IInimigo[] inimigos = new IInimigo[total - aplicados];
+        for (int k = aplicados; k < total; k++) {
+            IDivisao origem = referencia.getDivisaoPorIndice(mapaMotor.getIndiceDivisao(eventos.origens.getElementAt(k)));
+            String nome = eventos.movidos.getElementAt(k).getNome();
+            ArrayUnorderedList<IInimigo> presentes = origem.getInimigosPresentes();
+            for (int i = 0; i < presentes.size() && inimigos[k - aplicados] == null; i++) {
+                if (presentes.getElementAt(i).getNome().equals(nome)) {
+                    inimigos[k - aplicados] = presentes.getElementAt(i);
+                }
+            }
+            origem.removerInimigo(inimigos[k - aplicados]);
+        }
+        boolean chegouAToCruz = false;
+        for (int k = aplicados; k < total; k++) {
+            IDivisao destino = referencia.getDivisaoPorIndice(mapaMotor.getIndiceDivisao(eventos.destinos.getElementAt(k)));
+            destino.adicionarInimigo(inimigos[k - aplicados]);
+            chegouAToCruz |= destino == toCruz.getPosicaoAtual();
+        }
+        if (chegouAToCruz) {
+            combate.resolverCombate(toCruz, toCruz.getPosicaoAtual(), true);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula o hash do conteudo de um mapa construido de novo com as mesmas divisoes,
+     * ligacoes e inimigos.
+     */
+    private long hashRecalculado(MapaImpl mapa) {
+        MapaImpl copia = new MapaImpl();
+        int n = mapa.getNumeroDivisoes();
+        for (int r = 0; r < n; r++) {
+            copia.adicionarDivisao(mapa.getDivisaoPorIndice(r).getNomeDivisao());
+        }
+        for (int r = 0; r < n; r++) {
+            for (int j : mapa.getIndicesAdjacentes(r)) {
+                if (j > r) {
+                    copia.adicionarLigacao(mapa.getDivisaoPorIndice(r).getNomeDivisao(),
+                            mapa.getDivisaoPorIndice(j).getNomeDivisao());
+                }
+            }
+            ArrayUnorderedList<IInimigo> inimigos = mapa.getDivisaoPorIndice(r).getInimigosPresentes();
+            for (int i = 0; i < inimigos.size(); i++) {
+                IInimigo inimigo = new InimigoImpl(inimigos.getElementAt(i).getNome(), inimigos.getElementAt(i).getPoder());
+                inimigo.setIndiceTipo(inimigos.getElementAt(i).getIndiceTipo());
+                copia.adicionarInimigo(mapa.getDivisaoPorIndice(r).getNomeDivisao(), inimigo);
+            }
+        }
+        return copia.getHashConteudo();
+    }
+
+    private MapaImpl criarMapaAleatorio(long semente) {
+        Random random = new Random(semente);
+        MapaImpl mapa = new MapaImpl();
+        int salas = 300;
+        for (int r = 0; r < salas; r++) {
+            mapa.adicionarDivisao("Sala" + r);
+        }
+        for (int r = 1; r < salas; r++) {
+            mapa.adicionarLigacao("Sala" + r, "Sala" + random.nextInt(r));
+        }
+        for (int i = 0; i < 900; i++) {
+            mapa.adicionarInimigo("Sala" + (1 + random.nextInt(salas - 1)),
+                    new InimigoImpl("Inimigo" + i, 1 + random.nextInt(60)));
+        }
+        return mapa;
+    }
+
+    private ToCruz criarToCruz(int vida, int coletes) {
+        ToCruz toCruz = new ToCruz("To Cruz", vida);
+        for (int i = 0; i < coletes; i++) {
+            toCruz.adicionarAoInventario(new ItemImpl("colete", 0));
+        }
+        return toCruz;
+    }
+
+    private IDivisao criarSala(int[] poderes, int[] tipos) {
+        IDivisao sala = criarSala(poderes);
+        for (int i = 0; i < tipos.length; i++) {
+            sala.getInimigosPresentes().getElementAt(i).setIndiceTipo(tipos[i]);
+        }
+        return sala;
+    }
+
+    private IDivisao criarSala(int[] poderes) {
+        IDivisao sala = new DivisaoImpl("Sala");
+        for (int i = 0; i < poderes.length; i++) {
+            sala.adicionarInimigo(new InimigoImpl("Inimigo" + i, poderes[i]));
+        }
+        return sala;
+    }
+}
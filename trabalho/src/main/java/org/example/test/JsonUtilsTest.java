@@ -2,8 +2,47 @@ package org.example.test;
 
 import org.example.api.implementation.models.MapaImpl;
 import org.example.api.implementation.utils.ImportJsonImpl;
+import org.example.api.implementation.utils.CompiladorMapa;
+import org.example.api.implementation.utils.ImportJsonStreamImpl;
+import org.example.api.implementation.utils.ImportMapaCompiladoImpl;
+import org.example.api.implementation.interfaces.IMissao;
+import org.example.api.exceptions.DivisionNotFoundException;
+import org.example.api.exceptions.InvalidJsonStructureException;
+import org.example.api.implementation.interfaces.IConstrutorMapa;
+import org.example.api.implementation.models.InimigoImpl;
+import org.example.api.implementation.interfaces.IInimigo;
+import org.example.api.implementation.models.ItemImpl;
+import org.example.api.implementation.models.RelatorioCarregamento;
+import org.example.api.implementation.models.ResultadoRecarga;
+import org.example.api.implementation.models.ResultadoSimulacaoImpl;
+import org.example.api.implementation.utils.ExportarResultados;
+import org.example.api.implementation.utils.ExportadorColunar;
+import org.example.api.implementation.utils.LeitorColunar;
+import org.example.api.implementation.utils.RelatorioNdjson;
+import org.example.api.implementation.utils.RegistoEventosNulo;
+import org.example.api.implementation.utils.ResultadoFormatadoImpl;
+import org.example.collections.implementation.ArrayUnorderedList;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.example.api.implementation.utils.CarregadorMissoes;
+import org.example.api.implementation.utils.RecarregadorMapa;
+import org.example.api.implementation.utils.ValidadorMissao;
+import org.example.api.exceptions.InvalidFieldException;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -86,4 +125,520 @@ public class JsonUtilsTest {
         assertTrue(exception.getMessage()
                 .contains("Cannot invoke \"org.json.simple.JSONArray.iterator()\" because \"edificioArray\" is null"));
     }
+
+    /**
+     * Testa se o carregamento em streaming produz o mesmo mapa que o carregamento
+     * com a arvore do JSON: mesmas divisoes, ligacoes, inimigos e itens.
+     */
+    @Test
+    void testCarregarMapaStreamIgualAoDom() {
+        String jsonPath = "mapa_v1.json";
+        MapaImpl mapaStream = new MapaImpl();
+
+        assertDoesNotThrow(() -> jsonUtils.carregarMapa(jsonPath));
+        assertDoesNotThrow(() -> new ImportJsonStreamImpl(mapaStream).carregarMapa(jsonPath));
+
+        assertEquals(mapa.getNumeroDivisoes(), mapaStream.getNumeroDivisoes());
+        assertEquals(mapa.getHashConteudo(), mapaStream.getHashConteudo());
+        assertEquals(mapa.getAlvo().getDivisao().getNomeDivisao(), mapaStream.getAlvo().getDivisao().getNomeDivisao());
+        for (int i = 0; i < mapa.getNumeroDivisoes(); i++) {
+            assertArrayEquals(mapa.getIndicesAdjacentes(i), mapaStream.getIndicesAdjacentes(i));
+        }
+    }
+
+    /**
+     * Testa o carregamento em streaming quando as secoes que dependem das divisoes
+     * (ligacoes, inimigos, itens, entradas/saidas e alvo) e as regras de combate aparecem
+     * antes de {@code "edificio"}: as secoes sao guardadas e lidas depois das divisoes, e o
+     * mapa e igual ao do carregamento com a arvore do JSON.
+     */
+    @Test
+    void testCarregarMapaStreamComSecoesAntesDoEdificio() throws Exception {
+        JsonObject original = JsonParser.parseString(Files.readString(Path.of("mapa_v1.json"))).getAsJsonObject();
+        original.getAsJsonArray("inimigos").get(0).getAsJsonObject().addProperty("tipo", "blindado");
+        JsonObject regras = JsonParser.parseString("{\"tipos-inimigo\": {\"blindado\": {\"escala-dano-recebido\": 50}}}")
+                .getAsJsonObject();
+
+        JsonObject reordenado = new JsonObject();
+        for (String chave : new String[]{"ligacoes", "inimigos", "itens", "entradas-saidas", "alvo"}) {
+            reordenado.add(chave, original.get(chave));
+        }
+        reordenado.add("regras-combate", regras);
+        reordenado.add("cod-missao", original.get("cod-missao"));
+        reordenado.add("versao", original.get("versao"));
+        reordenado.add("edificio", original.get("edificio"));
+
+        File arquivo = File.createTempFile("missao", ".json");
+        try {
+            Files.writeString(arquivo.toPath(), reordenado.toString());
+            MapaImpl mapaStream = new MapaImpl();
+            jsonUtils.carregarMapa(arquivo.getPath());
+            new ImportJsonStreamImpl(mapaStream).carregarMapa(arquivo.getPath());
+
+            assertEquals(21, mapaStream.getNumeroDivisoes());
+            assertEquals(mapa.getHashConteudo(), mapaStream.getHashConteudo());
+            assertEquals("Laboratorio", mapaStream.getAlvo().getDivisao().getNomeDivisao());
+            assertEquals(4, mapaStream.getEntradasSaidas().size());
+            assertEquals(1, mapaStream.getDivisaoPorNome("Heliporto").getInimigosPresentes().getElementAt(0).getIndiceTipo());
+            for (int i = 0; i < mapa.getNumeroDivisoes(); i++) {
+                assertArrayEquals(mapa.getIndicesAdjacentes(i), mapaStream.getIndicesAdjacentes(i));
+            }
+        } finally {
+            arquivo.delete();
+        }
+    }
+
+    /**
+     * Testa se um mapa compilado e carregado de novo e igual ao mapa do JSON:
+     * mesmas divisoes, ligacoes, inimigos, itens, alvo e codigo da missao.
+     */
+    @Test
+    void testMapaCompiladoIgualAoJson() throws Exception {
+        File compilado = File.createTempFile("mapa_v1", CompiladorMapa.EXTENSAO);
+        try {
+            IMissao original = jsonUtils.carregarMissao("mapa_v1.json");
+            CompiladorMapa.compilar(original, compilado.getPath());
+
+            MapaImpl mapaCompilado = new MapaImpl();
+            IMissao carregada = new ImportMapaCompiladoImpl(mapaCompilado).carregarMissao(compilado.getPath());
+
+            assertEquals(original.getCodMissao(), carregada.getCodMissao());
+            assertEquals(original.getVersao(), carregada.getVersao());
+            assertEquals(mapa.getNumeroDivisoes(), mapaCompilado.getNumeroDivisoes());
+            assertEquals(mapa.getHashConteudo(), mapaCompilado.getHashConteudo());
+            assertEquals(mapa.getAlvo().getTipo(), mapaCompilado.getAlvo().getTipo());
+            for (int i = 0; i < mapa.getNumeroDivisoes(); i++) {
+                assertArrayEquals(mapa.getIndicesAdjacentes(i), mapaCompilado.getIndicesAdjacentes(i));
+            }
+        } finally {
+            compilado.delete();
+        }
+    }
+
+    /**
+     * Testa se um mapa compilado corrompido e rejeitado com
+     * {@link InvalidJsonStructureException}, e nunca com outra excecao, quando cada
+     * inteiro do ficheiro e substituido por um valor negativo ou muito grande, ou o
+     * ficheiro e truncado; e se os textos repetidos sao gravados uma so vez.
+     */
+    @Test
+    void testMapaCompiladoCorrompidoRejeitado() throws Exception {
+        File compilado = File.createTempFile("mapa_v1", CompiladorMapa.EXTENSAO);
+        try {
+            CompiladorMapa.compilar(jsonUtils.carregarMissao("mapa_v1.json"), compilado.getPath());
+            byte[] original = Files.readAllBytes(compilado.toPath());
+
+            MapaImpl carregado = new MapaImpl();
+            new ImportMapaCompiladoImpl(carregado).carregarMapa(compilado.getPath());
+            // Os dois inimigos "badguy5" partilham a mesma entrada da tabela de textos.
+            IInimigo primeiro = carregado.getDivisaoPorNome("Corredor 1").getInimigosPresentes().getElementAt(0);
+            IInimigo segundo = carregado.getDivisaoPorNome("Laboratorio").getInimigosPresentes().getElementAt(0);
+            assertSame(primeiro.getNome(), segundo.getNome());
+
+            int[] valores = {-1, Integer.MIN_VALUE, Integer.MAX_VALUE, 0x40000001};
+            for (int posicao = 8; posicao + 4 <= original.length; posicao += 4) {
+                for (int valor : valores) {
+                    byte[] corrompido = original.clone();
+                    ByteBuffer.wrap(corrompido).putInt(posicao, valor);
+                    Files.write(compilado.toPath(), corrompido);
+                    assertCompiladoValidoOuRejeitado(compilado, "posicao " + posicao + ", valor " + valor);
+                }
+            }
+            for (int tamanho : new int[]{7, 12, original.length / 2, original.length - 1}) {
+                Files.write(compilado.toPath(), Arrays.copyOf(original, tamanho));
+                MapaImpl truncado = new MapaImpl();
+                truncado.setRegistoEventos(RegistoEventosNulo.INSTANCIA);
+                assertThrows(InvalidJsonStructureException.class,
+                        () -> new ImportMapaCompiladoImpl(truncado).carregarMapa(compilado.getPath()), "tamanho " + tamanho);
+            }
+        } finally {
+            compilado.delete();
+        }
+    }
+
+    private void assertCompiladoValidoOuRejeitado(File compilado, String caso) {
+        MapaImpl destino = new MapaImpl();
+        destino.setRegistoEventos(RegistoEventosNulo.INSTANCIA);
+        try {
+            new ImportMapaCompiladoImpl(destino).carregarMapa(compilado.getPath());
+        } catch (InvalidJsonStructureException e) {
+            return;
+        } catch (Exception e) {
+            fail(caso + ": " + e);
+        }
+    }
+
+    /**
+     * Testa o construtor de mapas: nada e alterado antes de construir, as ligacoes
+     * repetidas sao ignoradas, as entradas/saidas e o alvo nao geram mensagens e o
+     * resultado e igual ao das chamadas individuais.
+     */
+    @Test
+    void testConstrutorMapa() throws DivisionNotFoundException {
+        mapa.setRegistoEventos(new RegistoEventosNulo() {
+            @Override
+            public void mensagem(String mensagem) {
+                fail("O construtor escreveu uma mensagem: " + mensagem);
+            }
+        });
+        IConstrutorMapa construtor = mapa.construtor();
+        int a = construtor.adicionarDivisao("A");
+        int b = construtor.adicionarDivisao("B");
+        int c = construtor.adicionarDivisao(" C ");
+        assertThrows(IllegalArgumentException.class, () -> construtor.adicionarDivisao("B"));
+        assertThrows(DivisionNotFoundException.class, () -> construtor.getIndice("D"));
+        assertThrows(IllegalArgumentException.class, () -> construtor.adicionarLigacao(a, 7));
+        assertThrows(IllegalArgumentException.class, () -> construtor.adicionarEntradaSaida(7));
+        assertThrows(IllegalArgumentException.class, () -> construtor.definirAlvo(c, " "));
+
+        construtor.adicionarLigacao(a, b);
+        construtor.adicionarLigacao(b, a);
+        construtor.adicionarLigacao(b, construtor.getIndice("C"));
+        construtor.adicionarInimigo(c, new InimigoImpl("x", 20));
+        construtor.adicionarInimigo(a, new InimigoImpl("y", 30));
+        construtor.adicionarInimigo(c, new InimigoImpl("z", 40));
+        construtor.adicionarItem(b, new ItemImpl("kit de vida", 10));
+        construtor.adicionarEntradaSaida(a);
+        construtor.definirAlvo(c, "documentos");
+        assertEquals(0, mapa.getNumeroDivisoes());
+
+        construtor.construir();
+        assertThrows(IllegalStateException.class, construtor::construir);
+        assertTrue(mapa.getDivisaoPorNome("A").isEntradaSaida());
+        assertFalse(mapa.getDivisaoPorNome("C").isEntradaSaida());
+        assertSame(mapa.getDivisaoPorNome("C"), mapa.getAlvo().getDivisao());
+        assertEquals("documentos", mapa.getAlvo().getTipo());
+
+        MapaImpl individual = new MapaImpl();
+        individual.adicionarDivisao("A");
+        individual.adicionarDivisao("B");
+        individual.adicionarDivisao("C");
+        individual.adicionarLigacao("A", "B");
+        individual.adicionarLigacao("B", "C");
+        individual.adicionarInimigo("C", new InimigoImpl("x", 20));
+        individual.adicionarInimigo("A", new InimigoImpl("y", 30));
+        individual.adicionarInimigo("C", new InimigoImpl("z", 40));
+        individual.adicionarItem("B", new ItemImpl("kit de vida", 10));
+        individual.adicionarEntradaSaida("A");
+
+        assertEquals(individual.getHashConteudo(), mapa.getHashConteudo());
+        assertArrayEquals(new int[]{0, 2}, mapa.getIndicesAdjacentes(1));
+        assertEquals("z", mapa.getDivisaoPorNome("C").getInimigosPresentes().getElementAt(1).getNome());
+        assertSame(mapa.getDivisaoPorNome("B"), mapa.getDivisaoPorNome("B").getItensPresentes().getElementAt(0).getDivisao());
+    }
+
+    /**
+     * Testa o carregamento em paralelo de um diretorio: cada arquivo tem o seu mapa,
+     * os erros ficam no relatorio e os arquivos seguem a ordem do nome.
+     */
+    @Test
+    void testCarregarDiretorioEmParalelo() throws Exception {
+        Path diretorio = Files.createTempDirectory("missoes");
+        Path valido1 = Files.copy(Path.of("mapa_v1.json"), diretorio.resolve("a.json"));
+        Path invalido = Files.writeString(diretorio.resolve("b.json"), "{\"cod-missao\": ");
+        Path valido2 = Files.copy(Path.of("mapa_v4.json"), diretorio.resolve("c.json"));
+        Path ignorado = Files.writeString(diretorio.resolve("notas.txt"), "nao e uma missao");
+        try (CarregadorMissoes carregador = new CarregadorMissoes(2)) {
+            RelatorioCarregamento relatorio = carregador.carregarDiretorio(diretorio.toString());
+
+            assertEquals(3, relatorio.getNumeroArquivos());
+            assertEquals(2, relatorio.getNumeroValidos());
+            assertTrue(relatorio.getArquivo(0).endsWith("a.json"));
+            assertInstanceOf(InvalidJsonStructureException.class, relatorio.getErro(1));
+            assertNull(relatorio.getMissao(1));
+            assertNotSame(relatorio.getMissao(0).getMapa(), relatorio.getMissao(2).getMapa());
+            assertEquals(21, relatorio.getMissao(0).getMapa().getNumeroDivisoes());
+            assertEquals(27, relatorio.getMissao(2).getMapa().getNumeroDivisoes());
+            assertTrue(relatorio.formatar().contains("2 de 3 arquivos validos"));
+        } finally {
+            Files.delete(valido1);
+            Files.delete(invalido);
+            Files.delete(valido2);
+            Files.delete(ignorado);
+            Files.delete(diretorio);
+        }
+    }
+
+    /**
+     * Testa a recarga incremental: depois de cada alteracao do arquivo, o mapa fica igual
+     * ao de um carregamento novo e so as diferencas sao contadas.
+     */
+    @Test
+    void testRecarregarMapaIncremental() throws Exception {
+        Path copia = Files.createTempFile("mapa_v1", ".json");
+        try {
+            String original = Files.readString(Path.of("mapa_v1.json"));
+            Files.writeString(copia, original);
+            jsonUtils.carregarMapa(copia.toString());
+
+            try (RecarregadorMapa recarregador = new RecarregadorMapa(mapa, copia.toString())) {
+                String alterado = original.replace("  [\"Hall\", \"Seguranca\"],\n", "")
+                        .replace("{\"nome\": \"badguy1\", \"poder\": 5, \"divisao\": \"Heliporto\"},",
+                                "{\"nome\": \"badguy1\", \"poder\": 5, \"divisao\": \"Heliporto\"},"
+                                        + "{\"nome\": \"novo\", \"poder\": 30, \"divisao\": \"Hall\"},");
+                Files.writeString(copia, alterado);
+                ResultadoRecarga resultado = recarregador.recarregar();
+
+                assertEquals(1, resultado.getLigacoesRemovidas());
+                assertEquals(0, resultado.getLigacoesAdicionadas());
+                assertEquals(1, resultado.getInimigosAdicionados());
+                assertEquals(0, resultado.getInimigosRemovidos());
+                assertEquals(1, resultado.getDivisoesAlteradas());
+                assertTrue(resultado.isEstrutural());
+                assertFalse(mapa.podeMover("Hall", "Seguranca"));
+                assertEquals(carregarHash(copia), mapa.getHashConteudo());
+                assertFalse(recarregador.recarregar().temAlteracoes());
+
+                // Remove a divisao WC, com a sua ligacao e o seu item, e o inimigo acrescentado.
+                Files.writeString(copia, alterado.replace("  [\"Corredor 2\", \"WC\"],\n", "")
+                        .replace("  {\"divisao\": \"WC\", \"pontos-recuperados\": 20, \"tipo\":\"kit de vida\"},\n", "")
+                        .replace("\"WC\", ", "")
+                        .replace("{\"nome\": \"novo\", \"poder\": 30, \"divisao\": \"Hall\"},", ""));
+                resultado = recarregador.recarregar();
+
+                assertEquals(1, resultado.getDivisoesRemovidas());
+                assertEquals(1, resultado.getInimigosRemovidos());
+                assertEquals(20, mapa.getNumeroDivisoes());
+                assertEquals(carregarHash(copia), mapa.getHashConteudo());
+            }
+        } finally {
+            Files.delete(copia);
+        }
+    }
+
+    private static long carregarHash(Path arquivo) throws Exception {
+        MapaImpl esperado = new MapaImpl();
+        new ImportJsonImpl(esperado).carregarMapa(arquivo.toString());
+        return esperado.getHashConteudo();
+    }
+
+    /**
+     * Testa a escrita do relatorio em streaming: o modo indentado e igual ao que o Gson
+     * produz para {@link ResultadoFormatadoImpl}, e o modo compacto ocupa uma so linha.
+     */
+    @Test
+    void testExportarResultadoIgualAoGson() throws Exception {
+        jsonUtils.carregarMapa("mapa_v1.json");
+        ArrayUnorderedList<String> trajeto = new ArrayUnorderedList<>();
+        for (String divisao : new String[]{"Garagem", "Escada 1", "Porteiro", "Escada 2", "Corredor 1", "Porteiro"}) {
+            trajeto.addToRear(divisao);
+        }
+        ResultadoSimulacaoImpl resultado = new ResultadoSimulacaoImpl("AUTO-001", "Garagem", "Sala <\"x\">",
+                "FALHA", 35, trajeto, null, "pata de coelho", 1);
+
+        String esperado = new GsonBuilder().setPrettyPrinting().create()
+                .toJson(new ResultadoFormatadoImpl(resultado, mapa));
+        StringWriter indentado = new StringWriter();
+        new ExportarResultados().escrever(resultado, mapa, indentado);
+        assertEquals(esperado, indentado.toString());
+
+        StringWriter compacto = new StringWriter();
+        new ExportarResultados(true).escrever(resultado, mapa, compacto);
+        assertFalse(compacto.toString().contains("\n"));
+        assertEquals(new GsonBuilder().create().toJson(new ResultadoFormatadoImpl(resultado, mapa)),
+                compacto.toString());
+    }
+
+    /**
+     * Testa o relatorio NDJSON comprimido: com uma fila pequena, todos os resultados sao
+     * escritos pela ordem, um por linha, e uma segunda sessao acrescenta ao mesmo arquivo.
+     */
+    @Test
+    void testRelatorioNdjsonComprimido() throws Exception {
+        jsonUtils.carregarMapa("mapa_v1.json");
+        File arquivo = File.createTempFile("relatorio", ".ndjson.gz");
+        try {
+            for (int sessao = 0; sessao < 2; sessao++) {
+                try (RelatorioNdjson relatorio = new RelatorioNdjson(arquivo.getPath(), true, 4, 5)) {
+                    for (int i = 0; i < 100; i++) {
+                        ArrayUnorderedList<String> trajeto = new ArrayUnorderedList<>();
+                        trajeto.addToRear("Garagem");
+                        relatorio.adicionar(new ResultadoSimulacaoImpl("SIM-" + sessao + "-" + i, "Garagem",
+                                "Garagem", "SUCESSO", i, trajeto, null, "pata de coelho", 1), mapa);
+                    }
+                }
+            }
+
+            try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new FileInputStream(arquivo)), StandardCharsets.UTF_8))) {
+                for (int k = 0; k < 200; k++) {
+                    String linha = leitor.readLine();
+                    assertEquals("SIM-" + (k / 100) + "-" + (k % 100),
+                            JsonParser.parseString(linha).getAsJsonObject().get("id").getAsString());
+                    assertEquals("Garagem",
+                            JsonParser.parseString(linha).getAsJsonObject().get("entradasSaidas")
+                                    .getAsJsonArray().get(0).getAsString());
+                }
+                assertNull(leitor.readLine());
+            }
+
+            File ndjson = File.createTempFile("relatorio", ".ndjson");
+            try {
+                ResultadoSimulacaoImpl resultado = new ResultadoSimulacaoImpl("AUTO-001", "Garagem", "Garagem",
+                        "FALHA", 0, null, null, "pata de coelho", 1);
+                new ExportarResultados().exportarRelatorioSimulacoes(resultado, resultado, mapa, ndjson.getPath());
+                new ExportarResultados().exportarRelatorioSimulacoes(resultado, resultado, mapa, ndjson.getPath());
+                assertEquals(4, Files.readAllLines(ndjson.toPath()).size());
+            } finally {
+                ndjson.delete();
+            }
+        } finally {
+            arquivo.delete();
+        }
+    }
+
+    /**
+     * Testa o fecho do relatorio NDJSON enquanto outras threads adicionam: cada resultado
+     * aceite fica no arquivo e os recusados lancam excecao, sem linhas perdidas.
+     */
+    @Test
+    void testRelatorioNdjsonFechadoDuranteAdicoes() throws Exception {
+        jsonUtils.carregarMapa("mapa_v1.json");
+        File arquivo = File.createTempFile("relatorio", ".ndjson");
+        try {
+            RelatorioNdjson relatorio = new RelatorioNdjson(arquivo.getPath(), false, 2, 5);
+            int[] aceites = new int[4];
+            Thread[] produtores = new Thread[aceites.length];
+            for (int t = 0; t < produtores.length; t++) {
+                int indice = t;
+                produtores[t] = new Thread(() -> {
+                    ResultadoSimulacaoImpl resultado = new ResultadoSimulacaoImpl("SIM-" + indice, "Garagem",
+                            "Garagem", "SUCESSO", 1, null, null, "pata de coelho", 1);
+                    try {
+                        while (true) {
+                            relatorio.adicionar(resultado, mapa);
+                            aceites[indice]++;
+                        }
+                    } catch (IllegalStateException e) {
+                        // Relatorio fechado.
+                    }
+                });
+                produtores[t].start();
+            }
+            Thread.sleep(20);
+            relatorio.close();
+            int total = 0;
+            for (int t = 0; t < produtores.length; t++) {
+                produtores[t].join();
+                total += aceites[t];
+            }
+
+            assertTrue(total > 0);
+            assertEquals(total, relatorio.getNumeroEscritos());
+            assertEquals(total, Files.readAllLines(arquivo.toPath()).size());
+        } finally {
+            arquivo.delete();
+        }
+    }
+
+    /**
+     * Testa o lote por colunas: a taxa de sucesso, os percentis da vida e o comprimento
+     * medio lidos das colunas correspondem aos resultados exportados.
+     */
+    @Test
+    void testExportadorColunarAgregados() throws Exception {
+        Path diretorio = Files.createTempDirectory("lote");
+        try {
+            try (ExportadorColunar exportador = new ExportadorColunar(diretorio.toString())) {
+                for (int i = 0; i < 1000; i++) {
+                    ArrayUnorderedList<String> trajeto = new ArrayUnorderedList<>();
+                    for (int k = 0; k <= i % 4; k++) {
+                        trajeto.addToRear("Divisao " + k);
+                    }
+                    // 250 falhas seguidas e depois sucessos; a vida vai de 0 a 99, dez vezes.
+                    exportador.adicionar(new ResultadoSimulacaoImpl("SIM-" + i, "Garagem",
+                            i < 250 ? null : "Heliporto", i < 250 ? "FALHA" : "SUCESSO", i % 100, trajeto, null,
+                            "pata de coelho", 1));
+                }
+            }
+
+            assertEquals(2 * 2 * 4, Files.size(diretorio.resolve(ExportadorColunar.ESTADO)));
+            LeitorColunar leitor = new LeitorColunar(diretorio.toString());
+            assertEquals(1000, leitor.getNumeroExecucoes());
+            assertEquals(0.75, leitor.getTaxaSucesso(), 1e-9);
+            assertArrayEquals(new int[]{0, 49, 89, 99}, leitor.getPercentisVida(0, 50, 90, 100));
+            assertEquals(2.5, leitor.getComprimentoMedio(), 1e-9);
+            assertThrows(IllegalArgumentException.class, () -> leitor.getPercentisVida(101));
+        } finally {
+            for (File coluna : diretorio.toFile().listFiles()) {
+                coluna.delete();
+            }
+            Files.delete(diretorio);
+        }
+    }
+
+    /**
+     * Testa a validacao previa: todos os erros da missao sao indicados de uma vez, com o
+     * caminho de cada um, e o mapa nao e alterado, tanto na leitura da arvore como em
+     * streaming. Os pontos dos kits e dos coletes
+     * ({@code pontos-recuperados}/{@code pontos-extra}) passam a ser lidos.
+     */
+    @Test
+    void testValidadorMissaoIndicaTodosOsErros() throws Exception {
+        File arquivo = File.createTempFile("missao", ".json");
+        try {
+            Files.writeString(arquivo.toPath(), "{\"cod-missao\": \"X\", \"versao\": 1,"
+                    + " \"edificio\": [\"A\", \"B\"], \"ligacoes\": [[\"A\", \"B\"], [\"A\", \"C\"]],"
+                    + " \"inimigos\": [{\"nome\": \"I\", \"poder\": \"forte\", \"divisao\": \"A\"}],"
+                    + " \"itens\": [{\"tipo\": \"kit de vida\", \"pontos-recuperados\": -5, \"divisao\": \"Z\"}],"
+                    + " \"entradas-saidas\": [\"A\"], \"alvo\": {\"divisao\": \"B\", \"tipo\": \"quimico\"}}");
+
+            ArrayUnorderedList<String> erros = ValidadorMissao.validar(arquivo.getPath());
+            assertEquals(4, erros.size());
+            assertTrue(erros.contains("$.inimigos[0].poder: deve ser um numero inteiro nao negativo"));
+            assertTrue(erros.contains("$.itens[0].pontos-recuperados: deve ser um numero inteiro nao negativo"));
+            assertTrue(erros.contains("$.ligacoes[1][1]: a divisao 'C' nao existe"));
+            assertTrue(erros.contains("$.itens[0].divisao: a divisao 'Z' nao existe"));
+
+            InvalidFieldException exception = assertThrows(InvalidFieldException.class,
+                    () -> jsonUtils.carregarMapa(arquivo.getPath()));
+            assertTrue(exception.getMessage().startsWith("4 erros na missao"));
+            assertEquals(0, mapa.getDivisoes().size());
+
+            // A leitura em streaming valida na mesma passagem e indica os mesmos erros,
+            // pela ordem do arquivo em vez da ordem dos campos da arvore
+            MapaImpl mapaInvalido = new MapaImpl();
+            InvalidFieldException exceptionStream = assertThrows(InvalidFieldException.class,
+                    () -> new ImportJsonStreamImpl(mapaInvalido).carregarMapa(arquivo.getPath()));
+            assertTrue(exceptionStream.getMessage().startsWith("4 erros na missao"));
+            for (String linha : exceptionStream.getMessage().split("\n")) {
+                assertTrue(exception.getMessage().contains(linha), linha);
+            }
+            assertEquals(0, mapaInvalido.getDivisoes().size());
+        } finally {
+            arquivo.delete();
+        }
+
+        assertEquals(0, ValidadorMissao.validar("mapa_v6.json").size());
+        jsonUtils.carregarMapa("mapa_v6.json");
+        MapaImpl mapaStream = new MapaImpl();
+        new ImportJsonStreamImpl(mapaStream).carregarMapa("mapa_v6.json");
+        assertEquals(10, mapa.getDivisaoPorNome("Deposito de Armas").getItensPresentes().getElementAt(0).getPontos());
+        assertEquals(10, mapaStream.getDivisaoPorNome("Armazem de Energia").getItensPresentes().getElementAt(0).getPontos());
+    }
+
+    /**
+     * Testa se o tipo comum das regras de combate e reconhecido sem distinguir
+     * maiusculas, como nos inimigos, em vez de criar um segundo tipo "Comum".
+     */
+    @Test
+    void testRegrasCombateTipoComumSemMaiusculas() throws Exception {
+        File arquivo = File.createTempFile("missao", ".json");
+        try {
+            Files.writeString(arquivo.toPath(), "{\"cod-missao\": \"X\", \"versao\": 1,"
+                    + " \"edificio\": [\"A\", \"B\"], \"ligacoes\": [[\"A\", \"B\"]],"
+                    + " \"inimigos\": [{\"nome\": \"I\", \"poder\": 30, \"divisao\": \"B\", \"tipo\": \"comum\"}],"
+                    + " \"itens\": [], \"entradas-saidas\": [\"A\"], \"alvo\": {\"divisao\": \"B\", \"tipo\": \"quimico\"},"
+                    + " \"regras-combate\": {\"tipos-inimigo\": {\"Comum\": {\"escala-dano-recebido\": 50},"
+                    + " \"blindado\": {\"escala-dano-recebido\": 25}}}}");
+
+            jsonUtils.carregarMapa(arquivo.getPath());
+            assertEquals(2, mapa.getRegrasCombate().getNumeroTipos());
+            assertEquals(0, mapa.getRegrasCombate().getIndiceTipo("COMUM"));
+            assertEquals(5, mapa.getRegrasCombate().getDanoToCruz(0));
+            assertEquals(3, mapa.getRegrasCombate().getDanoToCruz(mapa.getRegrasCombate().getIndiceTipo("blindado")));
+        } finally {
+            arquivo.delete();
+        }
+    }
 }
@@ -3,15 +3,27 @@ package org.example.test;
 import org.example.api.exceptions.ElementNotFoundException;
 import org.example.api.implementation.interfaces.IDivisao;
 import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.interfaces.IRegistoEventos;
 import org.example.api.implementation.models.InimigoImpl;
 import org.example.api.implementation.models.ItemImpl;
 import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.PlanoMissao;
+import org.example.api.implementation.models.TabelaRotas;
 import org.example.api.implementation.models.ToCruz;
+import org.example.api.implementation.simulation.CachePlanos;
 import org.example.api.implementation.simulation.SimulacaoAutomaticaImpl;
 import org.example.collections.implementation.ArrayUnorderedList;
+import org.example.api.implementation.utils.GeradorTabelaRotas;
+import org.example.api.implementation.utils.GravadorTrajetoria;
+import org.example.api.implementation.utils.LeitorTrajetoria;
+import org.example.api.implementation.utils.RegistoEventosNulo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -99,8 +111,10 @@ public class SimulacaoAutomaticaTest {
 
         int vidaRestante = simulacao.simularTrajeto(caminhoParaObjetivo, caminhoDeVolta);
 
-        // Verificar se a vida restante e calculada corretamente
-        assertEquals(80, vidaRestante);
+        // Verificar se a vida restante e calculada corretamente: o combate com o
+        // Inimigo1 (30) custa 5 de vida e o kit recupera ate a vida maxima (100);
+        // o Objetivo conta uma vez.
+        assertEquals(100, vidaRestante);
     }
 
     /**
@@ -150,6 +164,168 @@ public class SimulacaoAutomaticaTest {
         assertEquals("Entrada", caminho.getElementAt(0).getNomeDivisao());
     }
 
+    /**
+     * Testa a execucao com prazo de planeamento.
+     * Verifica se o melhor plano fica disponivel e conta o objetivo apenas uma vez.
+     */
+    @Test
+    void testExecutarComPrazo() throws ElementNotFoundException {
+        IDivisao divisaoObjetivo = mapa.getDivisaoPorNome("Objetivo");
+
+        simulacao.executarComPrazo(divisaoObjetivo, 1000);
+
+        PlanoMissao plano = simulacao.getMelhorPlano();
+        assertNotNull(plano);
+        assertTrue(plano.isViavel());
+        // Combate com o Inimigo1 (30): To Cruz perde 5 de vida e o kit recupera ate a
+        // vida maxima (100).
+        assertEquals(100, plano.getVidaPrevista());
+        assertEquals(1, simulacao.getItensColetados().size());
+    }
+
+    /**
+     * Testa a execucao com prazo nulo.
+     * Verifica se o caminho mais curto e sempre calculado antes de interromper.
+     */
+    @Test
+    void testExecutarComPrazoExpirado() throws ElementNotFoundException {
+        IDivisao divisaoObjetivo = mapa.getDivisaoPorNome("Objetivo");
+
+        simulacao.executarComPrazo(divisaoObjetivo, 0);
+
+        PlanoMissao plano = simulacao.getMelhorPlano();
+        assertNotNull(plano);
+        assertEquals("Entrada", plano.getEntrada().getNomeDivisao());
+        ArrayUnorderedList<IDivisao> ida = plano.getCaminhoParaObjetivo();
+        assertEquals(divisaoObjetivo, ida.getElementAt(ida.size() - 1));
+    }
+
+    /**
+     * Testa a cache de planos.
+     * Verifica se uma segunda execucao sobre um mapa com o mesmo conteudo reutiliza o plano
+     * e se o hash do mapa muda quando o conteudo e alterado.
+     */
+    @Test
+    void testCachePlanos() throws ElementNotFoundException {
+        CachePlanos cache = new CachePlanos(4);
+        long hashInicial = mapa.getHashConteudo();
+        assertNull(simulacao.getCachePlanos());
+
+        simulacao.setCachePlanos(cache);
+        simulacao.executar(mapa.getDivisaoPorNome("Objetivo"));
+        assertEquals(0, cache.getAcertos());
+        assertEquals(1, cache.size());
+        assertNotEquals(hashInicial, mapa.getHashConteudo());
+
+        IMapa copia = criarCopiaDoMapa();
+        assertEquals(hashInicial, copia.getHashConteudo());
+
+        SimulacaoAutomaticaImpl outra = new SimulacaoAutomaticaImpl(copia, new ToCruz("To Cruz", 100));
+        outra.setCachePlanos(cache);
+        outra.executar(copia.getDivisaoPorNome("Objetivo"));
+        assertEquals(1, cache.getAcertos());
+        assertEquals(0.5, cache.getTaxaAcerto());
+        assertEquals(simulacao.getCaminhoPercorridoNomes().size(), outra.getCaminhoPercorridoNomes().size());
+    }
+
+    /**
+     * Testa a cache de planos como no menu principal: duas simulacoes seguidas sobre o
+     * mesmo mapa, com a tabela de rotas da missao carregada. A primeira derrota o inimigo
+     * e recolhe o kit, mudando o conteudo do mapa, e a segunda reutiliza o plano.
+     */
+    @Test
+    void testCachePlanosEntreSimulacoesNoMesmoMapa() throws ElementNotFoundException {
+        TabelaRotas tabela = new GeradorTabelaRotas().gerar(mapa, "missao", 1);
+        CachePlanos cache = new CachePlanos(CachePlanos.CAPACIDADE_PADRAO);
+        long hashCarregado = mapa.getHashConteudo();
+
+        for (int ronda = 0; ronda < 2; ronda++) {
+            ToCruz agente = new ToCruz("To Cruz", 100);
+            agente.moverPara(mapa.getDivisoes().getElementAt(0));
+            SimulacaoAutomaticaImpl simulacaoRonda = new SimulacaoAutomaticaImpl(mapa, agente,
+                    RegistoEventosNulo.INSTANCIA);
+            simulacaoRonda.setTabelaRotas(tabela);
+            simulacaoRonda.setCachePlanos(cache, tabela.getHashMapa());
+            simulacaoRonda.executar(mapa.getDivisaoPorNome("Objetivo"));
+            assertNotEquals(hashCarregado, mapa.getHashConteudo());
+        }
+        assertEquals(1, cache.getFalhas());
+        assertEquals(1, cache.getAcertos());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Testa a gravacao e reproducao da trajetoria.
+     * Verifica se a reproducao sobre um mapa identico reconstroi o estado final.
+     */
+    @Test
+    void testGravarEReproduzirTrajetoria() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GravadorTrajetoria gravador = new GravadorTrajetoria(mapa, bytes, RegistoEventosNulo.INSTANCIA);
+        SimulacaoAutomaticaImpl gravada = new SimulacaoAutomaticaImpl(mapa, toCruz, gravador);
+
+        gravador.iniciar("teste", 1, mapa.getDivisaoPorNome("Entrada"), toCruz.getVida());
+        gravada.executar(mapa.getDivisaoPorNome("Objetivo"));
+        gravador.terminar(gravada.getStatus(), gravada.getVidaRestante());
+
+        LeitorTrajetoria leitor = new LeitorTrajetoria(criarCopiaDoMapa());
+        leitor.reproduzir(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertTrue(leitor.isTerminada());
+        assertTrue(leitor.isConsistente());
+        assertEquals(gravada.getDivisaoFinal().getNomeDivisao(), leitor.getDivisaoFinal().getNomeDivisao());
+        assertEquals(gravada.getVidaRestante(), leitor.getVidaFinal());
+        assertEquals(gravada.getStatus(), leitor.getStatus());
+        assertEquals(gravada.getItensColetados().size(), leitor.getItensColetados());
+        assertEquals(1, leitor.getCombates());
+        assertEquals("teste", leitor.criarResultado("REPLAY-001").getCodigoMissao());
+    }
+
+    /**
+     * Cria um mapa com o mesmo conteudo do mapa de teste, com as ligacoes, itens e
+     * entradas adicionados por outra ordem.
+     */
+    private IMapa criarCopiaDoMapa() {
+        IMapa copia = new MapaImpl();
+        copia.adicionarDivisao("Entrada");
+        copia.adicionarDivisao("Objetivo");
+        copia.adicionarDivisao("Saida");
+        copia.adicionarLigacao("Objetivo", "Entrada");
+        copia.adicionarLigacao("Objetivo", "Saida");
+        copia.adicionarItem("Objetivo", new ItemImpl("kit de vida", 20));
+        copia.adicionarInimigo("Objetivo", new InimigoImpl("Inimigo1", 30));
+        copia.adicionarEntradaSaida("Saida");
+        copia.adicionarEntradaSaida("Entrada");
+        return copia;
+    }
+
+    /**
+     * Testa que, com um registo de eventos silencioso, os avisos do mapa durante o
+     * planeamento (caminho nao encontrado) nao sao escritos na consola, e que o mapa
+     * volta ao seu registo no fim da execucao.
+     */
+    @Test
+    void testRegistoSilenciosoCobreAvisosDoMapa() throws ElementNotFoundException {
+        mapa.adicionarDivisao("Isolada");
+        IRegistoEventos registoDoMapa = mapa.getRegistoEventos();
+        SimulacaoAutomaticaImpl silenciosa = new SimulacaoAutomaticaImpl(mapa, toCruz, RegistoEventosNulo.INSTANCIA);
+        assertSame(registoDoMapa, mapa.getRegistoEventos());
+
+        PrintStream saidaOriginal = System.out;
+        PrintStream erroOriginal = System.err;
+        ByteArrayOutputStream escrito = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(escrito));
+        System.setErr(new PrintStream(escrito));
+        try {
+            silenciosa.executar(mapa.getDivisaoPorNome("Isolada"));
+        } finally {
+            System.setOut(saidaOriginal);
+            System.setErr(erroOriginal);
+        }
+        assertEquals(0, escrito.size());
+        assertSame(registoDoMapa, mapa.getRegistoEventos());
+    }
+
     /**
      * Testa o metodo de recuperacao da vida restante.
      * Verifica se a vida inicial e retornada corretamente.
@@ -6,9 +6,17 @@ import org.example.api.implementation.models.ItemImpl;
 import org.example.api.implementation.models.MapaImpl;
 import org.example.api.implementation.models.ToCruz;
 import org.example.api.implementation.simulation.SimulacaoManualImpl;
+import org.example.api.implementation.utils.GravadorTrajetoria;
+import org.example.api.implementation.utils.LeitorTrajetoria;
+import org.example.api.implementation.utils.RegistoEventosNulo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -60,4 +68,42 @@ public class SimulacaoManualTest {
         assertNotNull(simulacaoManual.getCaminhoPercorrido());
         assertTrue(simulacaoManual.getCaminhoPercorrido().isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Testa que o uso de um kit de vida na simulacao manual fica na trajetoria gravada
+     * e que a reproducao chega a mesma vida final.
+     */
+    @Test
+    void testGravarUsoDeKitNaTrajetoria() throws Exception {
+        IMapa mapaGravado = new MapaImpl();
+        mapaGravado.adicionarDivisao("Entrada");
+        mapaGravado.adicionarDivisao("Sala");
+        mapaGravado.adicionarLigacao("Entrada", "Sala");
+        mapaGravado.adicionarInimigo("Sala", new InimigoImpl("Guarda", 60));
+        mapaGravado.adicionarItem("Sala", new ItemImpl("kit de vida", 20));
+        mapaGravado.adicionarEntradaSaida("Entrada");
+        ToCruz agente = new ToCruz("To Cruz", 100);
+
+        // Entra pela Entrada, vai para a Sala, pega o kit, combate, usa o kit e sai.
+        String comandos = "Entrada\nmover\nSala\nsim\nusar\nsair\n";
+        InputStream entradaOriginal = System.in;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            System.setIn(new ByteArrayInputStream(comandos.getBytes(StandardCharsets.UTF_8)));
+            SimulacaoManualImpl simulacao = new SimulacaoManualImpl(mapaGravado, agente);
+            GravadorTrajetoria gravador = new GravadorTrajetoria(mapaGravado, bytes, RegistoEventosNulo.INSTANCIA);
+            gravador.iniciar("teste", 1, mapaGravado.getDivisaoPorNome("Entrada"), agente.getVida());
+            simulacao.setGravador(gravador);
+            simulacao.executar(mapaGravado.getDivisaoPorNome("Sala"));
+        } finally {
+            System.setIn(entradaOriginal);
+        }
+
+        LeitorTrajetoria leitor = new LeitorTrajetoria(mapaGravado);
+        leitor.reproduzir(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(1, leitor.getKitsUsados());
+        assertEquals(1, leitor.getCombates());
+        assertTrue(leitor.isConsistente());
+        assertEquals(agente.getVida(), leitor.getVidaFinal());
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.test;
+
+import org.example.api.implementation.interfaces.IDivisao;
+import org.example.api.implementation.interfaces.IMapa;
+import org.example.api.implementation.models.InimigoImpl;
+import org.example.api.implementation.models.ItemImpl;
+import org.example.api.implementation.models.MapaImpl;
+import org.example.api.implementation.models.MissaoImpl;
+import org.example.api.implementation.models.TabelaRotas;
+import org.example.api.implementation.utils.GeradorTabelaRotas;
+import org.example.api.implementation.utils.ImportJsonImpl;
+import org.example.api.implementation.utils.RecarregadorMapa;
+import org.example.collections.implementation.ArrayUnorderedList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de testes da tabela de rotas: a gravacao e leitura do ficheiro binario, a
+ * rejeicao de ficheiros de outra versao, truncados ou corrompidos, e a invalidacao
+ * quando o conteudo do mapa muda.
+ */
+public class TabelaRotasTest {
+    private IMapa mapa;
+    private GeradorTabelaRotas gerador;
+    private File ficheiro;
+
+    /**
+     * Cria um mapa em cadeia com um atalho, inimigos, um kit de vida e duas
+     * entradas/saidas, e um ficheiro temporario para a tabela.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        mapa = new MapaImpl();
+        for (int i = 0; i < 6; i++) {
+            mapa.adicionarDivisao("D" + i);
+        }
+        for (int i = 1; i < 6; i++) {
+            mapa.adicionarLigacao("D" + (i - 1), "D" + i);
+        }
+        mapa.adicionarLigacao("D0", "D4");
+        mapa.adicionarInimigo("D4", new InimigoImpl("Guarda", 40));
+        mapa.adicionarInimigo("D2", new InimigoImpl("Vigia", 10));
+        mapa.adicionarItem("D3", new ItemImpl("kit de vida", 20));
+        mapa.adicionarEntradaSaida("D0");
+        mapa.adicionarEntradaSaida("D5");
+
+        gerador = new GeradorTabelaRotas();
+        ficheiro = File.createTempFile("tabela", ".rotas");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ficheiro.delete();
+    }
+
+    /**
+     * Testa que a tabela lida do ficheiro e igual a tabela gravada.
+     */
+    @Test
+    void testGravarELerTabela() throws IOException {
+        TabelaRotas gerada = gerador.gerar(mapa, "missao", 3);
+        gerador.guardar(gerada, ficheiro.getPath());
+
+        TabelaRotas lida = gerador.carregar(ficheiro.getPath(), mapa, "missao", 3);
+        assertNotNull(lida);
+        assertEquals(gerada.getNumeroReferencias(), lida.getNumeroReferencias());
+        for (int r = 0; r < gerada.getNumeroReferencias(); r++) {
+            assertEquals(gerada.getReferencia(r), lida.getReferencia(r));
+            for (int i = 0; i < gerada.getNumeroDivisoes(); i++) {
+                assertEquals(gerada.getCustoReferencia(r, i), lida.getCustoReferencia(r, i));
+                assertEquals(gerada.getProximoReferencia(r, i), lida.getProximoReferencia(r, i));
+            }
+        }
+    }
+
+    /**
+     * Testa que uma tabela de outra versao da missao ou de outro formato e ignorada.
+     */
+    @Test
+    void testTabelaDeOutraVersaoIgnorada() throws IOException {
+        gerador.guardar(gerador.gerar(mapa, "missao", 3), ficheiro.getPath());
+        assertNull(gerador.carregar(ficheiro.getPath(), mapa, "missao", 4));
+        assertNull(gerador.carregar(ficheiro.getPath(), mapa, "outra", 3));
+
+        try (RandomAccessFile raf = new RandomAccessFile(ficheiro, "rw")) {
+            raf.seek(4);
+            raf.writeInt(raf.readInt() + 1000);
+        }
+        assertNull(gerador.carregar(ficheiro.getPath(), mapa, "missao", 3));
+    }
+
+    /**
+     * Testa que um ficheiro truncado ou com o numero de referencias corrompido e ignorado
+     * sem excecoes, e que {@code obterOuGerar} volta a gerar a tabela.
+     */
+    @Test
+    void testFicheiroCorrompidoIgnorado() throws IOException {
+        TabelaRotas gerada = gerador.gerar(mapa, "missao", 3);
+        gerador.guardar(gerada, ficheiro.getPath());
+        byte[] original = Files.readAllBytes(ficheiro.toPath());
+
+        Files.write(ficheiro.toPath(), Arrays.copyOf(original, original.length / 2));
+        assertNull(gerador.carregar(ficheiro.getPath(), mapa, "missao", 3));
+
+        // O numero de referencias fica logo antes dos dados das referencias.
+        long posicaoTotal = original.length - (long) gerada.getNumeroReferencias() * (4 + 8 * 6) - 4;
+        int[] totaisInvalidos = {-1, Integer.MAX_VALUE, 7, gerada.getNumeroReferencias() + 1};
+        for (int total : totaisInvalidos) {
+            Files.write(ficheiro.toPath(), original);
+            try (RandomAccessFile raf = new RandomAccessFile(ficheiro, "rw")) {
+                raf.seek(posicaoTotal);
+                raf.writeInt(total);
+            }
+            assertNull(gerador.carregar(ficheiro.getPath(), mapa, "missao", 3));
+        }
+
+        String caminhoJson = ficheiro.getPath().replace(".rotas", ".json");
+        TabelaRotas regenerada = gerador.obterOuGerar(mapa, new MissaoImpl("missao", 3, mapa), caminhoJson);
+        assertEquals(gerada.getNumeroReferencias(), regenerada.getNumeroReferencias());
+        assertNotNull(gerador.carregar(ficheiro.getPath(), mapa, "missao", 3));
+    }
+
+    /**
+     * Testa que a tabela deixa de corresponder ao mapa quando uma recarga so muda os
+     * inimigos, sem mudar o grafo, e que a tabela gerada de novo segue a rota mais barata.
+     */
+    @Test
+    void testRecargaComOutrosInimigosMudaARota() throws Exception {
+        Path json = Files.createTempFile("missao", ".json");
+        try {
+            String missao = "{\"cod-missao\": \"missao\", \"versao\": 1,"
+                    + "\"edificio\": [\"D0\", \"D1\", \"D2\", \"D3\", \"D4\"],"
+                    + "\"ligacoes\": [[\"D0\", \"D1\"], [\"D1\", \"D2\"], [\"D2\", \"D3\"],"
+                    + " [\"D0\", \"D4\"], [\"D4\", \"D3\"]],"
+                    + "\"inimigos\": [{\"nome\": \"Guarda\", \"poder\": 40, \"divisao\": \"DIVISAO\"}],"
+                    + "\"entradas-saidas\": [\"D3\"],"
+                    + "\"alvo\": {\"divisao\": \"D3\", \"tipo\": \"quimico\"},"
+                    + "\"itens\": []}";
+            Files.writeString(json, missao.replace("DIVISAO", "D4"));
+            IMapa recarregado = new MapaImpl();
+            new ImportJsonImpl(recarregado).carregarMapa(json.toString());
+
+            TabelaRotas tabela = gerador.gerar(recarregado, "missao", 1);
+            IDivisao origem = recarregado.getDivisaoPorNome("D0");
+            IDivisao saida = recarregado.getDivisaoPorNome("D3");
+            assertEquals("D1", tabela.getCaminho(recarregado, origem, saida).getElementAt(1).getNomeDivisao());
+
+            try (RecarregadorMapa recarregador = new RecarregadorMapa(recarregado, json.toString())) {
+                Files.writeString(json, missao.replace("DIVISAO", "D1"));
+                assertFalse(recarregador.recarregar().isEstrutural());
+            }
+            assertFalse(tabela.corresponde("missao", 1, recarregado));
+
+            TabelaRotas nova = gerador.gerar(recarregado, "missao", 1);
+            assertTrue(nova.corresponde("missao", 1, recarregado));
+            ArrayUnorderedList<IDivisao> caminho = nova.getCaminho(recarregado, origem, saida);
+            assertEquals("D4", caminho.getElementAt(1).getNomeDivisao());
+        } finally {
+            Files.delete(json);
+        }
+    }
+}
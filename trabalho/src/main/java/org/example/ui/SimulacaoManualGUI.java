@@ -8,6 +8,7 @@ import org.example.api.exceptions.InvalidJsonStructureException;
 import org.example.api.implementation.interfaces.*;
 import org.example.api.implementation.models.*;
 import org.example.api.implementation.services.CombateServiceImpl;
+import org.example.api.implementation.utils.RegistoEventosConsola;
 import org.example.api.implementation.utils.ExportarResultados;
 import org.example.api.implementation.utils.ImportJsonImpl;
 import org.example.collections.implementation.ArrayUnorderedList;
@@ -71,7 +72,7 @@ public class SimulacaoManualGUI extends JFrame {
         this.ligacoes = ligacoes;
         this.toCruz = toCruz;
         this.posicoesDivisoes = new ArrayUnorderedList<>();
-        this.combateService = new CombateServiceImpl();
+        this.combateService = new CombateServiceImpl(RegistoEventosConsola.INSTANCIA, mapa.getRegrasCombate());
         this.exportador = new ExportarResultados();
         this.caminhoPercorridoToCruz = new ArrayUnorderedList<>();
         this.caminhoParaKit = new ArrayUnorderedList<>();